@@ -213,6 +213,10 @@ create index IDX_CLIENTES_ENDERECOS_ID_END
     on CLIENTES (ENDERECOS_ID_END)
     /
 
+create unique index UK_CLIENTES_NUMERO_DOCUMENTO
+    on CLIENTES (NUMERO_DOCUMENTO)
+    /
+
 create trigger CLIENTES_ID_CLI_TRG
     before insert
     on CLIENTES
@@ -678,3 +682,306 @@ BEGIN
 END;
 /
 
+
+create sequence REGISTRO_ALTERACOES_ID_SEQ
+    order
+    nocache
+/
+
+create table REGISTRO_ALTERACOES
+(
+    ID_ALT         NUMBER       not null
+        constraint REGISTRO_ALTERACOES_PK
+            primary key,
+    ENTIDADE       VARCHAR2(20) not null,
+    ENTIDADE_ID    NUMBER       not null,
+    OPERACAO       VARCHAR2(12) not null,
+    DATA_ALTERACAO TIMESTAMP    not null
+)
+    /
+
+create index IDX_REG_ALT_DATA
+    on REGISTRO_ALTERACOES (DATA_ALTERACAO)
+    /
+
+create trigger REGISTRO_ALTERACOES_ID_ALT_TRG
+    before insert
+    on REGISTRO_ALTERACOES
+    for each row
+    when (new.id_alt IS NULL)
+BEGIN
+    :new.id_alt := registro_alteracoes_id_seq.nextval;
+END;
+/
+
+create table CONTROLE_SINCRONIZACAO
+(
+    ID                 NUMBER    not null
+        constraint CONTROLE_SINCRONIZACAO_PK
+            primary key,
+    DATA_ULTIMO_COMMIT TIMESTAMP not null
+)
+    /
+
+create sequence SALDOS_ORCAMENTO_ID_SEQ
+    order
+    nocache
+/
+
+create table SALDOS_ORCAMENTO
+(
+    ID_SAL                    NUMBER        not null
+        constraint SALDOS_ORCAMENTO_PK
+            primary key,
+    ORCAMENTOS_ID_ORC         NUMBER        not null
+        constraint SALDOS_ORCAMENTO_ORC_UK
+            unique,
+    CLIENTES_ID_CLI           NUMBER,
+    CLIENTES_ENDERECOS_ID_END NUMBER,
+    DATA_REFERENCIA           DATE          not null,
+    VALOR_ORCADO              NUMBER(12, 2) not null,
+    VALOR_PAGO                NUMBER(12, 2) not null,
+    SALDO                     NUMBER(12, 2) not null,
+    DATA_ATUALIZACAO          TIMESTAMP     not null
+)
+    /
+
+create index IDX_SALDOS_ORC_CLIENTE
+    on SALDOS_ORCAMENTO (CLIENTES_ID_CLI)
+    /
+
+create index IDX_SALDOS_ORC_ABERTO
+    on SALDOS_ORCAMENTO (case when SALDO > 0 then DATA_REFERENCIA end)
+    /
+
+create trigger SALDOS_ORCAMENTO_ID_SAL_TRG
+    before insert
+    on SALDOS_ORCAMENTO
+    for each row
+    when (new.id_sal IS NULL)
+BEGIN
+    :new.id_sal := saldos_orcamento_id_seq.nextval;
+END;
+/
+
+create sequence CONCILIACOES_ID_SEQ
+    order
+    nocache
+/
+
+create table CONCILIACOES
+(
+    ID_CON          NUMBER       not null
+        constraint CONCILIACOES_PK
+            primary key,
+    FORMATO         VARCHAR2(5)  not null,
+    DATA_EXECUCAO   TIMESTAMP    not null,
+    TOTAL_LINHAS    NUMBER       not null,
+    CONCILIADAS     NUMBER       not null,
+    NAO_ENCONTRADAS NUMBER       not null,
+    AMBIGUAS        NUMBER       not null,
+    REJEITADAS      NUMBER       not null,
+    DURACAO_MS      NUMBER       not null
+)
+    /
+
+create trigger CONCILIACOES_ID_CON_TRG
+    before insert
+    on CONCILIACOES
+    for each row
+    when (new.id_con IS NULL)
+BEGIN
+    :new.id_con := conciliacoes_id_seq.nextval;
+END;
+/
+
+create sequence CONCILIACAO_ITENS_ID_SEQ
+    order
+    nocache
+/
+
+create table CONCILIACAO_ITENS
+(
+    ID_CIT              NUMBER        not null
+        constraint CONCILIACAO_ITENS_PK
+            primary key,
+    CONCILIACOES_ID_CON NUMBER        not null
+        constraint CONCILIACAO_ITENS_CON_FK
+            references CONCILIACOES,
+    LINHA               NUMBER        not null,
+    IDENTIFICADOR       VARCHAR2(64),
+    DATA_LANCAMENTO     DATE          not null,
+    VALOR               NUMBER(12, 2) not null,
+    TIPO                VARCHAR2(20),
+    STATUS              VARCHAR2(15)  not null,
+    PAGAMENTOS_ID_PAG   NUMBER,
+    CANDIDATOS          NUMBER        not null
+)
+    /
+
+create index IDX_CONC_ITENS_CONCILIACAO
+    on CONCILIACAO_ITENS (CONCILIACOES_ID_CON, STATUS)
+    /
+
+create index IDX_CONC_ITENS_PAGAMENTO
+    on CONCILIACAO_ITENS (PAGAMENTOS_ID_PAG)
+    /
+
+create trigger CONCILIACAO_ITENS_ID_CIT_TRG
+    before insert
+    on CONCILIACAO_ITENS
+    for each row
+    when (new.id_cit IS NULL)
+BEGIN
+    :new.id_cit := conciliacao_itens_id_seq.nextval;
+END;
+/
+
+create index IDX_PAGAMENTOS_DATA
+    on PAGAMENTOS (DATA_PAGAMENTO)
+    /
+
+create sequence SKETCHES_PAGAMENTO_ID_SEQ
+    order
+    nocache
+/
+
+create table SKETCHES_PAGAMENTO
+(
+    ID_SKP           NUMBER       not null
+        constraint SKETCHES_PAGAMENTO_PK
+            primary key,
+    MES              VARCHAR2(7)  not null,
+    TIPO_PAGAMENTO   VARCHAR2(20) not null,
+    QUANTIDADE       NUMBER       not null,
+    QUANTIS          BLOB,
+    CLIENTES         BLOB,
+    DESATUALIZADO    NUMBER(1)    not null,
+    DATA_ATUALIZACAO TIMESTAMP    not null,
+    constraint SKETCHES_PAGAMENTO_UK
+        unique (MES, TIPO_PAGAMENTO)
+)
+    /
+
+create trigger SKETCHES_PAGAMENTO_ID_SKP_TRG
+    before insert
+    on SKETCHES_PAGAMENTO
+    for each row
+    when (new.id_skp IS NULL)
+BEGIN
+    :new.id_skp := sketches_pagamento_id_seq.nextval;
+END;
+/
+
+create index IDX_AGENDAR_DATA
+    on AGENDAR (DATA_AGENDAMENTO, ID_AGE)
+    /
+
+create table CONTAGEM_AGENDA_DIA
+(
+    DIA        DATE   not null
+        constraint CONTAGEM_AGENDA_DIA_PK
+            primary key,
+    QUANTIDADE NUMBER not null
+)
+    /
+
+create sequence RESERVAS_BOX_ID_SEQ
+    order
+    nocache
+/
+
+create table RESERVAS_BOX
+(
+    ID_RES          NUMBER    not null
+        constraint RESERVAS_BOX_PK
+            primary key,
+    AGENDAR_ID_AGE  NUMBER    not null
+        constraint RESERVAS_BOX_AGENDA_UK
+            unique,
+    NUMERO_BOX      NUMBER(3) not null,
+    INICIO          TIMESTAMP not null,
+    FIM             TIMESTAMP not null,
+    DATA_CRIACAO    TIMESTAMP not null
+)
+    /
+
+create trigger RESERVAS_BOX_ID_RES_TRG
+    before insert
+    on RESERVAS_BOX
+    for each row
+    when (new.id_res IS NULL)
+BEGIN
+    :new.id_res := reservas_box_id_seq.nextval;
+END;
+/
+
+create index IDX_RESERVAS_BOX_INICIO
+    on RESERVAS_BOX (INICIO, NUMERO_BOX)
+    /
+
+create table OCUPACAO_BOX
+(
+    NUMERO_BOX          NUMBER(3) not null,
+    SLOT                NUMBER    not null,
+    RESERVAS_BOX_ID_RES NUMBER    not null,
+    constraint OCUPACAO_BOX_PK
+        primary key (NUMERO_BOX, SLOT)
+)
+    /
+
+create index IDX_OCUPACAO_BOX_RESERVA
+    on OCUPACAO_BOX (RESERVAS_BOX_ID_RES)
+    /
+
+create table ESTOQUE_PECAS
+(
+    PECAS_ID_PEC         NUMBER    not null
+        constraint ESTOQUE_PECAS_PK
+            primary key,
+    QUANTIDADE_FISICA    NUMBER    not null,
+    QUANTIDADE_RESERVADA NUMBER    not null,
+    DATA_ATUALIZACAO     TIMESTAMP not null,
+    constraint ESTOQUE_PECAS_SALDO_CK
+        check (QUANTIDADE_RESERVADA >= 0 and QUANTIDADE_RESERVADA <= QUANTIDADE_FISICA)
+)
+    /
+
+create table RESERVAS_PECAS
+(
+    OFICINAS_ID_OFIC NUMBER       not null,
+    PECAS_ID_PEC     NUMBER       not null,
+    QUANTIDADE       NUMBER       not null,
+    SITUACAO         VARCHAR2(10) not null,
+    CONTROLA_ESTOQUE NUMBER(1)    not null,
+    DATA_ATUALIZACAO TIMESTAMP    not null,
+    constraint RESERVAS_PECAS_PK
+        primary key (OFICINAS_ID_OFIC, PECAS_ID_PEC)
+)
+    /
+
+create index IDX_RESERVAS_PECAS_PECA
+    on RESERVAS_PECAS (PECAS_ID_PEC)
+    /
+
+create table CARGAS_INICIAIS
+(
+    NOME       VARCHAR2(30) not null
+        constraint CARGAS_INICIAIS_PK
+            primary key,
+    DATA_CARGA TIMESTAMP    not null
+)
+    /
+
+create trigger CP_SKETCHES_PAGAMENTO_TRG
+    after insert or update or delete
+    on CP
+    for each row
+BEGIN
+    UPDATE SKETCHES_PAGAMENTO s
+       SET s.DESATUALIZADO = 1
+     WHERE (s.MES, s.TIPO_PAGAMENTO) IN (SELECT TO_CHAR(pg.DATA_PAGAMENTO, 'YYYY-MM'), pg.TIPO_PAGAMENTO
+                                           FROM PAGAMENTOS pg
+                                          WHERE pg.ID_PAG IN (:new.pagamentos_id_pag, :old.pagamentos_id_pag));
+END;
+/
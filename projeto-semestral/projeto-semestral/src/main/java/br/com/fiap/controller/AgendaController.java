@@ -3,11 +3,16 @@ package br.com.fiap.controller;
 
 import br.com.fiap.dto.agenda.AgendaRequestDto;
 import br.com.fiap.dto.agenda.AgendaResponseDto;
+import br.com.fiap.dto.agenda.OcupacaoBoxDto;
+import br.com.fiap.dto.agenda.ReservaBoxDto;
 import br.com.fiap.dto.veiculo.VeiculoResponseDto;
 import br.com.fiap.exception.AgendaNotFoundException;
 import br.com.fiap.exception.AssociacaoNotFoundException;
+import br.com.fiap.exception.ConflitoAgendaException;
+import br.com.fiap.exception.OficinaNotFoundException;
 import br.com.fiap.exception.VeiculoNotFoundException;
 import br.com.fiap.service.agenda.AgendaService;
+import br.com.fiap.service.agenda.CapacidadeOficinaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,7 +29,10 @@ import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -38,6 +46,9 @@ public class AgendaController {
     @Autowired
     private AgendaService agendaService;
 
+    @Autowired
+    private CapacidadeOficinaService capacidadeOficinaService;
+
     @GetMapping
     @Operation(summary = "Listar Agendamentos",
             description = "Retorna uma lista paginada de agendamentos, com opções de filtro por data e observação. Parâmetros de paginação: ?page=0&size=10&sort=dataAgendamento,desc")
@@ -83,10 +94,13 @@ public class AgendaController {
 
     @PostMapping
     @CacheEvict(value = {"agendas", "veiculosDaAgenda"}, allEntries = true)
-    @Operation(summary = "Criar Novo Agendamento", description = "Registra um novo agendamento no sistema.")
+    @Operation(summary = "Criar Novo Agendamento",
+            description = "Registra um novo agendamento e reserva um box na hora informada (horaInicio) ou no primeiro horário livre do dia. A duração vem de duracaoHoras, das horas estimadas da oficina (oficinaId) ou do padrão configurado.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Agendamento criado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos para o agendamento"), // Descrição adicionada
+            @ApiResponse(responseCode = "404", description = "Oficina informada não encontrada"),
+            @ApiResponse(responseCode = "409", description = "Nenhum box livre no horário pedido (a mensagem sugere o próximo horário livre)"),
             @ApiResponse(responseCode = "500", description = "Erro interno ao tentar criar o agendamento")
     })
     public ResponseEntity<?> create(
@@ -96,6 +110,12 @@ public class AgendaController {
         try {
             AgendaResponseDto savedAgenda = agendaService.create(agendaDto);
             return ResponseEntity.status(HttpStatus.CREATED).body(savedAgenda);
+        } catch (ConflitoAgendaException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (OficinaNotFoundException e) {
+            return ResponseEntity.notFound().build();
         } catch (Exception e) {
             // Simplificado para retornar apenas o status 500, o log de erro está no service
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -108,7 +128,8 @@ public class AgendaController {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Agendamento atualizado com sucesso"),
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos para atualização"),
-            @ApiResponse(responseCode = "404", description = "Agendamento não encontrado para o ID fornecido"),
+            @ApiResponse(responseCode = "404", description = "Agendamento (ou oficina informada) não encontrado"),
+            @ApiResponse(responseCode = "409", description = "Nenhum box livre para a nova data/horário"),
             @ApiResponse(responseCode = "500", description = "Erro interno ao tentar atualizar o agendamento")
     })
     public ResponseEntity<?> update(
@@ -118,8 +139,12 @@ public class AgendaController {
         try {
             AgendaResponseDto updatedAgenda = agendaService.update(id, agendaDto);
             return ResponseEntity.ok(updatedAgenda);
-        } catch (AgendaNotFoundException e) {
+        } catch (AgendaNotFoundException | OficinaNotFoundException e) {
             return ResponseEntity.notFound().build();
+        } catch (ConflitoAgendaException e) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage(), e);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
@@ -218,4 +243,72 @@ public class AgendaController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    // --- Capacidade (boxes) ---
+    @GetMapping("/capacidade/proximo-horario")
+    @Operation(summary = "Próximo Horário Livre",
+            description = "Retorna o primeiro horário, a partir do instante informado, em que algum box fica livre pela duração pedida (horas, ou horas estimadas da oficina).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Horário livre encontrado"),
+            @ApiResponse(responseCode = "204", description = "Nenhum horário livre dentro do horizonte configurado"),
+            @ApiResponse(responseCode = "400", description = "Duração inválida ou maior que o expediente"),
+            @ApiResponse(responseCode = "404", description = "Oficina não encontrada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<ReservaBoxDto> proximoHorarioLivre(
+            @Parameter(description = "Instante inicial da busca (formato YYYY-MM-DDTHH:mm)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime aPartirDe,
+            @Parameter(description = "Duração em horas (ex: 2.5)") @RequestParam(required = false) BigDecimal horas,
+            @Parameter(description = "ID da oficina cuja estimativa de horas será usada") @RequestParam(required = false) Long oficinaId
+    ) {
+        log.info("Requisição GET /rest/agenda/capacidade/proximo-horario: aPartirDe={}, horas={}, oficinaId={}", aPartirDe, horas, oficinaId);
+        try {
+            long duracao = capacidadeOficinaService.duracaoMinutos(horas, oficinaId);
+            ReservaBoxDto horario = capacidadeOficinaService.proximoHorarioLivre(aPartirDe, duracao);
+            return horario == null ? ResponseEntity.noContent().build() : ResponseEntity.ok(horario);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (OficinaNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Erro ao buscar próximo horário livre: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/capacidade/ocupacao")
+    @Operation(summary = "Ocupação dos Boxes no Dia", description = "Lista, por box, as reservas do dia e os minutos ocupados e livres do expediente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Ocupação retornada"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<List<OcupacaoBoxDto>> ocupacaoDoDia(
+            @Parameter(description = "Dia (formato YYYY-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data
+    ) {
+        log.info("Requisição GET /rest/agenda/capacidade/ocupacao: data={}", data);
+        try {
+            return ResponseEntity.ok(capacidadeOficinaService.ocupacaoDoDia(data));
+        } catch (Exception e) {
+            log.error("Erro ao consultar ocupação dos boxes em {}: {}", data, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/{id}/reserva")
+    @Operation(summary = "Reserva de Box da Agenda", description = "Retorna o box e o horário reservados para o agendamento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reserva encontrada"),
+            @ApiResponse(responseCode = "404", description = "Agendamento sem reserva de box"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<ReservaBoxDto> buscarReserva(
+            @Parameter(description = "ID do agendamento") @PathVariable Long id
+    ) {
+        try {
+            ReservaBoxDto reserva = capacidadeOficinaService.buscarReserva(id);
+            return reserva == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(reserva);
+        } catch (Exception e) {
+            log.error("Erro ao buscar reserva da agenda {}: {}", id, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -6,10 +6,14 @@ import br.com.fiap.dto.veiculo.VeiculoResponseDto;
 import br.com.fiap.dto.cliente.ClienteInfoDTO;
 import br.com.fiap.dto.cliente.ClienteRequestDto;
 import br.com.fiap.dto.cliente.ClienteResponseDto;
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
 import br.com.fiap.exception.ClientesNotFoundException;
 import br.com.fiap.exception.AutenticarNotFoundException; // Importe esta exceção
 import br.com.fiap.model.relacionamentos.ClienteId;
+import br.com.fiap.service.clientes.BuscaClientesService;
 import br.com.fiap.service.clientes.ClienteService;
+import br.com.fiap.service.clientes.ImportacaoClienteService;
+import br.com.fiap.service.importacao.FormatoImportacao;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -21,11 +25,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException; // Importar
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 // ------------------------------------------------------
@@ -41,6 +49,12 @@ public class ClientesController {
     @Autowired
     private ClienteService clienteService; // <<< Apenas ClienteService injetado
 
+    @Autowired
+    private ImportacaoClienteService importacaoClienteService;
+
+    @Autowired
+    private BuscaClientesService buscaClientesService;
+
     // --- Endpoint de Busca de Clientes (Existente) ---
     @GetMapping("/buscar")
     @Operation(summary = "Buscar Clientes por Critérios",
@@ -75,6 +89,29 @@ public class ClientesController {
         }
     }
 
+    @GetMapping("/autocompletar")
+    @Operation(summary = "Autocompletar Clientes",
+            description = "Sugestões enquanto o usuário digita: cada termo precisa aparecer no nome, sobrenome ou documento (termos de até 2 letras valem como início de palavra). Precisa de pelo menos um termo com 2 caracteres. Servido do índice em memória.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões, das mais relevantes para as menos"),
+            @ApiResponse(responseCode = "204", description = "Nenhuma sugestão para o texto"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido")
+    })
+    public ResponseEntity<List<ClienteInfoDTO>> autocompletar(
+            @Parameter(description = "Texto digitado até agora (nome, sobrenome ou documento)") @RequestParam String texto,
+            @Parameter(description = "Máximo de sugestões (1 a 50)") @RequestParam(defaultValue = "10") int limite
+    ) {
+        try {
+            List<ClienteInfoDTO> sugestoes = buscaClientesService.autocompletar(texto, limite);
+            return sugestoes.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(sugestoes);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro ao autocompletar clientes: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build(); // 500
+        }
+    }
+
     // --- Endpoints CRUD (Existentes) ---
     @GetMapping("/all")
     @Cacheable("clientes")
@@ -254,5 +291,31 @@ public class ClientesController {
     }
     // --- Fim do Novo Endpoint ---
 
+    // --- Importação em Lote ---
+    @PostMapping(value = "/importar", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @CacheEvict(value = "clientes", allEntries = true)
+    @Operation(summary = "Importar Clientes em Lote",
+            description = "Recebe um array JSON de clientes (mesmo formato do POST) ou um CSV com cabeçalho e grava em lotes. " +
+                    "Retorna o relatório com os erros de cada linha rejeitada e a vazão (linhas/s).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada (verifique as linhas rejeitadas no relatório)"),
+            @ApiResponse(responseCode = "400", description = "Arquivo mal formado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno durante a importação")
+    })
+    public ResponseEntity<RelatorioImportacaoDto> importar(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream corpo) {
+        FormatoImportacao formato = FormatoImportacao.deContentType(contentType);
+        log.info("Requisição POST /rest/clientes/importar (formato {})", formato);
+        try {
+            return ResponseEntity.ok(importacaoClienteService.importar(corpo, formato));
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Arquivo de importação de clientes inválido: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro na importação de clientes: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro na importação de clientes", e);
+        }
+    }
 
 } // Fim da classe ClientesController
@@ -0,0 +1,98 @@
+// src/main/java/br/com/fiap/controller/EstoqueController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.dto.estoque.BaixaEstoqueDto;
+import br.com.fiap.dto.estoque.EntradaEstoqueRequestDto;
+import br.com.fiap.dto.estoque.EstoquePecaDto;
+import br.com.fiap.exception.OficinaNotFoundException;
+import br.com.fiap.exception.PecasNotFoundException;
+import br.com.fiap.service.estoque.EstoquePecasService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping("/rest/estoque")
+@Tag(name = "Estoque", description = "Saldo de peças, entradas de mercadoria e baixa das peças reservadas pelos serviços")
+public class EstoqueController {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoqueController.class);
+
+    @Autowired
+    private EstoquePecasService estoquePecasService;
+
+    @GetMapping("/{pecaId}")
+    @Operation(summary = "Saldo da peça", description = "Quantidade física, reservada para serviços abertos e disponível. Peça sem entrada registrada tem saldo zero.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Saldo retornado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstoquePecaDto.class))),
+            @ApiResponse(responseCode = "404", description = "Peça não encontrada", content = @Content)
+    })
+    public ResponseEntity<EstoquePecaDto> consultar(
+            @Parameter(description = "ID da peça") @PathVariable Long pecaId
+    ) {
+        try {
+            return ResponseEntity.ok(estoquePecasService.consultar(pecaId));
+        } catch (PecasNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    @PostMapping("/{pecaId}/entrada")
+    @Operation(summary = "Registrar entrada", description = "Soma a quantidade recebida ao estoque físico da peça.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Entrada registrada; retorna o novo saldo", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstoquePecaDto.class))),
+            @ApiResponse(responseCode = "400", description = "Quantidade inválida", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Peça não encontrada", content = @Content)
+    })
+    public ResponseEntity<EstoquePecaDto> registrarEntrada(
+            @Parameter(description = "ID da peça") @PathVariable Long pecaId,
+            @Parameter(description = "Quantidade recebida") @RequestBody @Valid EntradaEstoqueRequestDto entrada
+    ) {
+        log.info("Requisição para registrar entrada de {} unidades da peça ID {}", entrada.getQuantidade(), pecaId);
+        try {
+            return ResponseEntity.ok(estoquePecasService.registrarEntrada(pecaId, entrada.getQuantidade()));
+        } catch (PecasNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro ao registrar entrada da peça ID {}: {}", pecaId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/oficinas/{oficinaId}/baixa")
+    @Operation(summary = "Baixar peças do serviço", description = "Encerra o serviço no estoque: as peças reservadas pela oficina saem do estoque físico. Depois da baixa as peças do serviço não podem mais ser alteradas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Baixa realizada", content = @Content(mediaType = "application/json", schema = @Schema(implementation = BaixaEstoqueDto.class))),
+            @ApiResponse(responseCode = "400", description = "Serviço sem peças reservadas (ou já baixado)", content = @Content),
+            @ApiResponse(responseCode = "404", description = "Oficina não encontrada", content = @Content)
+    })
+    public ResponseEntity<BaixaEstoqueDto> baixar(
+            @Parameter(description = "ID da oficina (serviço)") @PathVariable Long oficinaId
+    ) {
+        log.info("Requisição para baixar do estoque as peças do serviço ID {}", oficinaId);
+        try {
+            return ResponseEntity.ok(estoquePecasService.baixar(oficinaId));
+        } catch (OficinaNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro ao baixar peças do serviço ID {}: {}", oficinaId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+// src/main/java/br/com/fiap/controller/LembreteController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.dto.lembrete.LembretePendenteDto;
+import br.com.fiap.dto.lembrete.StatusLembretesDto;
+import br.com.fiap.service.lembrete.AgendadorLembretes;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/rest/lembretes")
+@Tag(name = "Lembretes", description = "Lembretes automáticos de agendamento (roda de temporização em memória)")
+public class LembreteController {
+
+    @Autowired
+    private AgendadorLembretes agendadorLembretes;
+
+    @GetMapping("/status")
+    @Operation(summary = "Status dos lembretes", description = "Lembretes pendentes, agendas monitoradas, disparos, falhas e os últimos lembretes enviados. Lido da memória; não consulta o banco.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Status retornado", content = @Content(mediaType = "application/json", schema = @Schema(implementation = StatusLembretesDto.class)))
+    })
+    public ResponseEntity<StatusLembretesDto> status() {
+        return ResponseEntity.ok(agendadorLembretes.gerarStatus());
+    }
+
+    @GetMapping("/agenda/{agendaId}")
+    @Operation(summary = "Lembretes pendentes de uma agenda", description = "Lista os lembretes ainda não disparados do agendamento, na ordem de disparo.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Lembretes encontrados", content = @Content(mediaType = "application/json", array = @ArraySchema(schema = @Schema(implementation = LembretePendenteDto.class)))),
+            @ApiResponse(responseCode = "204", description = "Nenhum lembrete pendente para a agenda", content = @Content)
+    })
+    public ResponseEntity<List<LembretePendenteDto>> pendentes(
+            @Parameter(description = "ID da agenda") @PathVariable Long agendaId
+    ) {
+        List<LembretePendenteDto> pendentes = agendadorLembretes.listarPendentes(agendaId);
+        return pendentes.isEmpty() ? ResponseEntity.noContent().build() : ResponseEntity.ok(pendentes);
+    }
+}
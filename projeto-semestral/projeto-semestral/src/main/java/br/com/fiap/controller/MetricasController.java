@@ -0,0 +1,36 @@
+// src/main/java/br/com/fiap/controller/MetricasController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.dto.metricas.PainelOperacionalDto;
+import br.com.fiap.service.metricas.PainelOperacional;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/rest/metricas")
+@Tag(name = "Métricas", description = "Contadores em tempo real para o painel operacional")
+public class MetricasController {
+
+    @Autowired
+    private PainelOperacional painelOperacional;
+
+    @GetMapping("/painel")
+    @Operation(summary = "Painel operacional", description = "Receita, pagamentos e serviços abertos na última hora, nas últimas 24 horas e no dia. "
+            + "Lido de contadores em memória; não consulta o banco. Os mesmos valores são expostos como gauges do Micrometer (oficina.*).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Contadores retornados", content = @Content(mediaType = "application/json", schema = @Schema(implementation = PainelOperacionalDto.class)))
+    })
+    public ResponseEntity<PainelOperacionalDto> painel() {
+        // Sem log por requisição: o painel é atualizado com alta frequência
+        return ResponseEntity.ok(painelOperacional.gerarPainel());
+    }
+}
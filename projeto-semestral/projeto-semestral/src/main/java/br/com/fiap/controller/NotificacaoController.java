@@ -0,0 +1,38 @@
+// src/main/java/br/com/fiap/controller/NotificacaoController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.service.notificacao.NotificacaoHub;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/rest/notificacoes")
+@Tag(name = "Notificações", description = "Canal push (Server-Sent Events) de alterações em Agenda e Oficina")
+public class NotificacaoController {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacaoController.class);
+
+    @Autowired
+    private NotificacaoHub notificacaoHub;
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Assinar notificações de alterações",
+            description = "Abre um stream SSE. Eventos: 'conectado' (recarregar listas), 'alteracao' (entidade, id, operação) e comentários de heartbeat. Um cliente que não acompanha as alterações é desconectado e deve reconectar.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Stream aberto com sucesso")
+    })
+    public SseEmitter assinar() {
+        log.info("Requisição GET /rest/notificacoes/stream");
+        return notificacaoHub.assinar();
+    }
+}
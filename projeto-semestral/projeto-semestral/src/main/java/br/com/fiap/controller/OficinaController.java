@@ -1,9 +1,12 @@
 // src/main/java/br/com/fiap/Controller/OficinaController.java
 package br.com.fiap.controller;
 
+import br.com.fiap.dto.oficina.DistribuicaoServicosDto;
+import br.com.fiap.dto.oficina.DistribuicaoServicosRequestDto;
 import br.com.fiap.dto.oficina.OficinaRequestDto;
 import br.com.fiap.dto.oficina.OficinaResponseDto;
 import br.com.fiap.exception.OficinaNotFoundException;
+import br.com.fiap.service.oficina.DistribuicaoServicosService;
 import br.com.fiap.service.oficina.OficinaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter; // <<< Importar
@@ -16,10 +19,13 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -32,6 +38,9 @@ public class OficinaController {
     @Autowired
     private OficinaService oficinaService;
 
+    @Autowired
+    private DistribuicaoServicosService distribuicaoServicosService;
+
     @GetMapping("/all")
     @Cacheable("oficinas")
     @Operation(summary = "Listar Todos os Diagnósticos", description = "Retorna uma lista de todos os registros de diagnósticos da oficina.") // Descrição adicionada
@@ -139,4 +148,40 @@ public class OficinaController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
-}
\ No newline at end of file
+
+    // --- Distribuição dos serviços do dia entre mecânicos ---
+    @PostMapping("/distribuicao")
+    @Operation(summary = "Planejar Distribuição de Serviços",
+            description = "Distribui os serviços agendados no dia (oficinas vinculadas às agendas) entre os mecânicos informados, minimizando a hora em que o último termina. O plano fica guardado e é replanejado automaticamente quando serviços do dia mudam.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Plano gerado"),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<DistribuicaoServicosDto> planejarDistribuicao(
+            @Parameter(description = "Data, mecânicos (vazio: um por box) e tempo limite da otimização") @RequestBody @Valid DistribuicaoServicosRequestDto requisicao
+    ) {
+        log.info("Requisição para planejar distribuição de serviços em {}", requisicao.getData());
+        try {
+            return ResponseEntity.ok(distribuicaoServicosService.planejar(requisicao));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro ao planejar distribuição de serviços em {}: {}", requisicao.getData(), e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/distribuicao")
+    @Operation(summary = "Consultar Distribuição de Serviços", description = "Retorna o plano atual do dia, já com os replanejamentos incrementais.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Plano retornado"),
+            @ApiResponse(responseCode = "404", description = "Dia ainda não planejado")
+    })
+    public ResponseEntity<DistribuicaoServicosDto> consultarDistribuicao(
+            @Parameter(description = "Dia (formato YYYY-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate data
+    ) {
+        DistribuicaoServicosDto plano = distribuicaoServicosService.consultar(data);
+        return plano == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(plano);
+    }
+}
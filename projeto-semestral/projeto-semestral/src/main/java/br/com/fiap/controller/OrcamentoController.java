@@ -4,8 +4,10 @@ package br.com.fiap.controller;
 import br.com.fiap.dto.orcamento.OrcamentoComServicoRequestDto;
 import br.com.fiap.dto.orcamento.OrcamentoRequestDto; // Para o CRUD simples, se mantido
 import br.com.fiap.dto.orcamento.OrcamentoResponseDto;
+import br.com.fiap.dto.orcamento.RelatorioReprecificacaoDto;
 import br.com.fiap.exception.*; // Importa todas as suas custom exceptions
 import br.com.fiap.service.orcamento.OrcamentoService;
+import br.com.fiap.service.orcamento.ReprecificacaoOrcamentoService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -40,6 +42,9 @@ public class OrcamentoController {
     @Autowired
     private OrcamentoService orcamentoService;
 
+    @Autowired
+    private ReprecificacaoOrcamentoService reprecificacaoService;
+
     @PostMapping("/completo")
     @Operation(summary = "Registrar Serviço com Orçamento e Peças",
             description = "Cria um novo serviço de oficina com suas peças e um orçamento associado.")
@@ -48,6 +53,7 @@ public class OrcamentoController {
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = OrcamentoResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos"),
             @ApiResponse(responseCode = "404", description = "Entidade relacionada não encontrada (ex: Peça, Cliente, Veículo)"),
+            @ApiResponse(responseCode = "409", description = "Estoque insuficiente para alguma peça do serviço"),
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
     })
     public ResponseEntity<OrcamentoResponseDto> registrarServicoComOrcamento(
@@ -64,6 +70,9 @@ public class OrcamentoController {
         } catch (PecasNotFoundException | OficinaNotFoundException | ClientesNotFoundException | VeiculoNotFoundException e) {
             log.warn("Erro de entidade não encontrada ao registrar serviço com orçamento: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        } catch (EstoqueInsuficienteException e) {
+            log.warn("Estoque insuficiente ao registrar serviço com orçamento: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.CONFLICT, e.getMessage());
         } catch (IllegalArgumentException e) {
             log.warn("Argumento inválido ao registrar serviço com orçamento: {}", e.getMessage());
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
@@ -193,5 +202,28 @@ public class OrcamentoController {
         }
     }
 
-
-}
\ No newline at end of file
+    @PostMapping("/reprecificar")
+    @Operation(summary = "Reprecificar orçamentos em aberto",
+            description = "Recalcula o valor total dos orçamentos sem pagamento vinculado que usam as peças informadas. " +
+                    "Executado automaticamente após alterações de preço; este endpoint permite disparar manualmente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Reprecificação concluída",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RelatorioReprecificacaoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Lista de peças vazia"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<RelatorioReprecificacaoDto> reprecificar(
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(description = "IDs das peças cujo preço mudou", required = true)
+            @RequestBody List<Long> pecaIds) {
+        log.info("Requisição POST /rest/orcamentos/reprecificar para {} peça(s)", pecaIds != null ? pecaIds.size() : 0);
+        if (pecaIds == null || pecaIds.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe ao menos uma peça.");
+        }
+        try {
+            return ResponseEntity.ok(reprecificacaoService.reprecificar(pecaIds));
+        } catch (Exception e) {
+            log.error("Erro ao reprecificar orçamentos: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao reprecificar orçamentos.", e);
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package br.com.fiap.controller;
 
+import br.com.fiap.dto.conciliacao.RelatorioConciliacaoDto;
 import br.com.fiap.dto.pagamento.PagamentoRequestDto;
 import br.com.fiap.dto.pagamento.PagamentoResponseDto;
+import br.com.fiap.dto.pagamento.SimulacaoPagamentoRequestDto;
+import br.com.fiap.dto.pagamento.SimulacaoPagamentoResponseDto;
+import br.com.fiap.exception.OrcamentoNotFoundException;
 import br.com.fiap.exception.PagamentoNotFoundException;
+import br.com.fiap.service.conciliacao.ConciliacaoPagamentoService;
+import br.com.fiap.service.conciliacao.FormatoExtrato;
 import br.com.fiap.service.pagamento.PagamentoService;
 import io.swagger.v3.oas.annotations.Operation;       // <<< IMPORT
 import io.swagger.v3.oas.annotations.Parameter;      // <<< IMPORT
@@ -18,12 +24,15 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.net.URI;
 import java.time.LocalDate;
@@ -40,6 +49,9 @@ public class PagamentoController {
     @Autowired
     private PagamentoService pagamentoService;
 
+    @Autowired
+    private ConciliacaoPagamentoService conciliacaoPagamentoService;
+
     // --- GET /rest/pagamentos (COM FILTROS E PAGINAÇÃO) ---
     @GetMapping
     @Operation(summary = "Listar Pagamentos com Filtros e Paginação",
@@ -116,6 +128,7 @@ public class PagamentoController {
             @ApiResponse(responseCode = "201", description = "Pagamento registrado com sucesso",
                     content = @Content(mediaType = "application/json", schema = @Schema(implementation = PagamentoResponseDto.class))),
             @ApiResponse(responseCode = "400", description = "Dados inválidos fornecidos para o registro do pagamento"),
+            @ApiResponse(responseCode = "404", description = "Orçamento informado não encontrado"),
             @ApiResponse(responseCode = "500", description = "Erro interno ao tentar registrar o pagamento")
     })
     public ResponseEntity<PagamentoResponseDto> cadastrarPagamento(
@@ -130,12 +143,69 @@ public class PagamentoController {
             URI location = ServletUriComponentsBuilder.fromCurrentRequest().path("/{id}")
                     .buildAndExpand(pagamentoSalvo.getId()).toUri();
             return ResponseEntity.created(location).body(pagamentoSalvo);
+        } catch (OrcamentoNotFoundException e) {
+            log.warn("Orçamento informado no pagamento não encontrado: {}", e.getMessage());
+            throw e; // 404 via @ResponseStatus da exceção
         } catch (Exception e) {
             log.error("Erro interno ao cadastrar pagamento: {}", e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar o cadastro do pagamento.");
         }
     }
 
+    // --- POST /rest/pagamentos/simulacao (Simular opções, sem gravar) ---
+    @PostMapping("/simulacao")
+    @Operation(summary = "Simular Opções de Pagamento",
+            description = "Calcula, sem registrar pagamento, o total com desconto e o valor das parcelas para cada combinação de desconto e quantidade de parcelas informada.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Simulação calculada com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SimulacaoPagamentoResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Dados inválidos para a simulação"),
+            @ApiResponse(responseCode = "500", description = "Erro interno ao simular o pagamento")
+    })
+    public ResponseEntity<SimulacaoPagamentoResponseDto> simularPagamento(
+            @Parameter(description = "Valor do serviço e grade de descontos/parcelas", required = true,
+                    schema = @Schema(implementation = SimulacaoPagamentoRequestDto.class))
+            @Valid @RequestBody SimulacaoPagamentoRequestDto dto
+    ) {
+        log.info("Requisição POST /rest/pagamentos/simulacao");
+        try {
+            return ResponseEntity.ok(pagamentoService.simular(dto));
+        } catch (Exception e) {
+            log.error("Erro interno ao simular pagamento: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar a simulação do pagamento.");
+        }
+    }
+
+    // --- POST /rest/pagamentos/conciliacao (Conciliar extrato) ---
+    @PostMapping(value = "/conciliacao", consumes = {"text/csv", "text/plain", "application/x-ofx", "application/octet-stream"})
+    @Operation(summary = "Conciliar Extrato",
+            description = "Recebe um extrato bancário/adquirente (CSV com colunas data, valor, tipo, identificador ou OFX) e concilia " +
+                    "cada lançamento com os pagamentos por data (± tolerância), valor e tipo. O resultado de cada lançamento " +
+                    "(CONCILIADO, NAO_ENCONTRADO, AMBIGUO) é gravado em CONCILIACAO_ITENS.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Conciliação processada",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RelatorioConciliacaoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Arquivo ou formato inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno durante a conciliação")
+    })
+    public ResponseEntity<RelatorioConciliacaoDto> conciliarExtrato(
+            @Parameter(description = "Formato do extrato (CSV ou OFX); se omitido, é deduzido do Content-Type")
+            @RequestParam(required = false) String formato,
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream corpo
+    ) {
+        log.info("Requisição POST /rest/pagamentos/conciliacao (formato={}, contentType={})", formato, contentType);
+        try {
+            return ResponseEntity.ok(conciliacaoPagamentoService.conciliar(corpo, FormatoExtrato.resolver(formato, contentType)));
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Extrato inválido para conciliação: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro interno na conciliação de extrato: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar a conciliação do extrato.");
+        }
+    }
+
     // --- PUT /rest/pagamentos/{id} (Alterar existente) ---
     @PutMapping("/{id}")
     @Operation(summary = "Alterar Registro de Pagamento", description = "Atualiza um registro de pagamento existente.")
@@ -160,6 +230,9 @@ public class PagamentoController {
         } catch (PagamentoNotFoundException e) { // Captura específica para log
             log.warn("Pagamento não encontrado para alteração com ID: {}", id);
             throw e; // Relança para ser tratado pelo @ResponseStatus da exceção
+        } catch (OrcamentoNotFoundException e) {
+            log.warn("Orçamento informado no pagamento {} não encontrado: {}", id, e.getMessage());
+            throw e;
         } catch (Exception e) {
             log.error("Erro interno ao alterar pagamento {}: {}", id, e.getMessage(), e);
             throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao processar a alteração do pagamento.");
@@ -1,10 +1,18 @@
 // src/main/java/br/com/fiap/Controller/PecasController.java
 package br.com.fiap.controller;
 
+import br.com.fiap.dto.pecas.CatalogoPecasDto;
 import br.com.fiap.dto.pecas.PecasRequestDto;
 import br.com.fiap.dto.pecas.PecasResponseDto;
+import br.com.fiap.dto.pecas.PrevisaoDemandaPecaDto;
+import br.com.fiap.dto.pecas.RelatorioPrevisaoDemandaDto;
+import br.com.fiap.dto.pecas.RelatorioImportacaoPecasDto;
 import br.com.fiap.exception.PecasNotFoundException;
+import br.com.fiap.service.importacao.FormatoImportacao;
+import br.com.fiap.service.pecas.CatalogoPecasService;
+import br.com.fiap.service.pecas.ImportacaoPecasService;
 import br.com.fiap.service.pecas.PecasService;
+import br.com.fiap.service.pecas.PrevisaoDemandaService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter; // <<< Importar
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -16,10 +24,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
@@ -32,6 +46,15 @@ public class PecasController {
     @Autowired
     private PecasService pecasService;
 
+    @Autowired
+    private ImportacaoPecasService importacaoPecasService;
+
+    @Autowired
+    private PrevisaoDemandaService previsaoDemandaService;
+
+    @Autowired
+    private CatalogoPecasService catalogoPecasService;
+
     @GetMapping("/all")
     @Cacheable("pecas")
     @Operation(summary = "Listar Todas as Peças", description = "Retorna uma lista de todas as peças cadastradas.") // Descrição
@@ -137,4 +160,99 @@ public class PecasController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    @GetMapping("/catalogo")
+    @Operation(summary = "Buscar no Catálogo", description = "Busca facetada servida de um índice em memória: termos da descrição (prefixos, sem diferenciar acentos e maiúsculas), fabricantes, tipos de veículo e faixa de preço. Retorna a página pedida, as contagens por fabricante e por tipo de veículo e a faixa de preço dos resultados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Resultados da busca (total pode ser zero)"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros inválidos (paginação, ordenação ou faixa de preço)"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<CatalogoPecasDto> buscarCatalogo(
+            @Parameter(description = "Texto buscado na descrição") @RequestParam(required = false) String texto,
+            @Parameter(description = "Fabricantes (repita o parâmetro para mais de um)") @RequestParam(required = false) List<String> fabricante,
+            @Parameter(description = "Tipos de veículo (repita o parâmetro para mais de um)") @RequestParam(required = false) List<String> tipoVeiculo,
+            @Parameter(description = "Preço mínimo (inclusive)") @RequestParam(required = false) BigDecimal precoMin,
+            @Parameter(description = "Preço máximo (inclusive)") @RequestParam(required = false) BigDecimal precoMax,
+            @Parameter(description = "descricao (padrão), preco ou -preco") @RequestParam(required = false) String ordenacao,
+            @Parameter(description = "Página (começa em 0)") @RequestParam(defaultValue = "0") int pagina,
+            @Parameter(description = "Itens por página (1 a 200)") @RequestParam(defaultValue = "20") int tamanho
+    ) {
+        try {
+            // Sem log por requisição: a busca é chamada a cada tecla no balcão
+            return ResponseEntity.ok(catalogoPecasService.buscar(texto, fabricante, tipoVeiculo, precoMin, precoMax,
+                    ordenacao, pagina, tamanho));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro na busca do catálogo de peças: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/previsao-demanda")
+    @Operation(summary = "Sugestões de Reposição", description = "Prevê o consumo semanal de cada peça (suavização exponencial sobre o histórico de uso nas oficinas) e retorna ponto de pedido e estoque-alvo, das peças com maior ponto de pedido para as de menor. Só as peças com consumo alterado desde a última consulta são reajustadas.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sugestões calculadas"),
+            @ApiResponse(responseCode = "400", description = "Limite inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<RelatorioPrevisaoDemandaDto> sugerirReposicao(
+            @Parameter(description = "Quantidade máxima de peças na resposta") @RequestParam(defaultValue = "50") int limite
+    ) {
+        log.info("Requisição GET /rest/pecas/previsao-demanda (limite {})", limite);
+        try {
+            return ResponseEntity.ok(previsaoDemandaService.sugerirReposicao(limite));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro ao calcular previsão de demanda de peças: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/previsao-demanda/{pecaId}")
+    @Operation(summary = "Previsão de Demanda da Peça", description = "Previsão de consumo semanal, estoque de segurança, ponto de pedido e estoque-alvo de uma peça.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Previsão calculada"),
+            @ApiResponse(responseCode = "404", description = "Peça não encontrada para o ID fornecido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<PrevisaoDemandaPecaDto> prever(
+            @Parameter(description = "ID da peça") @PathVariable Long pecaId
+    ) {
+        log.info("Requisição GET /rest/pecas/previsao-demanda/{}", pecaId);
+        try {
+            return ResponseEntity.ok(previsaoDemandaService.prever(pecaId));
+        } catch (PecasNotFoundException e) {
+            return ResponseEntity.notFound().build();
+        } catch (Exception e) {
+            log.error("Erro ao calcular previsão de demanda da peça ID {}: {}", pecaId, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping(value = "/importar", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @CacheEvict(value = "pecas", allEntries = true)
+    @Operation(summary = "Importar Tabela de Preços", description = "Recebe o catálogo do fornecedor (array JSON ou CSV), insere peças novas e atualiza preço/desconto das existentes (casadas por fabricante, descrição e tipo de veículo). Retorna o relatório e as peças que mudaram de preço.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada (verifique as linhas rejeitadas no relatório)"),
+            @ApiResponse(responseCode = "400", description = "Arquivo mal formado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno durante a importação")
+    })
+    public ResponseEntity<RelatorioImportacaoPecasDto> importar(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream corpo) {
+        FormatoImportacao formato = FormatoImportacao.deContentType(contentType);
+        log.info("Requisição POST /rest/pecas/importar (formato {})", formato);
+        try {
+            return ResponseEntity.ok(importacaoPecasService.importar(corpo, formato));
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Arquivo de importação de peças inválido: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro na importação de peças: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro na importação de peças", e);
+        }
+    }
 }
\ No newline at end of file
@@ -0,0 +1,114 @@
+// src/main/java/br/com/fiap/controller/RecebiveisController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.dto.recebiveis.RelatorioAgingDto;
+import br.com.fiap.dto.recebiveis.SaldoClienteDto;
+import br.com.fiap.dto.recebiveis.SaldoOrcamentoDto;
+import br.com.fiap.exception.OrcamentoNotFoundException;
+import br.com.fiap.service.recebiveis.RecebiveisService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/rest/recebiveis")
+@Tag(name = "Recebíveis", description = "Saldos a receber por orçamento e cliente (orçado - pago) e relatório de aging")
+public class RecebiveisController {
+
+    private static final Logger log = LoggerFactory.getLogger(RecebiveisController.class);
+
+    @Autowired
+    private RecebiveisService recebiveisService;
+
+    @GetMapping("/orcamentos/{id}")
+    @Operation(summary = "Saldo do orçamento", description = "Valor orçado, valor pago e saldo em aberto de um orçamento.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Saldo encontrado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SaldoOrcamentoDto.class))),
+            @ApiResponse(responseCode = "404", description = "Orçamento não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<SaldoOrcamentoDto> buscarSaldoOrcamento(
+            @Parameter(description = "ID do orçamento", required = true) @PathVariable Long id) {
+        log.info("Requisição GET /rest/recebiveis/orcamentos/{}", id);
+        try {
+            return ResponseEntity.ok(recebiveisService.buscarSaldoOrcamento(id));
+        } catch (OrcamentoNotFoundException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro ao buscar saldo do orçamento ID {}: {}", id, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar saldo do orçamento.", e);
+        }
+    }
+
+    @GetMapping("/clientes/{id}")
+    @Operation(summary = "Saldo do cliente", description = "Soma dos saldos dos orçamentos vinculados ao cliente.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Saldo calculado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = SaldoClienteDto.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<SaldoClienteDto> buscarSaldoCliente(
+            @Parameter(description = "ID do cliente", required = true) @PathVariable Long id) {
+        log.info("Requisição GET /rest/recebiveis/clientes/{}", id);
+        try {
+            return ResponseEntity.ok(recebiveisService.buscarSaldoCliente(id));
+        } catch (Exception e) {
+            log.error("Erro ao buscar saldo do cliente ID {}: {}", id, e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao buscar saldo do cliente.", e);
+        }
+    }
+
+    @GetMapping("/aging")
+    @Operation(summary = "Aging de recebíveis",
+            description = "Saldos em aberto agrupados por dias desde a data do orçamento: 0-30, 31-60, 61-90 e 90+.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Relatório gerado",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = RelatorioAgingDto.class))),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<RelatorioAgingDto> gerarAging(
+            @Parameter(description = "Data de referência (AAAA-MM-DD); padrão: hoje")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataReferencia,
+            @Parameter(description = "Restringe a um cliente") @RequestParam(required = false) Long clienteId) {
+        log.info("Requisição GET /rest/recebiveis/aging: dataReferencia={}, clienteId={}", dataReferencia, clienteId);
+        try {
+            return ResponseEntity.ok(recebiveisService.gerarAging(dataReferencia, clienteId));
+        } catch (Exception e) {
+            log.error("Erro ao gerar aging de recebíveis: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao gerar aging de recebíveis.", e);
+        }
+    }
+
+    @PostMapping("/reconstruir")
+    @Operation(summary = "Reconstruir saldos",
+            description = "Recalcula todos os saldos a partir de orçamentos, pagamentos (PAO) e vínculos com clientes (CO).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Saldos reconstruídos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<Map<String, Integer>> reconstruir() {
+        log.info("Requisição POST /rest/recebiveis/reconstruir");
+        try {
+            return ResponseEntity.ok(Map.of("orcamentos", recebiveisService.reconstruir()));
+        } catch (Exception e) {
+            log.error("Erro ao reconstruir saldos: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao reconstruir saldos.", e);
+        }
+    }
+}
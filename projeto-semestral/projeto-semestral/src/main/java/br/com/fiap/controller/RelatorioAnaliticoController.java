@@ -0,0 +1,80 @@
+// src/main/java/br/com/fiap/controller/RelatorioAnaliticoController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.dto.analitico.ConsultaAnaliticaDto;
+import br.com.fiap.dto.analitico.EsquemaAnaliticoDto;
+import br.com.fiap.dto.analitico.ResultadoAnaliticoDto;
+import br.com.fiap.service.analitico.AnaliticoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/rest/relatorios/analitico")
+@Tag(name = "Relatórios", description = "Endpoints para geração de relatórios consolidados")
+public class RelatorioAnaliticoController {
+
+    private static final Logger log = LoggerFactory.getLogger(RelatorioAnaliticoController.class);
+    @Autowired
+    private AnaliticoService analiticoService;
+
+    @PostMapping("/consulta")
+    @Operation(summary = "Consulta analítica ad hoc",
+            description = "Filtra, agrupa e agrega pagamentos ou oficinas/peças no armazenamento colunar em memória. "
+                    + "Medidas: contagem, soma:x, media:x, min:x, max:x.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Consulta executada", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ResultadoAnaliticoDto.class))),
+            @ApiResponse(responseCode = "400", description = "Tabela, dimensão, medida ou função inválida"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<ResultadoAnaliticoDto> consultar(@RequestBody @Valid ConsultaAnaliticaDto consulta) {
+        log.info("Requisição POST /rest/relatorios/analitico/consulta: tabela={}, agrupar={}, medidas={}",
+                consulta.getTabela(), consulta.getAgrupar(), consulta.getMedidas());
+        try {
+            return ResponseEntity.ok(analiticoService.consultar(consulta));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro na consulta analítica: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao executar consulta analítica.", e);
+        }
+    }
+
+    @GetMapping("/esquemas")
+    @Operation(summary = "Tabelas analíticas disponíveis", description = "Lista as tabelas em memória com suas dimensões, medidas e número de linhas.")
+    public ResponseEntity<List<EsquemaAnaliticoDto>> listarEsquemas() {
+        log.info("Requisição GET /rest/relatorios/analitico/esquemas");
+        try {
+            return ResponseEntity.ok(analiticoService.listarEsquemas());
+        } catch (Exception e) {
+            log.error("Erro ao listar esquemas analíticos: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao listar esquemas analíticos.", e);
+        }
+    }
+
+    @PostMapping("/recarregar")
+    @Operation(summary = "Recarrega o armazenamento analítico", description = "Descarta as tabelas em memória e recarrega do banco.")
+    public ResponseEntity<List<EsquemaAnaliticoDto>> recarregar() {
+        log.info("Requisição POST /rest/relatorios/analitico/recarregar");
+        try {
+            analiticoService.recarregar();
+            return ResponseEntity.ok(analiticoService.listarEsquemas());
+        } catch (Exception e) {
+            log.error("Erro ao recarregar armazenamento analítico: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro ao recarregar armazenamento analítico.", e);
+        }
+    }
+}
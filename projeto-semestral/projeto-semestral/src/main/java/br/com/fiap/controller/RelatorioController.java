@@ -5,7 +5,10 @@ package br.com.fiap.controller;
 import br.com.fiap.dto.relatorio.*; // Importa todos os DTOs de relatório
 import br.com.fiap.exception.ClientesNotFoundException;
 import br.com.fiap.model.relacionamentos.ClienteId;
+import br.com.fiap.service.agenda.CalendarioAgendaService;
+import br.com.fiap.service.estatistica.EstatisticasPagamentoService;
 import br.com.fiap.service.relatorio.RelatorioService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -13,6 +16,7 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +28,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.List;
 
@@ -36,6 +45,12 @@ public class RelatorioController {
     private static final Logger log = LoggerFactory.getLogger(RelatorioController.class);
     @Autowired
     private RelatorioService relatorioService;
+    @Autowired
+    private EstatisticasPagamentoService estatisticasPagamentoService;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private CalendarioAgendaService calendarioAgendaService;
 
     // Endpoint Contagem Mensal (Existente)
     @GetMapping("/contagem-agendamentos-mensal")
@@ -57,6 +72,46 @@ public class RelatorioController {
         }
     }
 
+    @GetMapping("/agendamentos/calendario")
+    @Operation(summary = "Calendário de Agendamentos", description = "Retorna a quantidade de agendamentos por dia e por mês na janela informada (máx. 3660 dias), lida dos contadores diários.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Calendário retornado com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = CalendarioAgendamentosDto.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de data inválidos ou janela muito grande"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<CalendarioAgendamentosDto> getCalendarioAgendamentos(
+            @Parameter(description = "Data inicial da janela (AAAA-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final da janela (AAAA-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim
+    ) {
+        log.info("Requisição GET /rest/relatorios/agendamentos/calendario para período: {} a {}", dataInicio, dataFim);
+        try {
+            return ResponseEntity.ok(calendarioAgendaService.gerarCalendario(dataInicio, dataFim));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro ao gerar calendário de agendamentos: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/agendamentos/calendario/reconstruir")
+    @Operation(summary = "Reconstrói os Contadores Diários de Agendamentos", description = "Recalcula os contadores a partir de AGENDAR, na janela informada ou em toda a tabela.")
+    public ResponseEntity<Integer> reconstruirCalendarioAgendamentos(
+            @Parameter(description = "Data inicial (AAAA-MM-DD), opcional") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final (AAAA-MM-DD), opcional") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim
+    ) {
+        log.info("Requisição POST /rest/relatorios/agendamentos/calendario/reconstruir: {} a {}", dataInicio, dataFim);
+        if ((dataInicio == null) != (dataFim == null) || (dataInicio != null && dataFim.isBefore(dataInicio))) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Informe as duas datas (com fim >= início) ou nenhuma.");
+        }
+        try {
+            return ResponseEntity.ok(calendarioAgendaService.reconstruir(dataInicio, dataFim));
+        } catch (Exception e) {
+            log.error("Erro ao reconstruir contadores diários de agendamentos: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // Endpoint Histórico Cliente (Existente)
     @GetMapping("/historico-cliente/{idCliente}/{idEndereco}")
     @Operation(summary = "Histórico de Agendamentos por Cliente", description = "Retorna o histórico de agendamentos para um cliente específico.")
@@ -89,6 +144,84 @@ public class RelatorioController {
         }
     }
 
+    @GetMapping("/historico-cliente/{idCliente}/{idEndereco}/pagina")
+    @Operation(summary = "Histórico de Agendamentos por Cliente (paginado por cursor)", description = "Retorna uma página do histórico, do mais recente para o mais antigo. Use o 'proximoCursor' da resposta para buscar a página seguinte.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Página retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = HistoricoAgendamentoPaginaDto.class))),
+            @ApiResponse(responseCode = "400", description = "IDs, cursor ou tamanho inválidos"),
+            @ApiResponse(responseCode = "404", description = "Cliente não encontrado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<HistoricoAgendamentoPaginaDto> getHistoricoClientePagina(
+            @Parameter(description = "ID_CLI do cliente") @PathVariable Long idCliente,
+            @Parameter(description = "ENDERECOS_ID_END do cliente") @PathVariable Long idEndereco,
+            @Parameter(description = "Cursor retornado pela página anterior (vazio = primeira página)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Itens por página (1 a 500). Padrão: 50") @RequestParam(defaultValue = "50") int tamanho
+    ) {
+        ClienteId clienteIdObj = new ClienteId(idCliente, idEndereco);
+        log.info("Requisição GET /rest/relatorios/historico-cliente/{}/pagina: cursor={}, tamanho={}", clienteIdObj, cursor, tamanho);
+        try {
+            return ResponseEntity.ok(relatorioService.getHistoricoAgendamentosClientePagina(clienteIdObj, cursor, tamanho));
+        } catch (ClientesNotFoundException e) {
+            log.warn("Cliente não encontrado para histórico: {}", clienteIdObj);
+            return ResponseEntity.notFound().build();
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro ao gerar página do histórico para cliente {}: {}", clienteIdObj, e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping(value = "/historico-cliente/{idCliente}/{idEndereco}/stream", produces = "application/x-ndjson")
+    @Operation(summary = "Histórico de Agendamentos por Cliente (NDJSON)", description = "Transmite o histórico completo, um objeto JSON por linha, à medida que é lido do banco (sem montar a lista em memória).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Histórico transmitido"),
+            @ApiResponse(responseCode = "400", description = "IDs de cliente ou endereço inválidos"),
+            @ApiResponse(responseCode = "404", description = "Cliente não encontrado")
+    })
+    public void streamHistoricoCliente(
+            @Parameter(description = "ID_CLI do cliente") @PathVariable Long idCliente,
+            @Parameter(description = "ENDERECOS_ID_END do cliente") @PathVariable Long idEndereco,
+            HttpServletResponse response
+    ) throws IOException {
+        ClienteId clienteIdObj = new ClienteId(idCliente, idEndereco);
+        log.info("Requisição GET /rest/relatorios/historico-cliente/{}/stream", clienteIdObj);
+        Writer[] saida = new Writer[1];
+        long[] linhas = new long[1];
+        boolean clienteExiste;
+        try {
+            clienteExiste = relatorioService.percorrerHistoricoAgendamentosCliente(clienteIdObj, item -> {
+                try {
+                    if (saida[0] == null) {
+                        // Cabeçalhos só na primeira linha: até aqui ainda é possível responder 404
+                        response.setContentType("application/x-ndjson");
+                        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+                        saida[0] = new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8);
+                    }
+                    saida[0].write(objectMapper.writeValueAsString(item));
+                    saida[0].write('\n');
+                    if (++linhas[0] % 500 == 0) {
+                        saida[0].flush();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        if (!clienteExiste) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Cliente não encontrado com ID: " + clienteIdObj);
+        }
+        if (saida[0] == null) {
+            response.setContentType("application/x-ndjson"); // cliente sem histórico: corpo vazio
+        } else {
+            saida[0].flush();
+        }
+        log.info("Histórico do cliente {} transmitido: {} linhas", clienteIdObj, linhas[0]);
+    }
+
     // Endpoint Serviços Agendados (Existente)
     @GetMapping("/servicos-agendados")
     @Operation(summary = "Relatório de Serviços Agendados", description = "Lista os serviços agendados a partir de uma data, com detalhes do veículo e diagnóstico.")
@@ -115,6 +248,32 @@ public class RelatorioController {
         }
     }
 
+    @GetMapping("/servicos-agendados/cursor")
+    @Operation(summary = "Relatório de Serviços Agendados (cursor)", description = "Lista os serviços agendados em ordem de data a partir de um cursor, sem contagem total. Use o 'proximoCursor' da resposta para buscar a página seguinte.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Serviços agendados retornados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = ServicosAgendadosPaginaDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor ou tamanho inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<ServicosAgendadosPaginaDto> getServicosAgendadosPorCursor(
+            @Parameter(description = "Data inicial (AAAA-MM-DD) para buscar serviços. Padrão: data atual.")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Cursor retornado pela página anterior (vazio = primeira página)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Agendamentos por página (1 a 500). Padrão: 20") @RequestParam(defaultValue = "20") int tamanho,
+            @Parameter(description = "Se true, inclui o total de agendamentos (contagem separada)") @RequestParam(defaultValue = "false") boolean incluirTotal
+    ) {
+        LocalDate dataInicioFiltro = (dataInicio != null) ? dataInicio : LocalDate.now();
+        log.info("Requisição GET /rest/relatorios/servicos-agendados/cursor: dataInicio={}, cursor={}, tamanho={}", dataInicioFiltro, cursor, tamanho);
+        try {
+            return ResponseEntity.ok(relatorioService.findServicosAgendadosPorCursor(dataInicioFiltro, cursor, tamanho, incluirTotal));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro ao gerar relatório de serviços agendados por cursor: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
     // --- NOVOS ENDPOINTS PARA RELATÓRIOS DE PAGAMENTO ---
 
     @GetMapping("/pagamentos/estatisticas")
@@ -196,5 +355,75 @@ public class RelatorioController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
+
+    // --- ESTATÍSTICAS POR SKETCHES (quantis e clientes distintos) ---
+
+    @GetMapping("/pagamentos/distribuicao")
+    @Operation(summary = "Distribuição do Ticket e Clientes Distintos", description = "Retorna quantis aproximados do valor dos pagamentos (mediana, p90...) e o número aproximado de clientes distintos no período, mesclando sketches mensais. O período é arredondado para meses inteiros.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Distribuição retornada com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = DistribuicaoPagamentosDto.class))),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de data ou quantis inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<DistribuicaoPagamentosDto> getDistribuicaoPagamentos(
+            @Parameter(description = "Data inicial do período (AAAA-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final do período (AAAA-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Forma de pagamento (opcional)") @RequestParam(required = false) String tipoPagamento,
+            @Parameter(description = "Quantis desejados entre 0 e 1. Padrão: 0.5, 0.9, 0.99") @RequestParam(required = false) List<Double> quantis
+    ) {
+        log.info("Requisição GET /rest/relatorios/pagamentos/distribuicao para período: {} a {}, tipo={}", dataInicio, dataFim, tipoPagamento);
+        if (dataInicio == null || dataFim == null || dataFim.isBefore(dataInicio)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Datas de início e fim são obrigatórias e a data fim não pode ser anterior à data início.");
+        }
+        try {
+            return ResponseEntity.ok(estatisticasPagamentoService.gerarDistribuicao(dataInicio, dataFim, tipoPagamento, quantis));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        } catch (Exception e) {
+            log.error("Erro ao gerar distribuição de pagamentos: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/pagamentos/estatisticas-mensais")
+    @Operation(summary = "Mediana, p90 e Clientes Distintos por Mês", description = "Retorna, mês a mês, a quantidade de pagamentos, o ticket mediano, o p90 e os clientes distintos aproximados.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Dados retornados com sucesso", content = @Content(mediaType = "application/json", schema = @Schema(implementation = EstatisticaMensalPagamentosDto.class))),
+            @ApiResponse(responseCode = "204", description = "Nenhum pagamento encontrado no período"),
+            @ApiResponse(responseCode = "400", description = "Parâmetros de data inválidos"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<List<EstatisticaMensalPagamentosDto>> getEstatisticasMensaisPagamentos(
+            @Parameter(description = "Data inicial do período (AAAA-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataInicio,
+            @Parameter(description = "Data final do período (AAAA-MM-DD)", required = true) @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dataFim,
+            @Parameter(description = "Forma de pagamento (opcional)") @RequestParam(required = false) String tipoPagamento
+    ) {
+        log.info("Requisição GET /rest/relatorios/pagamentos/estatisticas-mensais para período: {} a {}, tipo={}", dataInicio, dataFim, tipoPagamento);
+        if (dataInicio == null || dataFim == null || dataFim.isBefore(dataInicio)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Datas de início e fim são obrigatórias e a data fim não pode ser anterior à data início.");
+        }
+        try {
+            List<EstatisticaMensalPagamentosDto> resultado = estatisticasPagamentoService.listarMensal(dataInicio, dataFim, tipoPagamento);
+            if (resultado.isEmpty()) {
+                return ResponseEntity.noContent().build();
+            }
+            return ResponseEntity.ok(resultado);
+        } catch (Exception e) {
+            log.error("Erro ao gerar estatísticas mensais de pagamentos: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @PostMapping("/pagamentos/sketches/reconstruir")
+    @Operation(summary = "Reconstrói os Sketches de Pagamentos", description = "Recalcula todos os sketches mensais a partir dos pagamentos gravados.")
+    public ResponseEntity<Integer> reconstruirSketchesPagamentos() {
+        log.info("Requisição POST /rest/relatorios/pagamentos/sketches/reconstruir");
+        try {
+            return ResponseEntity.ok(estatisticasPagamentoService.reconstruir());
+        } catch (Exception e) {
+            log.error("Erro ao reconstruir sketches de pagamentos: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
     // ----------------------------------------------------------
 }
\ No newline at end of file
@@ -0,0 +1,59 @@
+// src/main/java/br/com/fiap/controller/SincronizacaoController.java
+package br.com.fiap.controller;
+
+import br.com.fiap.dto.sincronizacao.AlteracoesResponseDto;
+import br.com.fiap.service.sincronizacao.SincronizacaoService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/rest/sincronizacao")
+@Tag(name = "Sincronização", description = "Feed incremental de alterações para sincronização do front-end")
+public class SincronizacaoController {
+
+    private static final Logger log = LoggerFactory.getLogger(SincronizacaoController.class);
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @GetMapping("/alteracoes")
+    @Operation(summary = "Alterações desde um cursor",
+            description = "Retorna Agendas, Oficinas, Orçamentos e Pagamentos criados, alterados ou excluídos (tombstones) após a versão informada, em ordem de commit. " +
+                    "Envie 'proximaVersao' da resposta como 'since' na chamada seguinte. " +
+                    "A versão é atribuída no commit, em exclusão mútua: uma alteração confirmada depois nunca fica abaixo de um cursor já entregue.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Alterações retornadas com sucesso",
+                    content = @Content(mediaType = "application/json", schema = @Schema(implementation = AlteracoesResponseDto.class))),
+            @ApiResponse(responseCode = "400", description = "Cursor inválido"),
+            @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
+    })
+    public ResponseEntity<AlteracoesResponseDto> buscarAlteracoes(
+            @Parameter(description = "Versão já sincronizada pelo cliente (0 = carga inicial)") @RequestParam(name = "since", required = false) Long versao,
+            @Parameter(description = "Alternativa à versão: data/hora (ISO) a partir da qual buscar") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime desde,
+            @Parameter(description = "Quantidade máxima de registros do log por chamada (máx. 1000)") @RequestParam(defaultValue = "500") int limite) {
+        log.info("Requisição GET /rest/sincronizacao/alteracoes: since={}, desde={}, limite={}", versao, desde, limite);
+        if (versao != null && versao < 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            return ResponseEntity.ok(sincronizacaoService.buscarAlteracoes(versao, desde, limite));
+        } catch (Exception e) {
+            log.error("Erro ao buscar alterações para sincronização: {}", e.getMessage(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
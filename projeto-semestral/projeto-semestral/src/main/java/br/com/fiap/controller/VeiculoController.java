@@ -3,11 +3,14 @@
 package br.com.fiap.controller;
 
 // Imports necessários
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
 import br.com.fiap.dto.oficina.ServicoHistoricoResponseDto; // DTO para o histórico
 import br.com.fiap.dto.veiculo.VeiculoRequestDto;
 import br.com.fiap.dto.veiculo.VeiculoResponseDto;
 import br.com.fiap.exception.VeiculoNotFoundException;
 import br.com.fiap.service.oficina.OficinaService; // <<< SERVIÇO DA OFICINA
+import br.com.fiap.service.importacao.FormatoImportacao;
+import br.com.fiap.service.veiculo.ImportacaoVeiculoService;
 import br.com.fiap.service.veiculo.VeiculoService; // <<< SERVIÇO DO VEÍCULO
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
@@ -20,11 +23,15 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -44,6 +51,9 @@ public class VeiculoController {
     private OficinaService oficinaService;
     // <<< FIM DA ADIÇÃO >>>
 
+    @Autowired
+    private ImportacaoVeiculoService importacaoVeiculoService;
+
     // --- Endpoints CRUD de Veículo (Existente) ---
 
     @GetMapping("/all")
@@ -55,9 +65,9 @@ public class VeiculoController {
             @ApiResponse(responseCode = "500", description = "Erro interno no servidor")
     })
     public ResponseEntity<List<VeiculoResponseDto>> findVeiculos(
-            @Parameter(description = "Filtrar por parte da placa") @RequestParam(required = false) String placa,
-            @Parameter(description = "Filtrar por parte do modelo") @RequestParam(required = false) String modelo,
-            @Parameter(description = "Filtrar por parte do proprietário") @RequestParam(required = false) String proprietario) {
+            @Parameter(description = "Placa completa ou início da placa (formato antigo ou Mercosul, com ou sem hífen)") @RequestParam(required = false) String placa,
+            @Parameter(description = "Termos do modelo (cada um como início de palavra)") @RequestParam(required = false) String modelo,
+            @Parameter(description = "Termos do proprietário (cada um como início de palavra)") @RequestParam(required = false) String proprietario) {
         log.info("Requisição para buscar/listar veículos com filtros: placa='{}', modelo='{}', proprietario='{}'", placa, modelo, proprietario);
         List<VeiculoResponseDto> veiculos;
         if ((placa != null && !placa.isBlank()) || (modelo != null && !modelo.isBlank()) || (proprietario != null && !proprietario.isBlank())) {
@@ -191,4 +201,31 @@ public class VeiculoController {
     }
     // --- Fim do Novo Endpoint ---
 
+    // --- Importação de Frota ---
+    @PostMapping(value = "/importar", consumes = {MediaType.APPLICATION_JSON_VALUE, "text/csv", MediaType.TEXT_PLAIN_VALUE})
+    @CacheEvict(value = "veiculos", allEntries = true)
+    @Operation(summary = "Importar Frota de Veículos",
+            description = "Recebe um array JSON ou CSV de veículos, remove duplicados do arquivo e insere/atualiza por placa/renavam em lotes, " +
+                    "vinculando opcionalmente cada veículo a um cliente (clienteId/clienteEnderecoId).")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Importação processada (verifique as linhas rejeitadas no relatório)"),
+            @ApiResponse(responseCode = "400", description = "Arquivo mal formado"),
+            @ApiResponse(responseCode = "500", description = "Erro interno durante a importação")
+    })
+    public ResponseEntity<RelatorioImportacaoDto> importar(
+            @RequestHeader(value = HttpHeaders.CONTENT_TYPE, required = false) String contentType,
+            InputStream corpo) {
+        FormatoImportacao formato = FormatoImportacao.deContentType(contentType);
+        log.info("Requisição POST /rest/veiculo/importar (formato {})", formato);
+        try {
+            return ResponseEntity.ok(importacaoVeiculoService.importar(corpo, formato));
+        } catch (IllegalArgumentException | IOException e) {
+            log.warn("Arquivo de importação de veículos inválido: {}", e.getMessage());
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Erro na importação de veículos: {}", e.getMessage(), e);
+            throw new ResponseStatusException(HttpStatus.INTERNAL_SERVER_ERROR, "Erro na importação de veículos", e);
+        }
+    }
+
 } // <<< FIM DA CLASSE VeiculoController >>>
\ No newline at end of file
@@ -1,13 +1,17 @@
 package br.com.fiap.dto.agenda;
 
+import jakarta.validation.constraints.DecimalMax;
 import jakarta.validation.constraints.FutureOrPresent;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import jakarta.validation.constraints.Size;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import java.io.Serializable;
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 @Getter @Setter @NoArgsConstructor
 public class AgendaRequestDto implements Serializable {
@@ -21,4 +25,13 @@ public class AgendaRequestDto implements Serializable {
 
     @Size(max = 400, message = "Observação pode ter no máximo 400 caracteres") // DDL: VARCHAR2(400)
     private String observacao; // Renomeado de obsAgenda
+
+    // --- Reserva de box (opcionais; não são colunas de AGENDAR) ---
+    private LocalTime horaInicio; // Sem hora: primeiro horário livre do dia
+
+    @Positive(message = "Duração deve ser positiva")
+    @DecimalMax(value = "24", message = "Duração máxima é de 24 horas")
+    private BigDecimal duracaoHoras; // Prevalece sobre a estimativa da oficina
+
+    private Long oficinaId; // Usa HORAS_TRABALHADAS da oficina como duração
 }
\ No newline at end of file
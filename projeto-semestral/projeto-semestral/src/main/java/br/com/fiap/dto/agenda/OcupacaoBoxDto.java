@@ -0,0 +1,19 @@
+package br.com.fiap.dto.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class OcupacaoBoxDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer box;
+    private Long minutosOcupados; // Dentro do expediente do dia
+    private Long minutosLivres;
+    private List<ReservaBoxDto> reservas; // Em ordem de início
+}
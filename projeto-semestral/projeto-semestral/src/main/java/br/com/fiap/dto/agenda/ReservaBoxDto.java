@@ -0,0 +1,19 @@
+package br.com.fiap.dto.agenda;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ReservaBoxDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long agendaId; // null quando é apenas um horário livre sugerido
+    private Integer box;
+    private LocalDateTime inicio;
+    private LocalDateTime fim;
+}
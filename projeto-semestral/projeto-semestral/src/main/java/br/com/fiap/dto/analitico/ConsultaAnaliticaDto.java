@@ -0,0 +1,34 @@
+// src/main/java/br/com/fiap/dto/analitico/ConsultaAnaliticaDto.java
+package br.com.fiap.dto.analitico;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Consulta ao armazenamento analítico: filtros por dimensão (valor IN lista), dimensões de agrupamento
+ * e medidas no formato "funcao:medida" (contagem, soma:valor, media:valor, min:valor, max:valor).
+ */
+@Getter @Setter @NoArgsConstructor
+public class ConsultaAnaliticaDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank(message = "A tabela é obrigatória (pagamentos ou oficinaPecas)")
+    private String tabela;
+
+    private Map<String, List<String>> filtros = new LinkedHashMap<>();
+
+    @Size(max = 3, message = "No máximo 3 dimensões de agrupamento")
+    private List<String> agrupar = new ArrayList<>();
+
+    @Size(max = 20, message = "No máximo 20 medidas")
+    private List<String> medidas = new ArrayList<>();
+}
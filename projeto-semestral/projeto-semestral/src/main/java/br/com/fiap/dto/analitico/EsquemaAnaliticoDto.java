@@ -0,0 +1,20 @@
+// src/main/java/br/com/fiap/dto/analitico/EsquemaAnaliticoDto.java
+package br.com.fiap.dto.analitico;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class EsquemaAnaliticoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String tabela;
+    private List<String> dimensoes;
+    private List<String> medidas;
+    private long linhas;
+}
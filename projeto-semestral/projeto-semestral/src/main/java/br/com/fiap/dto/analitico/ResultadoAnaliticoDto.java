@@ -0,0 +1,21 @@
+// src/main/java/br/com/fiap/dto/analitico/ResultadoAnaliticoDto.java
+package br.com.fiap.dto.analitico;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ResultadoAnaliticoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String tabela;
+    private List<String> colunas;
+    private List<List<Object>> linhas;
+    private long linhasVarridas;
+    private long duracaoMs;
+}
@@ -0,0 +1,34 @@
+// src/main/java/br/com/fiap/dto/conciliacao/RelatorioConciliacaoDto.java
+package br.com.fiap.dto.conciliacao;
+
+import br.com.fiap.dto.importacao.ErroImportacaoDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resumo de uma conciliação de extrato. O resultado de cada lançamento fica em CONCILIACAO_ITENS.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioConciliacaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long conciliacaoId;
+    private long totalLinhas;
+    private long conciliadas;
+    private long naoEncontradas;
+    private long ambiguas;
+    private long rejeitadas;       // Linhas que não puderam ser interpretadas
+    private long errosOmitidos;
+    private long duracaoMs;
+    private double linhasPorSegundo;
+    private List<ErroImportacaoDto> erros = new ArrayList<>();
+}
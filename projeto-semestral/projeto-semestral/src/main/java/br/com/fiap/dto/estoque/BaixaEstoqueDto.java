@@ -0,0 +1,23 @@
+// src/main/java/br/com/fiap/dto/estoque/BaixaEstoqueDto.java
+package br.com.fiap.dto.estoque;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado do encerramento de um serviço: as reservas viram consumo e saem do estoque físico.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class BaixaEstoqueDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long oficinaId;
+    private long quantidadeBaixada;
+    private List<EstoquePecaDto> estoques = new ArrayList<>();
+}
@@ -0,0 +1,20 @@
+// src/main/java/br/com/fiap/dto/estoque/EntradaEstoqueRequestDto.java
+package br.com.fiap.dto.estoque;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class EntradaEstoqueRequestDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotNull(message = "Quantidade é obrigatória")
+    @Positive(message = "Quantidade deve ser maior que zero")
+    private Integer quantidade;
+}
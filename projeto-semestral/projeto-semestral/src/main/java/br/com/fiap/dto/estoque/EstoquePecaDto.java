@@ -0,0 +1,24 @@
+// src/main/java/br/com/fiap/dto/estoque/EstoquePecaDto.java
+package br.com.fiap.dto.estoque;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Saldo de uma peça: físico (em prateleira), reservado para serviços abertos e disponível (físico - reservado).
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class EstoquePecaDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long pecaId;
+    private long quantidadeFisica;
+    private long quantidadeReservada;
+    private long quantidadeDisponivel;
+    private LocalDateTime dataAtualizacao; // null se a peça nunca teve entrada
+}
@@ -0,0 +1,21 @@
+// src/main/java/br/com/fiap/dto/importacao/ErroImportacaoDto.java
+package br.com.fiap.dto.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErroImportacaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long linha;           // Linha do CSV ou posição (1-based) no array JSON
+    private String identificador; // Chave natural da linha (documento, placa...), quando disponível
+    private String mensagem;
+}
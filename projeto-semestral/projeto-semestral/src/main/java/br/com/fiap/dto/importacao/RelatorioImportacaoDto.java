@@ -0,0 +1,33 @@
+// src/main/java/br/com/fiap/dto/importacao/RelatorioImportacaoDto.java
+package br.com.fiap.dto.importacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma importação em lote, com o erro de cada linha rejeitada.
+ * Para não gerar respostas gigantes, apenas os primeiros erros são detalhados ('errosOmitidos' conta o restante).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatorioImportacaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private long totalLinhas;
+    private long inseridas;
+    private long atualizadas;
+    private long inalteradas;
+    private long rejeitadas;
+    private long errosOmitidos;
+    private long duracaoMs;
+    private double linhasPorSegundo;
+    private List<ErroImportacaoDto> erros = new ArrayList<>();
+}
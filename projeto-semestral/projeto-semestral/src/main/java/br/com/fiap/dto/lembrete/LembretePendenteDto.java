@@ -0,0 +1,19 @@
+package br.com.fiap.dto.lembrete;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class LembretePendenteDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long agendaId;
+    private LocalDateTime dataHoraAgendamento;
+    private String antecedencia; // ISO-8601 (ex: PT24H)
+    private LocalDateTime disparoPrevisto;
+}
@@ -0,0 +1,24 @@
+package br.com.fiap.dto.lembrete;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class StatusLembretesDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Integer pendentes;           // Temporizadores na roda
+    private Integer agendasMonitoradas;
+    private Long disparados;             // Desde a inicialização
+    private Long falhas;                 // Envios que lançaram exceção no destino
+    private List<String> antecedencias;  // ISO-8601
+    private String destino;              // Implementação de DestinoLembretes ativa
+    private LocalDateTime carregadoEm;   // Fim da carga inicial (null enquanto carrega)
+    private List<LembretePendenteDto> ultimosDisparados;
+}
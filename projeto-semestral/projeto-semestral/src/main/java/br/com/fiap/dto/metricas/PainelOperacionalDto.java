@@ -0,0 +1,27 @@
+// src/main/java/br/com/fiap/dto/metricas/PainelOperacionalDto.java
+package br.com.fiap.dto.metricas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class PainelOperacionalDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private BigDecimal receitaUltimaHora;
+    private BigDecimal receitaUltimas24h;
+    private BigDecimal receitaHoje;
+    private long pagamentosUltimaHora;
+    private long pagamentosUltimas24h;
+    private long servicosAbertosUltimaHora;
+    private long servicosAbertosUltimas24h;
+    private long servicosAbertosHoje;
+    private LocalDateTime coletandoDesde; // Janelas deslizantes contam a partir da inicialização
+    private LocalDateTime geradoEm;
+}
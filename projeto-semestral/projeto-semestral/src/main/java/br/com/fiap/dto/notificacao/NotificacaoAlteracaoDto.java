@@ -0,0 +1,27 @@
+// src/main/java/br/com/fiap/dto/notificacao/NotificacaoAlteracaoDto.java
+package br.com.fiap.dto.notificacao;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * Notificação leve enviada via SSE: apenas o que mudou, sem os dados.
+ * O front-end decide se recarrega o registro (ou usa o feed de sincronização).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class NotificacaoAlteracaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private TipoEntidade entidade;
+    private Long entidadeId;
+    private TipoOperacao operacao;
+}
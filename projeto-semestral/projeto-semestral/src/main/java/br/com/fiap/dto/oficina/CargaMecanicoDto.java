@@ -0,0 +1,22 @@
+package br.com.fiap.dto.oficina;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CargaMecanicoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String nome;
+    private BigDecimal horasOcupadas;
+    private BigDecimal horasDisponiveis;
+    private BigDecimal terminoHoras; // Horas ocupadas + serviços atribuídos
+    private Boolean excedeDisponibilidade;
+    private List<ServicoAtribuidoDto> servicos;
+}
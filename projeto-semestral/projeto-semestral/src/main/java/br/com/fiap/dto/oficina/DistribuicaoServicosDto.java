@@ -0,0 +1,25 @@
+package br.com.fiap.dto.oficina;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class DistribuicaoServicosDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate data;
+    private Integer totalServicos;
+    private BigDecimal makespanHoras;        // Término do mecânico mais carregado
+    private BigDecimal limiteInferiorHoras;  // Nenhuma distribuição termina antes disso
+    private Long iteracoes;                  // Movimentos da busca local (acumulados nos replanejamentos)
+    private LocalDateTime atualizadoEm;
+    private List<CargaMecanicoDto> mecanicos;
+}
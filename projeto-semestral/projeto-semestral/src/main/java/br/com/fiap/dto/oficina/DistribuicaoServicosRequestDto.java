@@ -0,0 +1,28 @@
+package br.com.fiap.dto.oficina;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter @Setter @NoArgsConstructor
+public class DistribuicaoServicosRequestDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotNull(message = "Data é obrigatória")
+    private LocalDate data;
+
+    @Valid
+    private List<MecanicoDisponibilidadeDto> mecanicos; // Vazio: um mecânico por box configurado
+
+    @Min(value = 1, message = "Tempo limite mínimo é 1 ms")
+    @Max(value = 5000, message = "Tempo limite máximo é 5000 ms")
+    private Integer tempoLimiteMs; // Prazo da busca local; vazio usa o padrão configurado
+}
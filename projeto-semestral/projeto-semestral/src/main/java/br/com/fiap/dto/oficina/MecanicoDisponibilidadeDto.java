@@ -0,0 +1,26 @@
+package br.com.fiap.dto.oficina;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.PositiveOrZero;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class MecanicoDisponibilidadeDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank(message = "Nome do mecânico é obrigatório")
+    private String nome;
+
+    @PositiveOrZero(message = "Horas ocupadas não podem ser negativas")
+    private BigDecimal horasOcupadas; // Já comprometidas no dia: o mecânico começa depois delas
+
+    @Positive(message = "Horas disponíveis devem ser positivas")
+    private BigDecimal horasDisponiveis; // Jornada do dia; sem valor, o expediente configurado
+}
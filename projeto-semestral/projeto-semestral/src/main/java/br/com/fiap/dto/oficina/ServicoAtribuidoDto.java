@@ -0,0 +1,19 @@
+package br.com.fiap.dto.oficina;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ServicoAtribuidoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long agendaId;
+    private Long oficinaId;
+    private String descricaoProblema;
+    private BigDecimal horas; // Estimativa usada (HORAS_TRABALHADAS ou duração padrão)
+}
@@ -0,0 +1,30 @@
+// src/main/java/br/com/fiap/dto/orcamento/RelatorioReprecificacaoDto.java
+package br.com.fiap.dto.orcamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado da reprecificação de orçamentos após mudança de preço de peças.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RelatorioReprecificacaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int pecasAlteradas;
+    private int orcamentosAfetados;          // Orçamentos que usam alguma das peças
+    private int orcamentosComPagamento;      // Ignorados: já possuem pagamento vinculado (PAO)
+    private int orcamentosAlterados;         // Tiveram o VALOR_TOTAL alterado
+    private BigDecimal variacaoTotal = BigDecimal.ZERO;
+    private BigDecimal maiorAumento = BigDecimal.ZERO;
+    private BigDecimal maiorReducao = BigDecimal.ZERO;
+    private long duracaoMs;
+    private List<ReprecificacaoOrcamentoDto> alteracoes = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+// src/main/java/br/com/fiap/dto/orcamento/ReprecificacaoOrcamentoDto.java
+package br.com.fiap.dto.orcamento;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class ReprecificacaoOrcamentoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long orcamentoId;
+    private BigDecimal valorAnterior;
+    private BigDecimal valorNovo;
+}
@@ -17,7 +17,7 @@ public class PagamentoResponseDto {
     private LocalDate dataPagamento;
     private String tipoPagamento;
     private BigDecimal desconto;       // O percentual armazenado na entidade
-    private String totalParcelas;    // Como String (igual entidade)
+    private String totalParcelas;    // Mantido como String no contrato da API (a entidade guarda Integer)
     private BigDecimal valorParcelas;   // Valor calculado
     private BigDecimal totalComDesconto; // Valor calculado
 }
\ No newline at end of file
@@ -0,0 +1,30 @@
+package br.com.fiap.dto.pagamento;
+
+import jakarta.validation.constraints.*;
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacaoPagamentoRequestDto {
+
+    @NotNull(message = "Valor do serviço é obrigatório")
+    @DecimalMin(value = "0.01", message = "Valor do serviço deve ser positivo")
+    private BigDecimal valorServico;
+
+    @NotEmpty(message = "Informe ao menos um percentual de desconto")
+    @Size(max = 50, message = "No máximo 50 percentuais de desconto por simulação")
+    private List<@NotNull @DecimalMin(value = "0.0", message = "Desconto não pode ser negativo")
+            @DecimalMax(value = "100.0", message = "Desconto não pode ser maior que 100") BigDecimal> descontosPercentuais;
+
+    @NotEmpty(message = "Informe ao menos uma quantidade de parcelas")
+    @Size(max = 60, message = "No máximo 60 opções de parcelamento por simulação")
+    private List<@NotNull @Min(value = 1, message = "Deve haver pelo menos 1 parcela")
+            @Max(value = 99999, message = "Total de parcelas não pode exceder 5 dígitos") Integer> parcelas;
+}
@@ -0,0 +1,25 @@
+package br.com.fiap.dto.pagamento;
+
+import java.math.BigDecimal;
+import java.util.List;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.NoArgsConstructor;
+import lombok.AllArgsConstructor;
+
+/**
+ * Matriz de opções de pagamento. O total com desconto só depende do desconto, então vem uma vez por linha;
+ * valoresParcelas[i][j] é o valor da parcela para descontosPercentuais[i] em parcelas[j].
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulacaoPagamentoResponseDto {
+
+    private BigDecimal valorServico;
+    private List<BigDecimal> descontosPercentuais; // Linhas (sem repetição, em ordem crescente)
+    private List<Integer> parcelas;                // Colunas (sem repetição, em ordem crescente)
+    private List<BigDecimal> totaisComDesconto;    // Um por linha
+    private List<List<BigDecimal>> valoresParcelas;
+}
@@ -0,0 +1,21 @@
+// src/main/java/br/com/fiap/dto/pecas/AlteracaoPrecoPecaDto.java
+package br.com.fiap.dto.pecas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class AlteracaoPrecoPecaDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long pecaId;
+    private BigDecimal precoAnterior;
+    private BigDecimal precoNovo;
+    private BigDecimal totalDescontoAnterior;
+    private BigDecimal totalDescontoNovo;
+}
@@ -0,0 +1,36 @@
+// src/main/java/br/com/fiap/dto/pecas/CatalogoPecasDto.java
+package br.com.fiap.dto.pecas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Página de resultados da busca no catálogo, com as facetas (quantidade de peças por fabricante e por tipo
+ * de veículo, da maior para a menor) e a faixa de preço dos resultados.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class CatalogoPecasDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private int total;
+    private int pagina;
+    private int tamanho;
+    private List<PecasResponseDto> itens = new ArrayList<>();
+    private Map<String, Integer> facetasFabricante = new LinkedHashMap<>();
+    private Map<String, Integer> facetasTipoVeiculo = new LinkedHashMap<>();
+    private BigDecimal precoMinimo;
+    private BigDecimal precoMaximo;
+    private int pecasIndexadas;
+    private LocalDateTime indiceCarregadoEm;
+    private long tempoMicros;
+}
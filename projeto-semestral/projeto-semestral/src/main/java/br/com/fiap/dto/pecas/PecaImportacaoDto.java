@@ -0,0 +1,41 @@
+// src/main/java/br/com/fiap/dto/pecas/PecaImportacaoDto.java
+package br.com.fiap.dto.pecas;
+
+import jakarta.validation.constraints.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Linha da tabela de preços do fornecedor. O total com desconto é calculado na importação (preco - desconto).
+ */
+@Getter @Setter @NoArgsConstructor
+public class PecaImportacaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    @NotBlank(message = "Tipo do veículo é obrigatório")
+    @Size(max = 10) // DDL: VARCHAR2(10) not null
+    private String tipoVeiculo;
+
+    @NotBlank(message = "Fabricante é obrigatório")
+    @Size(max = 50) // DDL: VARCHAR2(50) not null
+    private String fabricante;
+
+    @NotBlank(message = "Descrição da peça é obrigatória")
+    @Size(max = 50) // DDL: DESCRICA_PECA VARCHAR2(50) not null
+    private String descricao;
+
+    @PastOrPresent(message = "Data da compra não pode ser futura") // Se ausente, usa a data da importação
+    private LocalDate dataCompra;
+
+    @NotNull(message = "Preço é obrigatório")
+    @Positive(message = "Preço deve ser positivo")
+    private BigDecimal preco;
+
+    @PositiveOrZero(message = "Desconto não pode ser negativo") // Valor em R$; se ausente, zero
+    private BigDecimal desconto;
+}
@@ -0,0 +1,30 @@
+// src/main/java/br/com/fiap/dto/pecas/PrevisaoDemandaPecaDto.java
+package br.com.fiap.dto.pecas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+/**
+ * Previsão de consumo semanal de uma peça (suavização exponencial simples) e a sugestão de reposição derivada dela.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class PrevisaoDemandaPecaDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long pecaId;
+    private String descricao;
+    private String fabricante;
+    private int semanasHistorico;
+    private long consumoHistorico;
+    private BigDecimal alfa;
+    private BigDecimal previsaoSemanal;
+    private BigDecimal erroPadraoSemanal;
+    private long estoqueSeguranca;
+    private long pontoPedido;   // repor quando o estoque cair a este nível
+    private long estoqueAlvo;   // nível a recompor (prazo de entrega + período de revisão)
+}
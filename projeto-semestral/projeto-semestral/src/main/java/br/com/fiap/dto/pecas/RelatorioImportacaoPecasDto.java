@@ -0,0 +1,23 @@
+// src/main/java/br/com/fiap/dto/pecas/RelatorioImportacaoPecasDto.java
+package br.com.fiap.dto.pecas;
+
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Relatório da importação do catálogo, com o diff das peças existentes cujo preço mudou.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RelatorioImportacaoPecasDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private RelatorioImportacaoDto relatorio;
+    private List<AlteracaoPrecoPecaDto> alteracoesPreco = new ArrayList<>();
+}
@@ -0,0 +1,32 @@
+// src/main/java/br/com/fiap/dto/pecas/RelatorioPrevisaoDemandaDto.java
+package br.com.fiap.dto.pecas;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Sugestões de reposição de peças, ordenadas pelo ponto de pedido.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RelatorioPrevisaoDemandaDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate semanaReferencia; // segunda-feira da última semana completa usada no ajuste
+    private int prazoEntregaSemanas;
+    private int revisaoSemanas;
+    private BigDecimal fatorNivelServico;
+    private int pecasComPrevisao;
+    private int pecasReajustadas;
+    private long tempoAjusteMs;
+    private LocalDateTime geradoEm;
+    private List<PrevisaoDemandaPecaDto> sugestoes = new ArrayList<>();
+}
@@ -0,0 +1,19 @@
+// src/main/java/br/com/fiap/dto/recebiveis/FaixaAgingDto.java
+package br.com.fiap.dto.recebiveis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class FaixaAgingDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private String faixa;       // "0-30", "31-60", "61-90", "90+"
+    private long quantidade;
+    private BigDecimal saldo;
+}
@@ -0,0 +1,26 @@
+// src/main/java/br/com/fiap/dto/recebiveis/RelatorioAgingDto.java
+package br.com.fiap.dto.recebiveis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Saldos em aberto agrupados por dias desde a data do orçamento.
+ */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class RelatorioAgingDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private LocalDate dataReferencia;
+    private Long clienteId;             // null = todos os clientes
+    private long orcamentosEmAberto;
+    private BigDecimal saldoTotal;
+    private List<FaixaAgingDto> faixas;
+}
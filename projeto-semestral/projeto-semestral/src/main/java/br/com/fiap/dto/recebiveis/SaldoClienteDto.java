@@ -0,0 +1,22 @@
+// src/main/java/br/com/fiap/dto/recebiveis/SaldoClienteDto.java
+package br.com.fiap.dto.recebiveis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class SaldoClienteDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long clienteId;
+    private long orcamentos;
+    private long orcamentosEmAberto;
+    private BigDecimal valorOrcado;
+    private BigDecimal valorPago;
+    private BigDecimal saldo;
+}
@@ -0,0 +1,23 @@
+// src/main/java/br/com/fiap/dto/recebiveis/SaldoOrcamentoDto.java
+package br.com.fiap.dto.recebiveis;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class SaldoOrcamentoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long orcamentoId;
+    private Long clienteId;
+    private LocalDate dataReferencia; // Data do orçamento (base do aging)
+    private BigDecimal valorOrcado;
+    private BigDecimal valorPago;
+    private BigDecimal saldo;
+}
@@ -0,0 +1,21 @@
+package br.com.fiap.dto.relatorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarioAgendamentosDto {
+    private LocalDate dataInicio;
+    private LocalDate dataFim;
+    private Long total;
+    private List<ContagemMensalDTO> meses; // Em ordem cronológica
+    private List<ContagemDiariaDto> dias;  // Todos os dias da janela, inclusive os sem agendamento
+}
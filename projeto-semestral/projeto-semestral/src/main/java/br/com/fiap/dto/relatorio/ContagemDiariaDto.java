@@ -0,0 +1,17 @@
+package br.com.fiap.dto.relatorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ContagemDiariaDto {
+    private LocalDate dia;
+    private Long quantidade; // Agendamentos no dia (0 para dias sem agendamento)
+}
@@ -0,0 +1,26 @@
+package br.com.fiap.dto.relatorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistribuicaoPagamentosDto {
+    private LocalDate dataInicio; // Primeiro dia do mês inicial (o período é arredondado para meses inteiros)
+    private LocalDate dataFim;    // Último dia do mês final
+    private String tipoPagamento; // null = todos os tipos
+    private Long totalOperacoes;
+    private BigDecimal valorMinimo;
+    private BigDecimal valorMaximo;
+    private Map<String, BigDecimal> quantis; // Ex.: "p50" -> mediana do ticket
+    private Long clientesDistintos;
+    private Double erroRelativoQuantis;   // Erro de rank aproximado do sketch KLL
+    private Double erroRelativoClientes;  // Erro padrão do HyperLogLog
+}
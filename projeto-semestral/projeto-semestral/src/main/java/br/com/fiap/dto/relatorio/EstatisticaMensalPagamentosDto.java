@@ -0,0 +1,19 @@
+package br.com.fiap.dto.relatorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class EstatisticaMensalPagamentosDto {
+    private String mesAno; // Formato "YYYY-MM"
+    private Long totalOperacoes;
+    private BigDecimal ticketMediano;
+    private BigDecimal ticketP90;
+    private Long clientesDistintos;
+}
@@ -0,0 +1,19 @@
+// src/main/java/br/com/fiap/dto/relatorio/HistoricoAgendamentoPaginaDto.java
+package br.com.fiap.dto.relatorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class HistoricoAgendamentoPaginaDto {
+    private List<HistoricoAgendamentoClienteDTO> itens;
+    private String proximoCursor; // Passar em ?cursor= para a próxima página; null quando não há mais itens
+    private boolean temMais;
+}
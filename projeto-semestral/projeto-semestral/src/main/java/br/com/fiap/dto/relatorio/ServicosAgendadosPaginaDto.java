@@ -0,0 +1,20 @@
+// src/main/java/br/com/fiap/dto/relatorio/ServicosAgendadosPaginaDto.java
+package br.com.fiap.dto.relatorio;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class ServicosAgendadosPaginaDto {
+    private List<ServicoAgendadoDTO> itens;
+    private String proximoCursor; // null quando não há mais agendamentos
+    private boolean temMais;
+    private Long totalAgendamentos; // Preenchido só se solicitado (contagem separada sobre AGENDAR)
+}
@@ -0,0 +1,31 @@
+// src/main/java/br/com/fiap/dto/sincronizacao/AlteracaoDto.java
+package br.com.fiap.dto.sincronizacao;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Uma entrada do feed de sincronização.
+ * Para EXCLUSAO o campo 'dados' vem nulo (tombstone); nos demais casos traz o estado atual da entidade.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracaoDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long versao;
+    private TipoEntidade entidade;
+    private Long entidadeId;
+    private TipoOperacao operacao;
+    private LocalDateTime dataAlteracao;
+    private Object dados;
+}
@@ -0,0 +1,25 @@
+// src/main/java/br/com/fiap/dto/sincronizacao/AlteracoesResponseDto.java
+package br.com.fiap.dto.sincronizacao;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Resposta do feed: as alterações e o cursor a ser enviado na próxima chamada (since=proximaVersao).
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class AlteracoesResponseDto implements Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private Long proximaVersao;
+    private boolean possuiMais;
+    private List<AlteracaoDto> alteracoes;
+}
@@ -0,0 +1,22 @@
+// src/main/java/br/com/fiap/dto/veiculo/VeiculoImportacaoDto.java
+package br.com.fiap.dto.veiculo;
+
+import jakarta.validation.constraints.Positive;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+/**
+ * Linha da importação de frota: os dados do veículo e, opcionalmente, o cliente ao qual vinculá-lo (tabela CV).
+ * Se apenas clienteId for informado, o endereço do cliente é resolvido automaticamente.
+ */
+@Getter @Setter @NoArgsConstructor
+public class VeiculoImportacaoDto extends VeiculoRequestDto {
+    private static final long serialVersionUID = 1L;
+
+    @Positive(message = "ID do cliente deve ser positivo")
+    private Long clienteId;
+
+    @Positive(message = "ID do endereço do cliente deve ser positivo")
+    private Long clienteEnderecoId;
+}
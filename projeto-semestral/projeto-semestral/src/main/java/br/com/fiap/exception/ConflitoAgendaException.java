@@ -0,0 +1,20 @@
+package br.com.fiap.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoAgendaException extends RuntimeException{
+
+    public ConflitoAgendaException(String message) {
+        super(message);
+    }
+
+
+    public ConflitoAgendaException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+
+}
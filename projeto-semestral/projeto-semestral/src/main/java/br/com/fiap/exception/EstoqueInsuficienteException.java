@@ -0,0 +1,20 @@
+package br.com.fiap.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class EstoqueInsuficienteException extends RuntimeException{
+
+    public EstoqueInsuficienteException(String message) {
+        super(message);
+    }
+
+
+    public EstoqueInsuficienteException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+
+}
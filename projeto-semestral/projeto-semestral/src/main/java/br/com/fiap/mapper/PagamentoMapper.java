@@ -14,7 +14,7 @@ public interface PagamentoMapper {
     @Mappings({
             @Mapping(target = "id", ignore = true),
             @Mapping(source = "descontoPercentual", target = "desconto"), // Mapeia % do DTO para 'desconto' na entidade
-            @Mapping(source = "totalParcelas", target = "totalParcelas"),   // MapStruct converte Integer (DTO) para String (Entidade)
+            @Mapping(source = "totalParcelas", target = "totalParcelas"),   // Integer nos dois lados (o ParcelasConverter grava como texto)
             @Mapping(target = "valorParcelas", ignore = true),          // Calculado no Service
             @Mapping(target = "totalComDesconto", ignore = true),       // Calculado no Service
             @Mapping(target = "clientePagamentos", ignore = true),
@@ -2,6 +2,7 @@ package br.com.fiap.model;
 
 import br.com.fiap.model.relacionamentos.ClientePagamento;
 import br.com.fiap.model.relacionamentos.PagamentoOrcamento;
+import br.com.fiap.model.valores.ParcelasConverter;
 import jakarta.persistence.*;
 import lombok.*;
 import java.io.Serializable;
@@ -43,11 +44,10 @@ public class Pagamento implements Serializable {
 	private BigDecimal desconto; // Alterado para BigDecimal
 
 	// --- ATENÇÃO: TOTAL_PARCELAS é VARCHAR2 no DDL ---
+	// Convertido para número pelo ParcelasConverter, para não ser reinterpretado a cada cálculo.
+	@Convert(converter = ParcelasConverter.class)
 	@Column(name = "TOTAL_PARCELAS", length = 5, nullable = false)
-	private String totalParcelas; // Mapeado como String para corresponder ao DDL.
-	// O campo original era 'parcelamento' (int). Renomeado e tipo alterado.
-	// Idealmente, esta coluna deveria ser NUMBER no banco.
-	// Você precisará converter para número na sua lógica de negócio.
+	private Integer totalParcelas;
 	// ----------------------------------------------------
 
 	@Column(name = "VALOR_PARCELAS", nullable = false, precision = 10, scale = 2)
@@ -0,0 +1,45 @@
+// src/main/java/br/com/fiap/model/sincronizacao/RegistroAlteracao.java
+package br.com.fiap.model.sincronizacao;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Linha do log de alterações usado pela sincronização incremental.
+ * O ID (sequência ordenada) funciona como número de versão/cursor do feed.
+ */
+@Entity
+@Table(name = "REGISTRO_ALTERACOES")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode(of = "id")
+@ToString
+public class RegistroAlteracao implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "registro_alteracao_seq_gen")
+    @SequenceGenerator(name = "registro_alteracao_seq_gen", sequenceName = "REGISTRO_ALTERACOES_ID_SEQ", allocationSize = 1)
+    @Column(name = "ID_ALT")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "ENTIDADE", length = 20, nullable = false)
+    private TipoEntidade entidade;
+
+    @Column(name = "ENTIDADE_ID", nullable = false)
+    private Long entidadeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "OPERACAO", length = 12, nullable = false)
+    private TipoOperacao operacao;
+
+    @Column(name = "DATA_ALTERACAO", nullable = false)
+    private LocalDateTime dataAlteracao;
+}
@@ -0,0 +1,12 @@
+// src/main/java/br/com/fiap/model/sincronizacao/TipoEntidade.java
+package br.com.fiap.model.sincronizacao;
+
+/**
+ * Entidades cujas alterações são registradas no log de sincronização.
+ */
+public enum TipoEntidade {
+    AGENDA,
+    OFICINA,
+    ORCAMENTO,
+    PAGAMENTO
+}
@@ -0,0 +1,11 @@
+// src/main/java/br/com/fiap/model/sincronizacao/TipoOperacao.java
+package br.com.fiap.model.sincronizacao;
+
+/**
+ * Tipo de alteração sofrida por uma entidade.
+ */
+public enum TipoOperacao {
+    CRIACAO,
+    ATUALIZACAO,
+    EXCLUSAO
+}
@@ -0,0 +1,118 @@
+// src/main/java/br/com/fiap/model/valores/Dinheiro.java
+package br.com.fiap.model.valores;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Aritmética monetária em escala 2 (NUMBER(10,2)) sobre centavos em {@code long}.
+ * <p>
+ * Os cálculos de orçamento e pagamento trabalham com valores já em centavos e só recorrem a
+ * {@link BigDecimal} quando um valor de entrada tem mais de 2 casas decimais ou quando a conta
+ * estouraria o {@code long}. Os resultados são idênticos aos do cálculo anterior em BigDecimal
+ * (arredondamento HALF_UP nos mesmos pontos).
+ */
+public final class Dinheiro {
+
+    public static final int ESCALA = 2;
+    public static final RoundingMode ARREDONDAMENTO = RoundingMode.HALF_UP;
+
+    /** Escala do fator de desconto (1 - percentual/100), igual à usada no cálculo de pagamentos. */
+    private static final int ESCALA_FATOR = 4;
+    private static final long UM_FATOR = 10_000L;
+    private static final BigDecimal CEM = BigDecimal.valueOf(100);
+
+    private Dinheiro() {
+    }
+
+    /**
+     * Centavos exatos do valor, ou {@link ArithmeticException} se ele tiver mais de 2 casas significativas
+     * ou não couber em um long.
+     */
+    public static long centavos(BigDecimal valor) {
+        return valor.movePointRight(ESCALA).longValueExact();
+    }
+
+    /**
+     * Centavos do valor arredondado a 2 casas (valores lidos do banco podem ter mais casas).
+     */
+    public static long centavosArredondados(BigDecimal valor) {
+        return valor.setScale(ESCALA, ARREDONDAMENTO).unscaledValue().longValueExact();
+    }
+
+    public static BigDecimal valor(long centavos) {
+        return BigDecimal.valueOf(centavos, ESCALA);
+    }
+
+    /**
+     * Valor com desconto percentual: valor * (1 - percentual/100), com o fator em 4 casas e o resultado em 2,
+     * ambos HALF_UP.
+     */
+    public static BigDecimal aplicarDesconto(BigDecimal valor, BigDecimal percentual) {
+        try {
+            long fator = UM_FATOR - percentual.movePointRight(ESCALA).setScale(0, ARREDONDAMENTO).longValueExact();
+            return valor(dividirArredondando(Math.multiplyExact(centavos(valor), fator), UM_FATOR));
+        } catch (ArithmeticException e) {
+            BigDecimal fator = BigDecimal.ONE.subtract(percentual.divide(CEM, ESCALA_FATOR, ARREDONDAMENTO));
+            return valor.multiply(fator).setScale(ESCALA, ARREDONDAMENTO);
+        }
+    }
+
+    /**
+     * Divide o valor em 'partes' iguais (ex.: parcelas), HALF_UP em 2 casas.
+     */
+    public static BigDecimal dividir(BigDecimal valor, int partes) {
+        try {
+            return valor(dividirArredondando(centavos(valor), partes));
+        } catch (ArithmeticException e) {
+            return valor.divide(BigDecimal.valueOf(partes), ESCALA, ARREDONDAMENTO);
+        }
+    }
+
+    /**
+     * Divisão inteira com arredondamento HALF_UP (metade se afasta do zero), para divisor positivo.
+     */
+    static long dividirArredondando(long dividendo, long divisor) {
+        long quociente = dividendo / divisor;
+        long resto = Math.abs(dividendo % divisor);
+        if (resto >= divisor - resto) {
+            quociente += dividendo < 0 ? -1 : 1;
+        }
+        return quociente;
+    }
+
+    /**
+     * Acumulador de somas do tipo "a + b * n + ...", mantido em centavos enquanto possível.
+     * Passa para BigDecimal (exato) ao encontrar um valor com mais casas ou um estouro, e só arredonda no final,
+     * como o cálculo original.
+     */
+    public static final class Soma {
+
+        private long centavos;
+        private BigDecimal exato; // != null depois do fallback
+
+        public Soma somar(BigDecimal valor) {
+            return somar(valor, 1);
+        }
+
+        public Soma somar(BigDecimal valor, long quantidade) {
+            if (valor == null) {
+                return this;
+            }
+            if (exato == null) {
+                try {
+                    centavos = Math.addExact(centavos, Math.multiplyExact(centavos(valor), quantidade));
+                    return this;
+                } catch (ArithmeticException e) {
+                    exato = valor(centavos);
+                }
+            }
+            exato = exato.add(valor.multiply(BigDecimal.valueOf(quantidade)));
+            return this;
+        }
+
+        public BigDecimal total() {
+            return exato == null ? valor(centavos) : exato.setScale(ESCALA, ARREDONDAMENTO);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+// src/main/java/br/com/fiap/model/valores/HorasTrabalhadas.java
+package br.com.fiap.model.valores;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Leitura de OFICINAS.HORAS_TRABALHADAS, que é texto livre de até 5 caracteres (VARCHAR2(5)).
+ * <p>
+ * Aceita "3", "2.5", "2,5" e "02:30". Valores vazios ou ilegíveis viram 0, para que quem chama decida o padrão.
+ */
+public final class HorasTrabalhadas {
+
+    private static final BigDecimal SESSENTA = BigDecimal.valueOf(60);
+
+    private HorasTrabalhadas() {
+    }
+
+    /** Horas em centésimos (2,5 h = 250), HALF_UP. */
+    public static long centesimos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return 0;
+        }
+        String valor = texto.trim();
+        try {
+            int doisPontos = valor.indexOf(':');
+            if (doisPontos >= 0) {
+                long horas = Long.parseLong(valor.substring(0, doisPontos));
+                long minutos = Long.parseLong(valor.substring(doisPontos + 1));
+                return horas * 100 + (minutos * 100 + 30) / 60;
+            }
+            return new BigDecimal(valor.replace(',', '.')).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+        } catch (NumberFormatException | ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    /** Horas em minutos (2,5 h = 150), HALF_UP. */
+    public static long minutos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return 0;
+        }
+        String valor = texto.trim();
+        try {
+            int doisPontos = valor.indexOf(':');
+            if (doisPontos >= 0) {
+                return Long.parseLong(valor.substring(0, doisPontos)) * 60 + Long.parseLong(valor.substring(doisPontos + 1));
+            }
+            return minutos(new BigDecimal(valor.replace(',', '.')));
+        } catch (NumberFormatException | ArithmeticException e) {
+            return 0;
+        }
+    }
+
+    /** Horas decimais em minutos, HALF_UP. */
+    public static long minutos(BigDecimal horas) {
+        return horas.multiply(SESSENTA).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+}
@@ -0,0 +1,30 @@
+// src/main/java/br/com/fiap/model/valores/ParcelasConverter.java
+package br.com.fiap.model.valores;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * TOTAL_PARCELAS é VARCHAR2(5) no DDL; na entidade o valor fica como número, convertido uma única vez
+ * na leitura/gravação em vez de a cada cálculo. Valores inválidos gravados no banco são lidos como 1.
+ */
+@Converter
+public class ParcelasConverter implements AttributeConverter<Integer, String> {
+
+    @Override
+    public String convertToDatabaseColumn(Integer parcelas) {
+        return parcelas == null ? null : parcelas.toString();
+    }
+
+    @Override
+    public Integer convertToEntityAttribute(String valor) {
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor.trim());
+        } catch (NumberFormatException e) {
+            return 1;
+        }
+    }
+}
@@ -1,55 +1,58 @@
 // src/main/java/br/com/fiap/repository/AgendaRepository.java
 package br.com.fiap.repository;
 
-import br.com.fiap.dto.relatorio.ContagemMensalResultadoNativo;
-import br.com.fiap.dto.relatorio.HistoricoAgendamentoClienteDTO;
 import br.com.fiap.dto.relatorio.ServicoAgendadoDTO;
 import br.com.fiap.model.Agenda;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 public interface AgendaRepository extends JpaRepository<Agenda, Long>, JpaSpecificationExecutor<Agenda> {
 
     Page<Agenda> findByObservacaoContainingIgnoreCase(String observacao, Pageable pageable);
 
-    // Query Nativa não é afetada por comentários Java
-    @Query(value = "SELECT TO_CHAR(a.DATA_AGENDAMENTO, 'YYYY-MM') as mesAno, COUNT(a.ID_AGE) as quantidade FROM AGENDAR a GROUP BY TO_CHAR(a.DATA_AGENDAMENTO, 'YYYY-MM') ORDER BY mesAno DESC", nativeQuery = true)
-    List<ContagemMensalResultadoNativo> countAgendamentosByMonthNative();
+    // --- Relatório de serviços agendados ---
+    // Primeiro pagina só os IDs em AGENDAR (índice IDX_AGENDAR_DATA), depois busca os detalhes (joins) apenas
+    // daquela página. Uma consulta por formato de filtro, sem "(:param IS NULL OR ...)", para o índice ser usado.
+
+    @Query("SELECT a.id FROM Agenda a WHERE a.dataAgendamento >= :dataInicio")
+    Slice<Long> findIdsAgendaAPartirDe(@Param("dataInicio") LocalDate dataInicio, Pageable pageable);
+
+    @Query("SELECT a.id FROM Agenda a")
+    Slice<Long> findIdsAgenda(Pageable pageable);
+
+    // Seek cursor: posições (id, data) em vez de só IDs, para o próximo cursor sair da última linha lida em AGENDAR
+    // e não do detalhe, que pode voltar com menos agendamentos (excluídos entre as duas consultas)
+
+    @Query("SELECT a.id, a.dataAgendamento FROM Agenda a ORDER BY a.dataAgendamento, a.id")
+    List<Object[]> findPosicoesAgenda(Pageable limite);
 
-    // Query JPQL para Histórico (sem comentários internos)
     @Query("""
-           SELECT new br.com.fiap.dto.relatorio.HistoricoAgendamentoClienteDTO(
-               a.dataAgendamento,
-               a.observacao,
-               v.placa
-           )
-           FROM Agenda a
-           JOIN a.agendaVeiculos av
-           JOIN av.veiculo v
-           JOIN v.clienteVeiculos cv
-           WHERE cv.cliente.id.idCli = :idCliente AND cv.cliente.id.enderecoId = :idEndereco
-           ORDER BY a.dataAgendamento DESC
-           """)
-    List<HistoricoAgendamentoClienteDTO> findHistoricoAgendamentosByClienteId(
-            @Param("idCliente") Long idCliente,
-            @Param("idEndereco") Long idEndereco
-    );
+            SELECT a.id, a.dataAgendamento FROM Agenda a
+            WHERE a.dataAgendamento >= :dataInicio
+            ORDER BY a.dataAgendamento, a.id
+            """)
+    List<Object[]> findPosicoesAgendaAPartirDe(@Param("dataInicio") LocalDate dataInicio, Pageable limite);
+
+    // Agendamentos estritamente depois de (data, id), na ordem (data, id). O ">= :data" isolado dá ao banco um
+    // intervalo na coluna líder do índice; só o "OR" faria varrer a tabela a partir do início
+    @Query("""
+            SELECT a.id, a.dataAgendamento FROM Agenda a
+            WHERE a.dataAgendamento >= :data AND (a.dataAgendamento > :data OR a.id > :id)
+            ORDER BY a.dataAgendamento, a.id
+            """)
+    List<Object[]> findPosicoesAgendaApos(@Param("data") LocalDate data, @Param("id") Long id, Pageable limite);
+
+    // Contagem apenas sobre AGENDAR (sem os joins do relatório)
+    long countByDataAgendamentoGreaterThanEqual(LocalDate dataInicio);
 
-    /**
-     * Busca uma página de serviços agendados a partir de uma data inicial,
-     * incluindo informações do veículo e diagnóstico da oficina, se disponíveis.
-     *
-     * @param dataInicio Data inicial para a busca (inclusive). Se null, busca todos os agendamentos.
-     * @param pageable   Informações de paginação e ordenação.
-     * @return Uma página (Page) de ServicoAgendadoDTO.
-     */
-    // Query JPQL para Serviços Agendados (sem comentários internos)
     @Query("""
             SELECT new br.com.fiap.dto.relatorio.ServicoAgendadoDTO(
                 a.id,
@@ -62,10 +65,7 @@ public interface AgendaRepository extends JpaRepository<Agenda, Long>, JpaSpecif
             FROM Agenda a
             LEFT JOIN a.agendaVeiculos av LEFT JOIN av.veiculo v
             LEFT JOIN a.agendaOficinas ao LEFT JOIN ao.oficina o
-            WHERE (:dataInicio IS NULL OR a.dataAgendamento >= :dataInicio)
+            WHERE a.id IN :ids
             """)
-    Page<ServicoAgendadoDTO> findServicosAgendados(
-            @Param("dataInicio") LocalDate dataInicio,
-            Pageable pageable
-    );
-}
\ No newline at end of file
+    List<ServicoAgendadoDTO> findServicosAgendadosPorIds(@Param("ids") Collection<Long> ids);
+}
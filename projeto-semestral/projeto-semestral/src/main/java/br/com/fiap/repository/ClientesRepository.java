@@ -6,6 +6,14 @@ import br.com.fiap.model.relacionamentos.ClienteId;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor; // <<< ADICIONAR IMPORT
 
+import java.util.Optional;
+
 // Adicionar JpaSpecificationExecutor para permitir buscas com Specification
 public interface ClientesRepository extends JpaRepository<Clientes, ClienteId>, JpaSpecificationExecutor<Clientes> {
-}
\ No newline at end of file
+
+    // NUMERO_DOCUMENTO é único (índice UK_CLIENTES_NUMERO_DOCUMENTO): no máximo uma linha, lida pelo índice
+    Optional<Clientes> findByNumeroDocumento(String numeroDocumento);
+
+    // ID_CLI vem da sequence e é a primeira coluna da PK composta; FETCH FIRST 1 limita a leitura a uma linha
+    Optional<Clientes> findFirstByIdIdCli(Long idCli);
+}
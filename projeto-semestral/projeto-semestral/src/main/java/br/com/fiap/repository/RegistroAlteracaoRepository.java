@@ -0,0 +1,21 @@
+// src/main/java/br/com/fiap/repository/RegistroAlteracaoRepository.java
+package br.com.fiap.repository;
+
+import br.com.fiap.model.sincronizacao.RegistroAlteracao;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface RegistroAlteracaoRepository extends JpaRepository<RegistroAlteracao, Long> {
+
+    // Alterações posteriores à versão informada, em ordem de versão (= ordem de commit)
+    List<RegistroAlteracao> findByIdGreaterThanOrderByIdAsc(Long versao, Pageable pageable);
+
+    // Converte um cursor de data/hora em versão: maior ID gravado antes do instante informado
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM RegistroAlteracao r WHERE r.dataAlteracao < :instante")
+    Long findUltimaVersaoAntesDe(@Param("instante") LocalDateTime instante);
+}
@@ -4,4 +4,6 @@ import br.com.fiap.model.relacionamentos.AgendaOficina;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface AgendaOficinaRepository extends JpaRepository<AgendaOficina, Long> {
+
+    boolean existsByAgendaIdAndOficinaId(Long agendaId, Long oficinaId);
 }
\ No newline at end of file
@@ -6,17 +6,26 @@ import br.com.fiap.dto.agenda.AgendaRequestDto;
 import br.com.fiap.dto.agenda.AgendaResponseDto;
 import br.com.fiap.dto.veiculo.VeiculoResponseDto;
 import br.com.fiap.exception.AgendaNotFoundException;
+import br.com.fiap.exception.ConflitoAgendaException;
+import br.com.fiap.exception.OficinaNotFoundException;
 import br.com.fiap.exception.VeiculoNotFoundException;
 import br.com.fiap.exception.AssociacaoNotFoundException; // Ou AgendaNotFoundException
 import br.com.fiap.mapper.AgendaMapper;
 import br.com.fiap.mapper.VeiculoMapper;
 import br.com.fiap.model.Agenda;
+import br.com.fiap.model.Oficina;
 import br.com.fiap.model.Veiculo;
+import br.com.fiap.model.relacionamentos.AgendaOficina;
 import br.com.fiap.model.relacionamentos.AgendaVeiculo;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
 import br.com.fiap.repository.AgendaRepository;
+import br.com.fiap.repository.OficinaRepository;
 import br.com.fiap.repository.VeiculoRepository;
+import br.com.fiap.repository.relacionamentos.AgendaOficinaRepository;
 import br.com.fiap.repository.relacionamentos.AgendaVeiculoRepository;
 import br.com.fiap.repository.specification.AgendaSpecification;
+import br.com.fiap.service.sincronizacao.SincronizacaoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,6 +38,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -40,19 +50,34 @@ public class AgendaServiceImpl implements AgendaService { // Chave de abertura d
     private final VeiculoRepository veiculoRepository;
     private final AgendaVeiculoRepository agendaVeiculoRepository;
     private final VeiculoMapper veiculoMapper;
+    private final SincronizacaoService sincronizacaoService;
+    private final CalendarioAgendaService calendarioAgendaService;
+    private final CapacidadeOficinaService capacidadeOficinaService;
+    private final OficinaRepository oficinaRepository;
+    private final AgendaOficinaRepository agendaOficinaRepository;
 
     @Autowired
     public AgendaServiceImpl(AgendaRepository agendaRepository,
                              AgendaMapper agendaMapper,
                              VeiculoRepository veiculoRepository,
                              AgendaVeiculoRepository agendaVeiculoRepository,
-                             VeiculoMapper veiculoMapper
+                             VeiculoMapper veiculoMapper,
+                             SincronizacaoService sincronizacaoService,
+                             CalendarioAgendaService calendarioAgendaService,
+                             CapacidadeOficinaService capacidadeOficinaService,
+                             OficinaRepository oficinaRepository,
+                             AgendaOficinaRepository agendaOficinaRepository
     ) {
         this.agendaRepository = agendaRepository;
         this.agendaMapper = agendaMapper;
         this.veiculoRepository = veiculoRepository;
         this.agendaVeiculoRepository = agendaVeiculoRepository;
         this.veiculoMapper = veiculoMapper;
+        this.sincronizacaoService = sincronizacaoService;
+        this.calendarioAgendaService = calendarioAgendaService;
+        this.capacidadeOficinaService = capacidadeOficinaService;
+        this.oficinaRepository = oficinaRepository;
+        this.agendaOficinaRepository = agendaOficinaRepository;
     }
 
     @Override
@@ -95,7 +120,12 @@ public class AgendaServiceImpl implements AgendaService { // Chave de abertura d
             Agenda agenda = agendaMapper.toEntity(agendaDto);
             Agenda savedAgenda = agendaRepository.save(agenda);
             log.info("Agenda criada com sucesso com ID: {}", savedAgenda.getId());
+            calendarioAgendaService.ajustarDia(savedAgenda.getDataAgendamento(), 1);
+            reservarBox(savedAgenda, agendaDto);
+            sincronizacaoService.registrarAlteracao(TipoEntidade.AGENDA, savedAgenda.getId(), TipoOperacao.CRIACAO);
             return agendaMapper.toResponseDto(savedAgenda);
+        } catch (ConflitoAgendaException | OficinaNotFoundException | IllegalArgumentException e) {
+            throw e; // Sem capacidade ou dados de reserva inválidos: tratados pelo controller
         } catch (Exception e) {
             log.error("Erro ao salvar nova agenda: {}", e.getMessage(), e);
             throw new RuntimeException("Falha ao criar agenda", e);
@@ -109,9 +139,18 @@ public class AgendaServiceImpl implements AgendaService { // Chave de abertura d
         log.info("Atualizando agenda com ID: {}", id);
         Agenda existingAgenda = agendaRepository.findById(id)
                 .orElseThrow(() -> new AgendaNotFoundException("Agenda não encontrada para atualização com ID: " + id));
+        LocalDate dataAnterior = existingAgenda.getDataAgendamento();
         agendaMapper.updateEntityFromDto(agendaDto, existingAgenda);
         Agenda updatedAgenda = agendaRepository.save(existingAgenda);
         log.info("Agenda atualizada com sucesso com ID: {}", updatedAgenda.getId());
+        if (!Objects.equals(dataAnterior, updatedAgenda.getDataAgendamento())) {
+            calendarioAgendaService.ajustarDia(dataAnterior, -1);
+            calendarioAgendaService.ajustarDia(updatedAgenda.getDataAgendamento(), 1);
+            reservarBox(updatedAgenda, agendaDto);
+        } else if (agendaDto.getHoraInicio() != null || agendaDto.getDuracaoHoras() != null || agendaDto.getOficinaId() != null) {
+            reservarBox(updatedAgenda, agendaDto); // Mesmo dia, novo horário/duração
+        }
+        sincronizacaoService.registrarAlteracao(TipoEntidade.AGENDA, updatedAgenda.getId(), TipoOperacao.ATUALIZACAO);
         return agendaMapper.toResponseDto(updatedAgenda);
     }
 
@@ -120,17 +159,19 @@ public class AgendaServiceImpl implements AgendaService { // Chave de abertura d
     public void deleteById(Long id) {
         // ... (código do método deleteById - sem alterações)
         log.info("Deletando agenda com ID: {}", id);
-        if (!agendaRepository.existsById(id)) {
-            throw new AgendaNotFoundException("Agenda não encontrada para exclusão com ID: " + id);
-        }
+        Agenda agenda = agendaRepository.findById(id)
+                .orElseThrow(() -> new AgendaNotFoundException("Agenda não encontrada para exclusão com ID: " + id));
         try {
             List<AgendaVeiculo> associacoes = agendaVeiculoRepository.findByAgendaId(id);
             if (!associacoes.isEmpty()) {
                 agendaVeiculoRepository.deleteAllInBatch(associacoes);
                 log.info("Removidas {} associações da tabela AV para Agenda ID {}.", associacoes.size(), id);
             }
-            agendaRepository.deleteById(id);
+            capacidadeOficinaService.liberar(id);
+            agendaRepository.delete(agenda);
+            calendarioAgendaService.ajustarDia(agenda.getDataAgendamento(), -1);
             log.info("Agenda ID {} deletada com sucesso.", id);
+            sincronizacaoService.registrarAlteracao(TipoEntidade.AGENDA, id, TipoOperacao.EXCLUSAO);
         } catch (DataIntegrityViolationException e) {
             log.error("Erro de integridade ao deletar agenda ID {}: Verifique outras dependências.", id, e);
             throw new RuntimeException("Não é possível deletar a agenda pois ela está associada a outros registros.", e);
@@ -205,4 +246,25 @@ public class AgendaServiceImpl implements AgendaService { // Chave de abertura d
                 .collect(Collectors.toList());
     } // Chave de fechamento do método findVeiculosByAgendaId
 
+    // Reserva (ou move) o box da agenda; a duração vem do DTO, da estimativa da oficina ou do padrão
+    private void reservarBox(Agenda agenda, AgendaRequestDto agendaDto) {
+        long duracao = capacidadeOficinaService.duracaoMinutos(agendaDto.getDuracaoHoras(), agendaDto.getOficinaId());
+        capacidadeOficinaService.reservar(agenda.getId(), agenda.getDataAgendamento(), agendaDto.getHoraInicio(), duracao);
+        vincularOficina(agenda, agendaDto.getOficinaId());
+    }
+
+    // Serviço (oficina) informado vira um vínculo AO: é o que a distribuição de serviços do dia lê
+    private void vincularOficina(Agenda agenda, Long oficinaId) {
+        if (oficinaId == null || agendaOficinaRepository.existsByAgendaIdAndOficinaId(agenda.getId(), oficinaId)) {
+            return;
+        }
+        Oficina oficina = oficinaRepository.findById(oficinaId)
+                .orElseThrow(() -> new OficinaNotFoundException("Oficina não encontrada com ID: " + oficinaId));
+        AgendaOficina vinculo = new AgendaOficina();
+        vinculo.setAgenda(agenda);
+        vinculo.setOficina(oficina);
+        agendaOficinaRepository.save(vinculo);
+        log.info("Oficina ID {} vinculada à Agenda ID {}.", oficinaId, agenda.getId());
+    }
+
 } // <<<===== CERTIFIQUE-SE DE QUE ESTA CHAVE FINAL EXISTE NO SEU ARQUIVO!
\ No newline at end of file
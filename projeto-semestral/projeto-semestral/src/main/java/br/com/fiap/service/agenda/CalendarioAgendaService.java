@@ -0,0 +1,31 @@
+// src/main/java/br/com/fiap/service/agenda/CalendarioAgendaService.java
+package br.com.fiap.service.agenda;
+
+import br.com.fiap.dto.relatorio.CalendarioAgendamentosDto;
+import br.com.fiap.dto.relatorio.ContagemMensalDTO;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface CalendarioAgendaService {
+
+    /**
+     * Soma a variação ao contador do dia (+1 criação, -1 exclusão). Deve ser chamado na transação da alteração.
+     */
+    void ajustarDia(LocalDate dia, long variacao);
+
+    /**
+     * Contagens por dia e por mês na janela [dataInicio, dataFim], lidas dos contadores diários.
+     */
+    CalendarioAgendamentosDto gerarCalendario(LocalDate dataInicio, LocalDate dataFim);
+
+    /**
+     * Contagem por mês de todos os agendamentos (mais recente primeiro).
+     */
+    List<ContagemMensalDTO> contarPorMes();
+
+    /**
+     * Recalcula os contadores a partir de AGENDAR (toda a tabela se as datas forem nulas). Retorna o número de dias.
+     */
+    int reconstruir(LocalDate dataInicio, LocalDate dataFim);
+}
@@ -0,0 +1,182 @@
+// src/main/java/br/com/fiap/service/agenda/CalendarioAgendaServiceImpl.java
+package br.com.fiap.service.agenda;
+
+import br.com.fiap.dto.relatorio.CalendarioAgendamentosDto;
+import br.com.fiap.dto.relatorio.ContagemDiariaDto;
+import br.com.fiap.dto.relatorio.ContagemMensalDTO;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+/**
+ * Contagem de agendamentos por dia e por mês a partir de contadores diários (tabela CONTAGEM_AGENDA_DIA).
+ * <p>
+ * O AgendaServiceImpl ajusta o contador do dia na mesma transação em que cria, altera a data ou exclui um
+ * agendamento, então as visões de mês e calendário leem uma linha por dia da janela em vez de agrupar AGENDAR
+ * com TO_CHAR (varredura completa + ordenação). A reconstrução usa intervalos de data (índice IDX_AGENDAR_DATA).
+ * <p>
+ * A carga completa inicial é registrada em CARGAS_INICIAIS; enquanto esse registro não existir, a primeira leitura
+ * reconstrói tudo, mesmo que agendamentos novos já tenham criado contadores de alguns dias.
+ */
+@Service
+public class CalendarioAgendaServiceImpl implements CalendarioAgendaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CalendarioAgendaServiceImpl.class);
+
+    private static final long MAX_DIAS_JANELA = 3660;
+    private static final String CARGA_INICIAL = "CONTAGEM_AGENDA_DIA";
+
+    private static final String SQL_AJUSTAR = """
+            MERGE INTO CONTAGEM_AGENDA_DIA c
+            USING (SELECT ? AS DIA, ? AS VARIACAO FROM DUAL) src
+            ON (c.DIA = src.DIA)
+            WHEN MATCHED THEN UPDATE SET c.QUANTIDADE = c.QUANTIDADE + src.VARIACAO
+            WHEN NOT MATCHED THEN INSERT (DIA, QUANTIDADE) VALUES (src.DIA, src.VARIACAO)
+            """;
+
+    private static final String SQL_REGISTRAR_CARGA = """
+            MERGE INTO CARGAS_INICIAIS c
+            USING (SELECT ? AS NOME FROM DUAL) src
+            ON (c.NOME = src.NOME)
+            WHEN MATCHED THEN UPDATE SET c.DATA_CARGA = SYSTIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (NOME, DATA_CARGA) VALUES (src.NOME, SYSTIMESTAMP)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate novaTransacao;
+    private volatile boolean carregaInicialVerificada;
+
+    @Autowired
+    public CalendarioAgendaServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.novaTransacao = new TransactionTemplate(transactionManager);
+        this.novaTransacao.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    @Transactional
+    public void ajustarDia(LocalDate dia, long variacao) {
+        if (dia == null || variacao == 0) {
+            return;
+        }
+        Object[] parametros = {Date.valueOf(dia), variacao};
+        try {
+            jdbcTemplate.update(SQL_AJUSTAR, parametros);
+        } catch (DuplicateKeyException e) {
+            // Outra transação inseriu o dia ao mesmo tempo: agora é um UPDATE
+            jdbcTemplate.update(SQL_AJUSTAR, parametros);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CalendarioAgendamentosDto gerarCalendario(LocalDate dataInicio, LocalDate dataFim) {
+        if (dataInicio == null || dataFim == null || dataFim.isBefore(dataInicio)) {
+            throw new IllegalArgumentException("Datas de início e fim são obrigatórias e a data fim não pode ser anterior à data início.");
+        }
+        long dias = ChronoUnit.DAYS.between(dataInicio, dataFim) + 1;
+        if (dias > MAX_DIAS_JANELA) {
+            throw new IllegalArgumentException("Janela máxima do calendário é de " + MAX_DIAS_JANELA + " dias.");
+        }
+        garantirCarregado();
+
+        Map<LocalDate, Long> porDia = new HashMap<>();
+        jdbcTemplate.query("SELECT DIA, QUANTIDADE FROM CONTAGEM_AGENDA_DIA WHERE DIA >= ? AND DIA <= ? AND QUANTIDADE <> 0",
+                rs -> {
+                    porDia.put(rs.getDate("DIA").toLocalDate(), rs.getLong("QUANTIDADE"));
+                }, Date.valueOf(dataInicio), Date.valueOf(dataFim));
+
+        List<ContagemDiariaDto> calendario = new ArrayList<>((int) dias);
+        Map<YearMonth, Long> porMes = new TreeMap<>();
+        long total = 0;
+        for (LocalDate dia = dataInicio; !dia.isAfter(dataFim); dia = dia.plusDays(1)) {
+            long quantidade = porDia.getOrDefault(dia, 0L);
+            calendario.add(new ContagemDiariaDto(dia, quantidade));
+            porMes.merge(YearMonth.from(dia), quantidade, Long::sum);
+            total += quantidade;
+        }
+        List<ContagemMensalDTO> meses = new ArrayList<>(porMes.size());
+        porMes.forEach((mes, quantidade) -> meses.add(new ContagemMensalDTO(mes.toString(), quantidade)));
+        return new CalendarioAgendamentosDto(dataInicio, dataFim, total, meses, calendario);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ContagemMensalDTO> contarPorMes() {
+        garantirCarregado();
+        // Uma linha por dia com agendamento: agregar em memória é O(dias)
+        Map<YearMonth, Long> porMes = new TreeMap<>(Comparator.reverseOrder());
+        jdbcTemplate.query("SELECT DIA, QUANTIDADE FROM CONTAGEM_AGENDA_DIA WHERE QUANTIDADE <> 0", rs -> {
+            porMes.merge(YearMonth.from(rs.getDate("DIA").toLocalDate()), rs.getLong("QUANTIDADE"), Long::sum);
+        });
+        List<ContagemMensalDTO> meses = new ArrayList<>(porMes.size());
+        porMes.forEach((mes, quantidade) -> meses.add(new ContagemMensalDTO(mes.toString(), quantidade)));
+        return meses;
+    }
+
+    @Override
+    @Transactional
+    public int reconstruir(LocalDate dataInicio, LocalDate dataFim) {
+        long inicio = System.currentTimeMillis();
+        int dias;
+        if (dataInicio == null || dataFim == null) {
+            jdbcTemplate.update("DELETE FROM CONTAGEM_AGENDA_DIA");
+            dias = jdbcTemplate.update("""
+                    INSERT INTO CONTAGEM_AGENDA_DIA (DIA, QUANTIDADE)
+                    SELECT TRUNC(DATA_AGENDAMENTO), COUNT(*) FROM AGENDAR GROUP BY TRUNC(DATA_AGENDAMENTO)
+                    """);
+            // Só a reconstrução completa conta como carga inicial
+            jdbcTemplate.update(SQL_REGISTRAR_CARGA, CARGA_INICIAL);
+            carregaInicialVerificada = true;
+        } else {
+            Date de = Date.valueOf(dataInicio);
+            Date ateExclusivo = Date.valueOf(dataFim.plusDays(1));
+            jdbcTemplate.update("DELETE FROM CONTAGEM_AGENDA_DIA WHERE DIA >= ? AND DIA < ?", de, ateExclusivo);
+            dias = jdbcTemplate.update("""
+                    INSERT INTO CONTAGEM_AGENDA_DIA (DIA, QUANTIDADE)
+                    SELECT TRUNC(DATA_AGENDAMENTO), COUNT(*) FROM AGENDAR
+                    WHERE DATA_AGENDAMENTO >= ? AND DATA_AGENDAMENTO < ?
+                    GROUP BY TRUNC(DATA_AGENDAMENTO)
+                    """, de, ateExclusivo);
+        }
+        log.info("Contadores diários de agenda reconstruídos ({} a {}): {} dias em {} ms",
+                dataInicio, dataFim, dias, System.currentTimeMillis() - inicio);
+        return dias;
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Primeira execução: popula os contadores se a carga completa ainda não foi registrada (em transação própria
+    // de escrita). Não basta a tabela ter linhas: ajustarDia cria contadores antes da primeira leitura.
+    private void garantirCarregado() {
+        if (carregaInicialVerificada) {
+            return;
+        }
+        synchronized (this) {
+            if (carregaInicialVerificada) {
+                return;
+            }
+            novaTransacao.executeWithoutResult(status -> {
+                Integer cargas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CARGAS_INICIAIS WHERE NOME = ?",
+                        Integer.class, CARGA_INICIAL);
+                if (cargas == null || cargas == 0) {
+                    reconstruir(null, null);
+                }
+            });
+            carregaInicialVerificada = true;
+        }
+    }
+}
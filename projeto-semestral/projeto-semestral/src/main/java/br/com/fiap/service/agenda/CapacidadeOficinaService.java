@@ -0,0 +1,33 @@
+// src/main/java/br/com/fiap/service/agenda/CapacidadeOficinaService.java
+package br.com.fiap.service.agenda;
+
+import br.com.fiap.dto.agenda.OcupacaoBoxDto;
+import br.com.fiap.dto.agenda.ReservaBoxDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.List;
+
+public interface CapacidadeOficinaService {
+
+    /**
+     * Reserva um box para a agenda no dia (na hora pedida ou no primeiro horário livre do expediente), substituindo
+     * a reserva anterior da agenda. Lança ConflitoAgendaException se não houver box livre.
+     */
+    ReservaBoxDto reservar(Long agendaId, LocalDate data, LocalTime horaInicio, long duracaoMinutos);
+
+    /** Libera a reserva da agenda, se houver. */
+    void liberar(Long agendaId);
+
+    /** Duração da reserva: horas informadas, senão HORAS_TRABALHADAS da oficina, senão a duração padrão. */
+    long duracaoMinutos(BigDecimal duracaoHoras, Long oficinaId);
+
+    /** Primeiro horário com um box livre por 'duracaoMinutos' a partir do instante informado, ou null no horizonte. */
+    ReservaBoxDto proximoHorarioLivre(LocalDateTime aPartirDe, long duracaoMinutos);
+
+    ReservaBoxDto buscarReserva(Long agendaId);
+
+    List<OcupacaoBoxDto> ocupacaoDoDia(LocalDate dia);
+}
@@ -0,0 +1,309 @@
+// src/main/java/br/com/fiap/service/agenda/CapacidadeOficinaServiceImpl.java
+package br.com.fiap.service.agenda;
+
+import br.com.fiap.dto.agenda.OcupacaoBoxDto;
+import br.com.fiap.dto.agenda.ReservaBoxDto;
+import br.com.fiap.exception.ConflitoAgendaException;
+import br.com.fiap.exception.OficinaNotFoundException;
+import br.com.fiap.model.valores.HorasTrabalhadas;
+import br.com.fiap.repository.OficinaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+/**
+ * Capacidade da oficina em boxes (um mecânico por box) e reservas de horário para as agendas.
+ * <p>
+ * Cada reserva ocupa um box por um intervalo dentro do expediente, em passos de {@value #PASSO_MINUTOS} minutos.
+ * A escolha do horário usa o índice em memória ({@link IndiceReservasBox}); a garantia de que dois agendamentos
+ * não dividem o mesmo box ao mesmo tempo fica no banco: cada passo ocupado vira uma linha de OCUPACAO_BOX, com
+ * chave primária (NUMERO_BOX, SLOT), gravadas num único INSERT (atômico). Se outra instância já tiver ocupado o
+ * intervalo, o INSERT falha por chave duplicada, o dia é relido do banco para o índice e o próximo horário é tentado.
+ * <p>
+ * Agendas criadas antes desta funcionalidade não têm reserva e não consomem capacidade.
+ */
+@Service
+public class CapacidadeOficinaServiceImpl implements CapacidadeOficinaService {
+
+    private static final Logger log = LoggerFactory.getLogger(CapacidadeOficinaServiceImpl.class);
+
+    static final long PASSO_MINUTOS = 15;
+    private static final int MAX_TENTATIVAS = 5;
+
+    private static final String SQL_OCUPAR = """
+            INSERT INTO OCUPACAO_BOX (NUMERO_BOX, SLOT, RESERVAS_BOX_ID_RES)
+            SELECT ?, ? + LEVEL - 1, ? FROM DUAL CONNECT BY LEVEL <= ?
+            """;
+
+    private static final String SQL_RESERVAS = """
+            SELECT ID_RES, AGENDAR_ID_AGE, NUMERO_BOX, INICIO, FIM FROM RESERVAS_BOX
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OficinaRepository oficinaRepository;
+    private final IndiceReservasBox indice = new IndiceReservasBox();
+    private final int boxes;
+    private final LocalTime inicioExpediente;
+    private final LocalTime fimExpediente;
+    private final BigDecimal duracaoPadraoHoras;
+    private final int horizonteDias;
+    private volatile boolean carregaInicialVerificada;
+
+    @Autowired
+    public CapacidadeOficinaServiceImpl(JdbcTemplate jdbcTemplate,
+                                        OficinaRepository oficinaRepository,
+                                        @Value("${capacidade.boxes:3}") int boxes,
+                                        @Value("${capacidade.expediente-inicio:08:00}") String inicioExpediente,
+                                        @Value("${capacidade.expediente-fim:18:00}") String fimExpediente,
+                                        @Value("${capacidade.duracao-padrao-horas:2}") BigDecimal duracaoPadraoHoras,
+                                        @Value("${capacidade.horizonte-dias:90}") int horizonteDias) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.oficinaRepository = oficinaRepository;
+        this.boxes = boxes;
+        this.inicioExpediente = LocalTime.parse(inicioExpediente);
+        this.fimExpediente = LocalTime.parse(fimExpediente);
+        this.duracaoPadraoHoras = duracaoPadraoHoras;
+        this.horizonteDias = horizonteDias;
+        if (boxes < 1 || !this.fimExpediente.isAfter(this.inicioExpediente)) {
+            throw new IllegalStateException("Configuração de capacidade inválida: boxes=" + boxes
+                    + ", expediente=" + inicioExpediente + "-" + fimExpediente);
+        }
+    }
+
+    @Override
+    @Transactional
+    public ReservaBoxDto reservar(Long agendaId, LocalDate data, LocalTime horaInicio, long duracaoMinutos) {
+        long duracao = arredondarParaCima(duracaoMinutos);
+        long abertura = minutos(data.atTime(inicioExpediente));
+        long fechamento = minutos(data.atTime(fimExpediente));
+        if (duracao <= 0 || duracao > fechamento - abertura) {
+            throw new IllegalArgumentException("Duração de " + duracaoMinutos + " minutos não cabe no expediente ("
+                    + inicioExpediente + " às " + fimExpediente + ").");
+        }
+        Long inicioPedido = null;
+        if (horaInicio != null) {
+            inicioPedido = arredondarParaCima(minutos(data.atTime(horaInicio)));
+            if (inicioPedido < abertura || inicioPedido + duracao > fechamento) {
+                throw new IllegalArgumentException("Horário " + horaInicio + " com duração de " + duracao
+                        + " minutos fica fora do expediente (" + inicioExpediente + " às " + fimExpediente + ").");
+            }
+        }
+        garantirCarregado();
+        liberar(agendaId);
+
+        Long id = jdbcTemplate.queryForObject("SELECT RESERVAS_BOX_ID_SEQ.NEXTVAL FROM DUAL", Long.class);
+        for (int tentativa = 1; tentativa <= MAX_TENTATIVAS; tentativa++) {
+            IndiceReservasBox.Reserva reserva = inicioPedido != null
+                    ? indice.reservarEm(boxes, inicioPedido, duracao, id, agendaId)
+                    : indice.reservarPrimeiroLivre(boxes, abertura, fechamento, duracao, id, agendaId);
+            if (reserva == null) {
+                throw new ConflitoAgendaException(mensagemSemCapacidade(data, horaInicio, duracao));
+            }
+            try {
+                ocupar(reserva.box(), reserva.inicio() / PASSO_MINUTOS, id, duracao / PASSO_MINUTOS);
+            } catch (DuplicateKeyException e) {
+                // Intervalo ocupado por outra instância (ou por uma transação que acabou de confirmar)
+                log.info("Box {} ocupado no banco em {} (tentativa {}); relendo o dia.", reserva.box(), instante(reserva.inicio()), tentativa);
+                indice.remover(reserva);
+                recarregarDia(data);
+                continue;
+            }
+            jdbcTemplate.update("""
+                    INSERT INTO RESERVAS_BOX (ID_RES, AGENDAR_ID_AGE, NUMERO_BOX, INICIO, FIM, DATA_CRIACAO)
+                    VALUES (?, ?, ?, ?, ?, SYSTIMESTAMP)
+                    """, id, agendaId, reserva.box(),
+                    Timestamp.valueOf(instante(reserva.inicio())), Timestamp.valueOf(instante(reserva.fim())));
+            aoDesfazer(() -> indice.remover(reserva));
+            log.info("Agenda ID {} reservada no box {} de {} a {}.", agendaId, reserva.box(),
+                    instante(reserva.inicio()), instante(reserva.fim()));
+            return toDto(reserva);
+        }
+        throw new ConflitoAgendaException("Não foi possível reservar um box para " + data
+                + " após " + MAX_TENTATIVAS + " tentativas concorrentes. Tente novamente.");
+    }
+
+    @Override
+    @Transactional
+    public void liberar(Long agendaId) {
+        List<Long> ids = jdbcTemplate.queryForList("SELECT ID_RES FROM RESERVAS_BOX WHERE AGENDAR_ID_AGE = ?", Long.class, agendaId);
+        if (ids.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.update("DELETE FROM OCUPACAO_BOX WHERE RESERVAS_BOX_ID_RES = ?", ids.get(0));
+        jdbcTemplate.update("DELETE FROM RESERVAS_BOX WHERE ID_RES = ?", ids.get(0));
+        IndiceReservasBox.Reserva removida = indice.removerAgenda(agendaId);
+        if (removida != null) {
+            aoDesfazer(() -> indice.restaurar(removida));
+        }
+        log.info("Reserva de box da agenda ID {} liberada.", agendaId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public long duracaoMinutos(BigDecimal duracaoHoras, Long oficinaId) {
+        if (duracaoHoras != null) {
+            return HorasTrabalhadas.minutos(duracaoHoras);
+        }
+        if (oficinaId != null) {
+            String horas = oficinaRepository.findById(oficinaId)
+                    .orElseThrow(() -> new OficinaNotFoundException("Oficina não encontrada com ID: " + oficinaId))
+                    .getHorasTrabalhadas();
+            long minutos = HorasTrabalhadas.minutos(horas);
+            if (minutos > 0) {
+                return minutos;
+            }
+            log.warn("HORAS_TRABALHADAS '{}' da oficina ID {} ilegível; usando a duração padrão.", horas, oficinaId);
+        }
+        return HorasTrabalhadas.minutos(duracaoPadraoHoras);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservaBoxDto proximoHorarioLivre(LocalDateTime aPartirDe, long duracaoMinutos) {
+        long duracao = arredondarParaCima(duracaoMinutos);
+        if (duracao <= 0 || duracao > minutos(LocalDate.EPOCH.atTime(fimExpediente)) - minutos(LocalDate.EPOCH.atTime(inicioExpediente))) {
+            throw new IllegalArgumentException("Duração de " + duracaoMinutos + " minutos não cabe no expediente ("
+                    + inicioExpediente + " às " + fimExpediente + ").");
+        }
+        garantirCarregado();
+        long desde = arredondarParaCima(minutos(aPartirDe));
+        LocalDate dia = aPartirDe.toLocalDate();
+        for (int i = 0; i <= horizonteDias; i++, dia = dia.plusDays(1)) {
+            long abertura = Math.max(desde, minutos(dia.atTime(inicioExpediente)));
+            long fechamento = minutos(dia.atTime(fimExpediente));
+            IndiceReservasBox.Reserva livre = indice.consultarPrimeiroLivre(boxes, abertura, fechamento, duracao);
+            if (livre != null) {
+                return new ReservaBoxDto(null, livre.box(), instante(livre.inicio()), instante(livre.fim()));
+            }
+        }
+        return null;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReservaBoxDto buscarReserva(Long agendaId) {
+        garantirCarregado();
+        IndiceReservasBox.Reserva reserva = indice.buscarPorAgenda(agendaId);
+        return reserva == null ? null : toDto(reserva);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<OcupacaoBoxDto> ocupacaoDoDia(LocalDate dia) {
+        garantirCarregado();
+        // Lido do banco (e reaplicado ao índice) para incluir reservas feitas por outras instâncias
+        List<IndiceReservasBox.Reserva> reservas = recarregarDia(dia);
+        long expediente = minutos(dia.atTime(fimExpediente)) - minutos(dia.atTime(inicioExpediente));
+        Map<Integer, List<ReservaBoxDto>> porBox = new TreeMap<>();
+        Map<Integer, Long> ocupados = new HashMap<>();
+        for (int box = 1; box <= boxes; box++) {
+            porBox.put(box, new ArrayList<>());
+        }
+        for (IndiceReservasBox.Reserva r : reservas) {
+            porBox.computeIfAbsent(r.box(), b -> new ArrayList<>()).add(toDto(r));
+            ocupados.merge(r.box(), r.fim() - r.inicio(), Long::sum);
+        }
+        List<OcupacaoBoxDto> resultado = new ArrayList<>(porBox.size());
+        porBox.forEach((box, lista) -> {
+            long ocupado = ocupados.getOrDefault(box, 0L);
+            resultado.add(new OcupacaoBoxDto(box, ocupado, Math.max(0, expediente - ocupado), lista));
+        });
+        return resultado;
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void garantirCarregado() {
+        if (carregaInicialVerificada) {
+            return;
+        }
+        synchronized (this) {
+            if (carregaInicialVerificada) {
+                return;
+            }
+            long inicio = System.currentTimeMillis();
+            List<IndiceReservasBox.Reserva> reservas = jdbcTemplate.query(SQL_RESERVAS, (rs, i) -> lerReserva(rs));
+            indice.carregar(reservas);
+            carregaInicialVerificada = true;
+            log.info("Índice de reservas de box carregado: {} reservas em {} ms", reservas.size(), System.currentTimeMillis() - inicio);
+        }
+    }
+
+    private List<IndiceReservasBox.Reserva> recarregarDia(LocalDate dia) {
+        LocalDateTime de = dia.atStartOfDay();
+        LocalDateTime ate = dia.plusDays(1).atStartOfDay();
+        List<IndiceReservasBox.Reserva> reservas = jdbcTemplate.query(
+                SQL_RESERVAS + " WHERE INICIO >= ? AND INICIO < ? ORDER BY INICIO, NUMERO_BOX",
+                (rs, i) -> lerReserva(rs), Timestamp.valueOf(de), Timestamp.valueOf(ate));
+        indice.substituirJanela(minutos(de), minutos(ate), reservas);
+        return reservas;
+    }
+
+    private String mensagemSemCapacidade(LocalDate data, LocalTime horaInicio, long duracao) {
+        String pedido = horaInicio != null
+                ? "Nenhum box livre em " + data + " às " + horaInicio + " por " + duracao + " minutos."
+                : "Nenhum box livre em " + data + " por " + duracao + " minutos.";
+        LocalDateTime aPartirDe = horaInicio != null ? data.atTime(horaInicio) : data.plusDays(1).atStartOfDay();
+        ReservaBoxDto sugestao = proximoHorarioLivre(aPartirDe, duracao);
+        return sugestao == null ? pedido
+                : pedido + " Próximo horário livre: box " + sugestao.getBox() + " em " + sugestao.getInicio() + ".";
+    }
+
+    // Todos os passos da reserva num único INSERT: ou ocupa o intervalo inteiro, ou falha por chave duplicada
+    void ocupar(int box, long primeiroPasso, long reservaId, long passos) {
+        jdbcTemplate.update(SQL_OCUPAR, box, primeiroPasso, reservaId, passos);
+    }
+
+    // Ajuste do índice caso a transação seja desfeita
+    private static void aoDesfazer(Runnable acao) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    acao.run();
+                }
+            }
+        });
+    }
+
+    private static IndiceReservasBox.Reserva lerReserva(ResultSet rs) throws SQLException {
+        return new IndiceReservasBox.Reserva(rs.getLong("ID_RES"), rs.getLong("AGENDAR_ID_AGE"), rs.getInt("NUMERO_BOX"),
+                minutos(rs.getTimestamp("INICIO").toLocalDateTime()), minutos(rs.getTimestamp("FIM").toLocalDateTime()));
+    }
+
+    private static ReservaBoxDto toDto(IndiceReservasBox.Reserva reserva) {
+        return new ReservaBoxDto(reserva.agendaId(), reserva.box(), instante(reserva.inicio()), instante(reserva.fim()));
+    }
+
+    private static long arredondarParaCima(long minutos) {
+        return Math.floorDiv(minutos + PASSO_MINUTOS - 1, PASSO_MINUTOS) * PASSO_MINUTOS;
+    }
+
+    private static long minutos(LocalDateTime instante) {
+        return instante.toEpochSecond(ZoneOffset.UTC) / 60;
+    }
+
+    private static LocalDateTime instante(long minutos) {
+        return LocalDateTime.ofEpochSecond(minutos * 60, 0, ZoneOffset.UTC);
+    }
+}
@@ -0,0 +1,203 @@
+// src/main/java/br/com/fiap/service/agenda/IndiceReservasBox.java
+package br.com.fiap.service.agenda;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice em memória das reservas de box, uma árvore por box ordenada pelo início da reserva.
+ * <p>
+ * As reservas de um mesmo box nunca se sobrepõem, então a árvore de intervalos se reduz a um TreeMap por início:
+ * um intervalo [inicio, fim) conflita se a reserva anterior (floor) termina depois de 'inicio' ou se a seguinte
+ * (higher) começa antes de 'fim' — O(log n). A busca do primeiro horário livre percorre só as reservas do box a
+ * partir do início da janela. Os instantes são minutos desde a época (LocalDateTime em UTC, sem fuso).
+ * <p>
+ * Escolha e marcação de um horário acontecem sob o mesmo lock de escrita, então duas reservas concorrentes nesta
+ * instância nunca recebem o mesmo intervalo; a garantia entre instâncias fica com a tabela OCUPACAO_BOX.
+ */
+class IndiceReservasBox {
+
+    record Reserva(long id, long agendaId, int box, long inicio, long fim) {
+    }
+
+    private final Map<Integer, TreeMap<Long, Reserva>> porBox = new HashMap<>();
+    private final Map<Long, Reserva> porAgenda = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** Substitui todo o conteúdo do índice. */
+    void carregar(Collection<Reserva> reservas) {
+        lock.writeLock().lock();
+        try {
+            porBox.clear();
+            porAgenda.clear();
+            reservas.forEach(this::incluir);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Substitui as reservas que começam em [de, ate) pelas informadas (releitura de um dia do banco). */
+    void substituirJanela(long de, long ate, Collection<Reserva> reservas) {
+        lock.writeLock().lock();
+        try {
+            for (TreeMap<Long, Reserva> arvore : porBox.values()) {
+                Iterator<Reserva> it = arvore.subMap(de, ate).values().iterator();
+                while (it.hasNext()) {
+                    porAgenda.remove(it.next().agendaId());
+                    it.remove();
+                }
+            }
+            reservas.forEach(this::incluir);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marca a reserva no primeiro box (em ordem) livre em [inicio, inicio + duracao). Retorna null se todos os
+     * boxes estiverem ocupados nesse intervalo.
+     */
+    Reserva reservarEm(int boxes, long inicio, long duracao, long id, long agendaId) {
+        lock.writeLock().lock();
+        try {
+            for (int box = 1; box <= boxes; box++) {
+                if (livre(box, inicio, inicio + duracao)) {
+                    return incluir(new Reserva(id, agendaId, box, inicio, inicio + duracao));
+                }
+            }
+            return null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Marca a reserva no horário livre mais cedo dentro de [de, ate) (desempate pelo menor box). Retorna null se
+     * não houver intervalo de 'duracao' minutos livre em nenhum box.
+     */
+    Reserva reservarPrimeiroLivre(int boxes, long de, long ate, long duracao, long id, long agendaId) {
+        lock.writeLock().lock();
+        try {
+            Reserva candidata = primeiroLivre(boxes, de, ate, duracao);
+            return candidata == null ? null : incluir(new Reserva(id, agendaId, candidata.box(), candidata.inicio(), candidata.fim()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Horário livre mais cedo em [de, ate) entre os boxes, sem marcá-lo (agendaId = 0). */
+    Reserva consultarPrimeiroLivre(int boxes, long de, long ate, long duracao) {
+        lock.readLock().lock();
+        try {
+            return primeiroLivre(boxes, de, ate, duracao);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Remove a reserva (marcação desfeita), se ela ainda estiver no índice. */
+    void remover(Reserva reserva) {
+        lock.writeLock().lock();
+        try {
+            excluir(reserva);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Remove a reserva da agenda; retorna a reserva removida ou null. */
+    Reserva removerAgenda(long agendaId) {
+        lock.writeLock().lock();
+        try {
+            Reserva r = porAgenda.get(agendaId);
+            return r == null ? null : excluir(r);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Devolve ao índice uma reserva removida (transação desfeita), se o intervalo ainda estiver livre. */
+    void restaurar(Reserva reserva) {
+        lock.writeLock().lock();
+        try {
+            if (!porAgenda.containsKey(reserva.agendaId()) && livre(reserva.box(), reserva.inicio(), reserva.fim())) {
+                incluir(reserva);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Reserva buscarPorAgenda(long agendaId) {
+        lock.readLock().lock();
+        try {
+            return porAgenda.get(agendaId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Métodos auxiliares (chamados com o lock já adquirido) ---
+
+    private Reserva primeiroLivre(int boxes, long de, long ate, long duracao) {
+        Reserva melhor = null;
+        for (int box = 1; box <= boxes; box++) {
+            long inicio = primeiroLivreNoBox(box, de, ate, duracao);
+            if (inicio >= 0 && (melhor == null || inicio < melhor.inicio())) {
+                melhor = new Reserva(0, 0, box, inicio, inicio + duracao);
+            }
+        }
+        return melhor;
+    }
+
+    // Início do primeiro intervalo livre do box, ou -1
+    private long primeiroLivreNoBox(int box, long de, long ate, long duracao) {
+        TreeMap<Long, Reserva> arvore = porBox.get(box);
+        long candidato = de;
+        if (arvore != null) {
+            Map.Entry<Long, Reserva> anterior = arvore.floorEntry(de);
+            if (anterior != null && anterior.getValue().fim() > candidato) {
+                candidato = anterior.getValue().fim();
+            }
+            for (Reserva r : arvore.subMap(de, false, ate, false).values()) {
+                if (r.inicio() - candidato >= duracao) {
+                    break;
+                }
+                candidato = Math.max(candidato, r.fim());
+                if (candidato + duracao > ate) {
+                    return -1;
+                }
+            }
+        }
+        return candidato + duracao <= ate ? candidato : -1;
+    }
+
+    private boolean livre(int box, long inicio, long fim) {
+        TreeMap<Long, Reserva> arvore = porBox.get(box);
+        if (arvore == null) {
+            return true;
+        }
+        Map.Entry<Long, Reserva> anterior = arvore.floorEntry(inicio);
+        if (anterior != null && anterior.getValue().fim() > inicio) {
+            return false;
+        }
+        Map.Entry<Long, Reserva> seguinte = arvore.higherEntry(inicio);
+        return seguinte == null || seguinte.getKey() >= fim;
+    }
+
+    private Reserva incluir(Reserva reserva) {
+        porBox.computeIfAbsent(reserva.box(), b -> new TreeMap<>()).put(reserva.inicio(), reserva);
+        porAgenda.put(reserva.agendaId(), reserva);
+        return reserva;
+    }
+
+    private Reserva excluir(Reserva reserva) {
+        TreeMap<Long, Reserva> arvore = porBox.get(reserva.box());
+        if (arvore != null) {
+            arvore.remove(reserva.inicio(), reserva);
+        }
+        porAgenda.remove(reserva.agendaId(), reserva);
+        return reserva;
+    }
+}
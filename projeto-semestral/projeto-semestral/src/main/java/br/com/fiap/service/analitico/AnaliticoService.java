@@ -0,0 +1,27 @@
+// src/main/java/br/com/fiap/service/analitico/AnaliticoService.java
+package br.com.fiap.service.analitico;
+
+import br.com.fiap.dto.analitico.ConsultaAnaliticaDto;
+import br.com.fiap.dto.analitico.EsquemaAnaliticoDto;
+import br.com.fiap.dto.analitico.ResultadoAnaliticoDto;
+
+import java.util.List;
+
+public interface AnaliticoService {
+
+    /**
+     * Executa filtro/agrupamento/agregação sobre uma das tabelas colunares em memória.
+     * @throws IllegalArgumentException se tabela, dimensão, medida ou função não existirem.
+     */
+    ResultadoAnaliticoDto consultar(ConsultaAnaliticaDto consulta);
+
+    /**
+     * Tabelas disponíveis, com suas dimensões e medidas.
+     */
+    List<EsquemaAnaliticoDto> listarEsquemas();
+
+    /**
+     * Descarta e recarrega todas as tabelas a partir do banco.
+     */
+    void recarregar();
+}
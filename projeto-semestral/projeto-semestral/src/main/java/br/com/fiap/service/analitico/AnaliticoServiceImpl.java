@@ -0,0 +1,361 @@
+// src/main/java/br/com/fiap/service/analitico/AnaliticoServiceImpl.java
+package br.com.fiap.service.analitico;
+
+import br.com.fiap.dto.analitico.ConsultaAnaliticaDto;
+import br.com.fiap.dto.analitico.EsquemaAnaliticoDto;
+import br.com.fiap.dto.analitico.ResultadoAnaliticoDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.model.valores.HorasTrabalhadas;
+import br.com.fiap.model.valores.ParcelasConverter;
+import br.com.fiap.service.importacao.LotesJdbc;
+import br.com.fiap.service.pecas.PrecosPecasAlteradosEvent;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Armazenamento analítico em memória para relatórios de pagamentos e de oficinas/peças.
+ * <p>
+ * Mantém duas tabelas colunares ({@link TabelaColunar}):
+ * <ul>
+ *     <li><b>pagamentos</b>: dimensões mes, tipoPagamento, tipoCliente; medidas valor (centavos, com desconto) e parcelas.</li>
+ *     <li><b>oficinaPecas</b>: uma linha por peça usada na oficina (ou "(sem peças)"); dimensões mes, categoria
+ *     (tipo de veículo da peça), fabricante; medidas horas (rateadas pela quantidade, em centésimos), quantidade e
+ *     custo (centavos).</li>
+ * </ul>
+ * As tabelas são carregadas por completo no primeiro uso e, depois disso, atualizadas por entidade a partir das
+ * alterações confirmadas (log de sincronização e alteração de preço de peças): os IDs são anotados como pendentes e
+ * relidos em lote na consulta seguinte. As anotações continuam durante uma carga completa (inclusive a de
+ * {@link #recarregar()}), então o que for confirmado depois da leitura começar é reaplicado sobre ela e não se perde.
+ * Fora isso, consultas não tocam no banco.
+ */
+@Service
+public class AnaliticoServiceImpl implements AnaliticoService {
+
+    private static final Logger log = LoggerFactory.getLogger(AnaliticoServiceImpl.class);
+
+    private static final DateTimeFormatter MES = DateTimeFormatter.ofPattern("yyyy-MM");
+    private static final String SEM_PECAS = "(sem peças)";
+    private static final int LOTE_IN = 1000;
+    private static final ParcelasConverter PARCELAS = new ParcelasConverter();
+
+    private static final String SQL_PAGAMENTOS = """
+            SELECT pg.ID_PAG, pg.DATA_PAGAMENTO, pg.TIPO_PAGAMENTO, pg.TOTAL_PARCELAS, pg.TOTAL_PAGAMENTO_DESCONTO,
+                   (SELECT MIN(c.TIPO_CLIENTE)
+                      FROM CP cp
+                      JOIN CLIENTES c ON c.ID_CLI = cp.CLIENTES_ID_CLI AND c.ENDERECOS_ID_END = cp.CLIENTES_ENDERECOS_ID_END
+                     WHERE cp.PAGAMENTOS_ID_PAG = pg.ID_PAG) AS TIPO_CLIENTE
+            FROM PAGAMENTOS pg
+            """;
+
+    private static final String SQL_OFICINA_PECAS = """
+            SELECT o.ID_OFIC, o.DATA_OFICINA, o.HORAS_TRABALHADAS, p.TIPO_VEICULO, p.FABRICANTE, ofp.QUANTIDADE, p.PRECO
+            FROM OFICINAS o
+            LEFT JOIN OFP ofp ON ofp.OFICINAS_ID_OFIC = o.ID_OFIC
+            LEFT JOIN PECAS p ON p.ID_PEC = ofp.PECAS_ID_PEC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TabelaColunar pagamentos = new TabelaColunar("pagamentos",
+            new String[]{"mes", "tipoPagamento", "tipoCliente"},
+            new String[]{"valor", "parcelas"}, new int[]{2, 0});
+    private final TabelaColunar oficinaPecas = new TabelaColunar("oficinaPecas",
+            new String[]{"mes", "categoria", "fabricante"},
+            new String[]{"horas", "quantidade", "custo"}, new int[]{2, 0, 2});
+    // Serializa carga completa e aplicação das pendências, para que uma releitura antiga não sobrescreva uma mais nova
+    private final Object cargaLock = new Object();
+    private final Set<Long> pagamentosPendentes = ConcurrentHashMap.newKeySet();
+    private final Set<Long> oficinasPendentes = ConcurrentHashMap.newKeySet();
+    private final Set<Long> pecasPendentes = ConcurrentHashMap.newKeySet();
+    private volatile boolean carregado;
+
+    @Autowired
+    public AnaliticoServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public ResultadoAnaliticoDto consultar(ConsultaAnaliticaDto consulta) {
+        garantirCarregado();
+        aplicarPendentes();
+        long inicio = System.currentTimeMillis();
+        TabelaColunar tabela = tabela(consulta.getTabela());
+
+        Map<Integer, Set<String>> filtros = new HashMap<>();
+        if (consulta.getFiltros() != null) {
+            consulta.getFiltros().forEach((dimensao, valores) ->
+                    filtros.put(tabela.indiceDimensao(dimensao), new HashSet<>(valores != null ? valores : List.of())));
+        }
+        List<String> agrupar = consulta.getAgrupar() != null ? consulta.getAgrupar() : List.of();
+        int[] indicesAgrupar = agrupar.stream().mapToInt(tabela::indiceDimensao).toArray();
+
+        List<String> medidas = consulta.getMedidas() == null || consulta.getMedidas().isEmpty()
+                ? List.of("contagem") : consulta.getMedidas();
+        List<TabelaColunar.Funcao> funcoes = new ArrayList<>();
+        List<Integer> indicesMedida = new ArrayList<>();
+        for (String medida : medidas) {
+            String[] partes = medida.split(":", 2);
+            TabelaColunar.Funcao funcao = funcao(partes[0]);
+            if (funcao != TabelaColunar.Funcao.CONTAGEM && partes.length < 2) {
+                throw new IllegalArgumentException("Medida '" + medida + "' deve estar no formato funcao:medida.");
+            }
+            funcoes.add(funcao);
+            indicesMedida.add(funcao == TabelaColunar.Funcao.CONTAGEM ? -1 : tabela.indiceMedida(partes[1].trim()));
+        }
+
+        TabelaColunar.Resultado resultado = tabela.consultar(filtros, indicesAgrupar);
+
+        List<String> colunas = new ArrayList<>(agrupar);
+        colunas.addAll(medidas);
+        List<List<Object>> linhas = new ArrayList<>(resultado.chaves().size());
+        for (int g = 0; g < resultado.chaves().size(); g++) {
+            long[] acumulador = resultado.acumuladores().get(g);
+            List<Object> linha = new ArrayList<>(Arrays.asList((Object[]) resultado.chaves().get(g)));
+            for (int i = 0; i < funcoes.size(); i++) {
+                linha.add(valor(tabela, funcoes.get(i), indicesMedida.get(i), acumulador));
+            }
+            linhas.add(linha);
+        }
+        // Ordena pelas dimensões agrupadas (ex.: meses em ordem cronológica)
+        linhas.sort((a, b) -> {
+            for (int i = 0; i < agrupar.size(); i++) {
+                int c = ((String) a.get(i)).compareTo((String) b.get(i));
+                if (c != 0) {
+                    return c;
+                }
+            }
+            return 0;
+        });
+        return new ResultadoAnaliticoDto(tabela.getNome(), colunas, linhas, resultado.linhasVarridas(),
+                System.currentTimeMillis() - inicio);
+    }
+
+    @Override
+    public List<EsquemaAnaliticoDto> listarEsquemas() {
+        garantirCarregado();
+        aplicarPendentes();
+        return List.of(esquema(pagamentos), esquema(oficinaPecas));
+    }
+
+    @Override
+    public void recarregar() {
+        synchronized (cargaLock) {
+            long inicio = System.currentTimeMillis();
+            // O que for confirmado a partir daqui volta a ser anotado e é reaplicado depois da carga
+            pagamentosPendentes.clear();
+            oficinasPendentes.clear();
+            pecasPendentes.clear();
+            Map<Long, List<TabelaColunar.Linha>> linhasPagamentos = carregarPagamentos(null);
+            Map<Long, List<TabelaColunar.Linha>> linhasOficinas = carregarOficinas(null);
+            pagamentos.recarregar(linhasPagamentos);
+            oficinaPecas.recarregar(linhasOficinas);
+            carregado = true;
+            log.info("Armazenamento analítico carregado: {} pagamentos, {} linhas de oficina/peça em {} ms",
+                    pagamentos.linhasAtivas(), oficinaPecas.linhasAtivas(), System.currentTimeMillis() - inicio);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        // Anotado mesmo antes/durante a carga: a carga limpa as pendências só antes de ler o banco
+        if (evento.entidade() == TipoEntidade.PAGAMENTO) {
+            pagamentosPendentes.add(evento.entidadeId());
+        } else if (evento.entidade() == TipoEntidade.OFICINA) {
+            oficinasPendentes.add(evento.entidadeId());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarPrecos(PrecosPecasAlteradosEvent evento) {
+        pecasPendentes.addAll(evento.pecaIds());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void garantirCarregado() {
+        if (!carregado) {
+            synchronized (cargaLock) {
+                if (!carregado) {
+                    recarregar();
+                }
+            }
+        }
+    }
+
+    // Relê de uma vez os pagamentos e oficinas (inclusive as que usam peças com preço alterado) anotados
+    private void aplicarPendentes() {
+        if (pagamentosPendentes.isEmpty() && oficinasPendentes.isEmpty() && pecasPendentes.isEmpty()) {
+            return;
+        }
+        synchronized (cargaLock) {
+            try {
+                atualizar(pagamentos, retirar(pagamentosPendentes), this::carregarPagamentos);
+                Set<Long> oficinas = new HashSet<>(retirar(oficinasPendentes));
+                List<Long> pecas = retirar(pecasPendentes);
+                for (int i = 0; i < pecas.size(); i += LOTE_IN) {
+                    List<Long> bloco = pecas.subList(i, Math.min(i + LOTE_IN, pecas.size()));
+                    oficinas.addAll(jdbcTemplate.queryForList(
+                            "SELECT DISTINCT OFICINAS_ID_OFIC FROM OFP WHERE PECAS_ID_PEC IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                            Long.class, bloco.toArray()));
+                }
+                atualizar(oficinaPecas, new ArrayList<>(oficinas), this::carregarOficinas);
+            } catch (RuntimeException e) {
+                // Na dúvida, descarta e recarrega tudo
+                log.warn("Falha ao atualizar armazenamento analítico ({}); será recarregado.", e.getMessage());
+                carregado = false;
+                garantirCarregado();
+            }
+        }
+    }
+
+    private static List<Long> retirar(Set<Long> pendentes) {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = pendentes.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private interface Carga {
+        Map<Long, List<TabelaColunar.Linha>> carregar(List<Long> ids);
+    }
+
+    private void atualizar(TabelaColunar tabela, List<Long> ids, Carga carga) {
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            List<Long> bloco = ids.subList(i, Math.min(i + LOTE_IN, ids.size()));
+            Map<Long, List<TabelaColunar.Linha>> novas = carga.carregar(bloco);
+            // Ids sem linhas no banco foram excluídos
+            for (Long id : bloco) {
+                tabela.substituir(id, novas.getOrDefault(id, List.of()));
+            }
+        }
+    }
+
+    private Map<Long, List<TabelaColunar.Linha>> carregarPagamentos(List<Long> ids) {
+        Map<Long, List<TabelaColunar.Linha>> linhas = new HashMap<>();
+        String sql = ids == null ? SQL_PAGAMENTOS : SQL_PAGAMENTOS + " WHERE pg.ID_PAG IN (" + LotesJdbc.marcadores(ids.size()) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            Date data = rs.getDate("DATA_PAGAMENTO");
+            String[] dimensoes = {
+                    data != null ? data.toLocalDate().format(MES) : null,
+                    rs.getString("TIPO_PAGAMENTO"),
+                    rs.getString("TIPO_CLIENTE")
+            };
+            long[] medidas = {
+                    centavos(rs.getBigDecimal("TOTAL_PAGAMENTO_DESCONTO")),
+                    parcelas(rs.getString("TOTAL_PARCELAS"))
+            };
+            linhas.put(rs.getLong("ID_PAG"), List.of(new TabelaColunar.Linha(dimensoes, medidas)));
+        }, ids == null ? new Object[0] : ids.toArray());
+        return linhas;
+    }
+
+    private Map<Long, List<TabelaColunar.Linha>> carregarOficinas(List<Long> ids) {
+        record Uso(String mes, long horas, String categoria, String fabricante, long quantidade, long precoCentavos) {
+        }
+        Map<Long, List<Uso>> usos = new LinkedHashMap<>();
+        String sql = ids == null ? SQL_OFICINA_PECAS : SQL_OFICINA_PECAS + " WHERE o.ID_OFIC IN (" + LotesJdbc.marcadores(ids.size()) + ")";
+        jdbcTemplate.query(sql, rs -> {
+            Date data = rs.getDate("DATA_OFICINA");
+            usos.computeIfAbsent(rs.getLong("ID_OFIC"), k -> new ArrayList<>()).add(new Uso(
+                    data != null ? data.toLocalDate().format(MES) : null,
+                    HorasTrabalhadas.centesimos(rs.getString("HORAS_TRABALHADAS")),
+                    rs.getString("TIPO_VEICULO"),
+                    rs.getString("FABRICANTE"),
+                    rs.getLong("QUANTIDADE"),
+                    centavos(rs.getBigDecimal("PRECO"))));
+        }, ids == null ? new Object[0] : ids.toArray());
+
+        Map<Long, List<TabelaColunar.Linha>> linhas = new HashMap<>(usos.size() * 2);
+        usos.forEach((oficinaId, lista) -> {
+            Uso primeiro = lista.get(0);
+            if (primeiro.categoria() == null) {
+                // LEFT JOIN sem peças: uma linha só com as horas
+                linhas.put(oficinaId, List.of(new TabelaColunar.Linha(
+                        new String[]{primeiro.mes(), SEM_PECAS, SEM_PECAS}, new long[]{primeiro.horas(), 0, 0})));
+                return;
+            }
+            // Rateio das horas pela quantidade; a última peça recebe o resto para o total bater exatamente
+            long quantidadeTotal = lista.stream().mapToLong(Uso::quantidade).sum();
+            List<TabelaColunar.Linha> linhasOficina = new ArrayList<>(lista.size());
+            long horasDistribuidas = 0;
+            for (int i = 0; i < lista.size(); i++) {
+                Uso uso = lista.get(i);
+                long horas = i == lista.size() - 1 ? uso.horas() - horasDistribuidas
+                        : quantidadeTotal == 0 ? 0 : uso.horas() * uso.quantidade() / quantidadeTotal;
+                horasDistribuidas += horas;
+                linhasOficina.add(new TabelaColunar.Linha(
+                        new String[]{uso.mes(), uso.categoria(), uso.fabricante()},
+                        new long[]{horas, uso.quantidade(), Math.multiplyExact(uso.precoCentavos(), uso.quantidade())}));
+            }
+            linhas.put(oficinaId, linhasOficina);
+        });
+        return linhas;
+    }
+
+    private TabelaColunar tabela(String nome) {
+        if (pagamentos.getNome().equalsIgnoreCase(nome)) {
+            return pagamentos;
+        }
+        if (oficinaPecas.getNome().equalsIgnoreCase(nome)) {
+            return oficinaPecas;
+        }
+        throw new IllegalArgumentException("Tabela analítica '" + nome + "' não existe. Disponíveis: pagamentos, oficinaPecas");
+    }
+
+    private static TabelaColunar.Funcao funcao(String nome) {
+        return switch (nome.trim().toLowerCase(Locale.ROOT)) {
+            case "contagem", "count" -> TabelaColunar.Funcao.CONTAGEM;
+            case "soma", "sum" -> TabelaColunar.Funcao.SOMA;
+            case "media", "avg" -> TabelaColunar.Funcao.MEDIA;
+            case "min" -> TabelaColunar.Funcao.MINIMO;
+            case "max" -> TabelaColunar.Funcao.MAXIMO;
+            default -> throw new IllegalArgumentException("Função '" + nome + "' inválida. Use contagem, soma, media, min ou max.");
+        };
+    }
+
+    private static Object valor(TabelaColunar tabela, TabelaColunar.Funcao funcao, int medida, long[] acumulador) {
+        if (funcao == TabelaColunar.Funcao.CONTAGEM) {
+            return acumulador[0];
+        }
+        int base = 1 + medida * 3;
+        int escala = tabela.escala(medida);
+        return switch (funcao) {
+            case SOMA -> BigDecimal.valueOf(acumulador[base], escala);
+            case MEDIA -> BigDecimal.valueOf(acumulador[base], escala)
+                    .divide(BigDecimal.valueOf(acumulador[0]), escala + 2, RoundingMode.HALF_UP);
+            case MINIMO -> BigDecimal.valueOf(acumulador[base + 1], escala);
+            case MAXIMO -> BigDecimal.valueOf(acumulador[base + 2], escala);
+            default -> throw new IllegalStateException();
+        };
+    }
+
+    private static EsquemaAnaliticoDto esquema(TabelaColunar tabela) {
+        return new EsquemaAnaliticoDto(tabela.getNome(), List.of(tabela.getDimensoes()), List.of(tabela.getMedidas()),
+                tabela.linhasAtivas());
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor == null ? 0 : Dinheiro.centavosArredondados(valor);
+    }
+
+    // Mesma leitura da entidade (texto inválido = 1); sem valor também conta como parcela única
+    private static long parcelas(String texto) {
+        Integer parcelas = PARCELAS.convertToEntityAttribute(texto);
+        return parcelas == null ? 1 : parcelas;
+    }
+}
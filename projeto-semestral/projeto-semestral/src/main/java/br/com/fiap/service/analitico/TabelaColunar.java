@@ -0,0 +1,368 @@
+// src/main/java/br/com/fiap/service/analitico/TabelaColunar.java
+package br.com.fiap.service.analitico;
+
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Tabela de fatos em memória, organizada por colunas.
+ * <p>
+ * Dimensões (texto) são codificadas por dicionário em int[]; medidas ficam em long[] (valores inteiros na escala
+ * da medida: centavos, centésimos de hora...). As linhas são agrupadas por uma chave de origem (id do pagamento,
+ * da oficina) para que uma alteração substitua apenas as linhas daquela chave; linhas substituídas viram lápides
+ * e são compactadas quando passam de 25% da tabela. Consultas filtram/agrupam/agregam em varreduras paralelas
+ * (fork-join) sob lock de leitura.
+ */
+class TabelaColunar {
+
+    /** Abaixo deste número de linhas a varredura não é mais dividida entre threads. */
+    private static final int LIMIAR_DIVISAO = 32_768;
+
+    enum Funcao { CONTAGEM, SOMA, MEDIA, MINIMO, MAXIMO }
+
+    record Linha(String[] dimensoes, long[] medidas) {
+    }
+
+    /**
+     * Resultado agregado: chaves (valores das dimensões agrupadas) e acumuladores por grupo
+     * (contagem e, para cada medida, soma/mínimo/máximo).
+     */
+    record Resultado(List<String[]> chaves, List<long[]> acumuladores, long linhasVarridas) {
+    }
+
+    private final String nome;
+    private final String[] dimensoes;
+    private final String[] medidas;
+    private final int[] escalas;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final List<Map<String, Integer>> codigos = new ArrayList<>();
+    private final List<List<String>> valores = new ArrayList<>();
+    private int[][] colunasDimensao;
+    private long[][] colunasMedida;
+    private boolean[] removida;
+    private int linhas;
+    private int removidas;
+    private final Map<Long, int[]> linhasPorChave = new HashMap<>();
+
+    TabelaColunar(String nome, String[] dimensoes, String[] medidas, int[] escalas) {
+        this.nome = nome;
+        this.dimensoes = dimensoes;
+        this.medidas = medidas;
+        this.escalas = escalas;
+        for (int i = 0; i < dimensoes.length; i++) {
+            codigos.add(new HashMap<>());
+            valores.add(new ArrayList<>());
+        }
+        alocar(1024);
+    }
+
+    String getNome() {
+        return nome;
+    }
+
+    String[] getDimensoes() {
+        return dimensoes;
+    }
+
+    String[] getMedidas() {
+        return medidas;
+    }
+
+    int escala(int medida) {
+        return escalas[medida];
+    }
+
+    int indiceDimensao(String dimensao) {
+        for (int i = 0; i < dimensoes.length; i++) {
+            if (dimensoes[i].equalsIgnoreCase(dimensao)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Dimensão '" + dimensao + "' não existe em '" + nome + "'. Disponíveis: " + Arrays.toString(dimensoes));
+    }
+
+    int indiceMedida(String medida) {
+        for (int i = 0; i < medidas.length; i++) {
+            if (medidas[i].equalsIgnoreCase(medida)) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Medida '" + medida + "' não existe em '" + nome + "'. Disponíveis: " + Arrays.toString(medidas));
+    }
+
+    int linhasAtivas() {
+        lock.readLock().lock();
+        try {
+            return linhas - removidas;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // --- Escrita ---
+
+    /**
+     * Substitui todas as linhas da chave de origem (lista vazia = remover).
+     */
+    void substituir(long chave, List<Linha> novas) {
+        lock.writeLock().lock();
+        try {
+            substituirSemLock(chave, novas);
+            if (removidas > 1024 && removidas > linhas / 4) {
+                compactar();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Troca todo o conteúdo (carga completa).
+     */
+    void recarregar(Map<Long, List<Linha>> linhasPorOrigem) {
+        lock.writeLock().lock();
+        try {
+            codigos.forEach(Map::clear);
+            valores.forEach(List::clear);
+            linhasPorChave.clear();
+            linhas = 0;
+            removidas = 0;
+            alocar(Math.max(1024, linhasPorOrigem.size() * 2));
+            linhasPorOrigem.forEach(this::substituirSemLock);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void substituirSemLock(long chave, List<Linha> novas) {
+        int[] anteriores = linhasPorChave.remove(chave);
+        if (anteriores != null) {
+            for (int linha : anteriores) {
+                removida[linha] = true;
+            }
+            removidas += anteriores.length;
+        }
+        if (novas.isEmpty()) {
+            return;
+        }
+        int[] posicoes = new int[novas.size()];
+        for (int i = 0; i < novas.size(); i++) {
+            posicoes[i] = adicionar(novas.get(i));
+        }
+        linhasPorChave.put(chave, posicoes);
+    }
+
+    private int adicionar(Linha linha) {
+        if (linhas == removida.length) {
+            crescer(removida.length * 2);
+        }
+        int posicao = linhas++;
+        for (int d = 0; d < dimensoes.length; d++) {
+            colunasDimensao[d][posicao] = codificar(d, linha.dimensoes()[d]);
+        }
+        for (int m = 0; m < medidas.length; m++) {
+            colunasMedida[m][posicao] = linha.medidas()[m];
+        }
+        removida[posicao] = false;
+        return posicao;
+    }
+
+    private int codificar(int dimensao, String valor) {
+        String texto = valor != null ? valor : "(vazio)";
+        Integer codigo = codigos.get(dimensao).get(texto);
+        if (codigo == null) {
+            codigo = valores.get(dimensao).size();
+            valores.get(dimensao).add(texto);
+            codigos.get(dimensao).put(texto, codigo);
+        }
+        return codigo;
+    }
+
+    private void compactar() {
+        Map<Integer, Long> chavePorLinha = new HashMap<>(linhasPorChave.size() * 2);
+        linhasPorChave.forEach((chave, posicoes) -> {
+            for (int p : posicoes) {
+                chavePorLinha.put(p, chave);
+            }
+        });
+        int destino = 0;
+        Map<Long, List<Integer>> novasPosicoes = new HashMap<>();
+        for (int origem = 0; origem < linhas; origem++) {
+            if (removida[origem]) {
+                continue;
+            }
+            for (int d = 0; d < dimensoes.length; d++) {
+                colunasDimensao[d][destino] = colunasDimensao[d][origem];
+            }
+            for (int m = 0; m < medidas.length; m++) {
+                colunasMedida[m][destino] = colunasMedida[m][origem];
+            }
+            removida[destino] = false;
+            novasPosicoes.computeIfAbsent(chavePorLinha.get(origem), k -> new ArrayList<>()).add(destino);
+            destino++;
+        }
+        linhas = destino;
+        removidas = 0;
+        linhasPorChave.clear();
+        novasPosicoes.forEach((chave, lista) -> linhasPorChave.put(chave, lista.stream().mapToInt(Integer::intValue).toArray()));
+    }
+
+    private void alocar(int capacidade) {
+        colunasDimensao = new int[dimensoes.length][capacidade];
+        colunasMedida = new long[medidas.length][capacidade];
+        removida = new boolean[capacidade];
+    }
+
+    private void crescer(int capacidade) {
+        for (int d = 0; d < dimensoes.length; d++) {
+            colunasDimensao[d] = Arrays.copyOf(colunasDimensao[d], capacidade);
+        }
+        for (int m = 0; m < medidas.length; m++) {
+            colunasMedida[m] = Arrays.copyOf(colunasMedida[m], capacidade);
+        }
+        removida = Arrays.copyOf(removida, capacidade);
+    }
+
+    // --- Consulta ---
+
+    /**
+     * Filtra (dimensão IN valores), agrupa pelas dimensões informadas e acumula contagem e soma/mín/máx
+     * de todas as medidas por grupo.
+     */
+    Resultado consultar(Map<Integer, Set<String>> filtros, int[] agrupar) {
+        lock.readLock().lock();
+        try {
+            // Filtros viram tabelas de códigos permitidos (valor desconhecido não casa com nenhuma linha)
+            boolean[][] permitidos = new boolean[dimensoes.length][];
+            for (Map.Entry<Integer, Set<String>> filtro : filtros.entrySet()) {
+                int d = filtro.getKey();
+                boolean[] permitido = new boolean[valores.get(d).size()];
+                for (String valor : filtro.getValue()) {
+                    Integer codigo = codigos.get(d).get(valor);
+                    if (codigo != null) {
+                        permitido[codigo] = true;
+                    }
+                }
+                permitidos[d] = permitido;
+            }
+            // Chave do grupo em base mista: cada dimensão agrupada ocupa 'tamanho do dicionário' posições
+            long[] bases = new long[agrupar.length];
+            long fator = 1;
+            for (int i = agrupar.length - 1; i >= 0; i--) {
+                bases[i] = fator;
+                fator = Math.multiplyExact(fator, Math.max(1, valores.get(agrupar[i]).size()));
+            }
+
+            Map<Long, long[]> grupos = ForkJoinPool.commonPool()
+                    .invoke(new Varredura(0, linhas, permitidos, agrupar, bases));
+
+            List<String[]> chaves = new ArrayList<>(grupos.size());
+            List<long[]> acumuladores = new ArrayList<>(grupos.size());
+            grupos.forEach((chave, acumulador) -> {
+                String[] valoresGrupo = new String[agrupar.length];
+                for (int i = 0; i < agrupar.length; i++) {
+                    int codigo = (int) ((chave / bases[i]) % Math.max(1, valores.get(agrupar[i]).size()));
+                    valoresGrupo[i] = valores.get(agrupar[i]).get(codigo);
+                }
+                chaves.add(valoresGrupo);
+                acumuladores.add(acumulador);
+            });
+            return new Resultado(chaves, acumuladores, linhas - removidas);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Varredura de um intervalo de linhas: divide ao meio enquanto for maior que o limiar e junta os mapas parciais.
+     * Acumulador de cada grupo: [contagem, soma0, min0, max0, soma1, min1, max1, ...].
+     */
+    private final class Varredura extends RecursiveTask<Map<Long, long[]>> {
+        private final int inicio;
+        private final int fim;
+        private final boolean[][] permitidos;
+        private final int[] agrupar;
+        private final long[] bases;
+
+        Varredura(int inicio, int fim, boolean[][] permitidos, int[] agrupar, long[] bases) {
+            this.inicio = inicio;
+            this.fim = fim;
+            this.permitidos = permitidos;
+            this.agrupar = agrupar;
+            this.bases = bases;
+        }
+
+        @Override
+        protected Map<Long, long[]> compute() {
+            if (fim - inicio > LIMIAR_DIVISAO) {
+                int meio = (inicio + fim) >>> 1;
+                Varredura esquerda = new Varredura(inicio, meio, permitidos, agrupar, bases);
+                esquerda.fork();
+                Map<Long, long[]> direita = new Varredura(meio, fim, permitidos, agrupar, bases).compute();
+                return juntar(esquerda.join(), direita);
+            }
+            Map<Long, long[]> grupos = new HashMap<>();
+            int nMedidas = medidas.length;
+            linhas:
+            for (int linha = inicio; linha < fim; linha++) {
+                if (removida[linha]) {
+                    continue;
+                }
+                for (int d = 0; d < permitidos.length; d++) {
+                    if (permitidos[d] != null) {
+                        int codigo = colunasDimensao[d][linha];
+                        if (codigo >= permitidos[d].length || !permitidos[d][codigo]) {
+                            continue linhas;
+                        }
+                    }
+                }
+                long chave = 0;
+                for (int i = 0; i < agrupar.length; i++) {
+                    chave += colunasDimensao[agrupar[i]][linha] * bases[i];
+                }
+                long[] acumulador = grupos.get(chave);
+                if (acumulador == null) {
+                    acumulador = novoAcumulador(nMedidas);
+                    grupos.put(chave, acumulador);
+                }
+                acumulador[0]++;
+                for (int m = 0; m < nMedidas; m++) {
+                    long valor = colunasMedida[m][linha];
+                    int base = 1 + m * 3;
+                    acumulador[base] += valor;
+                    if (valor < acumulador[base + 1]) acumulador[base + 1] = valor;
+                    if (valor > acumulador[base + 2]) acumulador[base + 2] = valor;
+                }
+            }
+            return grupos;
+        }
+
+        private Map<Long, long[]> juntar(Map<Long, long[]> a, Map<Long, long[]> b) {
+            Map<Long, long[]> maior = a.size() >= b.size() ? a : b;
+            Map<Long, long[]> menor = maior == a ? b : a;
+            menor.forEach((chave, acumulador) -> maior.merge(chave, acumulador, (x, y) -> {
+                x[0] += y[0];
+                for (int base = 1; base < x.length; base += 3) {
+                    x[base] += y[base];
+                    x[base + 1] = Math.min(x[base + 1], y[base + 1]);
+                    x[base + 2] = Math.max(x[base + 2], y[base + 2]);
+                }
+                return x;
+            }));
+            return maior;
+        }
+    }
+
+    private static long[] novoAcumulador(int nMedidas) {
+        long[] acumulador = new long[1 + nMedidas * 3];
+        for (int m = 0; m < nMedidas; m++) {
+            acumulador[2 + m * 3] = Long.MAX_VALUE;
+            acumulador[3 + m * 3] = Long.MIN_VALUE;
+        }
+        return acumulador;
+    }
+}
@@ -0,0 +1,205 @@
+// src/main/java/br/com/fiap/service/busca/IndiceEmSegundoPlano.java
+package br.com.fiap.service.busca;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.ToIntFunction;
+
+/**
+ * Ciclo de vida de um índice de busca em memória: carga completa em segundo plano, reconstrução periódica e
+ * correções a partir dos IDs alterados em transações confirmadas.
+ * <p>
+ * Toda escrita no índice (carga, reconstrução e correções) roda na única thread do executor, em ordem: duas
+ * correções do mesmo registro nunca se cruzam, e a releitura de uma alteração é sempre posterior ao commit que a
+ * anunciou. O listener AFTER_COMMIT só enfileira os IDs em {@link #alterados}; a correção relê todos os pendentes
+ * de uma vez. A carga limpa a fila antes de ler o banco (a leitura já traz o que foi confirmado até ali) e, antes de
+ * publicar o novo índice, aplica o que chegou durante a leitura.
+ *
+ * @param <I> tipo do índice (thread-safe para leitura)
+ */
+public final class IndiceEmSegundoPlano<I> {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceEmSegundoPlano.class);
+
+    /** O que é específico de cada índice: ler o banco e corrigir um índice existente. */
+    public interface Fonte<I> {
+
+        /** Lê o banco inteiro e constrói um índice novo. */
+        I carregar();
+
+        /** Relê os IDs informados (e o que mais o índice precisar conferir) e corrige o índice. */
+        void aplicar(I indice, Collection<Long> ids);
+
+        /** Indica que o índice acumulou descarte demais e deve ser reconstruído. */
+        default boolean precisaReconstruir(I indice) {
+            return false;
+        }
+    }
+
+    private final String descricao;
+    private final long reconstrucaoMinutos;
+    private final Fonte<I> fonte;
+    private final ToIntFunction<I> tamanho;
+    private final Set<Long> pendentes = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean correcaoAgendada = new AtomicBoolean();
+    private final ScheduledExecutorService executor;
+    private volatile I indice;
+    private volatile LocalDateTime carregadoEm;
+
+    /**
+     * @param nomeThread          nome da thread do executor (aparece nos thread dumps)
+     * @param descricao           usado nos logs, ex.: "busca de veículos"
+     * @param reconstrucaoMinutos intervalo entre reconstruções completas
+     * @param tamanho             quantidade de registros do índice, para o log da carga
+     */
+    public IndiceEmSegundoPlano(String nomeThread, String descricao, long reconstrucaoMinutos, Fonte<I> fonte,
+                                ToIntFunction<I> tamanho) {
+        this.descricao = descricao;
+        this.reconstrucaoMinutos = reconstrucaoMinutos;
+        this.fonte = fonte;
+        this.tamanho = tamanho;
+        this.executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, nomeThread);
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /** Primeira carga imediata e reconstruções a cada reconstrucaoMinutos. */
+    public void agendar() {
+        executor.scheduleWithFixedDelay(this::reconstruirSemPropagar, 0, reconstrucaoMinutos, TimeUnit.MINUTES);
+    }
+
+    public void encerrar() {
+        executor.shutdownNow();
+    }
+
+    public boolean disponivel() {
+        return indice != null;
+    }
+
+    /** Índice atual, ou null enquanto a primeira carga não termina. */
+    public I atual() {
+        return indice;
+    }
+
+    public LocalDateTime carregadoEm() {
+        return carregadoEm;
+    }
+
+    /**
+     * Índice atual; antes da primeira carga, espera por ela (na thread do índice, nunca em paralelo a outra).
+     * Para quem não tem uma consulta alternativa ao banco.
+     */
+    public I aguardar() {
+        I atual = indice;
+        if (atual != null) {
+            return atual;
+        }
+        executarNaThreadDoIndice(() -> {
+            if (indice == null) {
+                reconstruirNaThreadDoIndice();
+            }
+        });
+        return indice;
+    }
+
+    /** Reconstrói agora e espera terminar. */
+    public void reconstruir() {
+        executarNaThreadDoIndice(this::reconstruirNaThreadDoIndice);
+    }
+
+    /** Espera as correções já enfileiradas terminarem. */
+    public void sincronizar() {
+        executarNaThreadDoIndice(() -> {
+        });
+    }
+
+    /**
+     * IDs alterados por uma transação confirmada; a correção roda depois, na thread do índice. Uma coleção vazia
+     * ainda agenda a correção (que confere os registros novos).
+     */
+    public void alterados(Collection<Long> ids) {
+        pendentes.addAll(ids);
+        if (correcaoAgendada.compareAndSet(false, true)) {
+            try {
+                executor.execute(this::aplicarPendentes);
+            } catch (RejectedExecutionException e) {
+                correcaoAgendada.set(false); // aplicação encerrando
+            }
+        }
+    }
+
+    // --- Métodos auxiliares (na thread do índice) ---
+
+    private void aplicarPendentes() {
+        correcaoAgendada.set(false); // antes de drenar: o que chegar depois agenda outra correção
+        I atual = indice;
+        if (atual == null) {
+            return; // a primeira carga limpa a fila e traz o estado atual
+        }
+        try {
+            fonte.aplicar(atual, drenar());
+            if (fonte.precisaReconstruir(atual)) {
+                reconstruirSemPropagar();
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao atualizar o índice de {} ({}); ele será reconstruído.", descricao, e.getMessage());
+            reconstruirSemPropagar();
+        }
+    }
+
+    private void reconstruirSemPropagar() {
+        try {
+            reconstruirNaThreadDoIndice();
+        } catch (RuntimeException e) {
+            // Uma exceção no agendamento periódico cancelaria as próximas execuções
+            log.error("Falha ao reconstruir o índice de {}: {}", descricao, e.getMessage(), e);
+        }
+    }
+
+    private void reconstruirNaThreadDoIndice() {
+        long inicio = System.currentTimeMillis();
+        pendentes.clear();
+        I novo = fonte.carregar();
+        // Confirmadas durante a leitura podem ter ficado fora dela
+        fonte.aplicar(novo, drenar());
+        indice = novo;
+        carregadoEm = LocalDateTime.now();
+        log.info("Índice de {} construído: {} registros em {} ms", descricao, tamanho.applyAsInt(novo),
+                System.currentTimeMillis() - inicio);
+    }
+
+    private List<Long> drenar() {
+        List<Long> ids = new ArrayList<>(pendentes);
+        pendentes.removeAll(ids);
+        return ids;
+    }
+
+    private void executarNaThreadDoIndice(Runnable tarefa) {
+        try {
+            executor.submit(tarefa).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrompido aguardando o índice de " + descricao + ".", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException("Falha no índice de " + descricao + ".", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+// src/main/java/br/com/fiap/service/clientes/BuscaClientesService.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.dto.cliente.ClienteInfoDTO;
+
+import java.util.List;
+
+public interface BuscaClientesService {
+
+    /** Indica se o índice em memória já foi carregado. */
+    boolean disponivel();
+
+    /**
+     * Mesmos critérios de {@link ClienteService#buscarClientes}, respondidos pelo índice e ordenados pela qualidade
+     * do casamento com o nome.
+     */
+    List<ClienteInfoDTO> buscar(String nome, String documento, Long idCliente);
+
+    /** Sugestões para o texto digitado até agora (nome, sobrenome ou documento), das mais relevantes para as menos. */
+    List<ClienteInfoDTO> autocompletar(String texto, int limite);
+
+    /** Reconstrói o índice a partir do banco e espera terminar (também executado periodicamente em segundo plano). */
+    void reconstruir();
+}
@@ -0,0 +1,156 @@
+// src/main/java/br/com/fiap/service/clientes/BuscaClientesServiceImpl.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.dto.cliente.ClienteInfoDTO;
+import br.com.fiap.service.busca.IndiceEmSegundoPlano;
+import br.com.fiap.service.importacao.LotesJdbc;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Busca de clientes (recepção e autocompletar) servida do {@link IndiceBuscaClientes} em memória, em vez do
+ * {@code LIKE '%x%'} em CLIENTES, que não usa índice.
+ * <p>
+ * O índice é mantido pelo {@link IndiceEmSegundoPlano}: construído em segundo plano quando a aplicação sobe e
+ * reconstruído periodicamente (busca-clientes.reconstrucao-minutos) ou quando um quarto dos slots já foi descartado;
+ * entre uma reconstrução e outra ele é corrigido a partir dos {@link ClientesAlteradosEvent} confirmados, relendo os
+ * clientes alterados e os inseridos desde a carga que ainda não estão nele.
+ */
+@Service
+public class BuscaClientesServiceImpl implements BuscaClientesService {
+
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+    private static final int LOTE_IN = 1000;
+    private static final int MAX_LIMITE = 50;
+
+    private static final String SQL_CLIENTES =
+            "SELECT ID_CLI, ENDERECOS_ID_END, NOME, SOBRENOME, NUMERO_DOCUMENTO FROM CLIENTES";
+    private static final String SQL_IDS_DESDE_CARGA = "SELECT ID_CLI FROM CLIENTES WHERE ID_CLI > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IndiceEmSegundoPlano<IndiceBuscaClientes> indice;
+
+    @Autowired
+    public BuscaClientesServiceImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${busca-clientes.reconstrucao-minutos:60}") long reconstrucaoMinutos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indice = new IndiceEmSegundoPlano<>("busca-clientes", "busca de clientes", reconstrucaoMinutos,
+                new IndiceEmSegundoPlano.Fonte<>() {
+                    @Override
+                    public IndiceBuscaClientes carregar() {
+                        return carregarIndice();
+                    }
+
+                    @Override
+                    public void aplicar(IndiceBuscaClientes alvo, Collection<Long> ids) {
+                        aplicarAlteracoes(alvo, ids);
+                    }
+
+                    @Override
+                    public boolean precisaReconstruir(IndiceBuscaClientes alvo) {
+                        return alvo.removidos() > alvo.tamanho() / 4;
+                    }
+                }, IndiceBuscaClientes::tamanho);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        indice.encerrar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void agendarReconstrucao() {
+        indice.agendar();
+    }
+
+    @Override
+    public boolean disponivel() {
+        return indice.disponivel();
+    }
+
+    @Override
+    public List<ClienteInfoDTO> buscar(String nome, String documento, Long idCliente) {
+        return indice.aguardar().buscar(nome, documento, idCliente != null && idCliente > 0 ? idCliente : null).stream()
+                .map(BuscaClientesServiceImpl::toInfoDto)
+                .toList();
+    }
+
+    @Override
+    public List<ClienteInfoDTO> autocompletar(String texto, int limite) {
+        if (limite < 1 || limite > MAX_LIMITE) {
+            throw new IllegalArgumentException("O limite deve estar entre 1 e " + MAX_LIMITE + ".");
+        }
+        return indice.aguardar().autocompletar(texto, limite).stream()
+                .map(BuscaClientesServiceImpl::toInfoDto)
+                .toList();
+    }
+
+    @Override
+    public void reconstruir() {
+        indice.reconstruir();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarClientes(ClientesAlteradosEvent evento) {
+        indice.alterados(evento.idsCliente());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private IndiceBuscaClientes carregarIndice() {
+        List<IndiceBuscaClientes.Cliente> clientes = new ArrayList<>();
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(SQL_CLIENTES);
+            ps.setFetchSize(TAMANHO_LOTE_CARGA);
+            return ps;
+        }, (ResultSet rs) -> {
+            clientes.add(lerCliente(rs));
+        });
+        return new IndiceBuscaClientes(clientes);
+    }
+
+    // Relê os clientes informados (os que sumiram do banco são retirados) e os ID_CLI acima da carga que o índice
+    // não tem: a sequência não garante que os cadastros confirmem na ordem dos IDs
+    private void aplicarAlteracoes(IndiceBuscaClientes alvo, Collection<Long> idsCliente) {
+        Set<Long> alvos = new LinkedHashSet<>(idsCliente);
+        jdbcTemplate.queryForList(SQL_IDS_DESDE_CARGA, Long.class, alvo.maiorIdDaCarga()).stream()
+                .filter(id -> !alvo.contem(id))
+                .forEach(alvos::add);
+        List<Long> ids = new ArrayList<>(alvos);
+        List<IndiceBuscaClientes.Cliente> lidos = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            List<Long> bloco = ids.subList(i, Math.min(i + LOTE_IN, ids.size()));
+            jdbcTemplate.query(SQL_CLIENTES + " WHERE ID_CLI IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                    (ResultSet rs) -> {
+                        lidos.add(lerCliente(rs));
+                    }, bloco.toArray());
+        }
+        Set<Long> encontrados = new HashSet<>();
+        lidos.forEach(c -> encontrados.add(c.idCli()));
+        List<Long> removidos = ids.stream().filter(id -> !encontrados.contains(id)).toList();
+        if (!lidos.isEmpty() || !removidos.isEmpty()) {
+            alvo.atualizar(lidos, removidos);
+        }
+    }
+
+    private static IndiceBuscaClientes.Cliente lerCliente(ResultSet rs) throws SQLException {
+        return new IndiceBuscaClientes.Cliente(rs.getLong("ID_CLI"), rs.getLong("ENDERECOS_ID_END"),
+                rs.getString("NOME"), rs.getString("SOBRENOME"), rs.getString("NUMERO_DOCUMENTO"));
+    }
+
+    private static ClienteInfoDTO toInfoDto(IndiceBuscaClientes.Cliente c) {
+        return new ClienteInfoDTO(c.idCli(), c.idEndereco(), c.nome(), c.sobrenome(), c.numeroDocumento());
+    }
+}
@@ -28,6 +28,7 @@ import br.com.fiap.repository.specification.ClienteSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -35,6 +36,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Collections;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -52,13 +54,17 @@ public class ClienteServiceImpl implements ClienteService {
     private final ContatoMapper contatoMapper;
     private final ClienteVeiculoRepository clienteVeiculoRepository;
     private final VeiculoMapper veiculoMapper;
+    private final BuscaClientesService buscaClientesService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public ClienteServiceImpl(ClientesRepository clientesRepository, EnderecoRepository enderecoRepository,
                               ContatoRepository contatoRepository, AutenticarRepository autenticarRepository,
                               ClienteMapper clienteMapper, EnderecoMapper enderecoMapper, ContatoMapper contatoMapper,
                               ClienteVeiculoRepository clienteVeiculoRepository,
-                              VeiculoMapper veiculoMapper) {
+                              VeiculoMapper veiculoMapper,
+                              BuscaClientesService buscaClientesService,
+                              ApplicationEventPublisher eventPublisher) {
         // Certifique-se que TODAS as atribuições estão aqui e corretas
         this.clienteRepository = clientesRepository;
         this.enderecoRepository = enderecoRepository;
@@ -69,6 +75,8 @@ public class ClienteServiceImpl implements ClienteService {
         this.contatoMapper = contatoMapper;
         this.clienteVeiculoRepository = clienteVeiculoRepository;
         this.veiculoMapper = veiculoMapper;
+        this.buscaClientesService = buscaClientesService;
+        this.eventPublisher = eventPublisher;
         // Não precisamos injetar PasswordEncoder aqui para a lógica de vincular Autenticar
     }
 
@@ -136,7 +144,9 @@ public class ClienteServiceImpl implements ClienteService {
                     savedCliente.getId().getIdCli(),
                     savedCliente.getId().getEnderecoId(),
                     autenticarId != null ? " e associado ao Autenticar ID: " + autenticarId : "");
-
+            // Sem ID_CLI (trigger), o índice de busca encontra o cliente entre os IDs acima da sua última carga
+            Long idCli = savedCliente.getId().getIdCli();
+            eventPublisher.publishEvent(new ClientesAlteradosEvent(idCli != null ? Set.of(idCli) : Set.of()));
 
             return clienteMapper.toResponseDto(savedCliente);
         } catch (AutenticarNotFoundException e) {
@@ -184,6 +194,7 @@ public class ClienteServiceImpl implements ClienteService {
         // Salva o cliente (JPA/Hibernate gerencia as atualizações em cascata se configurado)
         Clientes updatedCliente = clienteRepository.save(existingCliente);
         log.info("Cliente atualizado com ID: {}", updatedCliente.getId());
+        eventPublisher.publishEvent(new ClientesAlteradosEvent(Set.of(id.getIdCli())));
         return clienteMapper.toResponseDto(updatedCliente);
     }
 
@@ -240,6 +251,7 @@ public class ClienteServiceImpl implements ClienteService {
             // Agora, e somente agora, delete o cliente
             clienteRepository.delete(cliente);
             log.info("Cliente ID {} deletado com sucesso.", id);
+            eventPublisher.publishEvent(new ClientesAlteradosEvent(Set.of(id.getIdCli())));
         } catch (DataIntegrityViolationException e) {
             log.error("Erro de integridade ao deletar cliente ID {}: {}", id, e.getMessage());
             // Relança com uma mensagem mais amigável indicando o problema de dependência
@@ -265,6 +277,13 @@ public class ClienteServiceImpl implements ClienteService {
             return List.of();
         }
 
+        if (buscaClientesService.disponivel()) {
+            // Índice de trigramas em memória: evita o LIKE '%x%' que varre CLIENTES
+            List<ClienteInfoDTO> encontrados = buscaClientesService.buscar(nome, documento, idCliente);
+            log.info("Encontrados {} clientes para os critérios (índice em memória).", encontrados.size());
+            return encontrados;
+        }
+
         List<Clientes> clientesEncontrados = clienteRepository.findAll(spec);
         log.info("Encontrados {} clientes para os critérios.", clientesEncontrados.size());
 
@@ -0,0 +1,13 @@
+// src/main/java/br/com/fiap/service/clientes/ClientesAlteradosEvent.java
+package br.com.fiap.service.clientes;
+
+import java.util.Set;
+
+/**
+ * Publicado quando clientes são criados, alterados ou excluídos, para que o índice de busca em memória releia só
+ * esses clientes (por ID_CLI) depois do commit e o cache de documentos da consulta de clientes os descarte.
+ * Inserções sem ID conhecido podem vir com o conjunto vazio: o índice confere os ID_CLI acima da sua última carga
+ * e relê os que ainda não tem.
+ */
+public record ClientesAlteradosEvent(Set<Long> idsCliente) {
+}
@@ -0,0 +1,15 @@
+// src/main/java/br/com/fiap/service/clientes/ConsultaClienteService.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.model.Clientes;
+
+import java.util.Optional;
+
+public interface ConsultaClienteService {
+
+    /** Cliente com o número de documento informado (vazio se o documento for nulo/em branco ou não existir). */
+    Optional<Clientes> buscarPorDocumento(String numeroDocumento);
+
+    /** Cliente com o ID_CLI informado, sem precisar do endereço que completa a chave. */
+    Optional<Clientes> buscarPorIdCli(Long idCli);
+}
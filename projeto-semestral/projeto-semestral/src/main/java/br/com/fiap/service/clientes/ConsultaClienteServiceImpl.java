@@ -0,0 +1,112 @@
+// src/main/java/br/com/fiap/service/clientes/ConsultaClienteServiceImpl.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.model.Clientes;
+import br.com.fiap.model.relacionamentos.ClienteId;
+import br.com.fiap.repository.ClientesRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Consultas de um único cliente pela chave natural (documento) ou pelo ID_CLI, cada uma em uma só consulta limitada
+ * a uma linha, em vez de {@code findAll(spec)} seguido de {@code findFirst()}.
+ * <p>
+ * Um cache pequeno (LRU, consulta-clientes.cache-documentos entradas) guarda documento -> chave composta, de modo
+ * que um documento já visto vira uma leitura pela PK. Só a chave é guardada, nunca a entidade, que continua vindo da
+ * sessão da transação de quem chama. Os {@link ClientesAlteradosEvent} confirmados tiram do cache os clientes
+ * alterados ou excluídos; e, como a entrada é só uma dica, o cliente lido por ela é conferido contra o documento
+ * pedido e, se não bater, a entrada é descartada e a busca vai pelo documento.
+ */
+@Service
+public class ConsultaClienteServiceImpl implements ConsultaClienteService {
+
+    private final ClientesRepository clientesRepository;
+    private final Map<String, ClienteId> chavePorDocumento;
+    private final Map<Long, String> documentoPorIdCli = new HashMap<>();
+
+    @Autowired
+    public ConsultaClienteServiceImpl(ClientesRepository clientesRepository,
+                                      @Value("${consulta-clientes.cache-documentos:1024}") int maxDocumentos) {
+        this.clientesRepository = clientesRepository;
+        this.chavePorDocumento = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ClienteId> maisAntiga) {
+                if (size() <= maxDocumentos) {
+                    return false;
+                }
+                documentoPorIdCli.remove(maisAntiga.getValue().getIdCli());
+                return true;
+            }
+        };
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Clientes> buscarPorDocumento(String numeroDocumento) {
+        if (numeroDocumento == null || numeroDocumento.isBlank()) {
+            return Optional.empty();
+        }
+        ClienteId chave = chaveEmCache(numeroDocumento);
+        if (chave != null) {
+            Optional<Clientes> cliente = clientesRepository.findById(chave);
+            if (cliente.isPresent() && numeroDocumento.equals(cliente.get().getNumeroDocumento())) {
+                return cliente;
+            }
+            descartar(chave.getIdCli()); // entrada desatualizada: segue pela consulta por documento
+        }
+        Optional<Clientes> cliente = clientesRepository.findByNumeroDocumento(numeroDocumento);
+        cliente.ifPresent(this::guardar);
+        return cliente;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Optional<Clientes> buscarPorIdCli(Long idCli) {
+        if (idCli == null || idCli <= 0) {
+            return Optional.empty();
+        }
+        Optional<Clientes> cliente = clientesRepository.findFirstByIdIdCli(idCli);
+        cliente.ifPresent(this::guardar);
+        return cliente;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarClientes(ClientesAlteradosEvent evento) {
+        // Conjunto vazio = só inserções, que não invalidam nada (documentos não encontrados não são guardados)
+        evento.idsCliente().forEach(this::descartar);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private synchronized ClienteId chaveEmCache(String documento) {
+        return chavePorDocumento.get(documento);
+    }
+
+    private synchronized void guardar(Clientes cliente) {
+        ClienteId id = cliente.getId();
+        if (id == null || id.getIdCli() == null || cliente.getNumeroDocumento() == null) {
+            return;
+        }
+        String anterior = documentoPorIdCli.put(id.getIdCli(), cliente.getNumeroDocumento());
+        if (anterior != null && !anterior.equals(cliente.getNumeroDocumento())) {
+            chavePorDocumento.remove(anterior);
+        }
+        chavePorDocumento.put(cliente.getNumeroDocumento(), new ClienteId(id.getIdCli(), id.getEnderecoId()));
+    }
+
+    private synchronized void descartar(Long idCli) {
+        String documento = documentoPorIdCli.remove(idCli);
+        if (documento != null) {
+            chavePorDocumento.remove(documento);
+        }
+    }
+}
@@ -0,0 +1,17 @@
+// src/main/java/br/com/fiap/service/clientes/ImportacaoClienteService.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+import br.com.fiap.service.importacao.FormatoImportacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacaoClienteService {
+
+    /**
+     * Importa clientes (com endereço e contato) de um array JSON de ClienteRequestDto ou de um CSV,
+     * gravando em lotes JDBC com uma transação por lote. Linhas inválidas não interrompem a importação.
+     */
+    RelatorioImportacaoDto importar(InputStream entrada, FormatoImportacao formato) throws IOException;
+}
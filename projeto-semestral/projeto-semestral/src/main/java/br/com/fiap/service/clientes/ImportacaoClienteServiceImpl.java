@@ -0,0 +1,214 @@
+// src/main/java/br/com/fiap/service/clientes/ImportacaoClienteServiceImpl.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.dto.cliente.ClienteRequestDto;
+import br.com.fiap.dto.contato.ContatoRequestDto;
+import br.com.fiap.dto.endereco.EnderecoRequestDto;
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+import br.com.fiap.service.importacao.AcumuladorImportacao;
+import br.com.fiap.service.importacao.FormatoImportacao;
+import br.com.fiap.service.importacao.LeitorImportacao;
+import br.com.fiap.service.importacao.LotesJdbc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.util.*;
+
+/**
+ * Importação em lote de clientes.
+ * <p>
+ * Em vez das 3-4 idas ao banco por cliente do {@code ClienteServiceImpl.create}, cada lote reserva os IDs
+ * das três sequências de uma vez e grava ENDERECOS, CONTATOS e CLIENTES com um batch JDBC por tabela,
+ * em uma transação por lote. Se o lote falhar, ele é regravado linha a linha para isolar os registros com erro.
+ * A associação com AUTENTICAR não faz parte da importação. Ao final, se houve inserções, um
+ * {@link ClientesAlteradosEvent} atualiza o índice de busca de clientes.
+ * <p>
+ * Colunas do CSV: tipoCliente, nome, sobrenome, sexo, tipoDocumento, numeroDocumento, dataNascimento,
+ * atividadeProfissional, cep, numero, logradouro, bairro, cidade, estado, complemento, celular, email, contato.
+ */
+@Service
+public class ImportacaoClienteServiceImpl implements ImportacaoClienteService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoClienteServiceImpl.class);
+
+    private static final String SQL_ENDERECO = "INSERT INTO ENDERECOS (ID_END, NUMERO, CEP, LOGRADOURO, BAIRRO, CIDADE, ESTADO, COMPLEMENTO) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_CONTATO = "INSERT INTO CONTATOS (ID_CONT, CELULAR, EMAIL, CONTATO) VALUES (?, ?, ?, ?)";
+    private static final String SQL_CLIENTE = "INSERT INTO CLIENTES (ID_CLI, TIPO_CLIENTE, NOME, SOBRENOME, SEXO, TIPO_DOCUMENTO, NUMERO_DOCUMENTO, " +
+            "DATA_NASCIMENTO, ATIVIDADE_PROFISSIONAL, CONTATOS_ID_CONT, ENDERECOS_ID_END) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${importacao.max-erros-relatorio:1000}")
+    private int maxErrosRelatorio;
+
+    @Autowired
+    public ImportacaoClienteServiceImpl(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        Validator validator,
+                                        ObjectMapper objectMapper,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record LinhaCliente(long linha, ClienteRequestDto dto) {
+    }
+
+    @Override
+    public RelatorioImportacaoDto importar(InputStream entrada, FormatoImportacao formato) throws IOException {
+        log.info("Iniciando importação de clientes (formato {}, lotes de {})", formato, tamanhoLote);
+        int tamanho = Math.max(1, Math.min(tamanhoLote, 1000)); // limite do IN do Oracle na checagem de duplicidade
+        AcumuladorImportacao acumulador = new AcumuladorImportacao(maxErrosRelatorio);
+        Set<String> documentosNoArquivo = new HashSet<>();
+        List<LinhaCliente> lote = new ArrayList<>(tamanho);
+
+        LeitorImportacao.ler(entrada, formato, objectMapper, ClienteRequestDto.class, ImportacaoClienteServiceImpl::deCsv,
+                (linha, dto) -> {
+                    acumulador.linhaLida();
+                    String erro = LeitorImportacao.validar(validator, dto);
+                    if (erro != null) {
+                        acumulador.rejeitar(linha, dto.getNumeroDocumento(), erro);
+                        return;
+                    }
+                    if (!documentosNoArquivo.add(dto.getNumeroDocumento())) {
+                        acumulador.rejeitar(linha, dto.getNumeroDocumento(), "Documento repetido no arquivo.");
+                        return;
+                    }
+                    lote.add(new LinhaCliente(linha, dto));
+                    if (lote.size() >= tamanho) {
+                        gravarLote(lote, acumulador);
+                        lote.clear();
+                    }
+                },
+                (linha, mensagem) -> {
+                    acumulador.linhaLida();
+                    acumulador.rejeitar(linha, null, mensagem);
+                });
+        if (!lote.isEmpty()) {
+            gravarLote(lote, acumulador);
+        }
+
+        RelatorioImportacaoDto relatorio = acumulador.gerar();
+        log.info("Importação de clientes concluída: {} linhas, {} inseridas, {} rejeitadas em {} ms ({} linhas/s)",
+                relatorio.getTotalLinhas(), relatorio.getInseridas(), relatorio.getRejeitadas(),
+                relatorio.getDuracaoMs(), relatorio.getLinhasPorSegundo());
+        if (relatorio.getInseridas() > 0) {
+            // O índice de busca confere os ID_CLI acima da sua última carga
+            eventPublisher.publishEvent(new ClientesAlteradosEvent(Set.of()));
+        }
+        return relatorio;
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void gravarLote(List<LinhaCliente> lote, AcumuladorImportacao acumulador) {
+        // Documentos já cadastrados: uma consulta por lote
+        List<String> documentos = lote.stream().map(l -> l.dto().getNumeroDocumento()).toList();
+        Set<String> existentes = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT NUMERO_DOCUMENTO FROM CLIENTES WHERE NUMERO_DOCUMENTO IN (" + LotesJdbc.marcadores(documentos.size()) + ")",
+                String.class, documentos.toArray()));
+        List<LinhaCliente> novos = new ArrayList<>(lote.size());
+        for (LinhaCliente linha : lote) {
+            if (existentes.contains(linha.dto().getNumeroDocumento())) {
+                acumulador.rejeitar(linha.linha(), linha.dto().getNumeroDocumento(), "Já existe cliente com este documento.");
+            } else {
+                novos.add(linha);
+            }
+        }
+        if (novos.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> inserir(novos));
+            acumulador.inseridas(novos.size());
+        } catch (DataAccessException e) {
+            log.warn("Falha no lote de {} clientes ({}); regravando linha a linha.", novos.size(), LotesJdbc.causaRaiz(e));
+            for (LinhaCliente linha : novos) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> inserir(List.of(linha)));
+                    acumulador.inseridas(1);
+                } catch (DataAccessException erroLinha) {
+                    acumulador.rejeitar(linha.linha(), linha.dto().getNumeroDocumento(), LotesJdbc.causaRaiz(erroLinha));
+                }
+            }
+        }
+    }
+
+    private void inserir(List<LinhaCliente> linhas) {
+        int n = linhas.size();
+        List<Long> idsEndereco = LotesJdbc.proximosValores(jdbcTemplate, "ENDERECOS_ID_END_SEQ", n);
+        List<Long> idsContato = LotesJdbc.proximosValores(jdbcTemplate, "CONTATOS_ID_CONT_SEQ", n);
+        List<Long> idsCliente = LotesJdbc.proximosValores(jdbcTemplate, "CLIENTES_ID_CLI_SEQ", n);
+
+        List<Object[]> enderecos = new ArrayList<>(n);
+        List<Object[]> contatos = new ArrayList<>(n);
+        List<Object[]> clientes = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            ClienteRequestDto c = linhas.get(i).dto();
+            EnderecoRequestDto e = c.getEndereco();
+            ContatoRequestDto ct = c.getContato();
+            enderecos.add(new Object[]{idsEndereco.get(i), e.getNumero(), e.getCep(), e.getLogradouro(), e.getBairro(),
+                    e.getCidade(), e.getEstado(), e.getComplemento()});
+            contatos.add(new Object[]{idsContato.get(i), ct.getCelular(), ct.getEmail(), ct.getContato()});
+            clientes.add(new Object[]{idsCliente.get(i), c.getTipoCliente(), c.getNome(), c.getSobrenome(), c.getSexo(),
+                    c.getTipoDocumento(), c.getNumeroDocumento(), Date.valueOf(c.getDataNascimento()),
+                    c.getAtividadeProfissional(), idsContato.get(i), idsEndereco.get(i)});
+        }
+        jdbcTemplate.batchUpdate(SQL_ENDERECO, enderecos);
+        jdbcTemplate.batchUpdate(SQL_CONTATO, contatos);
+        jdbcTemplate.batchUpdate(SQL_CLIENTE, clientes);
+    }
+
+    private static ClienteRequestDto deCsv(Map<String, String> campos) {
+        EnderecoRequestDto endereco = new EnderecoRequestDto();
+        endereco.setCep(campos.get("cep"));
+        endereco.setNumero(LeitorImportacao.inteiro(campos, "numero"));
+        endereco.setLogradouro(campos.get("logradouro"));
+        endereco.setBairro(campos.get("bairro"));
+        endereco.setCidade(campos.get("cidade"));
+        endereco.setEstado(campos.get("estado"));
+        endereco.setComplemento(campos.get("complemento"));
+
+        ContatoRequestDto contato = new ContatoRequestDto();
+        contato.setCelular(campos.get("celular"));
+        contato.setEmail(campos.get("email"));
+        contato.setContato(campos.get("contato"));
+
+        ClienteRequestDto cliente = new ClienteRequestDto();
+        cliente.setTipoCliente(campos.get("tipocliente"));
+        cliente.setNome(campos.get("nome"));
+        cliente.setSobrenome(campos.get("sobrenome"));
+        cliente.setSexo(campos.get("sexo"));
+        cliente.setTipoDocumento(campos.get("tipodocumento"));
+        cliente.setNumeroDocumento(campos.get("numerodocumento"));
+        cliente.setDataNascimento(LeitorImportacao.data(campos, "datanascimento"));
+        cliente.setAtividadeProfissional(campos.get("atividadeprofissional"));
+        cliente.setEndereco(endereco);
+        cliente.setContato(contato);
+        return cliente;
+    }
+}
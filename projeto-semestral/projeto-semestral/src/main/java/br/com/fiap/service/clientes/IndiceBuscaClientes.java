@@ -0,0 +1,435 @@
+// src/main/java/br/com/fiap/service/clientes/IndiceBuscaClientes.java
+package br.com.fiap.service.clientes;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice de trigramas em memória para a busca de clientes por nome, sobrenome e documento.
+ * <p>
+ * Os textos são normalizados (minúsculas, sem acento, só letras e dígitos separados por um espaço) e indexados com
+ * um espaço antes e depois, de modo que os trigramas de borda (" jo") também sirvam para busca por início de palavra.
+ * Nome completo e documento são indexados separadamente, sem trigramas que atravessem os dois campos. Cada cliente
+ * ocupa uma posição ("slot") e cada trigrama guarda a lista crescente de slots que o contêm; uma busca intersecta as
+ * listas dos seus trigramas, começando pela menor, e confirma cada candidato no texto normalizado.
+ * <p>
+ * Na construção os slots seguem a ordem alfabética do nome completo, que é o critério de desempate da relevância:
+ * o autocompletar para de examinar candidatos assim que as sugestões já têm a melhor pontuação possível, e a
+ * ordenação da busca completa recebe listas quase ordenadas.
+ * <p>
+ * Clientes alterados ou excluídos deixam o slot antigo marcado como removido (o alterado ganha um slot novo); a
+ * reconstrução periódica do índice descarta esses slots. Thread-safe: buscas usam o lock de leitura; alterações, o de
+ * escrita.
+ */
+class IndiceBuscaClientes {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern SO_DOCUMENTO = Pattern.compile("[\\d.\\-/\\s]+");
+
+    record Cliente(long idCli, long idEndereco, String nome, String sobrenome, String numeroDocumento) {
+    }
+
+    // Textos normalizados; o nome completo é "nome sobrenome" e fimNome marca onde o nome termina
+    private record Entrada(Cliente cliente, String nomeCompleto, int fimNome, String documento) {
+    }
+
+    private record Pontuada(Entrada entrada, int pontos) {
+    }
+
+    private static final Comparator<Entrada> ALFABETICA = Comparator.comparing(Entrada::nomeCompleto)
+            .thenComparingLong(e -> e.cliente().idCli());
+    private static final Comparator<Pontuada> POR_RELEVANCIA = Comparator.comparingInt(Pontuada::pontos)
+            .thenComparing(Pontuada::entrada, ALFABETICA);
+
+    /** Lista crescente de slots de um trigrama, sem repetição. */
+    private static final class Postagens {
+        private int[] slots = new int[4];
+        private int tamanho;
+
+        void adicionar(int slot) {
+            if (tamanho > 0 && slots[tamanho - 1] == slot) {
+                return; // trigrama repetido no mesmo cliente
+            }
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho * 2);
+            }
+            slots[tamanho++] = slot;
+        }
+    }
+
+    private final List<Entrada> porSlot = new ArrayList<>();
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final BitSet ativos = new BitSet();
+    private final Map<Long, Postagens> porTrigrama = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int construidos;
+    private long maiorId;
+    private final long maiorIdDaCarga;
+
+    IndiceBuscaClientes(Collection<Cliente> clientes) {
+        clientes.stream().map(IndiceBuscaClientes::entrada).sorted(ALFABETICA).forEach(this::incluir);
+        construidos = porSlot.size();
+        maiorIdDaCarga = maiorId;
+    }
+
+    /** Inclui ou substitui os clientes informados e retira os removidos (por ID_CLI). */
+    void atualizar(Collection<Cliente> clientes, Collection<Long> removidos) {
+        lock.writeLock().lock();
+        try {
+            removidos.forEach(this::excluir);
+            for (Cliente cliente : clientes) {
+                excluir(cliente.idCli());
+                incluir(entrada(cliente));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Clientes que atendem a todos os critérios informados (os nulos/vazios são ignorados): nome como trecho do
+     * nome completo, documento igual (ignorando pontuação) e ID_CLI igual. Ordenados pela qualidade do casamento
+     * com o nome: igual, começo do nome, começo de uma palavra, trecho qualquer.
+     */
+    List<Cliente> buscar(String nome, String documento, Long idCli) {
+        String termoNome = normalizar(nome);
+        String termoDocumento = documento(documento);
+        lock.readLock().lock();
+        try {
+            int[] candidatos;
+            if (idCli != null) {
+                Integer slot = slotPorId.get(idCli);
+                candidatos = slot != null ? new int[]{slot} : new int[0];
+            } else if (!termoDocumento.isEmpty()) {
+                candidatos = candidatos(List.of(" " + termoDocumento + " "));
+            } else if (termoNome.length() >= 3) {
+                candidatos = candidatos(List.of(termoNome));
+            } else {
+                candidatos = ativos.stream().toArray(); // nome curto demais para trigramas
+            }
+
+            List<Pontuada> encontrados = new ArrayList<>();
+            for (int slot : candidatos) {
+                Entrada e = porSlot.get(slot);
+                if ((termoDocumento.isEmpty() || e.documento().equals(termoDocumento))
+                        && (termoNome.isEmpty() || e.nomeCompleto().contains(termoNome))) {
+                    encontrados.add(new Pontuada(e, termoNome.isEmpty() ? 0 : pontosNome(e, termoNome)));
+                }
+            }
+            encontrados.sort(POR_RELEVANCIA);
+            return encontrados.stream().map(p -> p.entrada().cliente()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Sugestões enquanto o usuário digita. Um texto só com dígitos e pontuação é procurado no documento; os demais,
+     * no nome completo, onde cada termo precisa aparecer (termos de até 2 caracteres só valem como início de
+     * palavra). Pontos por termo: igual ao documento 0, começo do nome ou do documento 1, começo de outra palavra 2,
+     * trecho qualquer 4. Retorna os {@code limite} mais relevantes; vazio se nenhum termo tiver 2 caracteres.
+     */
+    List<Cliente> autocompletar(String texto, int limite) {
+        boolean porDocumento = texto != null && SO_DOCUMENTO.matcher(texto).matches();
+        String normalizado = porDocumento ? documento(texto) : normalizar(texto);
+        List<String> termos = normalizado.isEmpty() ? List.of() : Arrays.stream(normalizado.split(" ")).distinct().toList();
+        List<String> fragmentos = new ArrayList<>();
+        for (String termo : termos) {
+            if (termo.length() >= 3) {
+                fragmentos.add(termo);
+            } else if (termo.length() == 2) {
+                fragmentos.add(" " + termo);
+            }
+        }
+        if (fragmentos.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Heap com o pior dos melhores no topo
+            PriorityQueue<Pontuada> melhores = new PriorityQueue<>(limite + 1, POR_RELEVANCIA.reversed());
+            int[] candidatos = candidatos(fragmentos);
+            int fimConstruidos = posicao(candidatos, construidos);
+            if (!porDocumento && termos.stream().noneMatch(t -> termos.stream().anyMatch(o -> o != t && o.startsWith(t)))) {
+                // Os nomes que começam por um termo são uma faixa contígua da parte construída, e só um termo pode
+                // fazer 1 ponto: dentro das faixas o mínimo é 1 + 2 por termo restante; fora delas, 2 por termo
+                int k = termos.size();
+                int[][] faixas = new int[k][];
+                for (int t = 0; t < k; t++) {
+                    String termo = termos.get(t);
+                    faixas[t] = new int[]{posicao(candidatos, primeiroSlotAPartirDe(termo)),
+                            posicao(candidatos, primeiroSlotAPartirDe(termo + Character.MAX_VALUE))};
+                }
+                Arrays.sort(faixas, Comparator.comparingInt(f -> f[0]));
+                for (int[] faixa : faixas) {
+                    examinar(candidatos, faixa[0], faixa[1], 2 * k - 1, termos, false, melhores, limite);
+                }
+                // Uma faixa vazia pode vir depois de outra que começa no mesmo ponto: o cursor nunca volta
+                int de = 0;
+                for (int[] faixa : faixas) {
+                    examinar(candidatos, de, faixa[0], 2 * k, termos, false, melhores, limite);
+                    de = Math.max(de, faixa[1]);
+                }
+                examinar(candidatos, de, fimConstruidos, 2 * k, termos, false, melhores, limite);
+            } else {
+                examinar(candidatos, 0, fimConstruidos, porDocumento ? 0 : termos.size(), termos, porDocumento,
+                        melhores, limite);
+            }
+            // Incluídos depois da construção: fora da ordem alfabética, examinados todos
+            examinar(candidatos, fimConstruidos, candidatos.length, -1, termos, porDocumento, melhores, limite);
+
+            List<Pontuada> ordenados = new ArrayList<>(melhores);
+            ordenados.sort(POR_RELEVANCIA);
+            return ordenados.stream().map(p -> p.entrada().cliente()).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long maiorId() {
+        lock.readLock().lock();
+        try {
+            return maiorId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** ID_CLI mais alto lido na carga; fixo, ao contrário de {@link #maiorId()}. */
+    long maiorIdDaCarga() {
+        return maiorIdDaCarga;
+    }
+
+    boolean contem(long idCli) {
+        lock.readLock().lock();
+        try {
+            return slotPorId.containsKey(idCli);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Slots marcados como removidos desde a construção. */
+    int removidos() {
+        lock.readLock().lock();
+        try {
+            return porSlot.size() - slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Minúsculas, sem acentos, palavras separadas por um espaço. */
+    static String normalizar(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return "";
+        }
+        String semAcento = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("");
+        return SEPARADORES.matcher(semAcento.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /** Documento sem pontuação (CPF/CNPJ formatado ou não dão o mesmo resultado). */
+    static String documento(String texto) {
+        return normalizar(texto).replace(" ", "");
+    }
+
+    // --- Métodos auxiliares (com o lock adquirido) ---
+
+    private static int pontosNome(Entrada e, String termo) {
+        String nomeCompleto = e.nomeCompleto();
+        int tamanhoSobrenome = nomeCompleto.length() - e.fimNome() - 1;
+        if (nomeCompleto.equals(termo)
+                || (e.fimNome() == termo.length() && nomeCompleto.startsWith(termo))
+                || (e.fimNome() > 0 && tamanhoSobrenome == termo.length() && nomeCompleto.endsWith(termo))) {
+            return 0;
+        }
+        if (nomeCompleto.startsWith(termo)) {
+            return 1;
+        }
+        return noInicioDePalavra(nomeCompleto, termo) ? 2 : 3;
+    }
+
+    /*
+     * Examina candidatos[de, ate). Com minimo >= 0 esses slots estão em ordem alfabética e nenhum deles faz menos
+     * que minimo pontos: a varredura para quando nem o próximo, com a pontuação mínima, entraria nas sugestões.
+     */
+    private void examinar(int[] candidatos, int de, int ate, int minimo, List<String> termos, boolean porDocumento,
+                          PriorityQueue<Pontuada> melhores, int limite) {
+        for (int i = de; i < ate; i++) {
+            Entrada e = porSlot.get(candidatos[i]);
+            if (minimo >= 0 && melhores.size() == limite
+                    && POR_RELEVANCIA.compare(melhores.peek(), new Pontuada(e, minimo)) < 0) {
+                return;
+            }
+            int pontos = porDocumento ? pontosDocumento(e, termos.get(0)) : pontosAutocompletar(e, termos);
+            if (pontos >= 0) {
+                melhores.add(new Pontuada(e, pontos));
+                if (melhores.size() > limite) {
+                    melhores.poll();
+                }
+            }
+        }
+    }
+
+    // -1 se algum termo não casa com o nome
+    private static int pontosAutocompletar(Entrada e, List<String> termos) {
+        int pontos = 0;
+        for (String termo : termos) {
+            if (e.nomeCompleto().startsWith(termo)) {
+                pontos += 1;
+            } else if (noInicioDePalavra(e.nomeCompleto(), termo)) {
+                pontos += 2;
+            } else if (termo.length() >= 3 && e.nomeCompleto().contains(termo)) {
+                pontos += 4;
+            } else {
+                return -1;
+            }
+        }
+        return pontos;
+    }
+
+    private static int pontosDocumento(Entrada e, String termo) {
+        if (e.documento().equals(termo)) {
+            return 0;
+        }
+        if (e.documento().startsWith(termo)) {
+            return 1;
+        }
+        return termo.length() >= 3 && e.documento().contains(termo) ? 4 : -1;
+    }
+
+    // Primeiro slot da parte construída cujo nome completo não vem antes do texto
+    private int primeiroSlotAPartirDe(String texto) {
+        int baixo = 0;
+        int alto = construidos;
+        while (baixo < alto) {
+            int meio = (baixo + alto) >>> 1;
+            if (porSlot.get(meio).nomeCompleto().compareTo(texto) < 0) {
+                baixo = meio + 1;
+            } else {
+                alto = meio;
+            }
+        }
+        return baixo;
+    }
+
+    // Índice do primeiro candidato com slot >= slot
+    private static int posicao(int[] candidatos, int slot) {
+        int pos = Arrays.binarySearch(candidatos, slot);
+        return pos >= 0 ? pos : -pos - 1;
+    }
+
+    // O termo aparece logo depois de um espaço (sem alocar " " + termo por candidato)
+    private static boolean noInicioDePalavra(String texto, String termo) {
+        for (int i = texto.indexOf(termo, 1); i > 0; i = texto.indexOf(termo, i + 1)) {
+            if (texto.charAt(i - 1) == ' ') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Slots ativos que contêm todos os trigramas dos fragmentos (superconjunto do resultado, em ordem crescente)
+    private int[] candidatos(List<String> fragmentos) {
+        Set<Long> trigramas = new HashSet<>();
+        for (String fragmento : fragmentos) {
+            for (int i = 0; i + 3 <= fragmento.length(); i++) {
+                trigramas.add(trigrama(fragmento, i));
+            }
+        }
+        List<Postagens> listas = new ArrayList<>(trigramas.size());
+        for (Long t : trigramas) {
+            Postagens p = porTrigrama.get(t);
+            if (p == null) {
+                return new int[0];
+            }
+            listas.add(p);
+        }
+        listas.sort(Comparator.comparingInt(p -> p.tamanho));
+
+        Postagens menor = listas.get(0);
+        int[] resultado = new int[menor.tamanho];
+        int n = 0;
+        for (int i = 0; i < menor.tamanho; i++) {
+            if (ativos.get(menor.slots[i])) {
+                resultado[n++] = menor.slots[i];
+            }
+        }
+        for (int k = 1; k < listas.size() && n > 0; k++) {
+            n = intersectar(resultado, n, listas.get(k));
+        }
+        return Arrays.copyOf(resultado, n);
+    }
+
+    // Mantém em resultado[0..n) só os slots presentes em outra; busca exponencial na lista maior
+    private static int intersectar(int[] resultado, int n, Postagens outra) {
+        int m = 0;
+        int j = 0;
+        for (int i = 0; i < n && j < outra.tamanho; i++) {
+            int alvo = resultado[i];
+            int passo = 1;
+            int fim = j;
+            while (fim < outra.tamanho && outra.slots[fim] < alvo) {
+                j = fim + 1;
+                fim += passo;
+                passo <<= 1;
+            }
+            int pos = Arrays.binarySearch(outra.slots, j, Math.min(fim + 1, outra.tamanho), alvo);
+            if (pos >= 0) {
+                resultado[m++] = alvo;
+                j = pos + 1;
+            } else {
+                j = -pos - 1;
+            }
+        }
+        return m;
+    }
+
+    private static long trigrama(String texto, int inicio) {
+        return ((long) texto.charAt(inicio) << 32) | ((long) texto.charAt(inicio + 1) << 16) | texto.charAt(inicio + 2);
+    }
+
+    private static Entrada entrada(Cliente cliente) {
+        String nome = normalizar(cliente.nome());
+        String sobrenome = normalizar(cliente.sobrenome());
+        String nomeCompleto = sobrenome.isEmpty() ? nome : nome.isEmpty() ? sobrenome : nome + " " + sobrenome;
+        return new Entrada(cliente, nomeCompleto, nome.length(), documento(cliente.numeroDocumento()));
+    }
+
+    private void incluir(Entrada entrada) {
+        Cliente cliente = entrada.cliente();
+        int slot = porSlot.size();
+        porSlot.add(entrada);
+        slotPorId.put(cliente.idCli(), slot);
+        ativos.set(slot);
+        indexar(" " + entrada.nomeCompleto() + " ", slot);
+        indexar(" " + entrada.documento() + " ", slot);
+        maiorId = Math.max(maiorId, cliente.idCli());
+    }
+
+    private void indexar(String texto, int slot) {
+        for (int i = 0; i + 3 <= texto.length(); i++) {
+            porTrigrama.computeIfAbsent(trigrama(texto, i), k -> new Postagens()).adicionar(slot);
+        }
+    }
+
+    private void excluir(long idCli) {
+        Integer slot = slotPorId.remove(idCli);
+        if (slot != null) {
+            ativos.clear(slot);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+// src/main/java/br/com/fiap/service/conciliacao/CasamentoPagamentos.java
+package br.com.fiap.service.conciliacao;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Pagamentos ainda não conciliados de uma janela, indexados por (valor em centavos, dia), e a regra de casamento
+ * de um lançamento do extrato com eles.
+ * <p>
+ * O lançamento consulta as chaves dentro da tolerância de dias e de centavos; entre os candidatos de tipo compatível,
+ * o mais próximo (primeiro em data, depois em valor) é conciliado e sai do índice para os lançamentos seguintes.
+ * Dois ou mais candidatos à mesma distância = AMBIGUO; nenhum = NAO_ENCONTRADO.
+ */
+class CasamentoPagamentos {
+
+    static final String CONCILIADO = "CONCILIADO";
+    static final String NAO_ENCONTRADO = "NAO_ENCONTRADO";
+    static final String AMBIGUO = "AMBIGUO";
+
+    /** Resultado de um lançamento: pagamentoId só quando CONCILIADO; candidatos = compatíveis dentro da tolerância. */
+    record Resultado(String status, Long pagamentoId, int candidatos) {
+    }
+
+    private static final class Candidato {
+        final long id;
+        final String tipo;
+        boolean conciliado;
+
+        Candidato(long id, String tipo) {
+            this.id = id;
+            this.tipo = tipo;
+        }
+    }
+
+    private final int toleranciaDias;
+    private final int toleranciaCentavos;
+    private final Map<Long, List<Candidato>> indice = new HashMap<>();
+
+    CasamentoPagamentos(int toleranciaDias, int toleranciaCentavos) {
+        this.toleranciaDias = toleranciaDias;
+        this.toleranciaCentavos = toleranciaCentavos;
+    }
+
+    void adicionar(long pagamentoId, LocalDate data, long centavos, String tipo) {
+        indice.computeIfAbsent(chave(centavos, data.toEpochDay()), k -> new ArrayList<>(1))
+                .add(new Candidato(pagamentoId, tipo));
+    }
+
+    Resultado casar(LancamentoExtrato lancamento) {
+        long dia = lancamento.data().toEpochDay();
+        Candidato melhor = null;
+        long melhorDistancia = Long.MAX_VALUE;
+        int empates = 0;
+        int candidatos = 0;
+        for (int dd = -toleranciaDias; dd <= toleranciaDias; dd++) {
+            for (int dc = -toleranciaCentavos; dc <= toleranciaCentavos; dc++) {
+                long centavos = lancamento.centavos() + dc;
+                List<Candidato> lista = centavos < 0 ? null : indice.get(chave(centavos, dia + dd));
+                if (lista == null) {
+                    continue;
+                }
+                // Proximidade de data pesa mais que a diferença de valor
+                long distancia = Math.abs(dd) * (2L * toleranciaCentavos + 1) + Math.abs(dc);
+                for (Candidato candidato : lista) {
+                    if (candidato.conciliado || !tipoCompativel(lancamento.tipo(), candidato.tipo)) {
+                        continue;
+                    }
+                    candidatos++;
+                    if (distancia < melhorDistancia) {
+                        melhor = candidato;
+                        melhorDistancia = distancia;
+                        empates = 1;
+                    } else if (distancia == melhorDistancia) {
+                        empates++;
+                    }
+                }
+            }
+        }
+
+        if (candidatos == 0) {
+            return new Resultado(NAO_ENCONTRADO, null, 0);
+        }
+        if (empates == 1) {
+            melhor.conciliado = true;
+            return new Resultado(CONCILIADO, melhor.id, candidatos);
+        }
+        return new Resultado(AMBIGUO, null, candidatos);
+    }
+
+    // Centavos nos bits altos, dia (epoch day, < 2^20 até o ano 4840) nos 20 bits baixos
+    private static long chave(long centavos, long dia) {
+        return (centavos << 20) | (dia & 0xFFFFF);
+    }
+
+    private static boolean tipoCompativel(String tipoExtrato, String tipoPagamento) {
+        return tipoExtrato == null || tipoPagamento == null || tipoExtrato.trim().equalsIgnoreCase(tipoPagamento.trim());
+    }
+}
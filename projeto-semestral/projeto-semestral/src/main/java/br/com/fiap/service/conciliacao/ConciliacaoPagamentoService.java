@@ -0,0 +1,15 @@
+// src/main/java/br/com/fiap/service/conciliacao/ConciliacaoPagamentoService.java
+package br.com.fiap.service.conciliacao;
+
+import br.com.fiap.dto.conciliacao.RelatorioConciliacaoDto;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ConciliacaoPagamentoService {
+
+    /**
+     * Concilia os lançamentos do extrato com PAGAMENTOS e grava o resultado de cada lançamento.
+     */
+    RelatorioConciliacaoDto conciliar(InputStream extrato, FormatoExtrato formato) throws IOException;
+}
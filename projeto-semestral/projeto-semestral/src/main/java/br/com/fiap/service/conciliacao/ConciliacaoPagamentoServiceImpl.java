@@ -0,0 +1,181 @@
+// src/main/java/br/com/fiap/service/conciliacao/ConciliacaoPagamentoServiceImpl.java
+package br.com.fiap.service.conciliacao;
+
+import br.com.fiap.dto.conciliacao.RelatorioConciliacaoDto;
+import br.com.fiap.dto.importacao.ErroImportacaoDto;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.service.importacao.LotesJdbc;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Conciliação de extratos (CSV/OFX) com PAGAMENTOS em uma única passada pelo arquivo.
+ * <p>
+ * O extrato é lido em streaming e processado em lotes de 'conciliacao.tamanho-lote' lançamentos. Cada lote é
+ * ordenado por data e dividido em janelas de no máximo 'conciliacao.janela-max-dias'; para cada janela são carregados
+ * apenas os pagamentos ainda não conciliados do período (± tolerância) em um {@link CasamentoPagamentos}, que indexa
+ * por (valor em centavos, dia) e decide cada lançamento: CONCILIADO, AMBIGUO ou NAO_ENCONTRADO.
+ * Os resultados da janela são gravados em lote na mesma transação, então a memória fica limitada ao lote + uma janela
+ * de pagamentos, independentemente do tamanho do arquivo.
+ */
+@Service
+public class ConciliacaoPagamentoServiceImpl implements ConciliacaoPagamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ConciliacaoPagamentoServiceImpl.class);
+
+    private static final String SQL_CANDIDATOS = """
+            SELECT p.ID_PAG, p.DATA_PAGAMENTO, p.TIPO_PAGAMENTO, p.TOTAL_PAGAMENTO_DESCONTO
+            FROM PAGAMENTOS p
+            WHERE p.DATA_PAGAMENTO BETWEEN ? AND ?
+              AND NOT EXISTS (SELECT 1 FROM CONCILIACAO_ITENS ci
+                               WHERE ci.PAGAMENTOS_ID_PAG = p.ID_PAG AND ci.STATUS = 'CONCILIADO')
+            """;
+    private static final String SQL_ITEM = "INSERT INTO CONCILIACAO_ITENS (CONCILIACOES_ID_CON, LINHA, IDENTIFICADOR, " +
+            "DATA_LANCAMENTO, VALOR, TIPO, STATUS, PAGAMENTOS_ID_PAG, CANDIDATOS) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${conciliacao.tamanho-lote:5000}")
+    private int tamanhoLote;
+
+    @Value("${conciliacao.janela-max-dias:31}")
+    private int janelaMaxDias;
+
+    @Value("${conciliacao.tolerancia-dias:2}")
+    private int toleranciaDias;
+
+    @Value("${conciliacao.tolerancia-centavos:0}")
+    private int toleranciaCentavos;
+
+    @Value("${importacao.max-erros-relatorio:1000}")
+    private int maxErrosRelatorio;
+
+    @Autowired
+    public ConciliacaoPagamentoServiceImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public RelatorioConciliacaoDto conciliar(InputStream extrato, FormatoExtrato formato) throws IOException {
+        long inicioNanos = System.nanoTime();
+        Long conciliacaoId = LotesJdbc.proximosValores(jdbcTemplate, "CONCILIACOES_ID_SEQ", 1).get(0);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "INSERT INTO CONCILIACOES (ID_CON, FORMATO, DATA_EXECUCAO, TOTAL_LINHAS, CONCILIADAS, NAO_ENCONTRADAS, " +
+                        "AMBIGUAS, REJEITADAS, DURACAO_MS) VALUES (?, ?, SYSTIMESTAMP, 0, 0, 0, 0, 0, 0)",
+                conciliacaoId, formato.name()));
+        log.info("Conciliação ID {} iniciada (formato {}, tolerância {} dia(s) / {} centavo(s))",
+                conciliacaoId, formato, toleranciaDias, toleranciaCentavos);
+
+        RelatorioConciliacaoDto relatorio = new RelatorioConciliacaoDto();
+        relatorio.setConciliacaoId(conciliacaoId);
+        InputStreamReader reader = new InputStreamReader(extrato, StandardCharsets.UTF_8);
+        try (LeitorExtrato leitor = formato == FormatoExtrato.OFX ? new LeitorExtratoOfx(reader) : new LeitorExtratoCsv(reader)) {
+            List<LancamentoExtrato> lote = new ArrayList<>(Math.max(1, tamanhoLote));
+            LancamentoExtrato lancamento;
+            while ((lancamento = leitor.proximo()) != null) {
+                relatorio.setTotalLinhas(relatorio.getTotalLinhas() + 1);
+                if (lancamento.erro() != null) {
+                    rejeitar(relatorio, lancamento);
+                    continue;
+                }
+                lote.add(lancamento);
+                if (lote.size() >= tamanhoLote) {
+                    processarLote(conciliacaoId, lote, relatorio);
+                    lote.clear();
+                }
+            }
+            if (!lote.isEmpty()) {
+                processarLote(conciliacaoId, lote, relatorio);
+            }
+        }
+
+        long duracaoNanos = Math.max(1, System.nanoTime() - inicioNanos);
+        relatorio.setDuracaoMs(duracaoNanos / 1_000_000);
+        relatorio.setLinhasPorSegundo(Math.round(relatorio.getTotalLinhas() * 1_000_000_000d / duracaoNanos * 10) / 10d);
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(
+                "UPDATE CONCILIACOES SET TOTAL_LINHAS = ?, CONCILIADAS = ?, NAO_ENCONTRADAS = ?, AMBIGUAS = ?, " +
+                        "REJEITADAS = ?, DURACAO_MS = ? WHERE ID_CON = ?",
+                relatorio.getTotalLinhas(), relatorio.getConciliadas(), relatorio.getNaoEncontradas(),
+                relatorio.getAmbiguas(), relatorio.getRejeitadas(), relatorio.getDuracaoMs(), conciliacaoId));
+        log.info("Conciliação ID {} concluída: {} linhas, {} conciliadas, {} não encontradas, {} ambíguas, {} rejeitadas ({} linhas/s)",
+                conciliacaoId, relatorio.getTotalLinhas(), relatorio.getConciliadas(), relatorio.getNaoEncontradas(),
+                relatorio.getAmbiguas(), relatorio.getRejeitadas(), relatorio.getLinhasPorSegundo());
+        return relatorio;
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void processarLote(Long conciliacaoId, List<LancamentoExtrato> lote, RelatorioConciliacaoDto relatorio) {
+        lote.sort(Comparator.comparing(LancamentoExtrato::data));
+        int inicio = 0;
+        while (inicio < lote.size()) {
+            LocalDate limite = lote.get(inicio).data().plusDays(Math.max(0, janelaMaxDias));
+            int fim = inicio;
+            while (fim < lote.size() && !lote.get(fim).data().isAfter(limite)) {
+                fim++;
+            }
+            conciliarJanela(conciliacaoId, lote.subList(inicio, fim), relatorio);
+            inicio = fim;
+        }
+    }
+
+    private void conciliarJanela(Long conciliacaoId, List<LancamentoExtrato> lancamentos, RelatorioConciliacaoDto relatorio) {
+        LocalDate de = lancamentos.get(0).data().minusDays(toleranciaDias);
+        LocalDate ate = lancamentos.get(lancamentos.size() - 1).data().plusDays(toleranciaDias);
+        transactionTemplate.executeWithoutResult(status -> {
+            CasamentoPagamentos casamento = new CasamentoPagamentos(toleranciaDias, toleranciaCentavos);
+            jdbcTemplate.query(SQL_CANDIDATOS, rs -> {
+                casamento.adicionar(rs.getLong(1), rs.getDate(2).toLocalDate(), Dinheiro.centavos(rs.getBigDecimal(4)),
+                        rs.getString(3));
+            }, Date.valueOf(de), Date.valueOf(ate));
+
+            List<Object[]> itens = new ArrayList<>(lancamentos.size());
+            for (LancamentoExtrato lancamento : lancamentos) {
+                CasamentoPagamentos.Resultado resultado = casamento.casar(lancamento);
+                contar(relatorio, resultado.status());
+                itens.add(new Object[]{conciliacaoId, lancamento.linha(), truncar(lancamento.identificador(), 64),
+                        Date.valueOf(lancamento.data()), Dinheiro.valor(lancamento.centavos()),
+                        truncar(lancamento.tipo(), 20), resultado.status(), resultado.pagamentoId(),
+                        resultado.candidatos()});
+            }
+            jdbcTemplate.batchUpdate(SQL_ITEM, itens);
+        });
+    }
+
+    private static void contar(RelatorioConciliacaoDto relatorio, String status) {
+        switch (status) {
+            case CasamentoPagamentos.CONCILIADO -> relatorio.setConciliadas(relatorio.getConciliadas() + 1);
+            case CasamentoPagamentos.AMBIGUO -> relatorio.setAmbiguas(relatorio.getAmbiguas() + 1);
+            default -> relatorio.setNaoEncontradas(relatorio.getNaoEncontradas() + 1);
+        }
+    }
+
+    private void rejeitar(RelatorioConciliacaoDto relatorio, LancamentoExtrato lancamento) {
+        relatorio.setRejeitadas(relatorio.getRejeitadas() + 1);
+        if (relatorio.getErros().size() < maxErrosRelatorio) {
+            relatorio.getErros().add(new ErroImportacaoDto(lancamento.linha(), lancamento.identificador(), lancamento.erro()));
+        } else {
+            relatorio.setErrosOmitidos(relatorio.getErrosOmitidos() + 1);
+        }
+    }
+
+    private static String truncar(String valor, int tamanho) {
+        return valor == null || valor.length() <= tamanho ? valor : valor.substring(0, tamanho);
+    }
+}
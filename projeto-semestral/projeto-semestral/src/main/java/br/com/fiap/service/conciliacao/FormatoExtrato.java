@@ -0,0 +1,27 @@
+// src/main/java/br/com/fiap/service/conciliacao/FormatoExtrato.java
+package br.com.fiap.service.conciliacao;
+
+/**
+ * Formatos de extrato bancário/adquirente aceitos na conciliação.
+ */
+public enum FormatoExtrato {
+    CSV,
+    OFX;
+
+    /**
+     * Resolve o formato pelo parâmetro explícito ou, na falta dele, pelo Content-Type (CSV é o padrão).
+     */
+    public static FormatoExtrato resolver(String formato, String contentType) {
+        if (formato != null && !formato.isBlank()) {
+            try {
+                return valueOf(formato.trim().toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Formato de extrato não suportado: " + formato);
+            }
+        }
+        if (contentType != null && contentType.toLowerCase().contains("ofx")) {
+            return OFX;
+        }
+        return CSV;
+    }
+}
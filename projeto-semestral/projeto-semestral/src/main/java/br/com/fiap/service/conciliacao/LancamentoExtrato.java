@@ -0,0 +1,16 @@
+// src/main/java/br/com/fiap/service/conciliacao/LancamentoExtrato.java
+package br.com.fiap.service.conciliacao;
+
+import java.time.LocalDate;
+
+/**
+ * Um lançamento do extrato. 'erro' preenchido indica linha que não pôde ser interpretada.
+ *
+ * @param centavos valor absoluto em centavos (créditos e débitos são comparados pelo módulo)
+ */
+public record LancamentoExtrato(long linha, String identificador, LocalDate data, long centavos, String tipo, String erro) {
+
+    static LancamentoExtrato invalido(long linha, String identificador, String erro) {
+        return new LancamentoExtrato(linha, identificador, null, 0, null, erro);
+    }
+}
@@ -0,0 +1,16 @@
+// src/main/java/br/com/fiap/service/conciliacao/LeitorExtrato.java
+package br.com.fiap.service.conciliacao;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Leitura em streaming de um extrato, um lançamento por vez.
+ */
+public interface LeitorExtrato extends Closeable {
+
+    /**
+     * Próximo lançamento, ou null ao fim do arquivo.
+     */
+    LancamentoExtrato proximo() throws IOException;
+}
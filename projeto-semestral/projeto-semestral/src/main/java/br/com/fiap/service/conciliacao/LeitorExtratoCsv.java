@@ -0,0 +1,63 @@
+// src/main/java/br/com/fiap/service/conciliacao/LeitorExtratoCsv.java
+package br.com.fiap.service.conciliacao;
+
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.service.importacao.LeitorCsv;
+import br.com.fiap.service.importacao.LeitorImportacao;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Extrato em CSV com cabeçalho. Colunas: data (ou data_lancamento), valor, tipo (ou tipo_pagamento, opcional)
+ * e identificador (ou documento/id, opcional). Datas em AAAA-MM-DD ou DD/MM/AAAA.
+ */
+class LeitorExtratoCsv implements LeitorExtrato {
+
+    private final Reader reader;
+    private final LeitorCsv csv;
+
+    LeitorExtratoCsv(Reader reader) throws IOException {
+        this.reader = reader;
+        this.csv = new LeitorCsv(reader);
+    }
+
+    @Override
+    public LancamentoExtrato proximo() throws IOException {
+        Map<String, String> campos = csv.proximo();
+        if (campos == null) {
+            return null;
+        }
+        long linha = csv.getNumeroLinha();
+        String identificador = primeiro(campos, "identificador", "documento", "id");
+        try {
+            LocalDate data = LeitorImportacao.data(campos, campos.containsKey("data") ? "data" : "data_lancamento");
+            BigDecimal valor = LeitorImportacao.decimal(campos, "valor");
+            if (data == null || valor == null) {
+                return LancamentoExtrato.invalido(linha, identificador, "data e valor são obrigatórios");
+            }
+            return new LancamentoExtrato(linha, identificador, data, Math.abs(Dinheiro.centavos(valor)),
+                    primeiro(campos, "tipo", "tipo_pagamento"), null);
+        } catch (IllegalArgumentException | ArithmeticException e) {
+            return LancamentoExtrato.invalido(linha, identificador, e.getMessage());
+        }
+    }
+
+    private static String primeiro(Map<String, String> campos, String... colunas) {
+        for (String coluna : colunas) {
+            String valor = campos.get(coluna);
+            if (valor != null) {
+                return valor;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
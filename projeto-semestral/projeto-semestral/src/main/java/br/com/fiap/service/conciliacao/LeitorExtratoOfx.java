@@ -0,0 +1,116 @@
+// src/main/java/br/com/fiap/service/conciliacao/LeitorExtratoOfx.java
+package br.com.fiap.service.conciliacao;
+
+import br.com.fiap.model.valores.Dinheiro;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.DateTimeException;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Extrato OFX (1.x SGML, com tags sem fechamento, ou 2.x XML) lido tag a tag, sem montar o documento em memória.
+ * Cada bloco STMTTRN vira um lançamento: DTPOSTED, TRNAMT e FITID. O TRNTYPE (CREDIT, DEBIT...) não corresponde
+ * ao tipo de pagamento, então não é usado como filtro.
+ */
+class LeitorExtratoOfx implements LeitorExtrato {
+
+    private final BufferedReader reader;
+    private final StringBuilder buffer = new StringBuilder(64);
+    private long numeroLinha = 1;
+    private int proximoCaractere = -2; // -2 = nada guardado
+
+    LeitorExtratoOfx(Reader reader) {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader, 64 * 1024);
+    }
+
+    @Override
+    public LancamentoExtrato proximo() throws IOException {
+        Map<String, String> transacao = null;
+        long linhaInicio = 0;
+        String tag;
+        while ((tag = proximaTag()) != null) {
+            String nome = tag.toUpperCase();
+            if (nome.equals("STMTTRN")) {
+                transacao = new HashMap<>();
+                linhaInicio = numeroLinha;
+            } else if (nome.equals("/STMTTRN") && transacao != null) {
+                return converter(linhaInicio, transacao);
+            } else if (transacao != null && !nome.startsWith("/")) {
+                transacao.put(nome, textoAteProximaTag());
+            }
+        }
+        return null;
+    }
+
+    private static LancamentoExtrato converter(long linha, Map<String, String> transacao) {
+        String identificador = transacao.get("FITID");
+        String data = transacao.get("DTPOSTED");
+        String valor = transacao.get("TRNAMT");
+        if (data == null || data.length() < 8 || valor == null) {
+            return LancamentoExtrato.invalido(linha, identificador, "DTPOSTED e TRNAMT são obrigatórios");
+        }
+        try {
+            // DTPOSTED: AAAAMMDD[HHMMSS[.XXX]][[-3:BRT]]
+            LocalDate dataLancamento = LocalDate.of(Integer.parseInt(data.substring(0, 4)),
+                    Integer.parseInt(data.substring(4, 6)), Integer.parseInt(data.substring(6, 8)));
+            long centavos = Math.abs(Dinheiro.centavos(new BigDecimal(valor.replace(',', '.'))));
+            return new LancamentoExtrato(linha, identificador, dataLancamento, centavos, null, null);
+        } catch (NumberFormatException | DateTimeException | ArithmeticException e) {
+            return LancamentoExtrato.invalido(linha, identificador, "Lançamento OFX inválido: " + e.getMessage());
+        }
+    }
+
+    // Nome da próxima tag (sem '<' e '>'), ignorando o texto antes dela; null ao fim do arquivo
+    private String proximaTag() throws IOException {
+        int c;
+        while ((c = ler()) != -1 && c != '<') {
+            // texto fora de transação (cabeçalho OFX, saldos etc.)
+        }
+        if (c == -1) {
+            return null;
+        }
+        buffer.setLength(0);
+        while ((c = ler()) != -1 && c != '>') {
+            buffer.append((char) c);
+        }
+        return buffer.toString().trim();
+    }
+
+    // Texto após a tag atual (SGML: até a próxima tag; XML: até a tag de fechamento)
+    private String textoAteProximaTag() throws IOException {
+        buffer.setLength(0);
+        int c;
+        while ((c = ler()) != -1 && c != '<') {
+            buffer.append((char) c);
+        }
+        if (c == '<') {
+            proximoCaractere = c; // devolve o '<' para a próxima leitura de tag
+        }
+        String texto = buffer.toString().trim();
+        return texto.isEmpty() ? null : texto;
+    }
+
+    private int ler() throws IOException {
+        int c;
+        if (proximoCaractere != -2) {
+            c = proximoCaractere;
+            proximoCaractere = -2;
+            return c;
+        }
+        c = reader.read();
+        if (c == '\n') {
+            numeroLinha++;
+        }
+        return c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
@@ -0,0 +1,151 @@
+// src/main/java/br/com/fiap/service/estatistica/ContagemDistintaHll.java
+package br.com.fiap.service.estatistica;
+
+import java.io.*;
+
+/**
+ * HyperLogLog para contagem aproximada de elementos distintos.
+ * <p>
+ * Com precisão p = 12 são 4096 registradores de 1 byte (erro padrão ~1,6%). A união de dois sketches é o máximo
+ * registrador a registrador, então meses podem ser somados sem contar duas vezes o mesmo cliente. Para cardinalidades
+ * pequenas a estimativa usa contagem linear. Serializado em formato esparso enquanto houver poucos registradores
+ * preenchidos.
+ */
+public class ContagemDistintaHll {
+
+    public static final int PRECISAO_PADRAO = 12;
+    private static final int VERSAO = 1;
+
+    private final int precisao;
+    private final byte[] registradores;
+
+    public ContagemDistintaHll() {
+        this(PRECISAO_PADRAO);
+    }
+
+    public ContagemDistintaHll(int precisao) {
+        if (precisao < 4 || precisao > 16) {
+            throw new IllegalArgumentException("Precisão deve estar entre 4 e 16");
+        }
+        this.precisao = precisao;
+        this.registradores = new byte[1 << precisao];
+    }
+
+    /**
+     * Adiciona um elemento já espalhado por {@link #hash(long, long)}.
+     */
+    public void adicionar(long hash) {
+        int indice = (int) (hash >>> (64 - precisao));
+        long resto = (hash << precisao) | (1L << (precisao - 1));
+        byte posicao = (byte) (Long.numberOfLeadingZeros(resto) + 1);
+        if (posicao > registradores[indice]) {
+            registradores[indice] = posicao;
+        }
+    }
+
+    public void mesclar(ContagemDistintaHll outro) {
+        if (outro.precisao != precisao) {
+            throw new IllegalArgumentException("Sketches HLL com precisões diferentes");
+        }
+        for (int i = 0; i < registradores.length; i++) {
+            if (outro.registradores[i] > registradores[i]) {
+                registradores[i] = outro.registradores[i];
+            }
+        }
+    }
+
+    public long estimar() {
+        int m = registradores.length;
+        double soma = 0;
+        int zerados = 0;
+        for (byte registrador : registradores) {
+            soma += 1.0 / (1L << registrador);
+            if (registrador == 0) {
+                zerados++;
+            }
+        }
+        double alfa = 0.7213 / (1 + 1.079 / m);
+        double estimativa = alfa * m * m / soma;
+        if (estimativa <= 2.5 * m && zerados > 0) {
+            estimativa = m * Math.log((double) m / zerados);
+        }
+        return Math.round(estimativa);
+    }
+
+    /**
+     * Erro padrão relativo esperado (1,04 / sqrt(m)).
+     */
+    public double erroPadrao() {
+        return 1.04 / Math.sqrt(registradores.length);
+    }
+
+    /**
+     * Espalhamento de 64 bits (finalizador do MurmurHash3) para uma chave composta de dois longs.
+     */
+    public static long hash(long parte1, long parte2) {
+        long h = parte1 * 0x9E3779B97F4A7C15L + parte2;
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    // --- Serialização ---
+
+    public byte[] serializar() {
+        int preenchidos = 0;
+        for (byte registrador : registradores) {
+            if (registrador != 0) {
+                preenchidos++;
+            }
+        }
+        boolean esparso = preenchidos * 3 < registradores.length;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(esparso ? 8 + preenchidos * 3 : 8 + registradores.length);
+        try (DataOutputStream saida = new DataOutputStream(bytes)) {
+            saida.writeByte(VERSAO);
+            saida.writeByte(precisao);
+            saida.writeBoolean(esparso);
+            if (esparso) {
+                Varint.escrever(saida, preenchidos);
+                int anterior = 0;
+                for (int i = 0; i < registradores.length; i++) {
+                    if (registradores[i] != 0) {
+                        Varint.escrever(saida, i - anterior);
+                        saida.writeByte(registradores[i]);
+                        anterior = i;
+                    }
+                }
+            } else {
+                saida.write(registradores);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    public static ContagemDistintaHll desserializar(byte[] dados) {
+        try (DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(dados))) {
+            int versao = entrada.readByte();
+            if (versao != VERSAO) {
+                throw new IllegalArgumentException("Versão de sketch HLL não suportada: " + versao);
+            }
+            ContagemDistintaHll sketch = new ContagemDistintaHll(entrada.readByte());
+            if (entrada.readBoolean()) {
+                long preenchidos = Varint.ler(entrada);
+                int indice = 0;
+                for (long i = 0; i < preenchidos; i++) {
+                    indice += (int) Varint.ler(entrada);
+                    sketch.registradores[indice] = entrada.readByte();
+                }
+            } else {
+                entrada.readFully(sketch.registradores);
+            }
+            return sketch;
+        } catch (IOException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Sketch HLL corrompido", e);
+        }
+    }
+}
@@ -0,0 +1,38 @@
+// src/main/java/br/com/fiap/service/estatistica/EstatisticasPagamentoService.java
+package br.com.fiap.service.estatistica;
+
+import br.com.fiap.dto.relatorio.DistribuicaoPagamentosDto;
+import br.com.fiap.dto.relatorio.EstatisticaMensalPagamentosDto;
+import br.com.fiap.model.Pagamento;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface EstatisticasPagamentoService {
+
+    /**
+     * Acrescenta o ticket de um pagamento novo ao sketch do seu mês/tipo. Deve ser chamado na transação que grava o
+     * pagamento. Os clientes (CP) entram pela reconstrução da célula, disparada pelo trigger de CP.
+     */
+    void registrarPagamento(Pagamento pagamento);
+
+    /**
+     * Marca o sketch do mês/tipo para reconstrução (pagamento alterado ou excluído: sketches não removem itens).
+     */
+    void marcarDesatualizado(LocalDate dataPagamento, String tipoPagamento);
+
+    /**
+     * Quantis do ticket e clientes distintos no período (arredondado para meses inteiros), mesclando os sketches mensais.
+     */
+    DistribuicaoPagamentosDto gerarDistribuicao(LocalDate dataInicio, LocalDate dataFim, String tipoPagamento, List<Double> quantis);
+
+    /**
+     * Mediana, p90 e clientes distintos mês a mês.
+     */
+    List<EstatisticaMensalPagamentosDto> listarMensal(LocalDate dataInicio, LocalDate dataFim, String tipoPagamento);
+
+    /**
+     * Recalcula todos os sketches a partir de PAGAMENTOS/CP. Retorna o número de células (mês x tipo).
+     */
+    int reconstruir();
+}
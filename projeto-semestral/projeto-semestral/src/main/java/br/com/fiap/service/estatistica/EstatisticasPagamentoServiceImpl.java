@@ -0,0 +1,330 @@
+// src/main/java/br/com/fiap/service/estatistica/EstatisticasPagamentoServiceImpl.java
+package br.com.fiap.service.estatistica;
+
+import br.com.fiap.dto.relatorio.DistribuicaoPagamentosDto;
+import br.com.fiap.dto.relatorio.EstatisticaMensalPagamentosDto;
+import br.com.fiap.model.Pagamento;
+import br.com.fiap.model.valores.Dinheiro;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.*;
+
+/**
+ * Estatísticas de pagamentos baseadas em sketches mescláveis por mês e tipo de pagamento (tabela SKETCHES_PAGAMENTO).
+ * <p>
+ * Cada célula guarda um KLL do ticket (centavos) e um HyperLogLog dos clientes (CP). Um pagamento novo é somado ao
+ * KLL da célula na mesma transação (linha bloqueada com FOR UPDATE). Alterações e exclusões não podem ser desfeitas num
+ * sketch, então a célula é marcada como desatualizada e reconstruída, a partir só daquele mês/tipo, na próxima
+ * consulta que a usar. Os vínculos em CP são gravados depois do pagamento (e fora desta aplicação), então o HLL não é
+ * alimentado no registro: o trigger CP_SKETCHES_PAGAMENTO_TRG marca a célula como desatualizada a cada mudança em CP.
+ * Um período é respondido mesclando as células dos meses envolvidos, sem varrer PAGAMENTOS.
+ * <p>
+ * A carga completa inicial é registrada em CARGAS_INICIAIS; enquanto esse registro não existir, a primeira consulta
+ * reconstrói tudo, mesmo que a tabela já tenha células criadas por pagamentos novos.
+ */
+@Service
+public class EstatisticasPagamentoServiceImpl implements EstatisticasPagamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstatisticasPagamentoServiceImpl.class);
+
+    private static final List<Double> QUANTIS_PADRAO = List.of(0.5, 0.9, 0.99);
+    private static final String CARGA_INICIAL = "SKETCHES_PAGAMENTO";
+
+    private static final String SQL_GARANTIR_CELULA = """
+            MERGE INTO SKETCHES_PAGAMENTO s
+            USING (SELECT CAST(? AS VARCHAR2(7)) AS MES, CAST(? AS VARCHAR2(20)) AS TIPO FROM DUAL) src
+            ON (s.MES = src.MES AND s.TIPO_PAGAMENTO = src.TIPO)
+            WHEN NOT MATCHED THEN INSERT (MES, TIPO_PAGAMENTO, QUANTIDADE, DESATUALIZADO, DATA_ATUALIZACAO)
+            VALUES (src.MES, src.TIPO, 0, ?, SYSTIMESTAMP)
+            """;
+
+    private static final String SQL_PAGAMENTOS = """
+            SELECT pg.ID_PAG, pg.DATA_PAGAMENTO, pg.TIPO_PAGAMENTO, pg.TOTAL_PAGAMENTO_DESCONTO
+            FROM PAGAMENTOS pg
+            """;
+
+    private static final String SQL_CLIENTES = """
+            SELECT pg.DATA_PAGAMENTO, pg.TIPO_PAGAMENTO, cp.CLIENTES_ID_CLI, cp.CLIENTES_ENDERECOS_ID_END
+            FROM CP cp
+            JOIN PAGAMENTOS pg ON pg.ID_PAG = cp.PAGAMENTOS_ID_PAG
+            """;
+
+    private static final String SQL_REGISTRAR_CARGA = """
+            MERGE INTO CARGAS_INICIAIS c
+            USING (SELECT CAST(? AS VARCHAR2(30)) AS NOME FROM DUAL) src
+            ON (c.NOME = src.NOME)
+            WHEN MATCHED THEN UPDATE SET c.DATA_CARGA = SYSTIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (NOME, DATA_CARGA) VALUES (src.NOME, SYSTIMESTAMP)
+            """;
+
+    private static final String SQL_INSERIR = """
+            INSERT INTO SKETCHES_PAGAMENTO (QUANTIDADE, QUANTIS, CLIENTES, MES, TIPO_PAGAMENTO, DESATUALIZADO, DATA_ATUALIZACAO)
+            VALUES (?, ?, ?, ?, ?, 0, SYSTIMESTAMP)
+            """;
+
+    private static final String SQL_ATUALIZAR = """
+            UPDATE SKETCHES_PAGAMENTO SET QUANTIDADE = ?, QUANTIS = ?, CLIENTES = ?, DESATUALIZADO = 0,
+                   DATA_ATUALIZACAO = SYSTIMESTAMP
+            WHERE MES = ? AND TIPO_PAGAMENTO = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private volatile boolean carregaInicialVerificada;
+
+    @Autowired
+    public EstatisticasPagamentoServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // Uma célula (mês x tipo) em memória
+    private static final class Celula {
+        final QuantisKll quantis;
+        final ContagemDistintaHll clientes;
+
+        Celula(QuantisKll quantis, ContagemDistintaHll clientes) {
+            this.quantis = quantis;
+            this.clientes = clientes;
+        }
+
+        Celula() {
+            this(new QuantisKll(), new ContagemDistintaHll());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void registrarPagamento(Pagamento pagamento) {
+        String mes = YearMonth.from(pagamento.getDataPagamento()).toString();
+        String tipo = pagamento.getTipoPagamento();
+        // Célula inexistente nasce desatualizada: pode haver pagamentos anteriores a ela no banco
+        garantirCelula(mes, tipo, 1);
+        List<Map<String, Object>> linhas = jdbcTemplate.queryForList(
+                "SELECT QUANTIS, CLIENTES, DESATUALIZADO FROM SKETCHES_PAGAMENTO WHERE MES = ? AND TIPO_PAGAMENTO = ? FOR UPDATE",
+                mes, tipo);
+        if (linhas.isEmpty() || ((Number) linhas.get(0).get("DESATUALIZADO")).intValue() == 1) {
+            return; // será reconstruída por inteiro na próxima consulta
+        }
+        Celula celula = ler((byte[]) linhas.get(0).get("QUANTIS"), (byte[]) linhas.get(0).get("CLIENTES"));
+        // Só o ticket: os clientes (CP) chegam depois e o trigger de CP marca a célula para reconstrução
+        celula.quantis.adicionar(centavos(pagamento.getTotalComDesconto()));
+        jdbcTemplate.update("""
+                UPDATE SKETCHES_PAGAMENTO SET QUANTIDADE = ?, QUANTIS = ?, CLIENTES = ?, DATA_ATUALIZACAO = SYSTIMESTAMP
+                WHERE MES = ? AND TIPO_PAGAMENTO = ?
+                """, celula.quantis.getQuantidade(), celula.quantis.serializar(), celula.clientes.serializar(), mes, tipo);
+    }
+
+    @Override
+    @Transactional
+    public void marcarDesatualizado(LocalDate dataPagamento, String tipoPagamento) {
+        if (dataPagamento == null || tipoPagamento == null) {
+            return;
+        }
+        String mes = YearMonth.from(dataPagamento).toString();
+        garantirCelula(mes, tipoPagamento, 1);
+        jdbcTemplate.update("UPDATE SKETCHES_PAGAMENTO SET DESATUALIZADO = 1 WHERE MES = ? AND TIPO_PAGAMENTO = ?",
+                mes, tipoPagamento);
+    }
+
+    @Override
+    @Transactional
+    public DistribuicaoPagamentosDto gerarDistribuicao(LocalDate dataInicio, LocalDate dataFim, String tipoPagamento, List<Double> quantis) {
+        YearMonth mesInicio = YearMonth.from(dataInicio);
+        YearMonth mesFim = YearMonth.from(dataFim);
+        List<Double> percentis = quantis == null || quantis.isEmpty() ? QUANTIS_PADRAO : quantis;
+        for (Double q : percentis) {
+            if (q == null || q < 0 || q > 1) {
+                throw new IllegalArgumentException("Quantis devem estar entre 0 e 1.");
+            }
+        }
+        log.info("Gerando distribuição de pagamentos por sketches: {} a {}, tipo={}", mesInicio, mesFim, tipoPagamento);
+
+        Celula total = new Celula();
+        carregarCelulas(mesInicio, mesFim, tipoPagamento).values().forEach(celula -> {
+            total.quantis.mesclar(celula.quantis);
+            total.clientes.mesclar(celula.clientes);
+        });
+
+        Map<String, BigDecimal> valoresQuantis = new LinkedHashMap<>();
+        boolean vazio = total.quantis.getQuantidade() == 0;
+        for (Double q : percentis) {
+            valoresQuantis.put(rotulo(q), vazio ? null : BigDecimal.valueOf(total.quantis.quantil(q), 2));
+        }
+        return new DistribuicaoPagamentosDto(
+                mesInicio.atDay(1), mesFim.atEndOfMonth(), tipoPagamento,
+                total.quantis.getQuantidade(),
+                vazio ? null : BigDecimal.valueOf(total.quantis.getMinimo(), 2),
+                vazio ? null : BigDecimal.valueOf(total.quantis.getMaximo(), 2),
+                valoresQuantis,
+                total.clientes.estimar(),
+                1.65 / QuantisKll.K_PADRAO,
+                total.clientes.erroPadrao());
+    }
+
+    @Override
+    @Transactional
+    public List<EstatisticaMensalPagamentosDto> listarMensal(LocalDate dataInicio, LocalDate dataFim, String tipoPagamento) {
+        YearMonth mesInicio = YearMonth.from(dataInicio);
+        YearMonth mesFim = YearMonth.from(dataFim);
+        Map<String, Celula> porMes = new TreeMap<>();
+        carregarCelulas(mesInicio, mesFim, tipoPagamento).forEach((chave, celula) -> {
+            Celula mes = porMes.computeIfAbsent(chave.substring(0, 7), k -> new Celula());
+            mes.quantis.mesclar(celula.quantis);
+            mes.clientes.mesclar(celula.clientes);
+        });
+        List<EstatisticaMensalPagamentosDto> resultado = new ArrayList<>(porMes.size());
+        porMes.forEach((mes, celula) -> {
+            if (celula.quantis.getQuantidade() > 0) {
+                resultado.add(new EstatisticaMensalPagamentosDto(mes, celula.quantis.getQuantidade(),
+                        BigDecimal.valueOf(celula.quantis.quantil(0.5), 2),
+                        BigDecimal.valueOf(celula.quantis.quantil(0.9), 2),
+                        celula.clientes.estimar()));
+            }
+        });
+        return resultado;
+    }
+
+    /**
+     * Recalcula todas as células sem apagar a tabela. As células existentes são bloqueadas antes da leitura de
+     * PAGAMENTOS: um registro em andamento termina antes e entra no cálculo, e um registro posterior espera o fim
+     * da reconstrução e soma o seu pagamento ao resultado. Célula criada por um pagamento durante a reconstrução
+     * nasce desatualizada e é recalculada na próxima consulta.
+     */
+    @Override
+    @Transactional
+    public int reconstruir() {
+        long inicio = System.currentTimeMillis();
+        List<String> existentes = jdbcTemplate.query("SELECT MES, TIPO_PAGAMENTO FROM SKETCHES_PAGAMENTO FOR UPDATE",
+                (rs, i) -> rs.getString("MES") + "|" + rs.getString("TIPO_PAGAMENTO"));
+        Map<String, Celula> celulas = calcular(null, null, null);
+
+        List<Object[]> atualizacoes = new ArrayList<>(existentes.size());
+        for (String chave : existentes) {
+            // Células sem pagamentos ficam vazias (não são listadas nas consultas)
+            atualizacoes.add(parametros(chave, celulas.getOrDefault(chave, new Celula())));
+        }
+        if (!atualizacoes.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_ATUALIZAR, atualizacoes);
+        }
+        Set<String> novas = new HashSet<>(celulas.keySet());
+        existentes.forEach(novas::remove);
+        for (String chave : novas) {
+            try {
+                jdbcTemplate.update(SQL_INSERIR, parametros(chave, celulas.get(chave)));
+            } catch (DuplicateKeyException e) {
+                // Criada por um pagamento concorrente: nasceu desatualizada e será recalculada na consulta
+            }
+        }
+        jdbcTemplate.update(SQL_REGISTRAR_CARGA, CARGA_INICIAL);
+        carregaInicialVerificada = true;
+        log.info("Sketches de pagamentos reconstruídos: {} células em {} ms", celulas.size(), System.currentTimeMillis() - inicio);
+        return celulas.size();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void garantirCelula(String mes, String tipo, int desatualizado) {
+        try {
+            jdbcTemplate.update(SQL_GARANTIR_CELULA, mes, tipo, desatualizado);
+        } catch (DuplicateKeyException e) {
+            // Outra transação criou a célula ao mesmo tempo
+        }
+    }
+
+    /**
+     * Células do período (chave "yyyy-MM|tipo"), reconstruindo antes as desatualizadas.
+     */
+    private Map<String, Celula> carregarCelulas(YearMonth mesInicio, YearMonth mesFim, String tipoPagamento) {
+        if (!carregaInicialVerificada) {
+            // Pelo registro explícito, não por "tabela vazia": pagamentos novos criam células antes da primeira consulta
+            Integer cargas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM CARGAS_INICIAIS WHERE NOME = ?",
+                    Integer.class, CARGA_INICIAL);
+            if (cargas == null || cargas == 0) {
+                reconstruir(); // primeira execução: os meses anteriores ainda não foram carregados
+            }
+            carregaInicialVerificada = true;
+        }
+
+        String filtroTipo = tipoPagamento != null ? " AND TIPO_PAGAMENTO = ?" : "";
+        List<Object> parametros = new ArrayList<>(List.of(mesInicio.toString(), mesFim.toString()));
+        if (tipoPagamento != null) {
+            parametros.add(tipoPagamento);
+        }
+
+        List<Map<String, Object>> desatualizadas = jdbcTemplate.queryForList(
+                "SELECT MES, TIPO_PAGAMENTO FROM SKETCHES_PAGAMENTO WHERE DESATUALIZADO = 1 AND MES BETWEEN ? AND ?" + filtroTipo
+                        + " FOR UPDATE", parametros.toArray());
+        for (Map<String, Object> linha : desatualizadas) {
+            reconstruirCelula((String) linha.get("MES"), (String) linha.get("TIPO_PAGAMENTO"));
+        }
+
+        Map<String, Celula> celulas = new HashMap<>();
+        jdbcTemplate.query("SELECT MES, TIPO_PAGAMENTO, QUANTIS, CLIENTES FROM SKETCHES_PAGAMENTO WHERE MES BETWEEN ? AND ?"
+                + filtroTipo, rs -> {
+            celulas.put(rs.getString("MES") + "|" + rs.getString("TIPO_PAGAMENTO"),
+                    ler(rs.getBytes("QUANTIS"), rs.getBytes("CLIENTES")));
+        }, parametros.toArray());
+        return celulas;
+    }
+
+    private void reconstruirCelula(String mes, String tipo) {
+        YearMonth anoMes = YearMonth.parse(mes);
+        Celula celula = calcular(anoMes.atDay(1), anoMes.plusMonths(1).atDay(1), tipo)
+                .getOrDefault(mes + "|" + tipo, new Celula());
+        jdbcTemplate.update(SQL_ATUALIZAR, parametros(mes + "|" + tipo, celula));
+        log.debug("Sketch de pagamentos {} / {} reconstruído com {} pagamentos", mes, tipo, celula.quantis.getQuantidade());
+    }
+
+    /**
+     * Lê PAGAMENTOS (e CP) do intervalo [inicio, fimExclusivo) e monta as células; sem intervalo lê tudo.
+     */
+    private Map<String, Celula> calcular(LocalDate inicio, LocalDate fimExclusivo, String tipo) {
+        String filtro = inicio != null ? " WHERE pg.DATA_PAGAMENTO >= ? AND pg.DATA_PAGAMENTO < ? AND pg.TIPO_PAGAMENTO = ?" : "";
+        Object[] parametros = inicio != null
+                ? new Object[]{Date.valueOf(inicio), Date.valueOf(fimExclusivo), tipo} : new Object[0];
+        Map<String, Celula> celulas = new HashMap<>();
+        jdbcTemplate.query(SQL_PAGAMENTOS + filtro, rs -> {
+            celulas.computeIfAbsent(chave(rs.getDate("DATA_PAGAMENTO"), rs.getString("TIPO_PAGAMENTO")), k -> new Celula())
+                    .quantis.adicionar(centavos(rs.getBigDecimal("TOTAL_PAGAMENTO_DESCONTO")));
+        }, parametros);
+        jdbcTemplate.query(SQL_CLIENTES + filtro, rs -> {
+            celulas.computeIfAbsent(chave(rs.getDate("DATA_PAGAMENTO"), rs.getString("TIPO_PAGAMENTO")), k -> new Celula())
+                    .clientes.adicionar(ContagemDistintaHll.hash(rs.getLong("CLIENTES_ID_CLI"), rs.getLong("CLIENTES_ENDERECOS_ID_END")));
+        }, parametros);
+        return celulas;
+    }
+
+    private static Object[] parametros(String chave, Celula celula) {
+        int separador = chave.indexOf('|');
+        return new Object[]{celula.quantis.getQuantidade(), celula.quantis.serializar(), celula.clientes.serializar(),
+                chave.substring(0, separador), chave.substring(separador + 1)};
+    }
+
+    private static Celula ler(byte[] quantis, byte[] clientes) {
+        return new Celula(
+                quantis != null ? QuantisKll.desserializar(quantis) : new QuantisKll(),
+                clientes != null ? ContagemDistintaHll.desserializar(clientes) : new ContagemDistintaHll());
+    }
+
+    private static String chave(Date data, String tipo) {
+        return YearMonth.from(data.toLocalDate()) + "|" + tipo;
+    }
+
+    private static long centavos(BigDecimal valor) {
+        return valor == null ? 0 : Dinheiro.centavosArredondados(valor);
+    }
+
+    private static String rotulo(double q) {
+        BigDecimal percentual = BigDecimal.valueOf(q).movePointRight(2).stripTrailingZeros();
+        return "p" + percentual.toPlainString();
+    }
+}
@@ -0,0 +1,39 @@
+// src/main/java/br/com/fiap/service/estatistica/Varint.java
+package br.com.fiap.service.estatistica;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Inteiros de tamanho variável (7 bits por byte, zig-zag para valores com sinal) usados na serialização dos sketches.
+ */
+final class Varint {
+
+    private Varint() {
+    }
+
+    static void escrever(DataOutput saida, long valor) throws IOException {
+        long zigzag = (valor << 1) ^ (valor >> 63);
+        while ((zigzag & ~0x7FL) != 0) {
+            saida.writeByte((int) ((zigzag & 0x7F) | 0x80));
+            zigzag >>>= 7;
+        }
+        saida.writeByte((int) zigzag);
+    }
+
+    static long ler(DataInput entrada) throws IOException {
+        long zigzag = 0;
+        int deslocamento = 0;
+        byte b;
+        do {
+            if (deslocamento > 63) {
+                throw new IOException("Varint inválido");
+            }
+            b = entrada.readByte();
+            zigzag |= (long) (b & 0x7F) << deslocamento;
+            deslocamento += 7;
+        } while ((b & 0x80) != 0);
+        return (zigzag >>> 1) ^ -(zigzag & 1);
+    }
+}
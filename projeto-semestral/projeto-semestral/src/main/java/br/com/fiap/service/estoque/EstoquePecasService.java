@@ -0,0 +1,29 @@
+// src/main/java/br/com/fiap/service/estoque/EstoquePecasService.java
+package br.com.fiap.service.estoque;
+
+import br.com.fiap.dto.estoque.BaixaEstoqueDto;
+import br.com.fiap.dto.estoque.EstoquePecaDto;
+
+import java.util.Map;
+
+public interface EstoquePecasService {
+
+    /**
+     * Ajusta as reservas do serviço (oficina) para as quantidades informadas por peça: reserva a diferença
+     * para mais e libera a diferença para menos. Lança EstoqueInsuficienteException se alguma peça não tiver
+     * saldo disponível; a transação do chamador desfaz as reservas já feitas. Peça sem estoque controlado
+     * (sem linha em ESTOQUE_PECAS) é registrada no serviço sem reservar nada.
+     */
+    void reservar(Long oficinaId, Map<Long, Integer> quantidadesPorPeca);
+
+    /** Libera as reservas em aberto do serviço (exclusão do serviço); o consumo já baixado continua registrado. */
+    void liberar(Long oficinaId);
+
+    /** Encerra o serviço: as peças reservadas saem do estoque físico. */
+    BaixaEstoqueDto baixar(Long oficinaId);
+
+    /** Entrada de mercadoria: soma ao estoque físico da peça. */
+    EstoquePecaDto registrarEntrada(Long pecaId, int quantidade);
+
+    EstoquePecaDto consultar(Long pecaId);
+}
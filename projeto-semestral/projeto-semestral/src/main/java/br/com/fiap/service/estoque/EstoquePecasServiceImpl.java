@@ -0,0 +1,249 @@
+// src/main/java/br/com/fiap/service/estoque/EstoquePecasServiceImpl.java
+package br.com.fiap.service.estoque;
+
+import br.com.fiap.dto.estoque.BaixaEstoqueDto;
+import br.com.fiap.dto.estoque.EstoquePecaDto;
+import br.com.fiap.exception.EstoqueInsuficienteException;
+import br.com.fiap.exception.OficinaNotFoundException;
+import br.com.fiap.exception.PecasNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.util.*;
+
+/**
+ * Estoque de peças com reservas por serviço (oficina).
+ * <p>
+ * Não há lock na aplicação: cada reserva é um único UPDATE condicional em ESTOQUE_PECAS
+ * ({@code ... WHERE QUANTIDADE_FISICA - QUANTIDADE_RESERVADA >= ?}). O Oracle trava só a linha da peça durante a
+ * transação, então serviços que usam peças diferentes não disputam nada, e dois serviços disputando a última
+ * unidade são serializados pela linha: o segundo reavalia a condição depois do commit do primeiro e não altera
+ * nenhuma linha. A CHECK ESTOQUE_PECAS_SALDO_CK garante o mesmo invariante no banco. As peças de um serviço são
+ * sempre atualizadas em ordem crescente de ID, para que dois serviços com as mesmas peças não entrem em deadlock.
+ * <p>
+ * RESERVAS_PECAS guarda a quantidade reservada por serviço e peça (situação RESERVADA) e, depois da baixa,
+ * o consumo (BAIXADA), que fica como histórico mesmo se o serviço for excluído.
+ * <p>
+ * Peça sem linha em ESTOQUE_PECAS não tem estoque controlado: a reserva é registrada com CONTROLA_ESTOQUE = 0 e
+ * não reserva, libera nem baixa nada. Assim as peças cadastradas antes do controle de estoque continuam podendo
+ * ser usadas nos serviços; o controle começa na primeira entrada de mercadoria e vale para as reservas seguintes.
+ */
+@Service
+public class EstoquePecasServiceImpl implements EstoquePecasService {
+
+    private static final Logger log = LoggerFactory.getLogger(EstoquePecasServiceImpl.class);
+
+    private static final String RESERVADA = "RESERVADA";
+    private static final String BAIXADA = "BAIXADA";
+
+    private static final String SQL_RESERVAR = """
+            UPDATE ESTOQUE_PECAS
+               SET QUANTIDADE_RESERVADA = QUANTIDADE_RESERVADA + ?, DATA_ATUALIZACAO = SYSTIMESTAMP
+             WHERE PECAS_ID_PEC = ? AND QUANTIDADE_FISICA - QUANTIDADE_RESERVADA >= ?
+            """;
+
+    private static final String SQL_LIBERAR = """
+            UPDATE ESTOQUE_PECAS
+               SET QUANTIDADE_RESERVADA = QUANTIDADE_RESERVADA - ?, DATA_ATUALIZACAO = SYSTIMESTAMP
+             WHERE PECAS_ID_PEC = ? AND QUANTIDADE_RESERVADA >= ?
+            """;
+
+    private static final String SQL_BAIXAR = """
+            UPDATE ESTOQUE_PECAS
+               SET QUANTIDADE_FISICA = QUANTIDADE_FISICA - ?, QUANTIDADE_RESERVADA = QUANTIDADE_RESERVADA - ?,
+                   DATA_ATUALIZACAO = SYSTIMESTAMP
+             WHERE PECAS_ID_PEC = ? AND QUANTIDADE_RESERVADA >= ?
+            """;
+
+    private static final String SQL_ENTRADA = """
+            MERGE INTO ESTOQUE_PECAS e
+            USING (SELECT ? AS PECAS_ID_PEC, ? AS QUANTIDADE FROM DUAL) n
+               ON (e.PECAS_ID_PEC = n.PECAS_ID_PEC)
+            WHEN MATCHED THEN UPDATE SET e.QUANTIDADE_FISICA = e.QUANTIDADE_FISICA + n.QUANTIDADE,
+                                         e.DATA_ATUALIZACAO = SYSTIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (PECAS_ID_PEC, QUANTIDADE_FISICA, QUANTIDADE_RESERVADA, DATA_ATUALIZACAO)
+                                  VALUES (n.PECAS_ID_PEC, n.QUANTIDADE, 0, SYSTIMESTAMP)
+            """;
+
+    // Linha de RESERVAS_PECAS de um serviço
+    private record Reserva(long pecaId, long quantidade, String situacao, boolean controlaEstoque) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    public EstoquePecasServiceImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    @Transactional
+    public void reservar(Long oficinaId, Map<Long, Integer> quantidadesPorPeca) {
+        Map<Long, Reserva> atuais = reservasDoServico(oficinaId);
+        if (atuais.values().stream().anyMatch(r -> BAIXADA.equals(r.situacao()))) {
+            boolean inalterado = atuais.size() == quantidadesPorPeca.size() && atuais.values().stream()
+                    .allMatch(r -> Objects.equals(quantidadesPorPeca.get(r.pecaId()), (int) r.quantidade()));
+            if (!inalterado) {
+                throw new IllegalArgumentException("As peças do serviço ID " + oficinaId
+                        + " já foram baixadas do estoque e não podem mais ser alteradas.");
+            }
+            return;
+        }
+        SortedSet<Long> pecas = new TreeSet<>(atuais.keySet());
+        pecas.addAll(quantidadesPorPeca.keySet());
+        for (Long pecaId : pecas) { // ordem crescente de ID: evita deadlock entre serviços
+            Reserva atual = atuais.get(pecaId);
+            long anterior = atual != null ? atual.quantidade() : 0;
+            long nova = quantidadesPorPeca.getOrDefault(pecaId, 0);
+            long diferenca = nova - anterior;
+            // Uma reserva mantém o modo com que nasceu, mesmo que a peça passe a ter estoque depois
+            boolean controlaEstoque = atual != null ? atual.controlaEstoque() : temEstoque(pecaId);
+            if (controlaEstoque && diferenca > 0 && jdbcTemplate.update(SQL_RESERVAR, diferenca, pecaId, diferenca) == 0) {
+                throw new EstoqueInsuficienteException("Estoque insuficiente para a peça ID " + pecaId + ": solicitado "
+                        + diferenca + ", disponível " + disponivel(pecaId) + ".");
+            }
+            if (controlaEstoque && diferenca < 0) {
+                liberarQuantidade(pecaId, -diferenca);
+            }
+            if (nova == 0) {
+                jdbcTemplate.update("DELETE FROM RESERVAS_PECAS WHERE OFICINAS_ID_OFIC = ? AND PECAS_ID_PEC = ?", oficinaId, pecaId);
+            } else if (anterior == 0) {
+                jdbcTemplate.update("INSERT INTO RESERVAS_PECAS (OFICINAS_ID_OFIC, PECAS_ID_PEC, QUANTIDADE, SITUACAO, "
+                                + "CONTROLA_ESTOQUE, DATA_ATUALIZACAO) VALUES (?, ?, ?, ?, ?, SYSTIMESTAMP)",
+                        oficinaId, pecaId, nova, RESERVADA, controlaEstoque ? 1 : 0);
+            } else if (diferenca != 0) {
+                jdbcTemplate.update("UPDATE RESERVAS_PECAS SET QUANTIDADE = ?, DATA_ATUALIZACAO = SYSTIMESTAMP "
+                        + "WHERE OFICINAS_ID_OFIC = ? AND PECAS_ID_PEC = ?", nova, oficinaId, pecaId);
+            }
+        }
+        log.debug("Reservas do serviço ID {} ajustadas: {}", oficinaId, quantidadesPorPeca);
+    }
+
+    @Override
+    @Transactional
+    public void liberar(Long oficinaId) {
+        List<Reserva> reservadas = reservasDoServico(oficinaId).values().stream() // TreeMap: ordem crescente de ID
+                .filter(r -> RESERVADA.equals(r.situacao()))
+                .toList();
+        for (Reserva reserva : reservadas) {
+            if (reserva.controlaEstoque()) {
+                liberarQuantidade(reserva.pecaId(), reserva.quantidade());
+            }
+        }
+        if (!reservadas.isEmpty()) {
+            // O consumo já baixado (BAIXADA) fica como histórico
+            jdbcTemplate.update("DELETE FROM RESERVAS_PECAS WHERE OFICINAS_ID_OFIC = ? AND SITUACAO = ?", oficinaId, RESERVADA);
+            log.info("Reservas de {} peças liberadas para o serviço ID {}", reservadas.size(), oficinaId);
+        }
+    }
+
+    @Override
+    @Transactional
+    public BaixaEstoqueDto baixar(Long oficinaId) {
+        Integer existe = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OFICINAS WHERE ID_OFIC = ?", Integer.class, oficinaId);
+        if (existe == null || existe == 0) {
+            throw new OficinaNotFoundException("Oficina não encontrada com ID: " + oficinaId);
+        }
+        List<Reserva> reservadas = reservasDoServico(oficinaId).values().stream()
+                .filter(r -> RESERVADA.equals(r.situacao()))
+                .toList();
+        if (reservadas.isEmpty()) {
+            throw new IllegalArgumentException("O serviço ID " + oficinaId + " não tem peças reservadas para baixar.");
+        }
+        long total = 0;
+        List<EstoquePecaDto> estoques = new ArrayList<>(reservadas.size());
+        for (Reserva reserva : reservadas) {
+            long q = reserva.quantidade();
+            if (reserva.controlaEstoque() && jdbcTemplate.update(SQL_BAIXAR, q, q, reserva.pecaId(), q) == 0) {
+                throw new IllegalStateException("Reserva da peça ID " + reserva.pecaId() + " não encontrada no estoque.");
+            }
+            total += q;
+            estoques.add(consultar(reserva.pecaId()));
+        }
+        jdbcTemplate.update("UPDATE RESERVAS_PECAS SET SITUACAO = ?, DATA_ATUALIZACAO = SYSTIMESTAMP "
+                + "WHERE OFICINAS_ID_OFIC = ? AND SITUACAO = ?", BAIXADA, oficinaId, RESERVADA);
+        log.info("Baixa do serviço ID {}: {} unidades de {} peças", oficinaId, total, reservadas.size());
+        return new BaixaEstoqueDto(oficinaId, total, estoques);
+    }
+
+    @Override
+    @Transactional
+    public EstoquePecaDto registrarEntrada(Long pecaId, int quantidade) {
+        if (quantidade <= 0) {
+            throw new IllegalArgumentException("A quantidade de entrada deve ser maior que zero.");
+        }
+        exigirPeca(pecaId);
+        try {
+            jdbcTemplate.update(SQL_ENTRADA, pecaId, quantidade);
+        } catch (DuplicateKeyException e) {
+            // Outra entrada criou a linha da peça entre o ON e o INSERT do MERGE: agora ela existe
+            jdbcTemplate.update(SQL_ENTRADA, pecaId, quantidade);
+        }
+        log.info("Entrada de {} unidades da peça ID {}", quantidade, pecaId);
+        return consultar(pecaId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public EstoquePecaDto consultar(Long pecaId) {
+        List<EstoquePecaDto> estoque = jdbcTemplate.query(
+                "SELECT QUANTIDADE_FISICA, QUANTIDADE_RESERVADA, DATA_ATUALIZACAO FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?",
+                (rs, i) -> {
+                    long fisica = rs.getLong("QUANTIDADE_FISICA");
+                    long reservada = rs.getLong("QUANTIDADE_RESERVADA");
+                    Timestamp atualizacao = rs.getTimestamp("DATA_ATUALIZACAO");
+                    return new EstoquePecaDto(pecaId, fisica, reservada, fisica - reservada,
+                            atualizacao != null ? atualizacao.toLocalDateTime() : null);
+                }, pecaId);
+        if (!estoque.isEmpty()) {
+            return estoque.get(0);
+        }
+        exigirPeca(pecaId);
+        return new EstoquePecaDto(pecaId, 0, 0, 0, null);
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Reservas do serviço por peça (ordem crescente de ID), travadas até o fim da transação
+    private Map<Long, Reserva> reservasDoServico(Long oficinaId) {
+        Map<Long, Reserva> reservas = new TreeMap<>();
+        jdbcTemplate.query("SELECT PECAS_ID_PEC, QUANTIDADE, SITUACAO, CONTROLA_ESTOQUE FROM RESERVAS_PECAS "
+                        + "WHERE OFICINAS_ID_OFIC = ? FOR UPDATE",
+                (rs, i) -> new Reserva(rs.getLong("PECAS_ID_PEC"), rs.getLong("QUANTIDADE"), rs.getString("SITUACAO"),
+                        rs.getInt("CONTROLA_ESTOQUE") == 1),
+                oficinaId).forEach(r -> reservas.put(r.pecaId(), r));
+        return reservas;
+    }
+
+    private void liberarQuantidade(long pecaId, long quantidade) {
+        if (jdbcTemplate.update(SQL_LIBERAR, quantidade, pecaId, quantidade) == 0) {
+            // Estoque ajustado por fora (ex.: linha removida): não há o que liberar, mas registra a inconsistência
+            log.warn("Liberação de {} unidades da peça ID {} não encontrou reserva correspondente no estoque", quantidade, pecaId);
+        }
+    }
+
+    private boolean temEstoque(long pecaId) {
+        Integer linhas = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?",
+                Integer.class, pecaId);
+        return linhas != null && linhas > 0;
+    }
+
+    private long disponivel(long pecaId) {
+        List<Long> saldo = jdbcTemplate.queryForList(
+                "SELECT QUANTIDADE_FISICA - QUANTIDADE_RESERVADA FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?", Long.class, pecaId);
+        return saldo.isEmpty() ? 0 : saldo.get(0);
+    }
+
+    private void exigirPeca(Long pecaId) {
+        Integer existe = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM PECAS WHERE ID_PEC = ?", Integer.class, pecaId);
+        if (existe == null || existe == 0) {
+            throw new PecasNotFoundException("Peça não encontrada com ID: " + pecaId);
+        }
+    }
+}
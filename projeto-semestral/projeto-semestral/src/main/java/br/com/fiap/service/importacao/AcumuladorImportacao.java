@@ -0,0 +1,61 @@
+// src/main/java/br/com/fiap/service/importacao/AcumuladorImportacao.java
+package br.com.fiap.service.importacao;
+
+import br.com.fiap.dto.importacao.ErroImportacaoDto;
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Contadores e erros de uma importação em andamento; gera o {@link RelatorioImportacaoDto} ao final.
+ * Não é thread-safe: cada importação usa a sua instância.
+ */
+public class AcumuladorImportacao {
+
+    private final int maxErrosDetalhados;
+    private final long inicioNanos = System.nanoTime();
+    private final List<ErroImportacaoDto> erros = new ArrayList<>();
+    private long totalLinhas;
+    private long inseridas;
+    private long atualizadas;
+    private long inalteradas;
+    private long rejeitadas;
+    private long errosOmitidos;
+
+    public AcumuladorImportacao(int maxErrosDetalhados) {
+        this.maxErrosDetalhados = maxErrosDetalhados;
+    }
+
+    public void linhaLida() {
+        totalLinhas++;
+    }
+
+    public void inseridas(long quantidade) {
+        inseridas += quantidade;
+    }
+
+    public void atualizadas(long quantidade) {
+        atualizadas += quantidade;
+    }
+
+    public void inalteradas(long quantidade) {
+        inalteradas += quantidade;
+    }
+
+    public void rejeitar(long linha, String identificador, String mensagem) {
+        rejeitadas++;
+        if (erros.size() < maxErrosDetalhados) {
+            erros.add(new ErroImportacaoDto(linha, identificador, mensagem));
+        } else {
+            errosOmitidos++;
+        }
+    }
+
+    public RelatorioImportacaoDto gerar() {
+        long duracaoNanos = Math.max(1, System.nanoTime() - inicioNanos);
+        double linhasPorSegundo = Math.round(totalLinhas * 1_000_000_000d / duracaoNanos * 10) / 10d;
+        return new RelatorioImportacaoDto(totalLinhas, inseridas, atualizadas, inalteradas, rejeitadas, errosOmitidos,
+                duracaoNanos / 1_000_000, linhasPorSegundo, erros);
+    }
+}
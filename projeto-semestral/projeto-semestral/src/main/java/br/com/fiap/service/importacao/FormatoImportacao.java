@@ -0,0 +1,23 @@
+// src/main/java/br/com/fiap/service/importacao/FormatoImportacao.java
+package br.com.fiap.service.importacao;
+
+/**
+ * Formatos aceitos pelos endpoints de importação em lote.
+ */
+public enum FormatoImportacao {
+    JSON,
+    CSV;
+
+    /**
+     * Resolve o formato a partir do Content-Type da requisição (JSON é o padrão).
+     */
+    public static FormatoImportacao deContentType(String contentType) {
+        if (contentType != null) {
+            String tipo = contentType.toLowerCase();
+            if (tipo.contains("csv") || tipo.startsWith("text/plain")) {
+                return CSV;
+            }
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,120 @@
+// src/main/java/br/com/fiap/service/importacao/LeitorCsv.java
+package br.com.fiap.service.importacao;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Leitor de CSV em streaming (uma linha por vez), sem dependências externas.
+ * Usa a primeira linha como cabeçalho (nomes comparados em minúsculas), detecta ';' ou ','
+ * como separador e aceita campos entre aspas, inclusive com aspas duplicadas e quebras de linha.
+ */
+public class LeitorCsv {
+
+    private final BufferedReader reader;
+    private final char separador;
+    private final String[] cabecalho;
+    private long numeroLinha;
+
+    public LeitorCsv(Reader reader) throws IOException {
+        this.reader = reader instanceof BufferedReader br ? br : new BufferedReader(reader, 64 * 1024);
+        String primeiraLinha = this.reader.readLine();
+        if (primeiraLinha == null) {
+            throw new IllegalArgumentException("Arquivo CSV vazio: cabeçalho ausente.");
+        }
+        if (!primeiraLinha.isEmpty() && primeiraLinha.charAt(0) == '\uFEFF') {
+            primeiraLinha = primeiraLinha.substring(1); // BOM do Excel
+        }
+        this.numeroLinha = 1;
+        this.separador = primeiraLinha.indexOf(';') >= 0 ? ';' : ',';
+        List<String> colunas = dividir(primeiraLinha);
+        this.cabecalho = colunas.stream().map(c -> c.trim().toLowerCase(Locale.ROOT)).toArray(String[]::new);
+    }
+
+    /**
+     * Número (1-based, no arquivo) da última linha lida.
+     */
+    public long getNumeroLinha() {
+        return numeroLinha;
+    }
+
+    /**
+     * Lê o próximo registro como mapa coluna -> valor (valores vazios viram null),
+     * ou retorna null ao fim do arquivo. Linhas em branco são ignoradas.
+     */
+    public Map<String, String> proximo() throws IOException {
+        String linha;
+        do {
+            linha = reader.readLine();
+            if (linha == null) {
+                return null;
+            }
+            numeroLinha++;
+        } while (linha.isBlank());
+
+        // Campo entre aspas pode conter quebra de linha: continua lendo até fechar as aspas
+        StringBuilder registro = new StringBuilder(linha);
+        while (aspasAbertas(registro)) {
+            String continuacao = reader.readLine();
+            if (continuacao == null) {
+                break;
+            }
+            numeroLinha++;
+            registro.append('\n').append(continuacao);
+        }
+
+        List<String> valores = dividir(registro.toString());
+        Map<String, String> campos = new HashMap<>(cabecalho.length * 2);
+        for (int i = 0; i < cabecalho.length; i++) {
+            String valor = i < valores.size() ? valores.get(i).trim() : null;
+            campos.put(cabecalho[i], valor == null || valor.isEmpty() ? null : valor);
+        }
+        return campos;
+    }
+
+    private static boolean aspasAbertas(CharSequence texto) {
+        int aspas = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == '"') {
+                aspas++;
+            }
+        }
+        return aspas % 2 != 0;
+    }
+
+    private List<String> dividir(String linha) {
+        List<String> valores = new ArrayList<>();
+        StringBuilder atual = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"') {
+                    if (i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                        atual.append('"');
+                        i++;
+                    } else {
+                        entreAspas = false;
+                    }
+                } else {
+                    atual.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == separador) {
+                valores.add(atual.toString());
+                atual.setLength(0);
+            } else {
+                atual.append(c);
+            }
+        }
+        valores.add(atual.toString());
+        return valores;
+    }
+}
@@ -0,0 +1,182 @@
+// src/main/java/br/com/fiap/service/importacao/LeitorImportacao.java
+package br.com.fiap.service.importacao;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Leitura em streaming das linhas de uma importação (array JSON ou CSV), sem carregar o arquivo em memória.
+ * Cada linha é convertida para o DTO de destino; falhas de conversão são reportadas por linha
+ * e não interrompem a leitura (exceto JSON sintaticamente inválido, que aborta a importação).
+ */
+public final class LeitorImportacao {
+
+    private static final DateTimeFormatter DATA_BR = DateTimeFormatter.ofPattern("dd/MM/yyyy");
+
+    private LeitorImportacao() {
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorLinha<T> {
+        void aceitar(long linha, T valor);
+    }
+
+    @FunctionalInterface
+    public interface ConsumidorErro {
+        void rejeitar(long linha, String mensagem);
+    }
+
+    public static <T> void ler(InputStream entrada, FormatoImportacao formato, ObjectMapper objectMapper, Class<T> tipo,
+                               Function<Map<String, String>, T> conversorCsv,
+                               ConsumidorLinha<T> aoLer, ConsumidorErro aoRejeitar) throws IOException {
+        if (formato == FormatoImportacao.CSV) {
+            lerCsv(entrada, conversorCsv, aoLer, aoRejeitar);
+        } else {
+            lerJson(entrada, objectMapper, tipo, aoLer, aoRejeitar);
+        }
+    }
+
+    private static <T> void lerJson(InputStream entrada, ObjectMapper objectMapper, Class<T> tipo,
+                                    ConsumidorLinha<T> aoLer, ConsumidorErro aoRejeitar) throws IOException {
+        try (JsonParser parser = objectMapper.getFactory().createParser(entrada)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                throw new IllegalArgumentException("O corpo JSON deve ser um array de registros.");
+            }
+            long linha = 0;
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY && token != null) {
+                linha++;
+                if (token != JsonToken.START_OBJECT) {
+                    parser.skipChildren();
+                    aoRejeitar.rejeitar(linha, "Elemento do array não é um objeto JSON.");
+                    continue;
+                }
+                // Lê um elemento por vez como árvore: um erro de tipo em um registro não corrompe a leitura dos seguintes
+                JsonNode no = objectMapper.readTree(parser);
+                T valor;
+                try {
+                    valor = objectMapper.treeToValue(no, tipo);
+                } catch (JsonProcessingException | IllegalArgumentException e) {
+                    aoRejeitar.rejeitar(linha, "Registro inválido: " + mensagemCurta(e));
+                    continue;
+                }
+                aoLer.aceitar(linha, valor);
+            }
+        }
+    }
+
+    private static <T> void lerCsv(InputStream entrada, Function<Map<String, String>, T> conversorCsv,
+                                   ConsumidorLinha<T> aoLer, ConsumidorErro aoRejeitar) throws IOException {
+        LeitorCsv leitor = new LeitorCsv(new InputStreamReader(entrada, StandardCharsets.UTF_8));
+        Map<String, String> campos;
+        while ((campos = leitor.proximo()) != null) {
+            long linha = leitor.getNumeroLinha();
+            T valor;
+            try {
+                valor = conversorCsv.apply(campos);
+            } catch (RuntimeException e) {
+                aoRejeitar.rejeitar(linha, "Registro inválido: " + e.getMessage());
+                continue;
+            }
+            aoLer.aceitar(linha, valor);
+        }
+    }
+
+    /**
+     * Valida o DTO com as anotações Jakarta Validation; retorna null se válido
+     * ou as mensagens ("campo: mensagem") separadas por "; ".
+     */
+    public static String validar(Validator validator, Object dto) {
+        Set<ConstraintViolation<Object>> violacoes = validator.validate(dto);
+        if (violacoes.isEmpty()) {
+            return null;
+        }
+        return violacoes.stream()
+                .sorted(Comparator.comparing(v -> v.getPropertyPath().toString()))
+                .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                .collect(Collectors.joining("; "));
+    }
+
+    // --- Conversões de campos CSV ---
+
+    public static Integer inteiro(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("coluna '" + coluna + "' não é um número inteiro: " + valor);
+        }
+    }
+
+    public static Long longo(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return Long.valueOf(valor);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("coluna '" + coluna + "' não é um número inteiro: " + valor);
+        }
+    }
+
+    /**
+     * Aceita "1234.56" e o formato brasileiro "1.234,56".
+     */
+    public static BigDecimal decimal(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        String normalizado = valor.contains(",") ? valor.replace(".", "").replace(',', '.') : valor;
+        try {
+            return new BigDecimal(normalizado);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("coluna '" + coluna + "' não é um valor decimal: " + valor);
+        }
+    }
+
+    /**
+     * Aceita "yyyy-MM-dd" e "dd/MM/yyyy".
+     */
+    public static LocalDate data(Map<String, String> campos, String coluna) {
+        String valor = campos.get(coluna);
+        if (valor == null) {
+            return null;
+        }
+        try {
+            return valor.contains("/") ? LocalDate.parse(valor, DATA_BR) : LocalDate.parse(valor);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("coluna '" + coluna + "' não é uma data válida: " + valor);
+        }
+    }
+
+    private static String mensagemCurta(Exception e) {
+        if (e instanceof JsonProcessingException jpe) {
+            return jpe.getOriginalMessage();
+        }
+        return e.getMessage();
+    }
+}
@@ -0,0 +1,47 @@
+// src/main/java/br/com/fiap/service/importacao/LotesJdbc.java
+package br.com.fiap.service.importacao;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Utilitários JDBC compartilhados pelas importações em lote (Oracle).
+ */
+public final class LotesJdbc {
+
+    private LotesJdbc() {
+    }
+
+    /**
+     * Reserva 'quantidade' valores da sequência em uma única ida ao banco,
+     * para que os IDs (e as FKs entre tabelas) sejam conhecidos antes dos inserts em lote.
+     * A sequência deve ser um nome constante do código (nunca entrada do usuário).
+     */
+    public static List<Long> proximosValores(JdbcTemplate jdbcTemplate, String sequencia, int quantidade) {
+        if (quantidade <= 0) {
+            return Collections.emptyList();
+        }
+        return jdbcTemplate.queryForList(
+                "SELECT " + sequencia + ".NEXTVAL FROM DUAL CONNECT BY LEVEL <= ?", Long.class, quantidade);
+    }
+
+    /**
+     * "?, ?, ..., ?" para cláusulas IN (Oracle aceita no máximo 1000 itens por lista).
+     */
+    public static String marcadores(int quantidade) {
+        return String.join(", ", Collections.nCopies(quantidade, "?"));
+    }
+
+    /**
+     * Mensagem da causa mais interna (normalmente o ORA-xxxxx), para o relatório por linha.
+     */
+    public static String causaRaiz(Throwable erro) {
+        Throwable causa = erro;
+        while (causa.getCause() != null && causa.getCause() != causa) {
+            causa = causa.getCause();
+        }
+        return causa.getMessage() != null ? causa.getMessage().trim() : causa.getClass().getSimpleName();
+    }
+}
@@ -0,0 +1,276 @@
+// src/main/java/br/com/fiap/service/lembrete/AgendadorLembretes.java
+package br.com.fiap.service.lembrete;
+
+import br.com.fiap.dto.lembrete.LembretePendenteDto;
+import br.com.fiap.dto.lembrete.StatusLembretesDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lembretes de agendamento com antecedências configuráveis ({@code lembretes.antecedencias}), disparados por uma
+ * roda de temporização hierárquica ({@link RodaTemporizacao}) e entregues ao {@link DestinoLembretes} ativo.
+ * <p>
+ * Na inicialização, os agendamentos de hoje em diante são lidos numa única consulta (sem polling depois disso);
+ * a partir daí, as alterações confirmadas de Agenda (AgendaServiceImpl -> log de sincronização) reagendam ou
+ * cancelam só os lembretes da agenda alterada. O horário do agendamento é o início da reserva de box, se houver,
+ * ou o início do expediente do dia. Uma única thread avança a roda a cada tick; agendar e cancelar são O(1).
+ * <p>
+ * Lembretes cujo disparo já passou não são reenviados na carga inicial (evita duplicar os enviados antes de um
+ * reinício); numa agenda criada ou remarcada em cima da hora, o lembrete vencido mais próximo sai no próximo tick.
+ */
+@Component
+public class AgendadorLembretes {
+
+    private static final Logger log = LoggerFactory.getLogger(AgendadorLembretes.class);
+
+    private static final int MAX_ULTIMOS_DISPARADOS = 50;
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+
+    private static final String SQL_AGENDAS = """
+            SELECT a.ID_AGE, a.DATA_AGENDAMENTO, r.INICIO
+            FROM AGENDAR a
+            LEFT JOIN RESERVAS_BOX r ON r.AGENDAR_ID_AGE = a.ID_AGE
+            """;
+
+    @Value("${lembretes.antecedencias:24h,2h}")
+    private List<String> antecedenciasConfiguradas;
+
+    @Value("${lembretes.tick-ms:1000}")
+    private long tickMs;
+
+    @Value("${capacidade.expediente-inicio:08:00}")
+    private String inicioExpediente;
+
+    // Lembretes agendados de uma agenda, com o horário usado para calculá-los
+    private record Agendados(LocalDateTime dataHora, List<RodaTemporizacao.Temporizador<LembreteAgendamento>> temporizadores) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final DestinoLembretes destino;
+    private final Map<Long, Agendados> porAgenda = new ConcurrentHashMap<>();
+    private final Set<Long> alteradasDuranteCarga = ConcurrentHashMap.newKeySet();
+    private final Deque<LembreteAgendamento> ultimosDisparados = new ArrayDeque<>();
+    private final AtomicLong disparados = new AtomicLong();
+    private final AtomicLong falhas = new AtomicLong();
+    private List<Duration> antecedencias;
+    private LocalTime horaPadrao;
+    private RodaTemporizacao<LembreteAgendamento> roda;
+    private ScheduledExecutorService executor;
+    private volatile LocalDateTime carregadoEm;
+
+    // Um lembretes.destino sem implementação (erro de digitação, canal ainda não criado) cai no log em vez de
+    // derrubar a inicialização por falta do bean
+    @Autowired
+    public AgendadorLembretes(JdbcTemplate jdbcTemplate, ObjectProvider<DestinoLembretes> destinos,
+                              @Value("${lembretes.destino:log}") String destinoConfigurado) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.destino = destinos.getIfAvailable(() -> {
+            log.warn("lembretes.destino={} não tem implementação (valores aceitos: log, arquivo); usando o log.",
+                    destinoConfigurado);
+            return new DestinoLembretesLog();
+        });
+    }
+
+    @PostConstruct
+    void iniciar() {
+        antecedencias = antecedenciasConfiguradas.stream()
+                .map(String::trim)
+                .map(DurationStyle::detectAndParse)
+                .sorted(Comparator.reverseOrder())
+                .toList();
+        horaPadrao = LocalTime.parse(inicioExpediente);
+        roda = new RodaTemporizacao<>(tick(Instant.now()));
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "lembretes-roda");
+            t.setDaemon(true);
+            return t;
+        });
+        executor.scheduleAtFixedRate(this::avancar, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executor.shutdownNow();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void carregar() {
+        long inicio = System.currentTimeMillis();
+        LocalDateTime agora = LocalDateTime.now();
+        int[] agendas = {0};
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(SQL_AGENDAS + " WHERE a.DATA_AGENDAMENTO >= ?");
+            ps.setFetchSize(TAMANHO_LOTE_CARGA);
+            ps.setDate(1, java.sql.Date.valueOf(agora.toLocalDate()));
+            return ps;
+        }, (ResultSet rs) -> {
+            long agendaId = rs.getLong("ID_AGE");
+            if (!alteradasDuranteCarga.contains(agendaId)) {
+                agendar(agendaId, dataHora(rs), agora, false);
+                agendas[0]++;
+            }
+        });
+        alteradasDuranteCarga.clear();
+        carregadoEm = LocalDateTime.now();
+        log.info("Lembretes carregados: {} agendas, {} lembretes pendentes em {} ms (antecedências {}, destino {})",
+                agendas[0], roda.pendentes(), System.currentTimeMillis() - inicio, antecedencias,
+                AopUtils.getTargetClass(destino).getSimpleName());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        if (evento.entidade() != TipoEntidade.AGENDA) {
+            return;
+        }
+        Long agendaId = evento.entidadeId();
+        if (carregadoEm == null) {
+            alteradasDuranteCarga.add(agendaId); // a carga em andamento pode ter lido a versão anterior
+        }
+        try {
+            if (evento.operacao() == TipoOperacao.EXCLUSAO) {
+                cancelar(agendaId);
+                return;
+            }
+            List<LocalDateTime> atual = jdbcTemplate.query(SQL_AGENDAS + " WHERE a.ID_AGE = ?", (rs, i) -> dataHora(rs), agendaId);
+            if (atual.isEmpty()) {
+                cancelar(agendaId);
+                return;
+            }
+            Agendados existentes = porAgenda.get(agendaId);
+            if (existentes != null && existentes.dataHora().equals(atual.get(0))) {
+                return; // alteração que não muda o horário (ex.: observação)
+            }
+            // Vencido só sai na hora em criação ou remarcação conhecida; sem registro anterior pode já ter saído
+            boolean remarcada = existentes != null || evento.operacao() == TipoOperacao.CRIACAO;
+            agendar(agendaId, atual.get(0), LocalDateTime.now(), remarcada);
+        } catch (Exception e) {
+            log.error("Falha ao reagendar lembretes da agenda ID {}: {}", agendaId, e.getMessage(), e);
+        }
+    }
+
+    public StatusLembretesDto gerarStatus() {
+        List<LembretePendenteDto> ultimos;
+        synchronized (ultimosDisparados) {
+            ultimos = ultimosDisparados.stream().map(AgendadorLembretes::toDto).toList();
+        }
+        return new StatusLembretesDto(roda.pendentes(), porAgenda.size(), disparados.get(), falhas.get(),
+                antecedencias.stream().map(Duration::toString).toList(),
+                AopUtils.getTargetClass(destino).getSimpleName(), carregadoEm, ultimos);
+    }
+
+    public List<LembretePendenteDto> listarPendentes(Long agendaId) {
+        Agendados agendados = porAgenda.get(agendaId);
+        if (agendados == null) {
+            return List.of();
+        }
+        return agendados.temporizadores().stream().map(t -> toDto(t.valor())).toList();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void agendar(long agendaId, LocalDateTime dataHora, LocalDateTime agora, boolean dispararVencido) {
+        List<RodaTemporizacao.Temporizador<LembreteAgendamento>> temporizadores = new ArrayList<>(antecedencias.size());
+        LembreteAgendamento vencidoMaisProximo = null;
+        if (dataHora.isAfter(agora)) {
+            for (Duration antecedencia : antecedencias) { // da maior para a menor
+                LocalDateTime disparo = dataHora.minus(antecedencia);
+                LembreteAgendamento lembrete = new LembreteAgendamento(agendaId, dataHora, antecedencia, disparo);
+                if (disparo.isAfter(agora)) {
+                    temporizadores.add(roda.agendar(tick(disparo.atZone(ZoneId.systemDefault()).toInstant()), lembrete));
+                } else {
+                    vencidoMaisProximo = lembrete;
+                }
+            }
+        }
+        if (dispararVencido && vencidoMaisProximo != null) {
+            LembreteAgendamento imediato = new LembreteAgendamento(agendaId, dataHora, vencidoMaisProximo.antecedencia(), agora);
+            temporizadores.add(roda.agendar(roda.agora(), imediato)); // sai no próximo tick
+        }
+        Agendados anteriores = temporizadores.isEmpty()
+                ? porAgenda.remove(agendaId)
+                : porAgenda.put(agendaId, new Agendados(dataHora, List.copyOf(temporizadores)));
+        if (anteriores != null) {
+            anteriores.temporizadores().forEach(roda::cancelar);
+        }
+    }
+
+    private void cancelar(Long agendaId) {
+        Agendados anteriores = porAgenda.remove(agendaId);
+        if (anteriores != null) {
+            anteriores.temporizadores().forEach(roda::cancelar);
+            log.debug("Lembretes da agenda ID {} cancelados.", agendaId);
+        }
+    }
+
+    // Executado pela thread da roda a cada tick
+    private void avancar() {
+        try {
+            for (LembreteAgendamento lembrete : roda.avancarAte(tick(Instant.now()))) {
+                porAgenda.computeIfPresent(lembrete.agendaId(), (id, agendados) -> {
+                    List<RodaTemporizacao.Temporizador<LembreteAgendamento>> restantes = agendados.temporizadores().stream()
+                            .filter(t -> t.valor() != lembrete)
+                            .toList();
+                    return restantes.isEmpty() ? null : new Agendados(agendados.dataHora(), restantes);
+                });
+                try {
+                    destino.enviar(lembrete);
+                    disparados.incrementAndGet();
+                    synchronized (ultimosDisparados) {
+                        ultimosDisparados.addFirst(lembrete);
+                        if (ultimosDisparados.size() > MAX_ULTIMOS_DISPARADOS) {
+                            ultimosDisparados.removeLast();
+                        }
+                    }
+                } catch (Exception e) {
+                    falhas.incrementAndGet();
+                    log.error("Falha ao enviar lembrete da agenda ID {}: {}", lembrete.agendaId(), e.getMessage(), e);
+                }
+            }
+        } catch (Exception e) {
+            log.error("Erro ao avançar a roda de lembretes: {}", e.getMessage(), e);
+        }
+    }
+
+    private LocalDateTime dataHora(ResultSet rs) throws SQLException {
+        Timestamp inicioReserva = rs.getTimestamp("INICIO");
+        return inicioReserva != null
+                ? inicioReserva.toLocalDateTime()
+                : rs.getDate("DATA_AGENDAMENTO").toLocalDate().atTime(horaPadrao);
+    }
+
+    private long tick(Instant instante) {
+        return instante.toEpochMilli() / tickMs;
+    }
+
+    private static LembretePendenteDto toDto(LembreteAgendamento l) {
+        return new LembretePendenteDto(l.agendaId(), l.dataHoraAgendamento(), l.antecedencia().toString(), l.disparoPrevisto());
+    }
+}
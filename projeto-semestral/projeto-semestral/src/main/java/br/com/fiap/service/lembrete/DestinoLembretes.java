@@ -0,0 +1,14 @@
+// src/main/java/br/com/fiap/service/lembrete/DestinoLembretes.java
+package br.com.fiap.service.lembrete;
+
+/**
+ * Para onde vão os lembretes disparados. A implementação ativa é escolhida por {@code lembretes.destino}
+ * (log ou arquivo; qualquer outro valor sem implementação cai no log); um canal real (e-mail, SMS) entra como outra
+ * implementação desta interface.
+ * <p>
+ * É chamado pela thread da roda de temporização: implementações lentas devem repassar o envio a outra thread.
+ */
+public interface DestinoLembretes {
+
+    void enviar(LembreteAgendamento lembrete);
+}
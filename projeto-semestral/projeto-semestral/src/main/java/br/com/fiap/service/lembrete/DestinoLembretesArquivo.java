@@ -0,0 +1,55 @@
+// src/main/java/br/com/fiap/service/lembrete/DestinoLembretesArquivo.java
+package br.com.fiap.service.lembrete;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+
+/**
+ * Acrescenta cada lembrete como uma linha "disparo;agendaId;dataHoraAgendamento;antecedencia" no arquivo
+ * {@code lembretes.arquivo}, para ser consumido por outro processo.
+ */
+@Component
+@ConditionalOnProperty(name = "lembretes.destino", havingValue = "arquivo")
+public class DestinoLembretesArquivo implements DestinoLembretes {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinoLembretesArquivo.class);
+
+    private final BufferedWriter escritor;
+
+    public DestinoLembretesArquivo(@Value("${lembretes.arquivo:lembretes.csv}") String arquivo) throws IOException {
+        Path caminho = Path.of(arquivo);
+        this.escritor = Files.newBufferedWriter(caminho, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        log.info("Lembretes serão gravados em {}", caminho.toAbsolutePath());
+    }
+
+    @Override
+    public synchronized void enviar(LembreteAgendamento lembrete) {
+        try {
+            escritor.write(LocalDateTime.now() + ";" + lembrete.agendaId() + ";"
+                    + lembrete.dataHoraAgendamento() + ";" + lembrete.antecedencia());
+            escritor.newLine();
+            escritor.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Falha ao gravar lembrete da agenda ID " + lembrete.agendaId(), e);
+        }
+    }
+
+    @PreDestroy
+    synchronized void fechar() throws IOException {
+        escritor.close();
+    }
+}
@@ -0,0 +1,23 @@
+// src/main/java/br/com/fiap/service/lembrete/DestinoLembretesLog.java
+package br.com.fiap.service.lembrete;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Destino padrão: registra o lembrete no log da aplicação.
+ */
+@Component
+@ConditionalOnProperty(name = "lembretes.destino", havingValue = "log", matchIfMissing = true)
+public class DestinoLembretesLog implements DestinoLembretes {
+
+    private static final Logger log = LoggerFactory.getLogger(DestinoLembretesLog.class);
+
+    @Override
+    public void enviar(LembreteAgendamento lembrete) {
+        log.info("LEMBRETE: agenda ID {} em {} (antecedência {})",
+                lembrete.agendaId(), lembrete.dataHoraAgendamento(), lembrete.antecedencia());
+    }
+}
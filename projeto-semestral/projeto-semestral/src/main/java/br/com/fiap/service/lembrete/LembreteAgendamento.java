@@ -0,0 +1,12 @@
+// src/main/java/br/com/fiap/service/lembrete/LembreteAgendamento.java
+package br.com.fiap.service.lembrete;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Lembrete de um agendamento, disparado 'antecedencia' antes de 'dataHoraAgendamento'.
+ */
+public record LembreteAgendamento(Long agendaId, LocalDateTime dataHoraAgendamento, Duration antecedencia,
+                                  LocalDateTime disparoPrevisto) {
+}
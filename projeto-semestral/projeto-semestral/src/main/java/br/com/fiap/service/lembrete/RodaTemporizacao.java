@@ -0,0 +1,177 @@
+// src/main/java/br/com/fiap/service/lembrete/RodaTemporizacao.java
+package br.com.fiap.service.lembrete;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Roda de temporização hierárquica (5 níveis de 64 posições) para muitos temporizadores com um único relógio.
+ * <p>
+ * O tempo é contado em ticks absolutos. Um temporizador que vence em até 64 ticks fica no nível 0, na posição
+ * {@code vencimento & 63}; os mais distantes ficam no nível n, na posição dos bits [6n, 6n+6) do vencimento. Quando
+ * o relógio entra numa posição de um nível superior (bits inferiores zerados), os temporizadores dela descem de
+ * nível ("cascata") e, no nível 0, disparam exatamente no tick do vencimento. Agendar e cancelar são O(1) (lista
+ * duplamente encadeada por posição); cada tick custa O(1) mais os temporizadores que disparam ou descem.
+ * Os 5 níveis cobrem 64^5 ticks (34 anos com tick de 1 s); vencimentos além disso são reavaliados na cascata.
+ * <p>
+ * Thread-safe: todas as operações usam o mesmo lock, e as ações vencidas são devolvidas para execução fora dele.
+ */
+class RodaTemporizacao<T> {
+
+    private static final int BITS = 6;
+    private static final int POSICOES = 1 << BITS;
+    private static final int MASCARA = POSICOES - 1;
+    private static final int NIVEIS = 5;
+    private static final long ALCANCE = 1L << (BITS * NIVEIS);
+
+    /** Temporizador agendado; serve de chave para cancelar. */
+    static final class Temporizador<T> {
+        private final long vencimento;
+        private final T valor;
+        private Temporizador<T> anterior;
+        private Temporizador<T> proximo;
+        private boolean ativo;
+
+        private Temporizador(long vencimento, T valor) {
+            this.vencimento = vencimento;
+            this.valor = valor;
+        }
+
+        long vencimento() {
+            return vencimento;
+        }
+
+        T valor() {
+            return valor;
+        }
+    }
+
+    private final Temporizador<T>[][] posicoes; // sentinelas das listas circulares
+    private final ReentrantLock lock = new ReentrantLock();
+    private long agora;
+    private int pendentes;
+
+    @SuppressWarnings({"unchecked", "rawtypes"}) // array genérico das sentinelas
+    RodaTemporizacao(long tickInicial) {
+        this.agora = tickInicial;
+        this.posicoes = new Temporizador[NIVEIS][POSICOES];
+        for (int n = 0; n < NIVEIS; n++) {
+            for (int p = 0; p < POSICOES; p++) {
+                Temporizador<T> sentinela = new Temporizador<>(0, null);
+                sentinela.anterior = sentinela;
+                sentinela.proximo = sentinela;
+                posicoes[n][p] = sentinela;
+            }
+        }
+    }
+
+    /** Agenda 'valor' para o tick 'vencimento'; vencimentos já passados disparam no próximo tick. */
+    Temporizador<T> agendar(long vencimento, T valor) {
+        Temporizador<T> t = new Temporizador<>(vencimento, valor);
+        lock.lock();
+        try {
+            inserir(t, agora + 1);
+            pendentes++;
+        } finally {
+            lock.unlock();
+        }
+        return t;
+    }
+
+    /** Cancela o temporizador; false se ele já disparou ou já foi cancelado. */
+    boolean cancelar(Temporizador<T> t) {
+        lock.lock();
+        try {
+            if (!t.ativo) {
+                return false;
+            }
+            desligar(t);
+            pendentes--;
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Avança o relógio até 'tick' (inclusive) e devolve os valores vencidos, em ordem de tick. */
+    List<T> avancarAte(long tick) {
+        List<T> vencidos = new ArrayList<>();
+        lock.lock();
+        try {
+            while (agora < tick) {
+                agora++;
+                // Cascata do nível mais alto para o mais baixo nas posições em que o relógio acabou de entrar
+                int nivel = 1;
+                while (nivel < NIVEIS && ((agora >>> (BITS * nivel)) << (BITS * nivel)) == agora) {
+                    nivel++;
+                }
+                for (int n = nivel - 1; n >= 1; n--) {
+                    Temporizador<T> sentinela = posicoes[n][(int) ((agora >>> (BITS * n)) & MASCARA)];
+                    while (sentinela.proximo != sentinela) {
+                        Temporizador<T> t = sentinela.proximo;
+                        desligar(t);
+                        inserir(t, agora); // vencimento == agora cai na posição que dispara neste tick
+                    }
+                }
+                Temporizador<T> sentinela = posicoes[0][(int) (agora & MASCARA)];
+                while (sentinela.proximo != sentinela) {
+                    Temporizador<T> t = sentinela.proximo;
+                    desligar(t);
+                    pendentes--;
+                    vencidos.add(t.valor);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return vencidos;
+    }
+
+    int pendentes() {
+        lock.lock();
+        try {
+            return pendentes;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long agora() {
+        lock.lock();
+        try {
+            return agora;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // --- Métodos auxiliares (com o lock adquirido) ---
+
+    private void inserir(Temporizador<T> t, long minimo) {
+        long vencimento = Math.max(t.vencimento, minimo);
+        long distancia = vencimento - agora;
+        if (distancia >= ALCANCE) {
+            vencimento = agora + ALCANCE - 1; // reavaliado quando a posição descer
+            distancia = ALCANCE - 1;
+        }
+        int nivel = 0;
+        while (distancia >= (1L << (BITS * (nivel + 1)))) {
+            nivel++;
+        }
+        Temporizador<T> sentinela = posicoes[nivel][(int) ((vencimento >>> (BITS * nivel)) & MASCARA)];
+        t.anterior = sentinela.anterior;
+        t.proximo = sentinela;
+        sentinela.anterior.proximo = t;
+        sentinela.anterior = t;
+        t.ativo = true;
+    }
+
+    private void desligar(Temporizador<T> t) {
+        t.anterior.proximo = t.proximo;
+        t.proximo.anterior = t.anterior;
+        t.anterior = null;
+        t.proximo = null;
+        t.ativo = false;
+    }
+}
@@ -0,0 +1,73 @@
+// src/main/java/br/com/fiap/service/metricas/JanelaDeslizante.java
+package br.com.fiap.service.metricas;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+/**
+ * Contador de janela deslizante sem locks: um anel de baldes de duração fixa, cada um com um {@link LongAdder}.
+ * <p>
+ * O balde guarda o número do intervalo de tempo a que pertence; quando o anel dá a volta, o balde antigo é trocado
+ * por um novo via CAS (nunca zerado no lugar), então escritas concorrentes não se perdem. A soma considera apenas
+ * os baldes cujo intervalo ainda está dentro da janela.
+ */
+public class JanelaDeslizante {
+
+    private record Balde(long intervalo, LongAdder valor) {
+    }
+
+    private final long duracaoBaldeMs;
+    private final int baldes;
+    private final AtomicReferenceArray<Balde> anel;
+    private final LongSupplier relogio;
+
+    public JanelaDeslizante(long duracaoJanelaMs, int baldes) {
+        this(duracaoJanelaMs, baldes, System::currentTimeMillis);
+    }
+
+    JanelaDeslizante(long duracaoJanelaMs, int baldes, LongSupplier relogio) {
+        if (baldes < 1 || duracaoJanelaMs < baldes) {
+            throw new IllegalArgumentException("Janela inválida: " + duracaoJanelaMs + " ms em " + baldes + " baldes");
+        }
+        this.duracaoBaldeMs = duracaoJanelaMs / baldes;
+        this.baldes = baldes;
+        this.anel = new AtomicReferenceArray<>(baldes);
+        this.relogio = relogio;
+    }
+
+    public void adicionar(long valor) {
+        long intervalo = relogio.getAsLong() / duracaoBaldeMs;
+        int posicao = (int) (intervalo % baldes);
+        while (true) {
+            Balde balde = anel.get(posicao);
+            if (balde != null && balde.intervalo() == intervalo) {
+                balde.valor().add(valor);
+                return;
+            }
+            if (balde != null && balde.intervalo() > intervalo) {
+                return; // relógio voltou: descarta em vez de corromper um balde mais novo
+            }
+            Balde novo = new Balde(intervalo, new LongAdder());
+            novo.valor().add(valor);
+            if (anel.compareAndSet(posicao, balde, novo)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Soma dos baldes dentro da janela (inclui o balde corrente, parcialmente preenchido).
+     */
+    public long somar() {
+        long intervaloAtual = relogio.getAsLong() / duracaoBaldeMs;
+        long total = 0;
+        for (int i = 0; i < baldes; i++) {
+            Balde balde = anel.get(i);
+            if (balde != null && intervaloAtual - balde.intervalo() < baldes) {
+                total += balde.valor().sum();
+            }
+        }
+        return total;
+    }
+}
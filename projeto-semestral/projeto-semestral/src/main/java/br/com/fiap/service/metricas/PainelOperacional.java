@@ -0,0 +1,170 @@
+// src/main/java/br/com/fiap/service/metricas/PainelOperacional.java
+package br.com.fiap.service.metricas;
+
+import br.com.fiap.dto.metricas.PainelOperacionalDto;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Contadores em tempo real para o painel (wallboard): receita e operações na última hora/24 horas e no dia.
+ * <p>
+ * Alimentado após o commit pelas gravações de pagamentos ({@link ReceitaRegistradaEvent}) e de oficinas
+ * ({@link ServicoRegistradoEvent} e log de sincronização). Leituras somam poucos {@link LongAdder}s em memória, sem
+ * acesso ao banco. As janelas deslizantes começam vazias a cada inicialização e contam pela hora da gravação (os
+ * pagamentos e as oficinas não guardam hora). Os contadores "hoje" usam a data do registro, tanto na semente quanto
+ * nos eventos: DATA_PAGAMENTO para a receita e DATA_OFICINA para os serviços. Um registro gravado hoje com outra
+ * data não entra, e um alterado para hoje entra. A semente roda na criação do bean, antes de o servidor aceitar
+ * requisições, então nenhum evento é somado duas vezes (na semente e no commit).
+ */
+@Component
+public class PainelOperacional {
+
+    private static final Logger log = LoggerFactory.getLogger(PainelOperacional.class);
+
+    private static final long UMA_HORA = TimeUnit.HOURS.toMillis(1);
+    private static final long UM_DIA = TimeUnit.DAYS.toMillis(1);
+
+    private record ContadorDiario(LocalDate dia, LongAdder valor) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final LocalDateTime coletandoDesde = LocalDateTime.now();
+
+    // Baldes de 1 minuto na janela de 1 hora e de 15 minutos na de 24 horas
+    private final JanelaDeslizante receitaUltimaHora = new JanelaDeslizante(UMA_HORA, 60);
+    private final JanelaDeslizante receitaUltimoDia = new JanelaDeslizante(UM_DIA, 96);
+    private final JanelaDeslizante pagamentosUltimaHora = new JanelaDeslizante(UMA_HORA, 60);
+    private final JanelaDeslizante pagamentosUltimoDia = new JanelaDeslizante(UM_DIA, 96);
+    private final JanelaDeslizante servicosUltimaHora = new JanelaDeslizante(UMA_HORA, 60);
+    private final JanelaDeslizante servicosUltimoDia = new JanelaDeslizante(UM_DIA, 96);
+    private final AtomicReference<ContadorDiario> receitaHoje = new AtomicReference<>(new ContadorDiario(LocalDate.now(), new LongAdder()));
+    private final AtomicReference<ContadorDiario> servicosHoje = new AtomicReference<>(new ContadorDiario(LocalDate.now(), new LongAdder()));
+
+    @Autowired
+    public PainelOperacional(JdbcTemplate jdbcTemplate, MeterRegistry meterRegistry) {
+        this.jdbcTemplate = jdbcTemplate;
+        registrarMedidor(meterRegistry, "oficina.receita", "1h", p -> p.receitaUltimaHora.somar() / 100.0);
+        registrarMedidor(meterRegistry, "oficina.receita", "24h", p -> p.receitaUltimoDia.somar() / 100.0);
+        registrarMedidor(meterRegistry, "oficina.receita", "hoje", p -> valorDoDia(p.receitaHoje) / 100.0);
+        registrarMedidor(meterRegistry, "oficina.pagamentos", "1h", p -> p.pagamentosUltimaHora.somar());
+        registrarMedidor(meterRegistry, "oficina.pagamentos", "24h", p -> p.pagamentosUltimoDia.somar());
+        registrarMedidor(meterRegistry, "oficina.servicos.abertos", "1h", p -> p.servicosUltimaHora.somar());
+        registrarMedidor(meterRegistry, "oficina.servicos.abertos", "24h", p -> p.servicosUltimoDia.somar());
+        registrarMedidor(meterRegistry, "oficina.servicos.abertos", "hoje", p -> valorDoDia(p.servicosHoje));
+    }
+
+    /**
+     * Semeia os contadores do dia com o que já está gravado (datas de hoje).
+     */
+    @PostConstruct
+    public void semearContadoresDoDia() {
+        try {
+            // "Hoje" pelo relógio da aplicação, o mesmo usado nos eventos (não pelo SYSDATE do banco)
+            LocalDate hoje = LocalDate.now();
+            Date de = Date.valueOf(hoje);
+            Date ateExclusivo = Date.valueOf(hoje.plusDays(1));
+            BigDecimal receita = jdbcTemplate.queryForObject(
+                    "SELECT NVL(SUM(TOTAL_PAGAMENTO_DESCONTO), 0) FROM PAGAMENTOS WHERE DATA_PAGAMENTO >= ? AND DATA_PAGAMENTO < ?",
+                    BigDecimal.class, de, ateExclusivo);
+            Long servicos = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM OFICINAS WHERE DATA_OFICINA >= ? AND DATA_OFICINA < ?",
+                    Long.class, de, ateExclusivo);
+            somarNoDia(receitaHoje, hoje, receita != null ? Dinheiro.centavosArredondados(receita) : 0);
+            somarNoDia(servicosHoje, hoje, servicos != null ? servicos : 0);
+            log.info("Painel operacional semeado: receita hoje {}, serviços abertos hoje {}", receita, servicos);
+        } catch (RuntimeException e) {
+            log.warn("Não foi possível semear o painel operacional ({}); contadores do dia começam em zero.", e.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRegistrarReceita(ReceitaRegistradaEvent evento) {
+        receitaUltimaHora.adicionar(evento.variacaoCentavos());
+        receitaUltimoDia.adicionar(evento.variacaoCentavos());
+        somarNoDia(receitaHoje, evento.dataPagamento(), evento.variacaoCentavos());
+        if (evento.novoPagamento()) {
+            pagamentosUltimaHora.adicionar(1);
+            pagamentosUltimoDia.adicionar(1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        if (evento.entidade() == TipoEntidade.OFICINA && evento.operacao() == TipoOperacao.CRIACAO) {
+            servicosUltimaHora.adicionar(1);
+            servicosUltimoDia.adicionar(1);
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoRegistrarServico(ServicoRegistradoEvent evento) {
+        somarNoDia(servicosHoje, evento.dataOficina(), evento.variacao());
+    }
+
+    public PainelOperacionalDto gerarPainel() {
+        return new PainelOperacionalDto(
+                BigDecimal.valueOf(receitaUltimaHora.somar(), 2),
+                BigDecimal.valueOf(receitaUltimoDia.somar(), 2),
+                BigDecimal.valueOf(valorDoDia(receitaHoje), 2),
+                pagamentosUltimaHora.somar(),
+                pagamentosUltimoDia.somar(),
+                servicosUltimaHora.somar(),
+                servicosUltimoDia.somar(),
+                valorDoDia(servicosHoje),
+                coletandoDesde,
+                LocalDateTime.now());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void registrarMedidor(MeterRegistry registry, String nome, String janela, ToDoubleFunction<PainelOperacional> funcao) {
+        Gauge.builder(nome, this, funcao).tag("janela", janela).register(registry);
+    }
+
+    // Só valores do dia corrente entram; os de outras datas não afetam o contador
+    private static void somarNoDia(AtomicReference<ContadorDiario> contador, LocalDate dia, long valor) {
+        LocalDate hoje = LocalDate.now();
+        if (!hoje.equals(dia)) {
+            return;
+        }
+        while (true) {
+            ContadorDiario atual = contador.get();
+            if (atual.dia().equals(hoje)) {
+                atual.valor().add(valor);
+                return;
+            }
+            // Virada do dia: troca o contador inteiro em vez de zerá-lo no lugar
+            ContadorDiario novo = new ContadorDiario(hoje, new LongAdder());
+            novo.valor().add(valor);
+            if (contador.compareAndSet(atual, novo)) {
+                return;
+            }
+        }
+    }
+
+    private static long valorDoDia(AtomicReference<ContadorDiario> contador) {
+        ContadorDiario atual = contador.get();
+        return atual.dia().equals(LocalDate.now()) ? atual.valor().sum() : 0;
+    }
+}
@@ -0,0 +1,12 @@
+// src/main/java/br/com/fiap/service/metricas/ReceitaRegistradaEvent.java
+package br.com.fiap.service.metricas;
+
+import java.time.LocalDate;
+
+/**
+ * Variação de receita (centavos) causada por uma gravação de pagamento, na data do pagamento: valor integral na
+ * criação, diferença na alteração e valor negativo na exclusão (uma alteração de data gera um evento para cada data).
+ * {@code novoPagamento} indica se conta como uma nova operação.
+ */
+public record ReceitaRegistradaEvent(LocalDate dataPagamento, long variacaoCentavos, boolean novoPagamento) {
+}
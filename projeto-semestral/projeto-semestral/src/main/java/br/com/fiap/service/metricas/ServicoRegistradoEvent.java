@@ -0,0 +1,11 @@
+// src/main/java/br/com/fiap/service/metricas/ServicoRegistradoEvent.java
+package br.com.fiap.service.metricas;
+
+import java.time.LocalDate;
+
+/**
+ * Variação na quantidade de serviços (OFICINAS) de uma data, pela DATA_OFICINA: +1 na criação, -1 na exclusão e, numa
+ * alteração de data, -1 na data anterior e +1 na nova.
+ */
+public record ServicoRegistradoEvent(LocalDate dataOficina, int variacao) {
+}
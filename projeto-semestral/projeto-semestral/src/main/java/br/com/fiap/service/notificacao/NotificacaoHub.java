@@ -0,0 +1,270 @@
+// src/main/java/br/com/fiap/service/notificacao/NotificacaoHub.java
+package br.com.fiap.service.notificacao;
+
+import br.com.fiap.dto.notificacao.NotificacaoAlteracaoDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Distribui, via Server-Sent Events, notificações de alterações confirmadas em Agenda e Oficina.
+ * <p>
+ * O ouvinte transacional apenas enfileira a notificação no buffer de cada assinante (sem I/O),
+ * portanto o commit nunca espera por um cliente lento. Cada buffer é limitado e consolida
+ * notificações da mesma entidade. A thread agendada não escreve em nenhum socket: ela só
+ * despacha a escrita de cada assinante para o pool de envio, no máximo uma por assinante,
+ * e assim um cliente lento prende apenas a própria escrita. O assinante é desconectado quando
+ * o buffer enche ou quando uma escrita passa de {@code notificacoes.timeout-escrita-ms}; o
+ * EventSource do navegador reconecta sozinho e recarrega as listas ao receber "conectado".
+ */
+@Component
+public class NotificacaoHub {
+
+    private static final Logger log = LoggerFactory.getLogger(NotificacaoHub.class);
+
+    private static final Set<TipoEntidade> ENTIDADES_NOTIFICADAS = EnumSet.of(TipoEntidade.AGENDA, TipoEntidade.OFICINA);
+
+    @Value("${notificacoes.buffer-por-assinante:256}")
+    private int capacidadeBuffer;
+
+    @Value("${notificacoes.intervalo-envio-ms:250}")
+    private long intervaloEnvioMs;
+
+    @Value("${notificacoes.heartbeat-ms:15000}")
+    private long intervaloHeartbeatMs;
+
+    @Value("${notificacoes.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${notificacoes.timeout-escrita-ms:5000}")
+    private long timeoutEscritaMs;
+
+    private final Map<Long, Assinante> assinantes = new ConcurrentHashMap<>();
+    private final AtomicLong sequenciaAssinantes = new AtomicLong();
+    private ScheduledExecutorService agendador;
+    private ExecutorService envios;
+
+    @PostConstruct
+    void iniciar() {
+        agendador = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "sse-notificacoes");
+            t.setDaemon(true);
+            return t;
+        });
+        // Sem limite de threads de propósito: uma escrita presa ocupa só a sua, e o assinante
+        // dela deixa de receber despachos até ser desconectado pelo timeout de escrita
+        AtomicLong sequenciaThreads = new AtomicLong();
+        envios = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "sse-envio-" + sequenciaThreads.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+        agendador.scheduleWithFixedDelay(this::enviarPendentes, intervaloEnvioMs, intervaloEnvioMs, TimeUnit.MILLISECONDS);
+        agendador.scheduleWithFixedDelay(this::enviarHeartbeats, intervaloHeartbeatMs, intervaloHeartbeatMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        agendador.shutdownNow();
+        envios.shutdownNow();
+        assinantes.values().forEach(a -> a.emitter.complete());
+        assinantes.clear();
+    }
+
+    /**
+     * Registra um novo assinante e devolve o emitter a ser retornado pelo controller.
+     */
+    public SseEmitter assinar() {
+        return assinar(new SseEmitter(timeoutMs));
+    }
+
+    SseEmitter assinar(SseEmitter emitter) {
+        long id = sequenciaAssinantes.incrementAndGet();
+        Assinante assinante = new Assinante(id, emitter);
+        emitter.onCompletion(() -> remover(id));
+        emitter.onTimeout(() -> remover(id));
+        emitter.onError(e -> remover(id));
+        assinantes.put(id, assinante);
+        log.info("Novo assinante SSE #{} (total: {})", id, assinantes.size());
+        try {
+            // Antes de o controller devolver o emitter o envio só fica guardado, sem I/O
+            emitter.send(SseEmitter.event().name("conectado").data(id));
+        } catch (IOException e) {
+            remover(id);
+        }
+        return emitter;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        if (!ENTIDADES_NOTIFICADAS.contains(evento.entidade()) || assinantes.isEmpty()) {
+            return;
+        }
+        NotificacaoAlteracaoDto notificacao =
+                new NotificacaoAlteracaoDto(evento.entidade(), evento.entidadeId(), evento.operacao());
+        for (Assinante assinante : assinantes.values()) {
+            if (!assinante.enfileirar(notificacao, capacidadeBuffer)) {
+                desconectar(assinante, "buffer cheio (" + capacidadeBuffer + ")");
+            }
+        }
+    }
+
+    public int getQuantidadeAssinantes() {
+        return assinantes.size();
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void enviarPendentes() {
+        long agora = System.nanoTime();
+        for (Assinante assinante : assinantes.values()) {
+            long inicio = assinante.inicioEscrita;
+            if (inicio != 0 && agora - inicio > TimeUnit.MILLISECONDS.toNanos(timeoutEscritaMs)) {
+                desconectar(assinante, "escrita sem resposta há mais de " + timeoutEscritaMs + " ms");
+            } else if (assinante.possuiPendentes()) {
+                despachar(assinante, assinante::enviarPendentes);
+            }
+        }
+    }
+
+    private void enviarHeartbeats() {
+        for (Assinante assinante : assinantes.values()) {
+            despachar(assinante, () -> assinante.emitter.send(SseEmitter.event().comment("heartbeat")));
+        }
+    }
+
+    /**
+     * Entrega a escrita ao pool de envio, se o assinante não tiver outra em andamento.
+     */
+    private void despachar(Assinante assinante, Escrita escrita) {
+        if (!assinante.enviando.compareAndSet(false, true)) {
+            return;
+        }
+        assinante.inicioEscrita = System.nanoTime();
+        try {
+            envios.execute(() -> {
+                try {
+                    escrita.executar();
+                } catch (IOException | IllegalStateException e) {
+                    log.debug("Assinante SSE #{} desconectado: {}", assinante.id, e.getMessage());
+                    remover(assinante.id);
+                } finally {
+                    assinante.inicioEscrita = 0;
+                    assinante.enviando.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Encerrando a aplicação
+            assinante.inicioEscrita = 0;
+            assinante.enviando.set(false);
+        }
+    }
+
+    private void desconectar(Assinante assinante, String motivo) {
+        if (!assinantes.remove(assinante.id, assinante)) {
+            return;
+        }
+        log.warn("Assinante SSE #{} desconectado: {} (total: {})", assinante.id, motivo, assinantes.size());
+        try {
+            // complete() espera a escrita em andamento terminar; roda fora do agendador e do commit
+            envios.execute(() -> {
+                try {
+                    assinante.emitter.complete();
+                } catch (RuntimeException e) {
+                    log.debug("Falha ao encerrar o assinante SSE #{}: {}", assinante.id, e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // Encerrando a aplicação: encerrar() completa os emitters
+        }
+    }
+
+    private void remover(long id) {
+        if (assinantes.remove(id) != null) {
+            log.info("Assinante SSE #{} removido (total: {})", id, assinantes.size());
+        }
+    }
+
+    @FunctionalInterface
+    private interface Escrita {
+        void executar() throws IOException;
+    }
+
+    private static final class Assinante {
+        private final long id;
+        private final SseEmitter emitter;
+        private final AtomicBoolean enviando = new AtomicBoolean(false);
+        // System.nanoTime() do início da escrita em andamento; 0 quando ociosa
+        private volatile long inicioEscrita;
+        // Pendentes por "ENTIDADE:id", na ordem da primeira ocorrência
+        private final LinkedHashMap<String, NotificacaoAlteracaoDto> pendentes = new LinkedHashMap<>();
+
+        private Assinante(long id, SseEmitter emitter) {
+            this.id = id;
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return {@code false} se o buffer estiver cheio e o assinante precisar ser desconectado.
+         */
+        private synchronized boolean enfileirar(NotificacaoAlteracaoDto notificacao, int capacidade) {
+            String chave = notificacao.getEntidade() + ":" + notificacao.getEntidadeId();
+            NotificacaoAlteracaoDto anterior = pendentes.get(chave);
+            if (anterior != null) {
+                // Criação ainda não enviada continua sendo criação
+                if (!(anterior.getOperacao() == TipoOperacao.CRIACAO && notificacao.getOperacao() == TipoOperacao.ATUALIZACAO)) {
+                    anterior.setOperacao(notificacao.getOperacao());
+                }
+                return true;
+            }
+            if (pendentes.size() >= capacidade) {
+                pendentes.clear();
+                return false;
+            }
+            // Cópia própria: a consolidação altera a operação e a instância é compartilhada entre assinantes
+            pendentes.put(chave, new NotificacaoAlteracaoDto(notificacao.getEntidade(), notificacao.getEntidadeId(), notificacao.getOperacao()));
+            return true;
+        }
+
+        private synchronized boolean possuiPendentes() {
+            return !pendentes.isEmpty();
+        }
+
+        private void enviarPendentes() throws IOException {
+            List<NotificacaoAlteracaoDto> lote;
+            synchronized (this) {
+                lote = new ArrayList<>(pendentes.values());
+                pendentes.clear();
+            }
+            for (NotificacaoAlteracaoDto notificacao : lote) {
+                emitter.send(SseEmitter.event().name("alteracao").data(notificacao, MediaType.APPLICATION_JSON));
+            }
+        }
+    }
+}
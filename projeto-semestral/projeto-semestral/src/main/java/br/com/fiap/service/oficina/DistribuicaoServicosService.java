@@ -0,0 +1,19 @@
+// src/main/java/br/com/fiap/service/oficina/DistribuicaoServicosService.java
+package br.com.fiap.service.oficina;
+
+import br.com.fiap.dto.oficina.DistribuicaoServicosDto;
+import br.com.fiap.dto.oficina.DistribuicaoServicosRequestDto;
+
+import java.time.LocalDate;
+
+public interface DistribuicaoServicosService {
+
+    /**
+     * Distribui os serviços agendados no dia (AO -> AGENDAR/OFICINAS) entre os mecânicos e guarda o plano, que
+     * passa a ser replanejado de forma incremental quando serviços do dia são incluídos, alterados ou excluídos.
+     */
+    DistribuicaoServicosDto planejar(DistribuicaoServicosRequestDto requisicao);
+
+    /** Plano atual do dia, ou null se o dia ainda não foi planejado. */
+    DistribuicaoServicosDto consultar(LocalDate data);
+}
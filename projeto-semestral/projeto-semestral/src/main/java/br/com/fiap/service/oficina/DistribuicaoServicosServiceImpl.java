@@ -0,0 +1,251 @@
+// src/main/java/br/com/fiap/service/oficina/DistribuicaoServicosServiceImpl.java
+package br.com.fiap.service.oficina;
+
+import br.com.fiap.dto.oficina.CargaMecanicoDto;
+import br.com.fiap.dto.oficina.DistribuicaoServicosDto;
+import br.com.fiap.dto.oficina.DistribuicaoServicosRequestDto;
+import br.com.fiap.dto.oficina.MecanicoDisponibilidadeDto;
+import br.com.fiap.dto.oficina.ServicoAtribuidoDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.model.valores.HorasTrabalhadas;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Distribuição dos serviços do dia entre mecânicos (LPT + busca local com prazo, ver {@link PlanejadorDistribuicao}).
+ * <p>
+ * Os serviços do dia são as oficinas vinculadas (AO) às agendas da data; a duração de cada um é a estimativa
+ * HORAS_TRABALHADAS da oficina (ou a duração padrão, se ilegível). Os planos ficam em memória por data (os
+ * {@value #MAX_PLANOS_EM_MEMORIA} consultados mais recentemente) e são replanejados de forma incremental a partir das
+ * alterações confirmadas de Agenda e Oficina: só os serviços da agenda/oficina alterada são reconsultados e
+ * reinseridos, sem refazer a distribuição inteira. O replanejamento roda em uma thread própria, fora da thread que
+ * confirmou a alteração, e na ordem dos commits.
+ */
+@Service
+public class DistribuicaoServicosServiceImpl implements DistribuicaoServicosService {
+
+    private static final Logger log = LoggerFactory.getLogger(DistribuicaoServicosServiceImpl.class);
+
+    private static final int MAX_PLANOS_EM_MEMORIA = 31;
+    private static final BigDecimal SESSENTA = BigDecimal.valueOf(60);
+
+    private static final String SQL_SERVICOS = """
+            SELECT ao.ID_AO, ao.AGENDAR_ID_AGE, a.DATA_AGENDAMENTO, o.ID_OFIC, o.DESCRICAO_PROBLEMA, o.HORAS_TRABALHADAS
+            FROM AO ao
+            JOIN AGENDAR a ON a.ID_AGE = ao.AGENDAR_ID_AGE
+            JOIN OFICINAS o ON o.ID_OFIC = ao.OFICINAS_ID_OFIC
+            """;
+
+    // Plano de um dia: o planejador não é thread-safe, então todo acesso sincroniza no próprio plano
+    private static final class PlanoDoDia {
+        final PlanejadorDistribuicao planejador;
+        final String[] nomes;
+        final long[] minutosDisponiveis;
+        LocalDateTime atualizadoEm = LocalDateTime.now();
+
+        PlanoDoDia(PlanejadorDistribuicao planejador, String[] nomes, long[] minutosDisponiveis) {
+            this.planejador = planejador;
+            this.nomes = nomes;
+            this.minutosDisponiveis = minutosDisponiveis;
+        }
+    }
+
+    // Serviço lido do banco, com a data da agenda para achar o plano
+    private record ServicoDoDia(LocalDate data, PlanejadorDistribuicao.Servico servico) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    // LRU por data: get() conta como uso; todo acesso sincroniza no mapa
+    private final Map<LocalDate, PlanoDoDia> planos = Collections.synchronizedMap(
+            new LinkedHashMap<>(MAX_PLANOS_EM_MEMORIA + 1, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<LocalDate, PlanoDoDia> maisAntigo) {
+                    return size() > MAX_PLANOS_EM_MEMORIA; // descarta o plano consultado há mais tempo
+                }
+            });
+    private final ExecutorService executorReplanejamento;
+    private final int boxes;
+    private final long minutosExpediente;
+    private final long minutosPadrao;
+    private final long tempoLimiteMs;
+
+    @Autowired
+    public DistribuicaoServicosServiceImpl(JdbcTemplate jdbcTemplate,
+                                           @Value("${capacidade.boxes:3}") int boxes,
+                                           @Value("${capacidade.expediente-inicio:08:00}") String inicioExpediente,
+                                           @Value("${capacidade.expediente-fim:18:00}") String fimExpediente,
+                                           @Value("${capacidade.duracao-padrao-horas:2}") BigDecimal duracaoPadraoHoras,
+                                           @Value("${distribuicao.tempo-limite-ms:50}") long tempoLimiteMs) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.boxes = boxes;
+        this.minutosExpediente = Duration.between(LocalTime.parse(inicioExpediente), LocalTime.parse(fimExpediente)).toMinutes();
+        this.minutosPadrao = HorasTrabalhadas.minutos(duracaoPadraoHoras);
+        this.tempoLimiteMs = tempoLimiteMs;
+        this.executorReplanejamento = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "distribuicao-replanejamento");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executorReplanejamento.shutdownNow();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public DistribuicaoServicosDto planejar(DistribuicaoServicosRequestDto requisicao) {
+        LocalDate data = requisicao.getData();
+        List<MecanicoDisponibilidadeDto> mecanicos = requisicao.getMecanicos();
+        if (mecanicos == null || mecanicos.isEmpty()) {
+            mecanicos = new ArrayList<>(boxes);
+            for (int i = 1; i <= boxes; i++) {
+                mecanicos.add(new MecanicoDisponibilidadeDto("Mecânico " + i, BigDecimal.ZERO, null));
+            }
+        }
+        String[] nomes = new String[mecanicos.size()];
+        long[] inicio = new long[mecanicos.size()];
+        long[] disponiveis = new long[mecanicos.size()];
+        for (int i = 0; i < nomes.length; i++) {
+            MecanicoDisponibilidadeDto m = mecanicos.get(i);
+            nomes[i] = m.getNome();
+            inicio[i] = m.getHorasOcupadas() == null ? 0 : HorasTrabalhadas.minutos(m.getHorasOcupadas());
+            disponiveis[i] = m.getHorasDisponiveis() == null ? minutosExpediente : HorasTrabalhadas.minutos(m.getHorasDisponiveis());
+        }
+
+        List<PlanejadorDistribuicao.Servico> servicos = buscarServicos("a.DATA_AGENDAMENTO >= ? AND a.DATA_AGENDAMENTO < ?",
+                Date.valueOf(data), Date.valueOf(data.plusDays(1))).stream().map(ServicoDoDia::servico).toList();
+        long limiteMs = requisicao.getTempoLimiteMs() != null ? requisicao.getTempoLimiteMs() : tempoLimiteMs;
+        long inicioNanos = System.nanoTime();
+        PlanejadorDistribuicao planejador = PlanejadorDistribuicao.planejar(inicio, servicos, inicioNanos + limiteMs * 1_000_000L);
+        PlanoDoDia plano = new PlanoDoDia(planejador, nomes, disponiveis);
+        log.info("Distribuição de {}: {} serviços em {} mecânicos, makespan {} min (limite inferior {}) em {} ms",
+                data, servicos.size(), nomes.length, planejador.makespan(), planejador.limiteInferior(),
+                (System.nanoTime() - inicioNanos) / 1_000_000);
+
+        planos.put(data, plano);
+        return toDto(data, plano);
+    }
+
+    @Override
+    public DistribuicaoServicosDto consultar(LocalDate data) {
+        PlanoDoDia plano = planos.get(data);
+        return plano == null ? null : toDto(data, plano);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        if (evento.entidade() != TipoEntidade.AGENDA && evento.entidade() != TipoEntidade.OFICINA) {
+            return;
+        }
+        // A consulta e a busca local (e até o lock dos planos) não atrasam a requisição que confirmou a alteração
+        executorReplanejamento.submit(() -> replanejar(evento));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void replanejar(AlteracaoRegistradaEvent evento) {
+        if (planos.isEmpty()) {
+            return;
+        }
+        try {
+            long id = evento.entidadeId();
+            boolean porAgenda = evento.entidade() == TipoEntidade.AGENDA;
+            Predicate<PlanejadorDistribuicao.Servico> afetado = porAgenda ? s -> s.agendaId() == id : s -> s.oficinaId() == id;
+            List<ServicoDoDia> atuais = evento.operacao() == TipoOperacao.EXCLUSAO
+                    ? List.of()
+                    : buscarServicos(porAgenda ? "ao.AGENDAR_ID_AGE = ?" : "ao.OFICINAS_ID_OFIC = ?", id);
+
+            // Cópia sem get(): o replanejamento não conta como uso para o descarte LRU
+            Map<LocalDate, PlanoDoDia> emMemoria;
+            synchronized (planos) {
+                emMemoria = new HashMap<>(planos);
+            }
+            // Retira os serviços antigos da agenda/oficina de todos os planos (a data pode ter mudado)...
+            for (PlanoDoDia plano : emMemoria.values()) {
+                synchronized (plano) {
+                    List<Long> remover = new ArrayList<>();
+                    for (int m = 0; m < plano.planejador.mecanicos(); m++) {
+                        plano.planejador.servicos(m).stream().filter(afetado).forEach(s -> remover.add(s.id()));
+                    }
+                    remover.forEach(servicoId -> plano.planejador.remover(servicoId, prazo()));
+                    if (!remover.isEmpty()) {
+                        plano.atualizadoEm = LocalDateTime.now();
+                    }
+                }
+            }
+            // ...e reinsere os atuais nos planos das suas datas
+            for (ServicoDoDia s : atuais) {
+                PlanoDoDia plano = emMemoria.get(s.data());
+                if (plano != null) {
+                    synchronized (plano) {
+                        plano.planejador.adicionar(s.servico(), prazo());
+                        plano.atualizadoEm = LocalDateTime.now();
+                    }
+                }
+            }
+        } catch (Exception e) {
+            // O plano pode ficar defasado, mas a alteração já foi confirmada: basta planejar o dia de novo
+            log.error("Falha ao replanejar distribuição após alteração de {} ID {}: {}",
+                    evento.entidade(), evento.entidadeId(), e.getMessage(), e);
+        }
+    }
+
+    private List<ServicoDoDia> buscarServicos(String filtro, Object... parametros) {
+        return jdbcTemplate.query(SQL_SERVICOS + " WHERE " + filtro, (rs, i) -> {
+            long minutos = HorasTrabalhadas.minutos(rs.getString("HORAS_TRABALHADAS"));
+            return new ServicoDoDia(rs.getDate("DATA_AGENDAMENTO").toLocalDate(), new PlanejadorDistribuicao.Servico(
+                    rs.getLong("ID_AO"), rs.getLong("AGENDAR_ID_AGE"), rs.getLong("ID_OFIC"),
+                    rs.getString("DESCRICAO_PROBLEMA"), minutos > 0 ? minutos : minutosPadrao));
+        }, parametros);
+    }
+
+    private long prazo() {
+        return System.nanoTime() + tempoLimiteMs * 1_000_000L;
+    }
+
+    private DistribuicaoServicosDto toDto(LocalDate data, PlanoDoDia plano) {
+        synchronized (plano) {
+            PlanejadorDistribuicao p = plano.planejador;
+            List<CargaMecanicoDto> mecanicos = new ArrayList<>(p.mecanicos());
+            for (int m = 0; m < p.mecanicos(); m++) {
+                List<ServicoAtribuidoDto> servicos = p.servicos(m).stream()
+                        .map(s -> new ServicoAtribuidoDto(s.agendaId(), s.oficinaId(), s.descricao(), horas(s.minutos())))
+                        .toList();
+                long termino = p.carga(m);
+                mecanicos.add(new CargaMecanicoDto(plano.nomes[m], horas(p.disponivelAPartirDe(m)),
+                        horas(plano.minutosDisponiveis[m]), horas(termino),
+                        termino > plano.minutosDisponiveis[m], servicos));
+            }
+            return new DistribuicaoServicosDto(data, p.totalServicos(), horas(p.makespan()), horas(p.limiteInferior()),
+                    p.iteracoes(), plano.atualizadoEm, mecanicos);
+        }
+    }
+
+    private static BigDecimal horas(long minutos) {
+        return BigDecimal.valueOf(minutos).divide(SESSENTA, 2, RoundingMode.HALF_UP);
+    }
+}
@@ -13,21 +13,31 @@ import br.com.fiap.model.Oficina;
 import br.com.fiap.model.Pecas;
 import br.com.fiap.model.relacionamentos.OficinaPeca;
 import br.com.fiap.model.relacionamentos.OficinaVeiculo;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
 import br.com.fiap.repository.OficinaRepository;
 import br.com.fiap.repository.PecasRepository;
 import br.com.fiap.repository.VeiculoRepository;
 import br.com.fiap.repository.relacionamentos.OficinaPecaRepository;
 import br.com.fiap.repository.relacionamentos.OficinaVeiculoRepository;
+import br.com.fiap.service.estoque.EstoquePecasService;
+import br.com.fiap.service.metricas.ServicoRegistradoEvent;
+import br.com.fiap.service.sincronizacao.SincronizacaoService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
@@ -42,6 +52,9 @@ public class OficinaServiceImpl implements OficinaService {
     private final OficinaPecaRepository oficinaPecaRepository;
     private final VeiculoRepository veiculoRepository;
     private final OficinaVeiculoRepository oficinaVeiculoRepository;
+    private final SincronizacaoService sincronizacaoService;
+    private final EstoquePecasService estoquePecasService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
     public OficinaServiceImpl(OficinaRepository oficinaRepository,
@@ -49,13 +62,19 @@ public class OficinaServiceImpl implements OficinaService {
                               PecasRepository pecasRepository,
                               OficinaPecaRepository oficinaPecaRepository,
                               VeiculoRepository veiculoRepository,
-                              OficinaVeiculoRepository oficinaVeiculoRepository) {
+                              OficinaVeiculoRepository oficinaVeiculoRepository,
+                              SincronizacaoService sincronizacaoService,
+                              EstoquePecasService estoquePecasService,
+                              ApplicationEventPublisher eventPublisher) {
         this.oficinaRepository = oficinaRepository;
         this.oficinaMapper = oficinaMapper;
         this.pecasRepository = pecasRepository;
         this.oficinaPecaRepository = oficinaPecaRepository;
         this.veiculoRepository = veiculoRepository;
         this.oficinaVeiculoRepository = oficinaVeiculoRepository;
+        this.sincronizacaoService = sincronizacaoService;
+        this.estoquePecasService = estoquePecasService;
+        this.eventPublisher = eventPublisher;
     }
 
     // --- Implementação dos Métodos CRUD Simples ---
@@ -85,6 +104,8 @@ public class OficinaServiceImpl implements OficinaService {
             // Aqui não há associação de peças, pois vem do DTO simples
             Oficina savedOficina = oficinaRepository.save(oficina);
             log.info("Registro de oficina criado com ID: {}", savedOficina.getId());
+            sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, savedOficina.getId(), TipoOperacao.CRIACAO);
+            eventPublisher.publishEvent(new ServicoRegistradoEvent(savedOficina.getDataOficina(), 1));
             return oficinaMapper.toResponseDto(savedOficina);
         } catch (Exception e) {
             log.error("Erro ao criar registro de oficina: {}", e.getMessage(), e);
@@ -97,11 +118,14 @@ public class OficinaServiceImpl implements OficinaService {
     public OficinaResponseDto update(Long id, OficinaRequestDto oficinaDto) {
         log.info("Atualizando registro de oficina ID: {} (via DTO simples)", id);
         Oficina existingOficina = findOficinaByIdOrElseThrow(id);
+        LocalDate dataAnterior = existingOficina.getDataOficina();
         // Este mapper só atualiza os campos presentes no OficinaRequestDto
         oficinaMapper.updateEntityFromDto(oficinaDto, existingOficina);
         // Associações existentes (peças, veículos, etc.) não são alteradas aqui
         Oficina updatedOficina = oficinaRepository.save(existingOficina);
         log.info("Registro de oficina atualizado com ID: {}", updatedOficina.getId());
+        sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, updatedOficina.getId(), TipoOperacao.ATUALIZACAO);
+        publicarMudancaDeData(dataAnterior, updatedOficina.getDataOficina());
         return oficinaMapper.toResponseDto(updatedOficina);
     }
 
@@ -128,9 +152,14 @@ public class OficinaServiceImpl implements OficinaService {
             }
             // Adicionar remoção para OficinaOrcamento (OFO) e AgendaOficina (AO) se necessário
 
+            // Devolve ao estoque as peças reservadas e ainda não baixadas
+            estoquePecasService.liberar(id);
+
             // Agora deleta a oficina
             oficinaRepository.delete(oficina);
             log.info("Registro de oficina deletado com ID: {}", id);
+            sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, id, TipoOperacao.EXCLUSAO);
+            eventPublisher.publishEvent(new ServicoRegistradoEvent(oficina.getDataOficina(), -1));
         } catch (DataIntegrityViolationException e) {
             log.error("Erro de integridade ao deletar oficina ID {}: {}", id, e.getMessage());
             throw new RuntimeException("Não é possível excluir o registro de oficina pois ele possui outras associações (orçamentos, agendamentos?). Verifique e remova as dependências.", e);
@@ -179,9 +208,13 @@ public class OficinaServiceImpl implements OficinaService {
                 log.trace("Associada Peça ID {} (Qtd: {}) à Oficina ID {}", itemPecaDto.getPecaId(), itemPecaDto.getQuantidade(), oficinaSalva.getId());
             }
         }
+        // Reserva as peças no estoque; sem saldo, EstoqueInsuficienteException desfaz a transação inteira
+        estoquePecasService.reservar(oficinaSalva.getId(), quantidadesPorPeca(pecasDto));
         // O save final não é estritamente necessário por causa do contexto transacional,
         // mas pode ser útil para garantir que o objeto retornado esteja totalmente atualizado.
         // return oficinaRepository.save(oficinaSalva); // Ou só oficinaSalva
+        sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, oficinaSalva.getId(), TipoOperacao.CRIACAO);
+        eventPublisher.publishEvent(new ServicoRegistradoEvent(oficinaSalva.getDataOficina(), 1));
         return oficinaSalva;
     }
 
@@ -193,6 +226,7 @@ public class OficinaServiceImpl implements OficinaService {
         Oficina oficinaExistente = findOficinaByIdOrElseThrow(oficinaId);
 
         // Atualiza campos simples da Oficina vindos do DTO mapeado
+        LocalDate dataAnterior = oficinaExistente.getDataOficina();
         oficinaExistente.setDataOficina(oficinaParcialmenteMapeada.getDataOficina());
         oficinaExistente.setDescricaoProblema(oficinaParcialmenteMapeada.getDescricaoProblema());
         oficinaExistente.setDiagnostico(oficinaParcialmenteMapeada.getDiagnostico());
@@ -229,9 +263,23 @@ public class OficinaServiceImpl implements OficinaService {
             }
         }
 
+        // Ajusta as reservas de estoque para as peças atuais (reserva a diferença a mais, libera a diferença a menos)
+        estoquePecasService.reservar(oficinaId, quantidadesPorPeca(pecasDto));
+
         // Salva a entidade Oficina. O JPA/Hibernate gerencia o save/update das OficinaPeca
         // adicionadas à coleção, devido ao CascadeType (assumindo CascadeType.ALL ou MERGE/PERSIST no relacionamento).
-        return oficinaRepository.save(oficinaExistente);
+        Oficina oficinaAtualizada = oficinaRepository.save(oficinaExistente);
+        sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, oficinaAtualizada.getId(), TipoOperacao.ATUALIZACAO);
+        publicarMudancaDeData(dataAnterior, oficinaAtualizada.getDataOficina());
+        return oficinaAtualizada;
+    }
+
+    // O painel conta os serviços do dia pela DATA_OFICINA: uma troca de data tira de um dia e põe no outro
+    private void publicarMudancaDeData(LocalDate dataAnterior, LocalDate dataAtual) {
+        if (!Objects.equals(dataAnterior, dataAtual)) {
+            eventPublisher.publishEvent(new ServicoRegistradoEvent(dataAnterior, -1));
+            eventPublisher.publishEvent(new ServicoRegistradoEvent(dataAtual, 1));
+        }
     }
     // --- FIM DO MÉTODO QUE FALTAVA ---
 
@@ -293,6 +341,19 @@ public class OficinaServiceImpl implements OficinaService {
         return oficinaRepository.findById(id)
                 .orElseThrow(() -> new OficinaNotFoundException("Registro de Oficina não encontrado com ID: " + id));
     }
+
+    // Quantidade total por peça (a mesma peça pode vir em mais de um item)
+    private Map<Long, Integer> quantidadesPorPeca(List<ItemPecaServicoDto> pecasDto) {
+        Map<Long, Integer> quantidades = new HashMap<>();
+        if (pecasDto != null) {
+            for (ItemPecaServicoDto item : pecasDto) {
+                if (item.getPecaId() != null && item.getQuantidade() != null) {
+                    quantidades.merge(item.getPecaId(), item.getQuantidade(), Integer::sum);
+                }
+            }
+        }
+        return quantidades;
+    }
     // --- Fim do Método Auxiliar ---
 
 } // <<< FIM DA CLASSE OficinaServiceImpl >>>
\ No newline at end of file
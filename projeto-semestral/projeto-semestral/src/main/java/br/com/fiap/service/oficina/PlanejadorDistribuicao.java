@@ -0,0 +1,241 @@
+// src/main/java/br/com/fiap/service/oficina/PlanejadorDistribuicao.java
+package br.com.fiap.service.oficina;
+
+import java.util.*;
+
+/**
+ * Distribuição dos serviços do dia entre mecânicos minimizando o makespan (hora em que o último mecânico termina).
+ * <p>
+ * Cada mecânico começa em 'disponivelAPartirDe' (minutos já ocupados no dia). A solução inicial é LPT: serviços
+ * em ordem decrescente de duração, cada um para o mecânico que termina mais cedo (garantia de 4/3 do ótimo quando
+ * todos começam juntos, 3/2 com inícios diferentes). Em seguida, uma busca local repete, enquanto houver prazo, o
+ * melhor movimento que reduz a carga do mecânico crítico: mover um serviço dele para outro mecânico ou trocar um
+ * serviço dele por um menor de outro mecânico. Todo movimento aceito deixa o par abaixo da carga crítica anterior,
+ * então a soma dos quadrados das cargas cai e a busca termina.
+ * <p>
+ * Inclusões e exclusões de serviços replanejam a partir do plano atual (inserção no mecânico que termina mais cedo
+ * + busca local), sem refazer o LPT. Não é thread-safe: quem usa sincroniza por plano.
+ */
+class PlanejadorDistribuicao {
+
+    record Servico(long id, long agendaId, long oficinaId, String descricao, long minutos) {
+    }
+
+    private final long[] disponivelAPartirDe;
+    private final long[] carga; // término de cada mecânico (início + serviços)
+    private final List<List<Servico>> porMecanico;
+    private final Map<Long, Integer> mecanicoDoServico = new HashMap<>();
+    private long iteracoes;
+
+    PlanejadorDistribuicao(long[] disponivelAPartirDe) {
+        if (disponivelAPartirDe.length == 0) {
+            throw new IllegalArgumentException("Informe ao menos um mecânico.");
+        }
+        this.disponivelAPartirDe = disponivelAPartirDe.clone();
+        this.carga = disponivelAPartirDe.clone();
+        this.porMecanico = new ArrayList<>(disponivelAPartirDe.length);
+        for (int i = 0; i < disponivelAPartirDe.length; i++) {
+            porMecanico.add(new ArrayList<>());
+        }
+    }
+
+    /** Solução inicial LPT seguida de busca local até o prazo (System.nanoTime). */
+    static PlanejadorDistribuicao planejar(long[] disponivelAPartirDe, Collection<Servico> servicos, long prazoNanos) {
+        PlanejadorDistribuicao plano = new PlanejadorDistribuicao(disponivelAPartirDe);
+        List<Servico> ordenados = new ArrayList<>(servicos);
+        ordenados.sort(Comparator.comparingLong(Servico::minutos).reversed().thenComparingLong(Servico::id));
+        // Fila de mecânicos pelo término atual: O(n log m)
+        PriorityQueue<Integer> fila = new PriorityQueue<>(
+                Comparator.<Integer>comparingLong(m -> plano.carga[m]).thenComparingInt(m -> m));
+        for (int m = 0; m < disponivelAPartirDe.length; m++) {
+            fila.add(m);
+        }
+        for (Servico s : ordenados) {
+            int m = fila.poll();
+            plano.atribuir(s, m);
+            fila.add(m);
+        }
+        plano.melhorar(prazoNanos);
+        return plano;
+    }
+
+    /** Inclui (ou substitui) um serviço e replaneja localmente. */
+    void adicionar(Servico servico, long prazoNanos) {
+        remover(servico.id(), prazoNanos);
+        int melhor = 0;
+        for (int m = 1; m < carga.length; m++) {
+            if (carga[m] < carga[melhor]) {
+                melhor = m;
+            }
+        }
+        atribuir(servico, melhor);
+        melhorar(prazoNanos);
+    }
+
+    /** Exclui um serviço e replaneja localmente; false se ele não estava no plano. */
+    boolean remover(long servicoId, long prazoNanos) {
+        Integer m = mecanicoDoServico.remove(servicoId);
+        if (m == null) {
+            return false;
+        }
+        List<Servico> lista = porMecanico.get(m);
+        for (int i = 0; i < lista.size(); i++) {
+            if (lista.get(i).id() == servicoId) {
+                carga[m] -= lista.remove(i).minutos();
+                break;
+            }
+        }
+        melhorar(prazoNanos);
+        return true;
+    }
+
+    /**
+     * Busca local até não haver movimento que melhore o mecânico crítico ou até o prazo.
+     */
+    void melhorar(long prazoNanos) {
+        while (System.nanoTime() < prazoNanos) {
+            iteracoes++;
+            int critico = critico();
+            if (!moverMelhor(critico) && !trocarMelhor(critico)) {
+                return; // ótimo local
+            }
+        }
+    }
+
+    long makespan() {
+        return carga[critico()];
+    }
+
+    /** Limite inferior do makespan: maior serviço (após o início mais cedo) ou carga total dividida por igual. */
+    long limiteInferior() {
+        long total = 0;
+        long maiorServico = 0;
+        long inicioMaisCedo = Long.MAX_VALUE;
+        for (int m = 0; m < carga.length; m++) {
+            total += carga[m];
+            inicioMaisCedo = Math.min(inicioMaisCedo, disponivelAPartirDe[m]);
+            for (Servico s : porMecanico.get(m)) {
+                maiorServico = Math.max(maiorServico, s.minutos());
+            }
+        }
+        return Math.max((total + carga.length - 1) / carga.length,
+                porMecanico.stream().allMatch(List::isEmpty) ? 0 : inicioMaisCedo + maiorServico);
+    }
+
+    int mecanicos() {
+        return carga.length;
+    }
+
+    long carga(int mecanico) {
+        return carga[mecanico];
+    }
+
+    long disponivelAPartirDe(int mecanico) {
+        return disponivelAPartirDe[mecanico];
+    }
+
+    List<Servico> servicos(int mecanico) {
+        return Collections.unmodifiableList(porMecanico.get(mecanico));
+    }
+
+    int totalServicos() {
+        return mecanicoDoServico.size();
+    }
+
+    long iteracoes() {
+        return iteracoes;
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void atribuir(Servico servico, int mecanico) {
+        porMecanico.get(mecanico).add(servico);
+        carga[mecanico] += servico.minutos();
+        mecanicoDoServico.put(servico.id(), mecanico);
+    }
+
+    private int critico() {
+        int critico = 0;
+        for (int m = 1; m < carga.length; m++) {
+            if (carga[m] > carga[critico]) {
+                critico = m;
+            }
+        }
+        return critico;
+    }
+
+    // Melhor transferência de um serviço do crítico: minimiza o maior término do par
+    private boolean moverMelhor(int critico) {
+        List<Servico> doCritico = porMecanico.get(critico);
+        long limite = carga[critico];
+        int melhorServico = -1;
+        int melhorDestino = -1;
+        long melhorPar = limite;
+        for (int i = 0; i < doCritico.size(); i++) {
+            long d = doCritico.get(i).minutos();
+            for (int k = 0; k < carga.length; k++) {
+                if (k == critico) {
+                    continue;
+                }
+                long par = Math.max(limite - d, carga[k] + d);
+                if (par < melhorPar) {
+                    melhorPar = par;
+                    melhorServico = i;
+                    melhorDestino = k;
+                }
+            }
+        }
+        if (melhorServico < 0) {
+            return false;
+        }
+        Servico s = doCritico.remove(melhorServico);
+        carga[critico] -= s.minutos();
+        atribuir(s, melhorDestino);
+        return true;
+    }
+
+    // Melhor troca de um serviço do crítico por um menor de outro mecânico
+    private boolean trocarMelhor(int critico) {
+        List<Servico> doCritico = porMecanico.get(critico);
+        long limite = carga[critico];
+        int melhorI = -1;
+        int melhorK = -1;
+        int melhorJ = -1;
+        long melhorPar = limite;
+        for (int k = 0; k < carga.length; k++) {
+            if (k == critico) {
+                continue;
+            }
+            List<Servico> doOutro = porMecanico.get(k);
+            for (int i = 0; i < doCritico.size(); i++) {
+                long di = doCritico.get(i).minutos();
+                for (int j = 0; j < doOutro.size(); j++) {
+                    long delta = di - doOutro.get(j).minutos();
+                    if (delta <= 0) {
+                        continue;
+                    }
+                    long par = Math.max(limite - delta, carga[k] + delta);
+                    if (par < melhorPar) {
+                        melhorPar = par;
+                        melhorI = i;
+                        melhorK = k;
+                        melhorJ = j;
+                    }
+                }
+            }
+        }
+        if (melhorI < 0) {
+            return false;
+        }
+        Servico doC = doCritico.get(melhorI);
+        Servico doK = porMecanico.get(melhorK).get(melhorJ);
+        doCritico.set(melhorI, doK);
+        porMecanico.get(melhorK).set(melhorJ, doC);
+        long delta = doC.minutos() - doK.minutos();
+        carga[critico] -= delta;
+        carga[melhorK] += delta;
+        mecanicoDoServico.put(doK.id(), critico);
+        mecanicoDoServico.put(doC.id(), melhorK);
+        return true;
+    }
+}
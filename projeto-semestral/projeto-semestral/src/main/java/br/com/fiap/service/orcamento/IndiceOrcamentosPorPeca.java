@@ -0,0 +1,205 @@
+// src/main/java/br/com/fiap/service/orcamento/IndiceOrcamentosPorPeca.java
+package br.com.fiap.service.orcamento;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.service.importacao.LotesJdbc;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Índice reverso peça -> orçamentos que a utilizam (OFP -> OFO), mantido em memória.
+ * <p>
+ * É carregado com uma única consulta no primeiro uso e, depois disso, atualizado de forma incremental
+ * a partir das alterações confirmadas de Oficina e Orçamento (log de sincronização): os IDs envolvidos só são
+ * anotados como pendentes e, no próximo uso, todos são reconsultados de uma vez (um IN por bloco de 1000), em vez
+ * de uma consulta por evento; uma reprecificação que atualiza N orçamentos não gera N consultas.
+ * <p>
+ * As anotações continuam durante a carga: o que for confirmado depois da leitura começar é reaplicado em seguida,
+ * e não se perde.
+ */
+@Component
+public class IndiceOrcamentosPorPeca {
+
+    private static final Logger log = LoggerFactory.getLogger(IndiceOrcamentosPorPeca.class);
+
+    private static final String SQL_PARES = """
+            SELECT DISTINCT ofo.ORCAMENTOS_ID_ORC, ofp.PECAS_ID_PEC
+            FROM OFO ofo
+            JOIN OFP ofp ON ofp.OFICINAS_ID_OFIC = ofo.OFICINAS_ID_OFIC
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    // Serializa carga e aplicação das pendências, para que uma releitura antiga não sobrescreva uma mais nova
+    private final Object atualizacaoLock = new Object();
+    private final Set<Long> orcamentosPendentes = ConcurrentHashMap.newKeySet();
+    private final Set<Long> oficinasPendentes = ConcurrentHashMap.newKeySet();
+    private final Map<Long, Set<Long>> orcamentosPorPeca = new HashMap<>();
+    private final Map<Long, Set<Long>> pecasPorOrcamento = new HashMap<>();
+    private volatile boolean carregado;
+
+    @Autowired
+    public IndiceOrcamentosPorPeca(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Orçamentos que usam ao menos uma das peças informadas.
+     */
+    public Set<Long> orcamentosQueUsam(Collection<Long> pecaIds) {
+        garantirCarregado();
+        aplicarPendentes();
+        Set<Long> orcamentos = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (Long pecaId : pecaIds) {
+                orcamentos.addAll(orcamentosPorPeca.getOrDefault(pecaId, Collections.emptySet()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return orcamentos;
+    }
+
+    /**
+     * Descarta o índice; será recarregado por completo no próximo uso.
+     */
+    public void invalidar() {
+        lock.writeLock().lock();
+        try {
+            orcamentosPorPeca.clear();
+            pecasPorOrcamento.clear();
+            carregado = false;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        // Anotado mesmo antes/durante a carga: a carga limpa as pendências só antes de ler o banco
+        if (evento.entidade() == TipoEntidade.ORCAMENTO) {
+            orcamentosPendentes.add(evento.entidadeId());
+        } else if (evento.entidade() == TipoEntidade.OFICINA) {
+            oficinasPendentes.add(evento.entidadeId());
+        }
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void garantirCarregado() {
+        if (carregado) {
+            return;
+        }
+        synchronized (atualizacaoLock) {
+            if (carregado) {
+                return;
+            }
+            lock.writeLock().lock();
+            try {
+                long inicio = System.currentTimeMillis();
+                // O que for confirmado a partir daqui volta a ser anotado e é reaplicado depois da carga
+                orcamentosPendentes.clear();
+                oficinasPendentes.clear();
+                orcamentosPorPeca.clear();
+                pecasPorOrcamento.clear();
+                jdbcTemplate.query(SQL_PARES, rs -> {
+                    adicionar(rs.getLong(1), rs.getLong(2));
+                });
+                carregado = true;
+                log.info("Índice peça->orçamentos carregado: {} peças, {} orçamentos em {} ms",
+                        orcamentosPorPeca.size(), pecasPorOrcamento.size(), System.currentTimeMillis() - inicio);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    // Reconsulta de uma vez os orçamentos (e os das oficinas) alterados desde a última aplicação
+    private void aplicarPendentes() {
+        if (orcamentosPendentes.isEmpty() && oficinasPendentes.isEmpty()) {
+            return;
+        }
+        synchronized (atualizacaoLock) {
+            try {
+                Set<Long> orcamentos = new HashSet<>(retirar(orcamentosPendentes));
+                List<Long> oficinas = retirar(oficinasPendentes);
+                for (int i = 0; i < oficinas.size(); i += 1000) {
+                    List<Long> bloco = oficinas.subList(i, Math.min(i + 1000, oficinas.size()));
+                    orcamentos.addAll(jdbcTemplate.queryForList(
+                            "SELECT ORCAMENTOS_ID_ORC FROM OFO WHERE OFICINAS_ID_OFIC IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                            Long.class, bloco.toArray()));
+                }
+                // Orçamentos excluídos voltam sem pares e saem do índice
+                recarregarOrcamentos(new ArrayList<>(orcamentos));
+            } catch (RuntimeException e) {
+                // Na dúvida, descarta e recarrega tudo
+                log.warn("Falha ao atualizar índice peça->orçamentos ({}); índice será recarregado.", e.getMessage());
+                invalidar();
+                garantirCarregado();
+            }
+        }
+    }
+
+    private static List<Long> retirar(Set<Long> pendentes) {
+        List<Long> ids = new ArrayList<>();
+        for (Iterator<Long> it = pendentes.iterator(); it.hasNext(); ) {
+            ids.add(it.next());
+            it.remove();
+        }
+        return ids;
+    }
+
+    private void recarregarOrcamentos(List<Long> orcamentoIds) {
+        if (orcamentoIds.isEmpty()) {
+            return;
+        }
+        Map<Long, Set<Long>> novos = new HashMap<>();
+        orcamentoIds.forEach(id -> novos.put(id, new HashSet<>()));
+        for (int i = 0; i < orcamentoIds.size(); i += 1000) {
+            List<Long> bloco = orcamentoIds.subList(i, Math.min(i + 1000, orcamentoIds.size()));
+            jdbcTemplate.query(SQL_PARES + " WHERE ofo.ORCAMENTOS_ID_ORC IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                    rs -> {
+                        novos.get(rs.getLong(1)).add(rs.getLong(2));
+                    }, bloco.toArray());
+        }
+        substituir(novos);
+    }
+
+    private void substituir(Map<Long, Set<Long>> pecasDosOrcamentos) {
+        lock.writeLock().lock();
+        try {
+            pecasDosOrcamentos.forEach((orcamentoId, pecas) -> {
+                Set<Long> anteriores = pecasPorOrcamento.remove(orcamentoId);
+                if (anteriores != null) {
+                    for (Long pecaId : anteriores) {
+                        Set<Long> orcamentos = orcamentosPorPeca.get(pecaId);
+                        if (orcamentos != null && orcamentos.remove(orcamentoId) && orcamentos.isEmpty()) {
+                            orcamentosPorPeca.remove(pecaId);
+                        }
+                    }
+                }
+                pecas.forEach(pecaId -> adicionar(orcamentoId, pecaId));
+            });
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Chamado com o lock de escrita adquirido
+    private void adicionar(Long orcamentoId, Long pecaId) {
+        orcamentosPorPeca.computeIfAbsent(pecaId, k -> new HashSet<>()).add(orcamentoId);
+        pecasPorOrcamento.computeIfAbsent(orcamentoId, k -> new HashSet<>()).add(pecaId);
+    }
+}
@@ -10,17 +10,20 @@ import br.com.fiap.mapper.OficinaMapper; // <<< Import que estava faltando e foi
 // Se ClienteMapper e VeiculoMapper não forem usados diretamente aqui, podem ser removidos dos imports desta classe.
 import br.com.fiap.model.*;
 import br.com.fiap.model.relacionamentos.*;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
 import br.com.fiap.repository.*;
 import br.com.fiap.repository.relacionamentos.*;
 import br.com.fiap.service.oficina.OficinaService;
+import br.com.fiap.service.recebiveis.RecebiveisService;
+import br.com.fiap.service.sincronizacao.SincronizacaoService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.stream.Collectors;
@@ -41,6 +44,8 @@ public class OrcamentoServiceImpl implements OrcamentoService {
     private final ClientesRepository clientesRepository;
     private final VeiculoRepository veiculoRepository;
     private final OficinaVeiculoRepository oficinaVeiculoRepository;
+    private final SincronizacaoService sincronizacaoService;
+    private final RecebiveisService recebiveisService;
 
     @Autowired
     public OrcamentoServiceImpl(OrcamentoRepository orcamentoRepository,
@@ -52,7 +57,9 @@ public class OrcamentoServiceImpl implements OrcamentoService {
                                 ClienteOrcamentoRepository clienteOrcamentoRepository,
                                 ClientesRepository clientesRepository,
                                 VeiculoRepository veiculoRepository,
-                                OficinaVeiculoRepository oficinaVeiculoRepository) {
+                                OficinaVeiculoRepository oficinaVeiculoRepository,
+                                SincronizacaoService sincronizacaoService,
+                                RecebiveisService recebiveisService) {
         this.orcamentoRepository = orcamentoRepository;
         this.orcamentoMapper = orcamentoMapper;
         this.oficinaMapper = oficinaMapper; // Atribuído
@@ -63,6 +70,8 @@ public class OrcamentoServiceImpl implements OrcamentoService {
         this.clientesRepository = clientesRepository;
         this.veiculoRepository = veiculoRepository;
         this.oficinaVeiculoRepository = oficinaVeiculoRepository;
+        this.sincronizacaoService = sincronizacaoService;
+        this.recebiveisService = recebiveisService;
     }
 
     // ... (Restante do código da classe OrcamentoServiceImpl como na resposta anterior) ...
@@ -111,35 +120,33 @@ public class OrcamentoServiceImpl implements OrcamentoService {
             }
         }
 
-        BigDecimal totalCustoPecas = BigDecimal.ZERO;
+        // Soma em centavos (long); só passa para BigDecimal se algum valor exigir
+        Dinheiro.Soma totalCustoPecas = new Dinheiro.Soma();
         if (oficinaEntidade.getOficinaPecas() != null) {
             for (OficinaPeca op : oficinaEntidade.getOficinaPecas()) {
                 if (op.getPeca() != null && op.getPeca().getPreco() != null && op.getQuantidade() != null) {
-                    BigDecimal precoPeca = op.getPeca().getPreco();
-                    BigDecimal quantidadePeca = BigDecimal.valueOf(op.getQuantidade());
-                    totalCustoPecas = totalCustoPecas.add(precoPeca.multiply(quantidadePeca));
+                    totalCustoPecas.somar(op.getPeca().getPreco(), op.getQuantidade());
                 } else {
                     log.warn("Peça ou preço da peça nulo para OficinaPeca ID: {} na Oficina ID: {}", op.getId(), oficinaEntidade.getId());
                 }
             }
         }
-        log.info("Custo total das peças calculado: {}", totalCustoPecas);
+        log.info("Custo total das peças calculado: {}", totalCustoPecas.total());
 
         Orcamento orcamento = orcamentoMapper.fromOrcamentoComServicoDto(dto);
 
-        BigDecimal custoMaoDeObraHoras = BigDecimal.ZERO;
+        Dinheiro.Soma custoMaoDeObraTotal = new Dinheiro.Soma().somar(orcamento.getMaoDeObra());
         if (orcamento.getValorHora() != null && orcamento.getQuantidadeHoras() != null && orcamento.getQuantidadeHoras() >= 0) {
-            custoMaoDeObraHoras = orcamento.getValorHora().multiply(BigDecimal.valueOf(orcamento.getQuantidadeHoras()));
+            custoMaoDeObraTotal.somar(orcamento.getValorHora(), orcamento.getQuantidadeHoras());
         }
-        BigDecimal custoMaoDeObraTotal = (orcamento.getMaoDeObra() != null ? orcamento.getMaoDeObra() : BigDecimal.ZERO).add(custoMaoDeObraHoras);
-        log.info("Custo total da mão de obra calculado: {}", custoMaoDeObraTotal);
+        log.info("Custo total da mão de obra calculado: {}", custoMaoDeObraTotal.total());
 
-        BigDecimal valorTotalOrcamento = custoMaoDeObraTotal.add(totalCustoPecas);
-        orcamento.setValorTotal(valorTotalOrcamento.setScale(2, RoundingMode.HALF_UP));
+        orcamento.setValorTotal(custoMaoDeObraTotal.somar(totalCustoPecas.total()).total());
         log.info("Valor total do orçamento calculado: {}", orcamento.getValorTotal());
 
         Orcamento orcamentoSalvo = orcamentoRepository.save(orcamento);
         log.info("Orçamento salvo com ID: {}", orcamentoSalvo.getId());
+        sincronizacaoService.registrarAlteracao(TipoEntidade.ORCAMENTO, orcamentoSalvo.getId(), TipoOperacao.CRIACAO);
 
         OficinaOrcamento oficinaOrcamento = new OficinaOrcamento();
         oficinaOrcamento.setOficina(oficinaEntidade);
@@ -158,6 +165,8 @@ public class OrcamentoServiceImpl implements OrcamentoService {
             clienteOrcamentoRepository.save(clienteOrcamento);
             log.info("Ligação Cliente-Orçamento criada: Cliente ID {}, Orçamento ID {}", clientePk, orcamentoSalvo.getId());
         }
+        recebiveisService.registrarOrcamento(orcamentoSalvo.getId(), orcamentoSalvo.getDataOrcamento(),
+                orcamentoSalvo.getValorTotal(), dto.getClienteId(), dto.getClienteEnderecoId());
 
         return orcamentoMapper.toResponseDto(orcamentoSalvo);
     }
@@ -168,15 +177,17 @@ public class OrcamentoServiceImpl implements OrcamentoService {
         log.info("Criando novo orçamento (simples)");
         Orcamento orcamento = orcamentoMapper.toEntity(dto);
 
-        BigDecimal maoDeObra = orcamento.getMaoDeObra() != null ? orcamento.getMaoDeObra() : BigDecimal.ZERO;
-        BigDecimal valorHora = orcamento.getValorHora() != null ? orcamento.getValorHora() : BigDecimal.ZERO;
         Integer qtdHoras = orcamento.getQuantidadeHoras() != null ? orcamento.getQuantidadeHoras() : 0;
-
-        BigDecimal custoHoras = valorHora.multiply(BigDecimal.valueOf(qtdHoras));
-        orcamento.setValorTotal(maoDeObra.add(custoHoras).setScale(2, RoundingMode.HALF_UP));
+        orcamento.setValorTotal(new Dinheiro.Soma()
+                .somar(orcamento.getMaoDeObra())
+                .somar(orcamento.getValorHora(), qtdHoras)
+                .total());
 
         Orcamento savedOrcamento = orcamentoRepository.save(orcamento);
         log.info("Orçamento (simples) criado com ID: {}", savedOrcamento.getId());
+        sincronizacaoService.registrarAlteracao(TipoEntidade.ORCAMENTO, savedOrcamento.getId(), TipoOperacao.CRIACAO);
+        recebiveisService.registrarOrcamento(savedOrcamento.getId(), savedOrcamento.getDataOrcamento(),
+                savedOrcamento.getValorTotal(), null, null);
         return orcamentoMapper.toResponseDto(savedOrcamento);
     }
 
@@ -188,15 +199,17 @@ public class OrcamentoServiceImpl implements OrcamentoService {
 
         orcamentoMapper.updateEntityFromDto(dto, existingOrcamento);
 
-        BigDecimal maoDeObra = existingOrcamento.getMaoDeObra() != null ? existingOrcamento.getMaoDeObra() : BigDecimal.ZERO;
-        BigDecimal valorHora = existingOrcamento.getValorHora() != null ? existingOrcamento.getValorHora() : BigDecimal.ZERO;
         Integer qtdHoras = existingOrcamento.getQuantidadeHoras() != null ? existingOrcamento.getQuantidadeHoras() : 0;
-
-        BigDecimal custoHoras = valorHora.multiply(BigDecimal.valueOf(qtdHoras));
-        existingOrcamento.setValorTotal(maoDeObra.add(custoHoras).setScale(2, RoundingMode.HALF_UP));
+        existingOrcamento.setValorTotal(new Dinheiro.Soma()
+                .somar(existingOrcamento.getMaoDeObra())
+                .somar(existingOrcamento.getValorHora(), qtdHoras)
+                .total());
 
         Orcamento updatedOrcamento = orcamentoRepository.save(existingOrcamento);
         log.info("Orçamento (simples) atualizado com ID: {}", updatedOrcamento.getId());
+        sincronizacaoService.registrarAlteracao(TipoEntidade.ORCAMENTO, updatedOrcamento.getId(), TipoOperacao.ATUALIZACAO);
+        recebiveisService.registrarOrcamento(updatedOrcamento.getId(), updatedOrcamento.getDataOrcamento(),
+                updatedOrcamento.getValorTotal(), null, null);
         return orcamentoMapper.toResponseDto(updatedOrcamento);
     }
 
@@ -243,6 +256,8 @@ public class OrcamentoServiceImpl implements OrcamentoService {
         try {
             orcamentoRepository.delete(orcamento);
             log.info("Orçamento deletado com ID: {}", id);
+            sincronizacaoService.registrarAlteracao(TipoEntidade.ORCAMENTO, id, TipoOperacao.EXCLUSAO);
+            recebiveisService.removerOrcamento(id);
         } catch (Exception e) {
             log.error("Erro ao deletar orçamento com ID {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Falha ao deletar orçamento. Pode estar associado a outros registros. ID: " + id, e);
@@ -0,0 +1,14 @@
+// src/main/java/br/com/fiap/service/orcamento/ReprecificacaoOrcamentoService.java
+package br.com.fiap.service.orcamento;
+
+import br.com.fiap.dto.orcamento.RelatorioReprecificacaoDto;
+
+import java.util.Collection;
+
+public interface ReprecificacaoOrcamentoService {
+
+    /**
+     * Recalcula o VALOR_TOTAL dos orçamentos em aberto (sem pagamento vinculado) que usam as peças informadas.
+     */
+    RelatorioReprecificacaoDto reprecificar(Collection<Long> pecaIds);
+}
@@ -0,0 +1,235 @@
+// src/main/java/br/com/fiap/service/orcamento/ReprecificacaoOrcamentoServiceImpl.java
+package br.com.fiap.service.orcamento;
+
+import br.com.fiap.dto.orcamento.RelatorioReprecificacaoDto;
+import br.com.fiap.dto.orcamento.ReprecificacaoOrcamentoDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.service.importacao.LotesJdbc;
+import br.com.fiap.service.pecas.PrecosPecasAlteradosEvent;
+import br.com.fiap.service.recebiveis.RecebiveisService;
+import br.com.fiap.service.sincronizacao.SincronizacaoService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Reprecificação incremental de orçamentos.
+ * <p>
+ * Quando o preço de peças muda, apenas os orçamentos que usam essas peças (via {@link IndiceOrcamentosPorPeca})
+ * e que ainda estão em aberto — sem pagamento vinculado em PAO — são recalculados. Os afetados são divididos em
+ * lotes processados em paralelo; cada lote faz uma consulta agregada do custo das peças e um UPDATE em lote,
+ * condicionado ao valor lido (se o orçamento mudou no meio tempo, a alteração concorrente prevalece).
+ * O cálculo é o mesmo do cadastro ({@link Dinheiro.Soma}): mão de obra + valor hora * horas + soma(preço * quantidade).
+ */
+@Service
+public class ReprecificacaoOrcamentoServiceImpl implements ReprecificacaoOrcamentoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ReprecificacaoOrcamentoServiceImpl.class);
+
+    private static final String SQL_CALCULO = """
+            SELECT o.ID_ORC, o.VALOR_MAODEOBRA, o.VALOR_HORA, o.QUANTIDADE_HORAS, o.VALOR_TOTAL,
+                   (SELECT NVL(SUM(p.PRECO * ofp.QUANTIDADE), 0)
+                      FROM OFO ofo
+                      JOIN OFP ofp ON ofp.OFICINAS_ID_OFIC = ofo.OFICINAS_ID_OFIC
+                      JOIN PECAS p ON p.ID_PEC = ofp.PECAS_ID_PEC
+                     WHERE ofo.ORCAMENTOS_ID_ORC = o.ID_ORC) AS CUSTO_PECAS
+            FROM ORCAMENTOS o
+            WHERE o.ID_ORC IN (%s)
+              AND NOT EXISTS (SELECT 1 FROM PAO pao WHERE pao.ORCAMENTOS_ID_ORC = o.ID_ORC)
+            """;
+    private static final String SQL_UPDATE = "UPDATE ORCAMENTOS SET VALOR_TOTAL = ? WHERE ID_ORC = ? AND VALOR_TOTAL = ?";
+    private static final String SQL_UPDATE_NULO = "UPDATE ORCAMENTOS SET VALOR_TOTAL = ? WHERE ID_ORC = ? AND VALOR_TOTAL IS NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final IndiceOrcamentosPorPeca indice;
+    private final SincronizacaoService sincronizacaoService;
+    private final RecebiveisService recebiveisService;
+
+    @Value("${reprecificacao.threads:4}")
+    private int threads;
+
+    @Value("${reprecificacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    private ExecutorService executorLotes;
+    private ExecutorService executorEventos;
+
+    @Autowired
+    public ReprecificacaoOrcamentoServiceImpl(JdbcTemplate jdbcTemplate,
+                                              PlatformTransactionManager transactionManager,
+                                              IndiceOrcamentosPorPeca indice,
+                                              SincronizacaoService sincronizacaoService,
+                                              RecebiveisService recebiveisService) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Cada lote confirma a sua própria transação (também quando disparado em AFTER_COMMIT)
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.indice = indice;
+        this.sincronizacaoService = sincronizacaoService;
+        this.recebiveisService = recebiveisService;
+    }
+
+    @PostConstruct
+    void iniciar() {
+        executorLotes = Executors.newFixedThreadPool(Math.max(1, threads), r -> {
+            Thread t = new Thread(r, "reprecificacao-lote");
+            t.setDaemon(true);
+            return t;
+        });
+        // Coordena reprecificações disparadas por evento, uma de cada vez, fora da thread da requisição
+        executorEventos = Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "reprecificacao-eventos");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    void encerrar() {
+        executorEventos.shutdownNow();
+        executorLotes.shutdownNow();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarPrecos(PrecosPecasAlteradosEvent evento) {
+        if (evento.pecaIds() == null || evento.pecaIds().isEmpty()) {
+            return;
+        }
+        Set<Long> pecaIds = Set.copyOf(evento.pecaIds());
+        executorEventos.submit(() -> {
+            try {
+                reprecificar(pecaIds);
+            } catch (RuntimeException e) {
+                log.error("Erro na reprecificação automática de orçamentos para peças {}: {}", pecaIds, e.getMessage(), e);
+            }
+        });
+    }
+
+    @Override
+    public RelatorioReprecificacaoDto reprecificar(Collection<Long> pecaIds) {
+        long inicio = System.currentTimeMillis();
+        RelatorioReprecificacaoDto relatorio = new RelatorioReprecificacaoDto();
+        Set<Long> pecas = new HashSet<>(pecaIds);
+        pecas.remove(null);
+        relatorio.setPecasAlteradas(pecas.size());
+
+        List<Long> afetados = new ArrayList<>(indice.orcamentosQueUsam(pecas));
+        Collections.sort(afetados);
+        relatorio.setOrcamentosAfetados(afetados.size());
+        log.info("Reprecificando {} orçamento(s) afetados pela alteração de {} peça(s)", afetados.size(), pecas.size());
+
+        int lote = Math.min(Math.max(1, tamanhoLote), 1000); // limite de itens do IN no Oracle
+        List<Future<ResultadoLote>> futuros = new ArrayList<>();
+        for (int i = 0; i < afetados.size(); i += lote) {
+            List<Long> bloco = afetados.subList(i, Math.min(i + lote, afetados.size()));
+            futuros.add(executorLotes.submit(() -> processarLote(bloco)));
+        }
+
+        int emAberto = 0;
+        try {
+            for (Future<ResultadoLote> futuro : futuros) {
+                ResultadoLote resultado = futuro.get();
+                emAberto += resultado.emAberto();
+                relatorio.getAlteracoes().addAll(resultado.alteracoes());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            futuros.forEach(f -> f.cancel(true));
+            throw new RuntimeException("Reprecificação de orçamentos interrompida", e);
+        } catch (ExecutionException e) {
+            futuros.forEach(f -> f.cancel(true));
+            throw new RuntimeException("Falha ao reprecificar orçamentos", e.getCause());
+        }
+
+        relatorio.setOrcamentosComPagamento(afetados.size() - emAberto);
+        relatorio.setOrcamentosAlterados(relatorio.getAlteracoes().size());
+        for (ReprecificacaoOrcamentoDto alteracao : relatorio.getAlteracoes()) {
+            BigDecimal anterior = alteracao.getValorAnterior() != null ? alteracao.getValorAnterior() : BigDecimal.ZERO;
+            BigDecimal variacao = alteracao.getValorNovo().subtract(anterior);
+            relatorio.setVariacaoTotal(relatorio.getVariacaoTotal().add(variacao));
+            if (variacao.compareTo(relatorio.getMaiorAumento()) > 0) {
+                relatorio.setMaiorAumento(variacao);
+            }
+            if (variacao.compareTo(relatorio.getMaiorReducao()) < 0) {
+                relatorio.setMaiorReducao(variacao);
+            }
+        }
+        relatorio.setDuracaoMs(System.currentTimeMillis() - inicio);
+        log.info("Reprecificação concluída: {} afetados, {} com pagamento, {} alterados em {} ms",
+                relatorio.getOrcamentosAfetados(), relatorio.getOrcamentosComPagamento(),
+                relatorio.getOrcamentosAlterados(), relatorio.getDuracaoMs());
+        return relatorio;
+    }
+
+    // --- Métodos auxiliares ---
+
+    private record ResultadoLote(int emAberto, List<ReprecificacaoOrcamentoDto> alteracoes) {
+    }
+
+    private ResultadoLote processarLote(List<Long> orcamentoIds) {
+        return transactionTemplate.execute(status -> {
+            List<ReprecificacaoOrcamentoDto> calculados = jdbcTemplate.query(
+                    String.format(SQL_CALCULO, LotesJdbc.marcadores(orcamentoIds.size())),
+                    (rs, i) -> {
+                        BigDecimal novo = new Dinheiro.Soma()
+                                .somar(rs.getBigDecimal("VALOR_MAODEOBRA"))
+                                .somar(rs.getBigDecimal("VALOR_HORA"), Math.max(0, rs.getInt("QUANTIDADE_HORAS")))
+                                .somar(rs.getBigDecimal("CUSTO_PECAS"))
+                                .total();
+                        return new ReprecificacaoOrcamentoDto(rs.getLong("ID_ORC"), rs.getBigDecimal("VALOR_TOTAL"), novo);
+                    },
+                    orcamentoIds.toArray());
+
+            List<ReprecificacaoOrcamentoDto> mudaram = calculados.stream()
+                    .filter(c -> c.getValorAnterior() == null || c.getValorAnterior().compareTo(c.getValorNovo()) != 0)
+                    .toList();
+            List<Object[]> comValor = new ArrayList<>();
+            List<Object[]> semValor = new ArrayList<>();
+            for (ReprecificacaoOrcamentoDto c : mudaram) {
+                if (c.getValorAnterior() == null) {
+                    semValor.add(new Object[]{c.getValorNovo(), c.getOrcamentoId()});
+                } else {
+                    comValor.add(new Object[]{c.getValorNovo(), c.getOrcamentoId(), c.getValorAnterior()});
+                }
+            }
+            int[] linhasComValor = comValor.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(SQL_UPDATE, comValor);
+            int[] linhasSemValor = semValor.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(SQL_UPDATE_NULO, semValor);
+
+            // Mantém apenas os orçamentos efetivamente gravados (o UPDATE condicional ignora os alterados em paralelo)
+            List<ReprecificacaoOrcamentoDto> gravados = new ArrayList<>();
+            int ic = 0;
+            int is = 0;
+            for (ReprecificacaoOrcamentoDto c : mudaram) {
+                int linhas = c.getValorAnterior() == null ? linhasSemValor[is++] : linhasComValor[ic++];
+                if (linhas != 0) { // Oracle pode devolver SUCCESS_NO_INFO (-2) em lote
+                    gravados.add(c);
+                    sincronizacaoService.registrarAlteracao(TipoEntidade.ORCAMENTO, c.getOrcamentoId(), TipoOperacao.ATUALIZACAO);
+                }
+            }
+            Map<Long, BigDecimal> novosValores = new HashMap<>();
+            gravados.forEach(g -> novosValores.put(g.getOrcamentoId(), g.getValorNovo()));
+            recebiveisService.atualizarValoresOrcados(novosValores);
+            return new ResultadoLote(calculados.size(), gravados);
+        });
+    }
+}
@@ -2,6 +2,8 @@ package br.com.fiap.service.pagamento;
 
 import br.com.fiap.dto.pagamento.PagamentoRequestDto;
 import br.com.fiap.dto.pagamento.PagamentoResponseDto;
+import br.com.fiap.dto.pagamento.SimulacaoPagamentoRequestDto;
+import br.com.fiap.dto.pagamento.SimulacaoPagamentoResponseDto;
 import org.springframework.data.domain.Page;     // <<< IMPORT Page
 import org.springframework.data.domain.Pageable; // <<< IMPORT Pageable
 import java.math.BigDecimal; // <<< IMPORT BigDecimal
@@ -29,4 +31,7 @@ public interface PagamentoService {
             Pageable pageable   // Para paginação e ordenação
     );
     // ------------------------------------------------------
-}
\ No newline at end of file
+
+    // Simulação de opções (desconto x parcelas) sem gravar nada, com as mesmas regras de arredondamento do cadastro
+    SimulacaoPagamentoResponseDto simular(SimulacaoPagamentoRequestDto dto);
+}
@@ -2,14 +2,24 @@ package br.com.fiap.service.pagamento; // Ou br.com.fiap.service.pagamento.impl
 
 import br.com.fiap.dto.pagamento.PagamentoRequestDto;
 import br.com.fiap.dto.pagamento.PagamentoResponseDto;
+import br.com.fiap.dto.pagamento.SimulacaoPagamentoRequestDto;
+import br.com.fiap.dto.pagamento.SimulacaoPagamentoResponseDto;
+import br.com.fiap.exception.OrcamentoNotFoundException;
 import br.com.fiap.exception.PagamentoNotFoundException;
 import br.com.fiap.mapper.PagamentoMapper; // <<< IMPORTAR O MAPPER
+import br.com.fiap.model.Orcamento;
 import br.com.fiap.model.Pagamento;
+import br.com.fiap.model.relacionamentos.PagamentoOrcamento;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.repository.OrcamentoRepository;
 import br.com.fiap.repository.PagamentoRepository;
 // Remova jakarta.persistence.EntityNotFoundException se PagamentoNotFoundException for sempre usada
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
@@ -17,18 +27,24 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.util.StringUtils;
 import br.com.fiap.repository.specification.PagamentoSpecification; // Para o método findWithFilters
+import br.com.fiap.service.estatistica.EstatisticasPagamentoService;
+import br.com.fiap.service.metricas.ReceitaRegistradaEvent;
+import br.com.fiap.service.recebiveis.RecebiveisService;
+import br.com.fiap.service.sincronizacao.SincronizacaoService;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
 import java.util.stream.Collectors;
 
 @Service
 public class PagamentoServiceImpl implements PagamentoService {
 
     private static final Logger log = LoggerFactory.getLogger(PagamentoServiceImpl.class);
-    private static final BigDecimal CEM = new BigDecimal("100");
     private static final int DEFAULT_SCALE = 2;
     private static final RoundingMode DEFAULT_ROUNDING_MODE = RoundingMode.HALF_UP;
 
@@ -38,6 +54,21 @@ public class PagamentoServiceImpl implements PagamentoService {
     @Autowired
     private PagamentoMapper pagamentoMapper; // <<< INJETAR O MAPPER
 
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private OrcamentoRepository orcamentoRepository;
+
+    @Autowired
+    private RecebiveisService recebiveisService;
+
+    @Autowired
+    private EstatisticasPagamentoService estatisticasPagamentoService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Override
     @Transactional(readOnly = true)
     public List<PagamentoResponseDto> listarTodos() {
@@ -65,10 +96,18 @@ public class PagamentoServiceImpl implements PagamentoService {
         // ou que dependem de outros valores do DTO.
         calculateAndSetDerivedValues(pagamento, dto.getValorServico(), dto.getDescontoPercentual(), dto.getTotalParcelas());
 
-        // Lógica para associar com Cliente/Orçamento (se necessário)...
+        // Vincula ao orçamento (PAO), se informado
+        if (dto.getOrcamentoId() != null) {
+            vincularOrcamento(pagamento, dto.getOrcamentoId());
+        }
 
         Pagamento pagamentoSalvo = pagamentoRepository.save(pagamento);
         log.info("Pagamento cadastrado com sucesso com ID: {}", pagamentoSalvo.getId());
+        atualizarSaldos(pagamentoSalvo, pagamentoSalvo.getTotalComDesconto());
+        estatisticasPagamentoService.registrarPagamento(pagamentoSalvo);
+        eventPublisher.publishEvent(new ReceitaRegistradaEvent(pagamentoSalvo.getDataPagamento(),
+                Dinheiro.centavosArredondados(pagamentoSalvo.getTotalComDesconto()), true));
+        sincronizacaoService.registrarAlteracao(TipoEntidade.PAGAMENTO, pagamentoSalvo.getId(), TipoOperacao.CRIACAO);
         return pagamentoMapper.toResponseDto(pagamentoSalvo); // Usa o mapper
     }
 
@@ -77,6 +116,10 @@ public class PagamentoServiceImpl implements PagamentoService {
     public PagamentoResponseDto alterar(Long id, PagamentoRequestDto dto) {
         log.info("Alterando pagamento com ID: {}", id);
         Pagamento pagamento = findPagamentoByIdOrElseThrow(id);
+        // Registros antigos podem vir sem total: conta como zero nas diferenças abaixo
+        BigDecimal totalAnterior = Objects.requireNonNullElse(pagamento.getTotalComDesconto(), BigDecimal.ZERO);
+        LocalDate dataAnterior = pagamento.getDataPagamento();
+        String tipoAnterior = pagamento.getTipoPagamento();
 
         // Atualiza os campos básicos usando o mapper
         // O PagamentoMapper.updateEntityFromDto já ignora o ID e os campos calculados
@@ -85,10 +128,36 @@ public class PagamentoServiceImpl implements PagamentoService {
         // Recalcula os valores derivados
         calculateAndSetDerivedValues(pagamento, dto.getValorServico(), dto.getDescontoPercentual(), dto.getTotalParcelas());
 
-        // Lógica para atualizar associações (se necessário)...
+        // Orçamentos já vinculados recebem a diferença; um novo vínculo recebe o valor integral
+        atualizarSaldos(pagamento, pagamento.getTotalComDesconto().subtract(totalAnterior));
+        if (dto.getOrcamentoId() != null && pagamento.getPagamentoOrcamentos().stream()
+                .noneMatch(po -> po.getOrcamento().getId().equals(dto.getOrcamentoId()))) {
+            vincularOrcamento(pagamento, dto.getOrcamentoId());
+            recebiveisService.registrarPagamento(dto.getOrcamentoId(), pagamento.getTotalComDesconto());
+        }
+
+        // Sketches não removem itens: as células antiga e nova são reconstruídas na próxima consulta
+        if (totalAnterior.compareTo(pagamento.getTotalComDesconto()) != 0
+                || !Objects.equals(dataAnterior, pagamento.getDataPagamento())
+                || !Objects.equals(tipoAnterior, pagamento.getTipoPagamento())) {
+            estatisticasPagamentoService.marcarDesatualizado(dataAnterior, tipoAnterior);
+            estatisticasPagamentoService.marcarDesatualizado(pagamento.getDataPagamento(), pagamento.getTipoPagamento());
+        }
 
         Pagamento pagamentoAtualizado = pagamentoRepository.save(pagamento);
         log.info("Pagamento ID: {} alterado com sucesso.", id);
+        long centavosAnteriores = Dinheiro.centavosArredondados(totalAnterior);
+        long centavosAtuais = Dinheiro.centavosArredondados(pagamento.getTotalComDesconto());
+        if (Objects.equals(dataAnterior, pagamento.getDataPagamento())) {
+            eventPublisher.publishEvent(new ReceitaRegistradaEvent(dataAnterior, centavosAtuais - centavosAnteriores, false));
+        } else {
+            // A receita sai do dia antigo e entra no novo
+            if (dataAnterior != null) {
+                eventPublisher.publishEvent(new ReceitaRegistradaEvent(dataAnterior, -centavosAnteriores, false));
+            }
+            eventPublisher.publishEvent(new ReceitaRegistradaEvent(pagamento.getDataPagamento(), centavosAtuais, false));
+        }
+        sincronizacaoService.registrarAlteracao(TipoEntidade.PAGAMENTO, id, TipoOperacao.ATUALIZACAO);
         return pagamentoMapper.toResponseDto(pagamentoAtualizado); // Usa o mapper
     }
 
@@ -96,11 +165,16 @@ public class PagamentoServiceImpl implements PagamentoService {
     @Transactional
     public void deletar(Long id) {
         log.info("Deletando pagamento com ID: {}", id);
-        if (!pagamentoRepository.existsById(id)) {
-            throw new PagamentoNotFoundException("Pagamento não encontrado para exclusão com ID: " + id);
-        }
-        pagamentoRepository.deleteById(id);
+        Pagamento pagamento = pagamentoRepository.findById(id)
+                .orElseThrow(() -> new PagamentoNotFoundException("Pagamento não encontrado para exclusão com ID: " + id));
+        estatisticasPagamentoService.marcarDesatualizado(pagamento.getDataPagamento(), pagamento.getTipoPagamento());
+        pagamentoRepository.delete(pagamento);
+        // Depois da exclusão: se o orçamento ainda não tiver linha de saldo, a origem já não conta este pagamento
+        atualizarSaldos(pagamento, pagamento.getTotalComDesconto().negate());
         log.info("Pagamento ID: {} deletado com sucesso.", id);
+        eventPublisher.publishEvent(new ReceitaRegistradaEvent(pagamento.getDataPagamento(),
+                -Dinheiro.centavosArredondados(pagamento.getTotalComDesconto()), false));
+        sincronizacaoService.registrarAlteracao(TipoEntidade.PAGAMENTO, id, TipoOperacao.EXCLUSAO);
     }
 
     @Override
@@ -128,7 +202,48 @@ public class PagamentoServiceImpl implements PagamentoService {
         return paginaPagamentos.map(pagamentoMapper::toResponseDto); // Usa o mapper
     }
 
+    @Override
+    public SimulacaoPagamentoResponseDto simular(SimulacaoPagamentoRequestDto dto) {
+        // Normaliza a grade: sem repetições e em ordem crescente
+        List<BigDecimal> descontos = new ArrayList<>(new TreeSet<>(dto.getDescontosPercentuais())); // compareTo: 10 == 10.00
+        List<Integer> parcelas = dto.getParcelas().stream().distinct().sorted().collect(Collectors.toList());
+        log.info("Simulando {} opções de pagamento para valor {}", descontos.size() * parcelas.size(), dto.getValorServico());
+
+        List<BigDecimal> totais = new ArrayList<>(descontos.size());
+        List<List<BigDecimal>> valoresParcelas = new ArrayList<>(descontos.size());
+        for (BigDecimal desconto : descontos) {
+            // Mesmo cálculo de calculateAndSetDerivedValues; o total é calculado uma vez por desconto
+            BigDecimal total = Dinheiro.aplicarDesconto(dto.getValorServico(), desconto);
+            List<BigDecimal> linha = new ArrayList<>(parcelas.size());
+            for (Integer quantidade : parcelas) {
+                linha.add(Dinheiro.dividir(total, quantidade));
+            }
+            totais.add(total);
+            valoresParcelas.add(linha);
+        }
+        return new SimulacaoPagamentoResponseDto(dto.getValorServico(), descontos, parcelas, totais, valoresParcelas);
+    }
+
     // --- Métodos Auxiliares ---
+    private void vincularOrcamento(Pagamento pagamento, Long orcamentoId) {
+        Orcamento orcamento = orcamentoRepository.findById(orcamentoId)
+                .orElseThrow(() -> new OrcamentoNotFoundException("Orçamento não encontrado com ID: " + orcamentoId));
+        PagamentoOrcamento pagamentoOrcamento = new PagamentoOrcamento();
+        pagamentoOrcamento.setPagamento(pagamento);
+        pagamentoOrcamento.setOrcamento(orcamento);
+        pagamento.getPagamentoOrcamentos().add(pagamentoOrcamento); // Persistido em cascata
+    }
+
+    // Aplica a variação do valor pago aos orçamentos vinculados (saldos a receber)
+    private void atualizarSaldos(Pagamento pagamento, BigDecimal variacao) {
+        if (pagamento.getPagamentoOrcamentos() == null) {
+            return;
+        }
+        for (PagamentoOrcamento po : pagamento.getPagamentoOrcamentos()) {
+            recebiveisService.registrarPagamento(po.getOrcamento().getId(), variacao);
+        }
+    }
+
     private Pagamento findPagamentoByIdOrElseThrow(Long id) {
         return pagamentoRepository.findById(id)
                 .orElseThrow(() -> new PagamentoNotFoundException("Pagamento não encontrado com ID: " + id));
@@ -149,32 +264,23 @@ public class PagamentoServiceImpl implements PagamentoService {
         // pagamento.setDataPagamento(dto.getDataPagamento());
         // pagamento.setTipoPagamento(dto.getTipoPagamento());
         // pagamento.setDesconto(descontoPercentualInput); // Armazena %
-        // pagamento.setTotalParcelas(String.valueOf(totalParcelasInput)); // O mapper já fez a conversão Integer para String
+        // pagamento.setTotalParcelas(totalParcelasInput); // Integer direto (o ParcelasConverter grava como texto)
 
         BigDecimal descontoPercentual = pagamento.getDesconto(); // Pega o que o mapper passou
-        Integer totalParcelasInt;
-        try {
-            totalParcelasInt = Integer.parseInt(pagamento.getTotalParcelas());
-        } catch (NumberFormatException e) {
-            log.warn("Total de parcelas inválido na entidade: '{}'. Usando 1.", pagamento.getTotalParcelas());
+        Integer totalParcelasInt = pagamento.getTotalParcelas();
+        if (totalParcelasInt == null || totalParcelasInt < 1) {
+            log.warn("Total de parcelas inválido na entidade: '{}'. Usando 1.", totalParcelasInt);
             totalParcelasInt = 1;
-            pagamento.setTotalParcelas("1"); // Corrige na entidade também
+            pagamento.setTotalParcelas(1); // Corrige na entidade também
         }
-        if (totalParcelasInt < 1) totalParcelasInt = 1;
-
 
         BigDecimal totalComDescontoCalculado;
         BigDecimal valorParcelaCalculado;
 
         if (valorServico != null && valorServico.compareTo(BigDecimal.ZERO) > 0) {
-            BigDecimal fatorDesconto = BigDecimal.ONE.subtract(
-                    descontoPercentual.divide(CEM, 4, DEFAULT_ROUNDING_MODE)
-            );
-            totalComDescontoCalculado = valorServico.multiply(fatorDesconto)
-                    .setScale(DEFAULT_SCALE, DEFAULT_ROUNDING_MODE);
-            valorParcelaCalculado = totalComDescontoCalculado.divide(
-                    BigDecimal.valueOf(totalParcelasInt), DEFAULT_SCALE, DEFAULT_ROUNDING_MODE
-            );
+            // Centavos em long (mesmo arredondamento HALF_UP do cálculo em BigDecimal)
+            totalComDescontoCalculado = Dinheiro.aplicarDesconto(valorServico, descontoPercentual);
+            valorParcelaCalculado = Dinheiro.dividir(totalComDescontoCalculado, totalParcelasInt);
         } else {
             totalComDescontoCalculado = BigDecimal.ZERO.setScale(DEFAULT_SCALE, DEFAULT_ROUNDING_MODE);
             valorParcelaCalculado = BigDecimal.ZERO.setScale(DEFAULT_SCALE, DEFAULT_ROUNDING_MODE);
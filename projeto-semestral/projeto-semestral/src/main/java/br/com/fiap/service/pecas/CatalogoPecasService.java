@@ -0,0 +1,23 @@
+// src/main/java/br/com/fiap/service/pecas/CatalogoPecasService.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.pecas.CatalogoPecasDto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public interface CatalogoPecasService {
+
+    /** Indica se o índice em memória já foi carregado (antes disso a busca consulta o banco). */
+    boolean disponivel();
+
+    /**
+     * Busca no catálogo em memória: termos (prefixos) na descrição, fabricantes, tipos de veículo e faixa de
+     * preço, todos opcionais. Ordenação: "descricao" (padrão), "preco" ou "-preco". Página começa em 0.
+     */
+    CatalogoPecasDto buscar(String texto, List<String> fabricantes, List<String> tiposVeiculo,
+                            BigDecimal precoMinimo, BigDecimal precoMaximo, String ordenacao, int pagina, int tamanho);
+
+    /** Reconstrói o índice a partir do banco e espera terminar (também executado periodicamente em segundo plano). */
+    void reconstruir();
+}
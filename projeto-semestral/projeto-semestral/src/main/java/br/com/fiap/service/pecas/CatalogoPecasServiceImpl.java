@@ -0,0 +1,299 @@
+// src/main/java/br/com/fiap/service/pecas/CatalogoPecasServiceImpl.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.pecas.CatalogoPecasDto;
+import br.com.fiap.dto.pecas.PecasResponseDto;
+import br.com.fiap.model.valores.Dinheiro;
+import br.com.fiap.service.busca.IndiceEmSegundoPlano;
+import br.com.fiap.service.importacao.LotesJdbc;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Busca facetada no catálogo de peças, servida do {@link IndiceCatalogoPecas} em memória.
+ * <p>
+ * O índice é mantido pelo {@link IndiceEmSegundoPlano}: construído em segundo plano quando a aplicação sobe,
+ * reconstruído periodicamente (catalogo.reconstrucao-minutos) e corrigido a partir dos {@link PecasAlteradasEvent}
+ * confirmados, relendo as peças alteradas e as inseridas desde a carga que ainda não estão nele. Até a primeira
+ * carga terminar, a busca é respondida direto de PECAS (mesmos filtros, facetas por GROUP BY; os termos viram
+ * LIKE, sem normalizar acentos). O resultado e as facetas de cada busca ficam no cache LRU do próprio índice
+ * (catalogo.cache-consultas), limpo a cada alteração; uma reconstrução começa com o cache vazio.
+ */
+@Service
+public class CatalogoPecasServiceImpl implements CatalogoPecasService {
+
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+    private static final int LOTE_IN = 1000;
+    private static final int MAX_TAMANHO_PAGINA = 200;
+    private static final String ORDENACAO_PADRAO = "descricao";
+
+    private static final String SQL_PECAS =
+            "SELECT ID_PEC, TIPO_VEICULO, FABRICANTE, DESCRICA_PECA, DATA_COMPRA, PRECO, DESCONTO, TOTAL_DESCONTO FROM PECAS";
+    private static final String SQL_IDS_DESDE_CARGA = "SELECT ID_PEC FROM PECAS WHERE ID_PEC > ?";
+
+    private static final Map<String, IndiceCatalogoPecas.Ordenacao> ORDENACOES = Map.of(
+            "descricao", IndiceCatalogoPecas.Ordenacao.DESCRICAO,
+            "preco", IndiceCatalogoPecas.Ordenacao.PRECO,
+            "-preco", IndiceCatalogoPecas.Ordenacao.PRECO_DECRESCENTE);
+    private static final Map<IndiceCatalogoPecas.Ordenacao, String> ORDER_BY = Map.of(
+            IndiceCatalogoPecas.Ordenacao.DESCRICAO, "LOWER(DESCRICA_PECA), ID_PEC",
+            IndiceCatalogoPecas.Ordenacao.PRECO, "ROUND(PRECO, 2), ID_PEC",
+            IndiceCatalogoPecas.Ordenacao.PRECO_DECRESCENTE, "ROUND(PRECO, 2) DESC, ID_PEC DESC");
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int maxConsultasEmCache;
+    private final IndiceEmSegundoPlano<IndiceCatalogoPecas> indice;
+
+    @Autowired
+    public CatalogoPecasServiceImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${catalogo.reconstrucao-minutos:60}") long reconstrucaoMinutos,
+                                    @Value("${catalogo.cache-consultas:256}") int maxConsultasEmCache) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maxConsultasEmCache = maxConsultasEmCache;
+        this.indice = new IndiceEmSegundoPlano<>("catalogo-pecas", "catálogo de peças", reconstrucaoMinutos,
+                new IndiceEmSegundoPlano.Fonte<>() {
+                    @Override
+                    public IndiceCatalogoPecas carregar() {
+                        return carregarIndice();
+                    }
+
+                    @Override
+                    public void aplicar(IndiceCatalogoPecas alvo, Collection<Long> ids) {
+                        aplicarAlteracoes(alvo, ids);
+                    }
+                }, IndiceCatalogoPecas::tamanho);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        indice.encerrar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void agendarReconstrucao() {
+        indice.agendar();
+    }
+
+    @Override
+    public boolean disponivel() {
+        return indice.disponivel();
+    }
+
+    @Override
+    public CatalogoPecasDto buscar(String texto, List<String> fabricantes, List<String> tiposVeiculo,
+                                   BigDecimal precoMinimo, BigDecimal precoMaximo, String ordenacao, int pagina, int tamanho) {
+        long inicio = System.nanoTime();
+        if (pagina < 0) {
+            throw new IllegalArgumentException("A página deve ser maior ou igual a zero.");
+        }
+        if (tamanho < 1 || tamanho > MAX_TAMANHO_PAGINA) {
+            throw new IllegalArgumentException("O tamanho da página deve estar entre 1 e " + MAX_TAMANHO_PAGINA + ".");
+        }
+        if (precoMinimo != null && precoMaximo != null && precoMinimo.compareTo(precoMaximo) > 0) {
+            throw new IllegalArgumentException("O preço mínimo não pode ser maior que o preço máximo.");
+        }
+        String chaveOrdenacao = ordenacao == null || ordenacao.isBlank() ? ORDENACAO_PADRAO : ordenacao.trim().toLowerCase(Locale.ROOT);
+        IndiceCatalogoPecas.Ordenacao ordem = ORDENACOES.get(chaveOrdenacao);
+        if (ordem == null) {
+            throw new IllegalArgumentException("Ordenação inválida: '" + ordenacao + "'. Use descricao, preco ou -preco.");
+        }
+
+        IndiceCatalogoPecas.Consulta consulta = new IndiceCatalogoPecas.Consulta(IndiceCatalogoPecas.termos(texto),
+                conjunto(fabricantes), conjunto(tiposVeiculo),
+                precoMinimo != null ? Dinheiro.centavosArredondados(precoMinimo) : Long.MIN_VALUE,
+                precoMaximo != null ? Dinheiro.centavosArredondados(precoMaximo) : Long.MAX_VALUE);
+        int de = (int) Math.min((long) pagina * tamanho, Integer.MAX_VALUE);
+        IndiceCatalogoPecas atual = indice.atual();
+        if (atual == null) {
+            return buscarNoBanco(consulta, ordem, de, pagina, tamanho, inicio);
+        }
+        IndiceCatalogoPecas.Pagina resultado = atual.buscar(consulta, ordem, de, tamanho);
+
+        List<PecasResponseDto> itens = resultado.pecas().stream()
+                .map(CatalogoPecasServiceImpl::toDto)
+                .toList();
+        return new CatalogoPecasDto(resultado.total(), pagina, tamanho, itens, resultado.facetasFabricante(),
+                resultado.facetasTipoVeiculo(),
+                resultado.precoMinimo() != null ? Dinheiro.valor(resultado.precoMinimo()) : null,
+                resultado.precoMaximo() != null ? Dinheiro.valor(resultado.precoMaximo()) : null,
+                atual.tamanho(), indice.carregadoEm(), (System.nanoTime() - inicio) / 1000);
+    }
+
+    @Override
+    public void reconstruir() {
+        indice.reconstruir();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarPecas(PecasAlteradasEvent evento) {
+        indice.alterados(evento.pecaIds());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private IndiceCatalogoPecas carregarIndice() {
+        List<IndiceCatalogoPecas.Peca> pecas = new ArrayList<>();
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(SQL_PECAS);
+            ps.setFetchSize(TAMANHO_LOTE_CARGA);
+            return ps;
+        }, (ResultSet rs) -> {
+            pecas.add(lerPeca(rs));
+        });
+        return new IndiceCatalogoPecas(pecas, maxConsultasEmCache);
+    }
+
+    // Relê as peças informadas (as que sumiram do banco são retiradas) e as inseridas desde a carga que o índice
+    // ainda não tem: um commit fora da ordem dos IDs deixaria a peça abaixo do maior ID já indexado
+    private void aplicarAlteracoes(IndiceCatalogoPecas alvo, Collection<Long> pecaIds) {
+        Set<Long> alvos = new LinkedHashSet<>(pecaIds);
+        for (Long id : jdbcTemplate.queryForList(SQL_IDS_DESDE_CARGA, Long.class, alvo.maiorIdDaCarga())) {
+            if (!alvo.contem(id)) {
+                alvos.add(id);
+            }
+        }
+        List<Long> ids = new ArrayList<>(alvos);
+        List<IndiceCatalogoPecas.Peca> lidas = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            List<Long> bloco = ids.subList(i, Math.min(i + LOTE_IN, ids.size()));
+            jdbcTemplate.query(SQL_PECAS + " WHERE ID_PEC IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                    (ResultSet rs) -> {
+                        lidas.add(lerPeca(rs));
+                    }, bloco.toArray());
+        }
+        Set<Long> encontradas = new HashSet<>();
+        lidas.forEach(p -> encontradas.add(p.id()));
+        List<Long> removidas = ids.stream().filter(id -> !encontradas.contains(id)).toList();
+        if (!lidas.isEmpty() || !removidas.isEmpty()) {
+            alvo.atualizar(lidas, removidas);
+        }
+    }
+
+    private CatalogoPecasDto buscarNoBanco(IndiceCatalogoPecas.Consulta consulta, IndiceCatalogoPecas.Ordenacao ordem,
+                                           int de, int pagina, int tamanho, long inicio) {
+        List<Object> parametros = new ArrayList<>();
+        String base = filtroBase(consulta, parametros);
+        List<Object> parametrosFabricante = new ArrayList<>();
+        String fabricante = filtroIn("FABRICANTE", consulta.fabricantes(), parametrosFabricante);
+        List<Object> parametrosTipo = new ArrayList<>();
+        String tipo = filtroIn("TIPO_VEICULO", consulta.tiposVeiculo(), parametrosTipo);
+
+        String where = " WHERE " + base + fabricante + tipo;
+        List<Object> todos = concatenar(parametros, parametrosFabricante, parametrosTipo);
+        Map<String, Object> totais = jdbcTemplate.queryForMap(
+                "SELECT COUNT(*) AS TOTAL, MIN(ROUND(PRECO, 2)) AS MINIMO, MAX(ROUND(PRECO, 2)) AS MAXIMO FROM PECAS"
+                        + where, todos.toArray());
+        int total = ((Number) totais.get("TOTAL")).intValue();
+        BigDecimal minimo = (BigDecimal) totais.get("MINIMO");
+        BigDecimal maximo = (BigDecimal) totais.get("MAXIMO");
+
+        // Como no índice: a faceta de fabricante ignora o próprio filtro de fabricante (e vice-versa)
+        Map<String, Integer> facetasFabricante = facetas("FABRICANTE", " WHERE " + base + tipo,
+                concatenar(parametros, parametrosTipo));
+        Map<String, Integer> facetasTipo = facetas("TIPO_VEICULO", " WHERE " + base + fabricante,
+                concatenar(parametros, parametrosFabricante));
+
+        List<PecasResponseDto> itens = new ArrayList<>();
+        if (de < total) {
+            List<Object> paginados = new ArrayList<>(todos);
+            paginados.add(de);
+            paginados.add(tamanho);
+            jdbcTemplate.query(SQL_PECAS + where + " ORDER BY " + ORDER_BY.get(ordem)
+                    + " OFFSET ? ROWS FETCH NEXT ? ROWS ONLY", (ResultSet rs) -> {
+                itens.add(toDto(lerPeca(rs)));
+            }, paginados.toArray());
+        }
+        return new CatalogoPecasDto(total, pagina, tamanho, itens, facetasFabricante, facetasTipo,
+                minimo != null ? minimo.setScale(2, RoundingMode.HALF_UP) : null,
+                maximo != null ? maximo.setScale(2, RoundingMode.HALF_UP) : null,
+                0, null, (System.nanoTime() - inicio) / 1000);
+    }
+
+    // Texto e faixa de preço (comuns às facetas); "1 = 1" para os filtros seguintes começarem com AND
+    private static String filtroBase(IndiceCatalogoPecas.Consulta consulta, List<Object> parametros) {
+        StringBuilder sql = new StringBuilder("1 = 1");
+        for (String termo : consulta.termos()) {
+            sql.append(" AND LOWER(DESCRICA_PECA) LIKE ?");
+            parametros.add("%" + termo + "%");
+        }
+        if (consulta.precoMinimo() > Long.MIN_VALUE) {
+            sql.append(" AND ROUND(PRECO, 2) >= ?");
+            parametros.add(Dinheiro.valor(consulta.precoMinimo()));
+        }
+        if (consulta.precoMaximo() < Long.MAX_VALUE) {
+            sql.append(" AND ROUND(PRECO, 2) <= ?");
+            parametros.add(Dinheiro.valor(consulta.precoMaximo()));
+        }
+        return sql.toString();
+    }
+
+    private static String filtroIn(String coluna, Set<String> valores, List<Object> parametros) {
+        if (valores.isEmpty()) {
+            return "";
+        }
+        parametros.addAll(valores);
+        return " AND " + coluna + " IN (" + LotesJdbc.marcadores(valores.size()) + ")";
+    }
+
+    private Map<String, Integer> facetas(String coluna, String where, List<Object> parametros) {
+        Map<String, Integer> facetas = new LinkedHashMap<>();
+        jdbcTemplate.query("SELECT " + coluna + " AS VALOR, COUNT(*) AS QUANTIDADE FROM PECAS" + where
+                + " GROUP BY " + coluna + " ORDER BY QUANTIDADE DESC, VALOR", (ResultSet rs) -> {
+            facetas.put(rs.getString("VALOR"), rs.getInt("QUANTIDADE"));
+        }, parametros.toArray());
+        return Collections.unmodifiableMap(facetas);
+    }
+
+    @SafeVarargs
+    private static List<Object> concatenar(List<Object>... listas) {
+        List<Object> todos = new ArrayList<>();
+        for (List<Object> lista : listas) {
+            todos.addAll(lista);
+        }
+        return todos;
+    }
+
+    private static Set<String> conjunto(List<String> valores) {
+        if (valores == null) {
+            return Set.of();
+        }
+        Set<String> conjunto = new HashSet<>();
+        valores.stream().filter(Objects::nonNull).map(String::trim).filter(v -> !v.isEmpty()).forEach(conjunto::add);
+        return conjunto;
+    }
+
+    private static IndiceCatalogoPecas.Peca lerPeca(ResultSet rs) throws SQLException {
+        BigDecimal preco = rs.getBigDecimal("PRECO");
+        java.sql.Date dataCompra = rs.getDate("DATA_COMPRA");
+        return new IndiceCatalogoPecas.Peca(rs.getLong("ID_PEC"), rs.getString("TIPO_VEICULO"), rs.getString("FABRICANTE"),
+                rs.getString("DESCRICA_PECA"), dataCompra != null ? dataCompra.toLocalDate() : null, preco,
+                rs.getBigDecimal("DESCONTO"), rs.getBigDecimal("TOTAL_DESCONTO"), Dinheiro.centavosArredondados(preco));
+    }
+
+    private static PecasResponseDto toDto(IndiceCatalogoPecas.Peca p) {
+        PecasResponseDto dto = new PecasResponseDto();
+        dto.setId(p.id());
+        dto.setTipoVeiculo(p.tipoVeiculo());
+        dto.setFabricante(p.fabricante());
+        dto.setDescricao(p.descricao());
+        dto.setDataCompra(p.dataCompra());
+        dto.setPreco(p.preco());
+        dto.setDesconto(p.desconto());
+        dto.setTotalDesconto(p.totalDesconto());
+        return dto;
+    }
+}
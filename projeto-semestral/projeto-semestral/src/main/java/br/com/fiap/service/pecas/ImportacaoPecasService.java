@@ -0,0 +1,17 @@
+// src/main/java/br/com/fiap/service/pecas/ImportacaoPecasService.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.pecas.RelatorioImportacaoPecasDto;
+import br.com.fiap.service.importacao.FormatoImportacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacaoPecasService {
+
+    /**
+     * Importa a tabela de preços do fornecedor (array JSON ou CSV), casando as peças por
+     * (fabricante, descrição, tipo de veículo): insere as novas e atualiza as que mudaram de preço/desconto.
+     */
+    RelatorioImportacaoPecasDto importar(InputStream entrada, FormatoImportacao formato) throws IOException;
+}
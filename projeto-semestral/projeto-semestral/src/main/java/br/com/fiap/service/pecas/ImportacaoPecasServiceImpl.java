@@ -0,0 +1,247 @@
+// src/main/java/br/com/fiap/service/pecas/ImportacaoPecasServiceImpl.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+import br.com.fiap.dto.pecas.AlteracaoPrecoPecaDto;
+import br.com.fiap.dto.pecas.PecaImportacaoDto;
+import br.com.fiap.dto.pecas.RelatorioImportacaoPecasDto;
+import br.com.fiap.service.importacao.AcumuladorImportacao;
+import br.com.fiap.service.importacao.FormatoImportacao;
+import br.com.fiap.service.importacao.LeitorImportacao;
+import br.com.fiap.service.importacao.LotesJdbc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Importação da tabela de preços de peças.
+ * <p>
+ * O catálogo atual é carregado uma única vez em um mapa (fabricante, descrição, tipo de veículo) -> peça,
+ * de forma que cada linha do arquivo é classificada em memória como nova, alterada ou inalterada.
+ * Novas e alteradas são gravadas com um batch de INSERT e um de UPDATE por lote, cada lote em sua transação.
+ * Ao final, as peças cujo PRECO mudou são publicadas em um {@link PrecosPecasAlteradosEvent} (as que só mudaram o
+ * desconto não afetam o valor dos orçamentos e ficam de fora), e todas as alteradas e novas em um
+ * {@link PecasAlteradasEvent}.
+ * <p>
+ * Colunas do CSV: tipoVeiculo, fabricante, descricao, dataCompra, preco, desconto.
+ */
+@Service
+public class ImportacaoPecasServiceImpl implements ImportacaoPecasService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoPecasServiceImpl.class);
+
+    private static final int ESCALA = 2;
+    // ID_PEC é preenchido pela trigger PECAS_ID_PEC_TRG
+    private static final String SQL_INSERT = "INSERT INTO PECAS (TIPO_VEICULO, FABRICANTE, DESCRICA_PECA, DATA_COMPRA, PRECO, DESCONTO, TOTAL_DESCONTO) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String SQL_UPDATE = "UPDATE PECAS SET DATA_COMPRA = ?, PRECO = ?, DESCONTO = ?, TOTAL_DESCONTO = ? WHERE ID_PEC = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${importacao.max-erros-relatorio:1000}")
+    private int maxErrosRelatorio;
+
+    @Autowired
+    public ImportacaoPecasServiceImpl(JdbcTemplate jdbcTemplate,
+                                      PlatformTransactionManager transactionManager,
+                                      Validator validator,
+                                      ObjectMapper objectMapper,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record PecaAtual(long id, BigDecimal preco, BigDecimal desconto, BigDecimal totalDesconto) {
+    }
+
+    private record LinhaPeca(long linha, PecaImportacaoDto dto, BigDecimal preco, BigDecimal desconto,
+                             BigDecimal totalDesconto, PecaAtual atual) {
+    }
+
+    @Override
+    public RelatorioImportacaoPecasDto importar(InputStream entrada, FormatoImportacao formato) throws IOException {
+        log.info("Iniciando importação do catálogo de peças (formato {}, lotes de {})", formato, tamanhoLote);
+        int tamanho = Math.max(1, tamanhoLote);
+        AcumuladorImportacao acumulador = new AcumuladorImportacao(maxErrosRelatorio);
+        Map<String, PecaAtual> catalogo = carregarCatalogo();
+        Map<String, Long> chavesNoArquivo = new HashMap<>();
+        List<LinhaPeca> lote = new ArrayList<>(tamanho);
+        List<AlteracaoPrecoPecaDto> alteracoesPreco = new ArrayList<>();
+        Set<Long> atualizadas = new LinkedHashSet<>();
+        LocalDate hoje = LocalDate.now();
+
+        LeitorImportacao.ler(entrada, formato, objectMapper, PecaImportacaoDto.class, ImportacaoPecasServiceImpl::deCsv,
+                (linha, dto) -> {
+                    acumulador.linhaLida();
+                    String erro = LeitorImportacao.validar(validator, dto);
+                    if (erro != null) {
+                        acumulador.rejeitar(linha, dto.getDescricao(), erro);
+                        return;
+                    }
+                    String chave = chave(dto.getFabricante(), dto.getDescricao(), dto.getTipoVeiculo());
+                    BigDecimal preco = dto.getPreco().setScale(ESCALA, RoundingMode.HALF_UP);
+                    BigDecimal desconto = (dto.getDesconto() != null ? dto.getDesconto() : BigDecimal.ZERO).setScale(ESCALA, RoundingMode.HALF_UP);
+                    if (desconto.compareTo(preco) > 0) {
+                        acumulador.rejeitar(linha, chave, "Desconto maior que o preço.");
+                        return;
+                    }
+                    Long linhaAnterior = chavesNoArquivo.putIfAbsent(chave, linha);
+                    if (linhaAnterior != null) {
+                        acumulador.rejeitar(linha, chave, "Peça repetida no arquivo (linha " + linhaAnterior + ").");
+                        return;
+                    }
+                    if (dto.getDataCompra() == null) {
+                        dto.setDataCompra(hoje);
+                    }
+                    PecaAtual atual = catalogo.get(chave);
+                    if (atual != null && atual.preco().compareTo(preco) == 0 && atual.desconto().compareTo(desconto) == 0) {
+                        acumulador.inalteradas(1);
+                        return;
+                    }
+                    lote.add(new LinhaPeca(linha, dto, preco, desconto, preco.subtract(desconto), atual));
+                    if (lote.size() >= tamanho) {
+                        gravarLote(lote, acumulador, atualizadas, alteracoesPreco);
+                        lote.clear();
+                    }
+                },
+                (linha, mensagem) -> {
+                    acumulador.linhaLida();
+                    acumulador.rejeitar(linha, null, mensagem);
+                });
+        if (!lote.isEmpty()) {
+            gravarLote(lote, acumulador, atualizadas, alteracoesPreco);
+        }
+
+        RelatorioImportacaoDto relatorio = acumulador.gerar();
+        log.info("Importação de peças concluída: {} linhas, {} novas, {} atualizadas ({} com preço alterado), {} inalteradas, {} rejeitadas em {} ms ({} linhas/s)",
+                relatorio.getTotalLinhas(), relatorio.getInseridas(), relatorio.getAtualizadas(), alteracoesPreco.size(),
+                relatorio.getInalteradas(), relatorio.getRejeitadas(), relatorio.getDuracaoMs(), relatorio.getLinhasPorSegundo());
+        Set<Long> precoAlterado = new LinkedHashSet<>();
+        alteracoesPreco.forEach(a -> precoAlterado.add(a.getPecaId()));
+        if (!precoAlterado.isEmpty()) {
+            eventPublisher.publishEvent(new PrecosPecasAlteradosEvent(precoAlterado));
+        }
+        if (!atualizadas.isEmpty() || relatorio.getInseridas() > 0) {
+            // As novas não têm ID conhecido aqui (trigger): o catálogo confere os IDs acima da sua última carga
+            eventPublisher.publishEvent(new PecasAlteradasEvent(atualizadas));
+        }
+        return new RelatorioImportacaoPecasDto(relatorio, alteracoesPreco);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Map<String, PecaAtual> carregarCatalogo() {
+        Map<String, PecaAtual> catalogo = new HashMap<>();
+        jdbcTemplate.query("SELECT ID_PEC, TIPO_VEICULO, FABRICANTE, DESCRICA_PECA, PRECO, DESCONTO, TOTAL_DESCONTO FROM PECAS ORDER BY ID_PEC",
+                rs -> {
+                    // Em caso de peças duplicadas no cadastro, vale a mais antiga
+                    catalogo.putIfAbsent(chave(rs.getString(3), rs.getString(4), rs.getString(2)),
+                            new PecaAtual(rs.getLong(1), rs.getBigDecimal(5), rs.getBigDecimal(6), rs.getBigDecimal(7)));
+                });
+        log.debug("Catálogo atual carregado: {} peças", catalogo.size());
+        return catalogo;
+    }
+
+    private void gravarLote(List<LinhaPeca> lote, AcumuladorImportacao acumulador, Set<Long> atualizadas,
+                            List<AlteracaoPrecoPecaDto> alteracoesPreco) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravar(lote));
+            contabilizar(lote, acumulador, atualizadas, alteracoesPreco);
+        } catch (DataAccessException e) {
+            log.warn("Falha no lote de {} peças ({}); regravando linha a linha.", lote.size(), LotesJdbc.causaRaiz(e));
+            for (LinhaPeca linha : lote) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> gravar(List.of(linha)));
+                    contabilizar(List.of(linha), acumulador, atualizadas, alteracoesPreco);
+                } catch (DataAccessException erroLinha) {
+                    acumulador.rejeitar(linha.linha(), chave(linha.dto().getFabricante(), linha.dto().getDescricao(),
+                            linha.dto().getTipoVeiculo()), LotesJdbc.causaRaiz(erroLinha));
+                }
+            }
+        }
+    }
+
+    private void gravar(List<LinhaPeca> linhas) {
+        List<Object[]> inserts = new ArrayList<>();
+        List<Object[]> updates = new ArrayList<>();
+        for (LinhaPeca l : linhas) {
+            Date dataCompra = Date.valueOf(l.dto().getDataCompra());
+            if (l.atual() == null) {
+                inserts.add(new Object[]{l.dto().getTipoVeiculo().trim(), l.dto().getFabricante().trim(), l.dto().getDescricao().trim(),
+                        dataCompra, l.preco(), l.desconto(), l.totalDesconto()});
+            } else {
+                updates.add(new Object[]{dataCompra, l.preco(), l.desconto(), l.totalDesconto(), l.atual().id()});
+            }
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_INSERT, inserts);
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_UPDATE, updates);
+        }
+    }
+
+    private static void contabilizar(List<LinhaPeca> linhas, AcumuladorImportacao acumulador, Set<Long> atualizadas,
+                                     List<AlteracaoPrecoPecaDto> alteracoesPreco) {
+        for (LinhaPeca l : linhas) {
+            if (l.atual() == null) {
+                acumulador.inseridas(1);
+                continue;
+            }
+            acumulador.atualizadas(1);
+            atualizadas.add(l.atual().id());
+            // Só o PRECO entra no valor dos orçamentos: mudança apenas de desconto fica fora do diff de preço
+            if (l.atual().preco().compareTo(l.preco()) != 0) {
+                alteracoesPreco.add(new AlteracaoPrecoPecaDto(l.atual().id(), l.atual().preco(), l.preco(),
+                        l.atual().totalDesconto(), l.totalDesconto()));
+            }
+        }
+    }
+
+    // Chave natural normalizada: sem espaços extras e sem diferenciar maiúsculas/minúsculas
+    private static String chave(String fabricante, String descricao, String tipoVeiculo) {
+        return normalizar(fabricante) + "|" + normalizar(descricao) + "|" + normalizar(tipoVeiculo);
+    }
+
+    private static String normalizar(String valor) {
+        return valor == null ? "" : valor.trim().replaceAll("\\s+", " ").toUpperCase(Locale.ROOT);
+    }
+
+    private static PecaImportacaoDto deCsv(Map<String, String> campos) {
+        PecaImportacaoDto dto = new PecaImportacaoDto();
+        dto.setTipoVeiculo(campos.get("tipoveiculo"));
+        dto.setFabricante(campos.get("fabricante"));
+        dto.setDescricao(campos.get("descricao"));
+        dto.setDataCompra(LeitorImportacao.data(campos, "datacompra"));
+        dto.setPreco(LeitorImportacao.decimal(campos, "preco"));
+        dto.setDesconto(LeitorImportacao.decimal(campos, "desconto"));
+        return dto;
+    }
+}
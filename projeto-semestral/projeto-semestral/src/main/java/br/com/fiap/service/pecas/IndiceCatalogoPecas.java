@@ -0,0 +1,373 @@
+// src/main/java/br/com/fiap/service/pecas/IndiceCatalogoPecas.java
+package br.com.fiap.service.pecas;
+
+import java.math.BigDecimal;
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória do catálogo de peças para busca facetada.
+ * <p>
+ * Cada peça ocupa uma posição fixa ("slot") e cada filtro é um {@link BitSet} de slots: termos da descrição
+ * (minúsculos, sem acento), fabricante e tipo de veículo. Um termo da busca é um prefixo, resolvido como a união
+ * dos termos de uma faixa do mapa ordenado; termos diferentes se combinam por interseção. A faixa de preço vem de
+ * um conjunto ordenado por preço, sem varrer o catálogo. As facetas seguem a regra usual de filtros combinados:
+ * a contagem por fabricante considera todos os filtros menos o de fabricante (e vice-versa).
+ * <p>
+ * A página é montada percorrendo o conjunto já ordenado (descrição ou preço) e pegando as peças do resultado,
+ * sem ordenar a cada busca; resultados pequenos são ordenados diretamente. O resultado de cada consulta (bits,
+ * total, facetas e faixa de preço) fica em um cache LRU, limpo a cada alteração do índice.
+ * <p>
+ * Thread-safe: buscas usam o lock de leitura; alterações, o de escrita. Slots de peças excluídas não são
+ * reaproveitados até a próxima reconstrução.
+ */
+class IndiceCatalogoPecas {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // Abaixo deste tamanho é mais barato contar/ordenar pelas peças do resultado do que pelos índices
+    private static final int LIMIAR_RESULTADO_PEQUENO = 4096;
+
+    enum Ordenacao {
+        DESCRICAO, PRECO, PRECO_DECRESCENTE
+    }
+
+    record Peca(long id, String tipoVeiculo, String fabricante, String descricao, LocalDate dataCompra,
+                BigDecimal preco, BigDecimal desconto, BigDecimal totalDesconto, long precoCentavos) {
+    }
+
+    /** Filtros de uma busca; preços em centavos (limites inclusivos). */
+    record Consulta(List<String> termos, Set<String> fabricantes, Set<String> tiposVeiculo, long precoMinimo,
+                    long precoMaximo) {
+
+        boolean temFaixaPreco() {
+            return precoMinimo > Long.MIN_VALUE || precoMaximo < Long.MAX_VALUE;
+        }
+    }
+
+    /** Uma página da busca; facetas da mais frequente para a menos frequente; preços em centavos (null sem resultado). */
+    record Pagina(int total, List<Peca> pecas, Map<String, Integer> facetasFabricante,
+                  Map<String, Integer> facetasTipoVeiculo, Long precoMinimo, Long precoMaximo) {
+    }
+
+    private record Entrada(int slot, Peca peca) {
+    }
+
+    private record Resultado(BitSet slots, int total, Map<String, Integer> facetasFabricante,
+                             Map<String, Integer> facetasTipoVeiculo, Long precoMinimo, Long precoMaximo) {
+    }
+
+    private static final Comparator<Entrada> POR_PRECO = Comparator.<Entrada>comparingLong(e -> e.peca().precoCentavos())
+            .thenComparingLong(e -> e.peca().id());
+    private static final Comparator<Entrada> POR_DESCRICAO = Comparator.<Entrada, String>comparing(
+                    e -> e.peca().descricao(), String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(e -> e.peca().id());
+
+    private final List<Entrada> porSlot = new ArrayList<>();
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final BitSet ativos = new BitSet();
+    private final NavigableMap<String, BitSet> porTermo = new TreeMap<>();
+    private final Map<String, BitSet> porFabricante = new HashMap<>();
+    private final Map<String, BitSet> porTipoVeiculo = new HashMap<>();
+    private final NavigableSet<Entrada> porPreco = new TreeSet<>(POR_PRECO);
+    private final NavigableSet<Entrada> porDescricao = new TreeSet<>(POR_DESCRICAO);
+    private final Map<Consulta, Resultado> cache;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long maiorId;
+    private final long maiorIdDaCarga;
+
+    IndiceCatalogoPecas(Collection<Peca> pecas, int maxConsultasEmCache) {
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Consulta, Resultado> maisAntiga) {
+                return size() > maxConsultasEmCache;
+            }
+        });
+        pecas.forEach(this::incluir);
+        maiorIdDaCarga = maiorId;
+    }
+
+    /** Inclui ou substitui as peças informadas e retira as removidas. */
+    void atualizar(Collection<Peca> pecas, Collection<Long> removidas) {
+        lock.writeLock().lock();
+        try {
+            removidas.forEach(this::excluir);
+            for (Peca peca : pecas) {
+                excluir(peca.id());
+                incluir(peca);
+            }
+            cache.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    Pagina buscar(Consulta consulta, Ordenacao ordenacao, int inicio, int quantidade) {
+        lock.readLock().lock();
+        try {
+            Resultado resultado = cache.get(consulta);
+            if (resultado == null) {
+                resultado = calcular(consulta);
+                cache.put(consulta, resultado);
+            }
+            return new Pagina(resultado.total(), pagina(resultado, ordenacao, inicio, quantidade),
+                    resultado.facetasFabricante(), resultado.facetasTipoVeiculo(),
+                    resultado.precoMinimo(), resultado.precoMaximo());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long maiorId() {
+        lock.readLock().lock();
+        try {
+            return maiorId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Maior ID lido na carga; a correção confere todos os IDs acima dele, não só os acima do maior já indexado. */
+    long maiorIdDaCarga() {
+        return maiorIdDaCarga;
+    }
+
+    boolean contem(long id) {
+        lock.readLock().lock();
+        try {
+            return slotPorId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Minúsculas, sem acentos, separado em letras/dígitos. */
+    static List<String> termos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARADORES.split(normalizado)).filter(t -> !t.isEmpty()).distinct().toList();
+    }
+
+    // --- Métodos auxiliares (com o lock adquirido) ---
+
+    private Resultado calcular(Consulta consulta) {
+        BitSet base = base(consulta);
+        BitSet fabricantes = uniao(porFabricante, consulta.fabricantes());
+        BitSet tipos = uniao(porTipoVeiculo, consulta.tiposVeiculo());
+
+        BitSet paraFacetaFabricante = (BitSet) base.clone();
+        if (tipos != null) {
+            paraFacetaFabricante.and(tipos);
+        }
+        BitSet paraFacetaTipo = base; // não é mais usado como base daqui em diante
+        if (fabricantes != null) {
+            paraFacetaTipo.and(fabricantes);
+        }
+        Map<String, Integer> facetasFabricante = contar(porFabricante, paraFacetaFabricante, Peca::fabricante);
+        Map<String, Integer> facetasTipo = contar(porTipoVeiculo, paraFacetaTipo, Peca::tipoVeiculo);
+
+        BitSet slots = paraFacetaFabricante;
+        if (fabricantes != null) {
+            slots.and(fabricantes);
+        }
+        int total = slots.cardinality();
+        Long minimo = null;
+        Long maximo = null;
+        if (total > 0 && total <= LIMIAR_RESULTADO_PEQUENO) {
+            long min = Long.MAX_VALUE;
+            long max = Long.MIN_VALUE;
+            for (int s = slots.nextSetBit(0); s >= 0; s = slots.nextSetBit(s + 1)) {
+                long preco = porSlot.get(s).peca().precoCentavos();
+                min = Math.min(min, preco);
+                max = Math.max(max, preco);
+            }
+            minimo = min;
+            maximo = max;
+        } else if (total > 0) {
+            minimo = primeiro(porPreco, slots).peca().precoCentavos();
+            maximo = primeiro(porPreco.descendingSet(), slots).peca().precoCentavos();
+        }
+        return new Resultado(slots, total, facetasFabricante, facetasTipo, minimo, maximo);
+    }
+
+    // Texto e faixa de preço: interseção dos termos, senão a faixa de preço, senão o catálogo inteiro
+    private BitSet base(Consulta consulta) {
+        if (!consulta.termos().isEmpty()) {
+            BitSet base = null;
+            for (String termo : consulta.termos()) {
+                BitSet doTermo = new BitSet();
+                porTermo.subMap(termo, true, termo + Character.MAX_VALUE, false).values().forEach(doTermo::or);
+                if (base == null) {
+                    base = doTermo;
+                } else {
+                    base.and(doTermo);
+                }
+                if (base.isEmpty()) {
+                    return base;
+                }
+            }
+            if (consulta.temFaixaPreco()) {
+                for (int s = base.nextSetBit(0); s >= 0; s = base.nextSetBit(s + 1)) {
+                    long preco = porSlot.get(s).peca().precoCentavos();
+                    if (preco < consulta.precoMinimo() || preco > consulta.precoMaximo()) {
+                        base.clear(s);
+                    }
+                }
+            }
+            return base;
+        }
+        if (consulta.temFaixaPreco()) {
+            BitSet base = new BitSet();
+            if (consulta.precoMinimo() <= consulta.precoMaximo()) {
+                for (Entrada e : porPreco.subSet(sonda(consulta.precoMinimo(), Long.MIN_VALUE), true,
+                        sonda(consulta.precoMaximo(), Long.MAX_VALUE), true)) {
+                    base.set(e.slot());
+                }
+            }
+            return base;
+        }
+        return (BitSet) ativos.clone();
+    }
+
+    private List<Peca> pagina(Resultado resultado, Ordenacao ordenacao, int inicio, int quantidade) {
+        if (inicio >= resultado.total()) {
+            return List.of();
+        }
+        Comparator<Entrada> comparador = ordenacao == Ordenacao.DESCRICAO ? POR_DESCRICAO
+                : ordenacao == Ordenacao.PRECO ? POR_PRECO : POR_PRECO.reversed();
+        List<Peca> pagina = new ArrayList<>(Math.min(quantidade, resultado.total() - inicio));
+        BitSet slots = resultado.slots();
+        if (resultado.total() <= LIMIAR_RESULTADO_PEQUENO) {
+            List<Entrada> entradas = new ArrayList<>(resultado.total());
+            for (int s = slots.nextSetBit(0); s >= 0; s = slots.nextSetBit(s + 1)) {
+                entradas.add(porSlot.get(s));
+            }
+            entradas.sort(comparador);
+            entradas.subList(inicio, Math.min(inicio + quantidade, entradas.size())).forEach(e -> pagina.add(e.peca()));
+            return pagina;
+        }
+        Iterable<Entrada> ordem = ordenacao == Ordenacao.DESCRICAO ? porDescricao
+                : ordenacao == Ordenacao.PRECO ? porPreco : porPreco.descendingSet();
+        int vistos = 0;
+        for (Entrada e : ordem) {
+            if (slots.get(e.slot()) && vistos++ >= inicio) {
+                pagina.add(e.peca());
+                if (pagina.size() == quantidade) {
+                    break;
+                }
+            }
+        }
+        return pagina;
+    }
+
+    private Map<String, Integer> contar(Map<String, BitSet> porValor, BitSet alvo,
+                                        java.util.function.Function<Peca, String> valor) {
+        Map<String, Integer> contagens = new HashMap<>();
+        if (alvo.cardinality() <= LIMIAR_RESULTADO_PEQUENO) {
+            for (int s = alvo.nextSetBit(0); s >= 0; s = alvo.nextSetBit(s + 1)) {
+                contagens.merge(valor.apply(porSlot.get(s).peca()), 1, Integer::sum);
+            }
+        } else {
+            porValor.forEach((v, bits) -> {
+                BitSet intersecao = (BitSet) bits.clone();
+                intersecao.and(alvo);
+                int n = intersecao.cardinality();
+                if (n > 0) {
+                    contagens.put(v, n);
+                }
+            });
+        }
+        Map<String, Integer> ordenadas = new LinkedHashMap<>();
+        contagens.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .forEach(e -> ordenadas.put(e.getKey(), e.getValue()));
+        return Collections.unmodifiableMap(ordenadas);
+    }
+
+    private static BitSet uniao(Map<String, BitSet> porValor, Set<String> valores) {
+        if (valores.isEmpty()) {
+            return null; // sem filtro
+        }
+        BitSet uniao = new BitSet();
+        for (String v : valores) {
+            BitSet bits = porValor.get(v);
+            if (bits != null) {
+                uniao.or(bits);
+            }
+        }
+        return uniao;
+    }
+
+    private static Entrada primeiro(Iterable<Entrada> ordem, BitSet slots) {
+        for (Entrada e : ordem) {
+            if (slots.get(e.slot())) {
+                return e;
+            }
+        }
+        throw new IllegalStateException("Resultado sem peças no índice de preço");
+    }
+
+    // Entrada fictícia para delimitar faixas do conjunto ordenado por preço
+    private static Entrada sonda(long precoCentavos, long id) {
+        return new Entrada(-1, new Peca(id, null, null, null, null, null, null, null, precoCentavos));
+    }
+
+    private void incluir(Peca peca) {
+        int slot = porSlot.size();
+        Entrada entrada = new Entrada(slot, peca);
+        porSlot.add(entrada);
+        slotPorId.put(peca.id(), slot);
+        ativos.set(slot);
+        for (String termo : termos(peca.descricao())) {
+            porTermo.computeIfAbsent(termo, k -> new BitSet()).set(slot);
+        }
+        porFabricante.computeIfAbsent(peca.fabricante(), k -> new BitSet()).set(slot);
+        porTipoVeiculo.computeIfAbsent(peca.tipoVeiculo(), k -> new BitSet()).set(slot);
+        porPreco.add(entrada);
+        porDescricao.add(entrada);
+        maiorId = Math.max(maiorId, peca.id());
+    }
+
+    private void excluir(long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        Entrada entrada = porSlot.get(slot);
+        porSlot.set(slot, null);
+        ativos.clear(slot);
+        for (String termo : termos(entrada.peca().descricao())) {
+            retirar(porTermo, termo, slot);
+        }
+        retirar(porFabricante, entrada.peca().fabricante(), slot);
+        retirar(porTipoVeiculo, entrada.peca().tipoVeiculo(), slot);
+        porPreco.remove(entrada);
+        porDescricao.remove(entrada);
+    }
+
+    private static void retirar(Map<String, BitSet> indice, String chave, int slot) {
+        BitSet bits = indice.get(chave);
+        if (bits != null) {
+            bits.clear(slot);
+            if (bits.isEmpty()) {
+                indice.remove(chave);
+            }
+        }
+    }
+}
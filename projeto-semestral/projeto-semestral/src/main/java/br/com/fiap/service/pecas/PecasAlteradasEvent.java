@@ -0,0 +1,12 @@
+// src/main/java/br/com/fiap/service/pecas/PecasAlteradasEvent.java
+package br.com.fiap.service.pecas;
+
+import java.util.Set;
+
+/**
+ * Publicado quando peças são criadas, alteradas (qualquer campo) ou excluídas, para que índices em memória do
+ * catálogo releiam só essas peças depois do commit. Inserções em lote sem ID conhecido podem vir com o conjunto
+ * vazio: os índices conferem os IDs acima da última carga e releem os que ainda não têm.
+ */
+public record PecasAlteradasEvent(Set<Long> pecaIds) {
+}
@@ -10,9 +10,13 @@ import br.com.fiap.repository.PecasRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +25,14 @@ public class PecasServiceImpl implements PecasService {
     private static final Logger log = LoggerFactory.getLogger(PecasServiceImpl.class);
     private final PecasRepository pecasRepository;
     private final PecasMapper pecasMapper; // <-- Injetar Mapper
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public PecasServiceImpl(PecasRepository pecasRepository, PecasMapper pecasMapper) { // <-- Injetar
+    public PecasServiceImpl(PecasRepository pecasRepository, PecasMapper pecasMapper,
+                            ApplicationEventPublisher eventPublisher) { // <-- Injetar
         this.pecasRepository = pecasRepository;
         this.pecasMapper = pecasMapper; // <-- Inicializar
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -54,6 +61,7 @@ public class PecasServiceImpl implements PecasService {
             Pecas peca = pecasMapper.toEntity(pecasDto); // <-- Usar Mapper
             Pecas savedPeca = pecasRepository.save(peca);
             log.info("Peça criada com ID: {}", savedPeca.getId());
+            eventPublisher.publishEvent(new PecasAlteradasEvent(Set.of(savedPeca.getId())));
             return pecasMapper.toResponseDto(savedPeca); // <-- Usar Mapper
         } catch (Exception e) {
             log.error("Erro ao criar peça: {}", e.getMessage(), e);
@@ -66,10 +74,16 @@ public class PecasServiceImpl implements PecasService {
     public PecasResponseDto update(Long id, PecasRequestDto pecasDto) {
         log.info("Atualizando peça com ID: {}", id);
         Pecas existingPeca = findPecaById(id);
+        BigDecimal precoAnterior = existingPeca.getPreco();
         pecasMapper.updateEntityFromDto(pecasDto, existingPeca); // <-- Usar Mapper
         // Recalcular campos se necessário
         Pecas updatedPeca = pecasRepository.save(existingPeca);
         log.info("Peça atualizada com ID: {}", updatedPeca.getId());
+        if (!mesmoValor(precoAnterior, updatedPeca.getPreco())) {
+            // Orçamentos em aberto que usam a peça são reprecificados após o commit
+            eventPublisher.publishEvent(new PrecosPecasAlteradosEvent(Set.of(updatedPeca.getId())));
+        }
+        eventPublisher.publishEvent(new PecasAlteradasEvent(Set.of(updatedPeca.getId())));
         return pecasMapper.toResponseDto(updatedPeca); // <-- Usar Mapper
     }
 
@@ -81,6 +95,7 @@ public class PecasServiceImpl implements PecasService {
         try {
             pecasRepository.delete(peca);
             log.info("Peça deletada com ID: {}", id);
+            eventPublisher.publishEvent(new PecasAlteradasEvent(Set.of(id)));
         } catch (Exception e) {
             log.error("Erro ao deletar peça com ID {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Falha ao deletar peça com ID: " + id, e);
@@ -93,6 +108,10 @@ public class PecasServiceImpl implements PecasService {
                 .orElseThrow(() -> new PecasNotFoundException("Peça não encontrada com ID: " + id));
     }
 
+    private static boolean mesmoValor(BigDecimal a, BigDecimal b) {
+        return Objects.equals(a, b) || (a != null && b != null && a.compareTo(b) == 0);
+    }
+
     // REMOVER os métodos manuais de mapeamento:
     // mapEntityToResponseDto(Pecas entity)
     // mapRequestDtoToEntity(PecasRequestDto dto)
@@ -0,0 +1,11 @@
+// src/main/java/br/com/fiap/service/pecas/PrecosPecasAlteradosEvent.java
+package br.com.fiap.service.pecas;
+
+import java.util.Set;
+
+/**
+ * Publicado quando o PRECO de peças existentes muda e a alteração já foi gravada, para que caches e orçamentos
+ * abertos que usam essas peças possam ser atualizados seletivamente. Mudanças só de desconto não o disparam.
+ */
+public record PrecosPecasAlteradosEvent(Set<Long> pecaIds) {
+}
@@ -0,0 +1,17 @@
+// src/main/java/br/com/fiap/service/pecas/PrevisaoDemandaService.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.pecas.PrevisaoDemandaPecaDto;
+import br.com.fiap.dto.pecas.RelatorioPrevisaoDemandaDto;
+
+public interface PrevisaoDemandaService {
+
+    /**
+     * Sugestões de reposição a partir do consumo semanal de peças nas oficinas (OFP), das peças com maior ponto
+     * de pedido para as de menor. Só as peças cujo consumo mudou desde a última chamada são reajustadas.
+     */
+    RelatorioPrevisaoDemandaDto sugerirReposicao(int limite);
+
+    /** Previsão de uma peça; lança PecasNotFoundException se a peça não existir. */
+    PrevisaoDemandaPecaDto prever(Long pecaId);
+}
@@ -0,0 +1,399 @@
+// src/main/java/br/com/fiap/service/pecas/PrevisaoDemandaServiceImpl.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.pecas.PrevisaoDemandaPecaDto;
+import br.com.fiap.dto.pecas.RelatorioPrevisaoDemandaDto;
+import br.com.fiap.exception.PecasNotFoundException;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.service.importacao.LotesJdbc;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Previsão de demanda de peças a partir do histórico de consumo das oficinas (OFP x OFICINAS.DATA_OFICINA).
+ * <p>
+ * O consumo é agregado por peça e semana (segunda a domingo) em uma única passada pelo histórico, feita no primeiro
+ * uso. Depois disso a agregação é mantida de forma incremental: cada alteração confirmada de Oficina só enfileira o
+ * ID (o commit de quem alterou não espera lock nem banco), e a consulta seguinte troca a contribuição dessas
+ * oficinas (subtrai a antiga e soma a atual). Para os serviços gravados por fora do log de sincronização, a consulta
+ * lê as linhas de OFP acima do maior ID_OPE já lido e confere a contagem e as somas de IDs, peças e quantidades
+ * de OFP com os totais em memória: uma linha confirmada fora da ordem dos IDs, excluída ou alterada por fora muda
+ * os totais, e só então as assinaturas por oficina apontam quais recarregar. Só as peças com consumo alterado — ou
+ * todas, quando vira a semana — são reajustadas ({@link SuavizacaoExponencial}), em paralelo.
+ * <p>
+ * A semana corrente (incompleta) não entra no ajuste. A sugestão não considera o estoque atual: o ponto de pedido
+ * e o estoque-alvo são os níveis a comparar com ele.
+ */
+@Service
+public class PrevisaoDemandaServiceImpl implements PrevisaoDemandaService {
+
+    private static final Logger log = LoggerFactory.getLogger(PrevisaoDemandaServiceImpl.class);
+
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+    private static final int LOTE_IN = 1000;
+
+    private static final String SQL_CONSUMO = """
+            SELECT ofp.ID_OPE, ofp.OFICINAS_ID_OFIC, ofp.PECAS_ID_PEC, ofp.QUANTIDADE, o.DATA_OFICINA
+            FROM OFP ofp
+            JOIN OFICINAS o ON o.ID_OFIC = ofp.OFICINAS_ID_OFIC
+            """;
+
+    // Mesmas linhas de SQL_CONSUMO: contagem e somas dos IDs, das peças e das quantidades
+    private static final String SQL_TOTAIS = """
+            SELECT COUNT(*), COALESCE(SUM(ofp.ID_OPE), 0), COALESCE(SUM(ofp.PECAS_ID_PEC), 0), COALESCE(SUM(ofp.QUANTIDADE), 0)
+            FROM OFP ofp
+            JOIN OFICINAS o ON o.ID_OFIC = ofp.OFICINAS_ID_OFIC
+            """;
+
+    private static final String SQL_ASSINATURAS = """
+            SELECT ofp.OFICINAS_ID_OFIC, COUNT(*), SUM(ofp.ID_OPE), SUM(ofp.PECAS_ID_PEC), COALESCE(SUM(ofp.QUANTIDADE), 0)
+            FROM OFP ofp
+            JOIN OFICINAS o ON o.ID_OFIC = ofp.OFICINAS_ID_OFIC
+            GROUP BY ofp.OFICINAS_ID_OFIC
+            """;
+
+    // Linha de OFP: quantidade de uma peça usada por uma oficina numa semana
+    private record Consumo(long id, long pecaId, long semana, long quantidade) {
+    }
+
+    // Ajuste vigente de uma peça
+    private record Previsao(long pecaId, int semanas, long consumo, SuavizacaoExponencial.Ajuste ajuste) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final int prazoEntregaSemanas;
+    private final int revisaoSemanas;
+    private final double fatorNivelServico;
+    private final int historicoSemanas;
+
+    // Oficinas alteradas desde a última consulta; preenchido sem lock pelo ouvinte de commit
+    private final Set<Long> oficinasPendentes = ConcurrentHashMap.newKeySet();
+
+    // Estado abaixo protegido por 'lock', que só as consultas adquirem
+    private final Object lock = new Object();
+    private final Map<Long, NavigableMap<Long, Long>> consumoPorPeca = new HashMap<>();
+    private final Map<Long, List<Consumo>> consumoPorOficina = new HashMap<>();
+    private final Set<Long> pecasAlteradas = new HashSet<>();
+    private final Map<Long, Previsao> previsoes = new HashMap<>();
+    private boolean carregado;
+    private long marcaDagua;
+    private long semanaReferencia = Long.MIN_VALUE;
+    // Contagem e somas dos IDs, das peças e das quantidades das linhas em consumoPorOficina
+    private final long[] totais = new long[4];
+
+    @Autowired
+    public PrevisaoDemandaServiceImpl(JdbcTemplate jdbcTemplate,
+                                      @Value("${previsao.prazo-entrega-semanas:2}") int prazoEntregaSemanas,
+                                      @Value("${previsao.revisao-semanas:1}") int revisaoSemanas,
+                                      @Value("${previsao.fator-nivel-servico:1.65}") double fatorNivelServico,
+                                      @Value("${previsao.historico-semanas:104}") int historicoSemanas) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.prazoEntregaSemanas = prazoEntregaSemanas;
+        this.revisaoSemanas = revisaoSemanas;
+        this.fatorNivelServico = fatorNivelServico;
+        this.historicoSemanas = historicoSemanas;
+    }
+
+    @Override
+    public RelatorioPrevisaoDemandaDto sugerirReposicao(int limite) {
+        if (limite <= 0) {
+            throw new IllegalArgumentException("O limite deve ser maior que zero.");
+        }
+        long inicio = System.currentTimeMillis();
+        int reajustadas;
+        long semana;
+        List<Previsao> candidatas;
+        synchronized (lock) {
+            reajustadas = atualizar();
+            semana = semanaReferencia;
+            candidatas = new ArrayList<>(previsoes.values());
+        }
+        long tempoAjuste = System.currentTimeMillis() - inicio;
+
+        List<Previsao> selecionadas = candidatas.stream()
+                .filter(p -> pontoPedido(p) > 0)
+                .sorted(Comparator.comparingLong(this::pontoPedido).reversed().thenComparingLong(Previsao::pecaId))
+                .limit(limite)
+                .toList();
+        Map<Long, String[]> pecas = buscarPecas(selecionadas.stream().map(Previsao::pecaId).toList());
+        List<PrevisaoDemandaPecaDto> sugestoes = selecionadas.stream()
+                .map(p -> toDto(p, pecas.get(p.pecaId())))
+                .toList();
+        return new RelatorioPrevisaoDemandaDto(inicioDaSemana(semana), prazoEntregaSemanas, revisaoSemanas,
+                BigDecimal.valueOf(fatorNivelServico), candidatas.size(), reajustadas, tempoAjuste,
+                LocalDateTime.now(), sugestoes);
+    }
+
+    @Override
+    public PrevisaoDemandaPecaDto prever(Long pecaId) {
+        Previsao previsao;
+        synchronized (lock) {
+            atualizar();
+            previsao = previsoes.get(pecaId);
+        }
+        String[] peca = buscarPecas(List.of(pecaId)).get(pecaId);
+        if (peca == null) {
+            throw new PecasNotFoundException("Peça não encontrada com ID: " + pecaId);
+        }
+        if (previsao == null) {
+            previsao = new Previsao(pecaId, 0, 0, new SuavizacaoExponencial.Ajuste(0, 0, 0)); // sem consumo no histórico
+        }
+        return toDto(previsao, peca);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoConfirmarAlteracao(AlteracaoRegistradaEvent evento) {
+        if (evento.entidade() == TipoEntidade.OFICINA) {
+            // Só enfileira: a releitura (inclusive de exclusões, que voltam sem linhas) fica para a próxima consulta
+            oficinasPendentes.add(evento.entidadeId());
+        }
+    }
+
+    // --- Métodos auxiliares (com o lock adquirido) ---
+
+    // Traz o consumo em dia e reajusta as peças alteradas; devolve quantas foram reajustadas
+    private int atualizar() {
+        if (!carregado) {
+            carregarHistorico();
+        }
+        Set<Long> oficinas = new HashSet<>(oficinasPendentes);
+        oficinasPendentes.removeAll(oficinas);
+        try {
+            oficinas.addAll(jdbcTemplate.queryForList(
+                    "SELECT DISTINCT OFICINAS_ID_OFIC FROM OFP WHERE ID_OPE > ?", Long.class, marcaDagua));
+            if (!oficinas.isEmpty()) {
+                recarregarOficinas(oficinas);
+            }
+            conferirTotais();
+        } catch (RuntimeException e) {
+            oficinasPendentes.addAll(oficinas); // a próxima consulta tenta de novo
+            throw e;
+        }
+        long referencia = semana(LocalDate.now()) - 1;
+        if (referencia != semanaReferencia) {
+            semanaReferencia = referencia; // virou a semana: todas as séries ganham uma semana
+            pecasAlteradas.addAll(consumoPorPeca.keySet());
+            pecasAlteradas.addAll(previsoes.keySet());
+        }
+        if (pecasAlteradas.isEmpty()) {
+            return 0;
+        }
+        Map<Long, long[]> series = new HashMap<>();
+        for (Long pecaId : pecasAlteradas) {
+            long[] serie = serie(pecaId, referencia);
+            if (serie == null) {
+                previsoes.remove(pecaId);
+            } else {
+                series.put(pecaId, serie);
+            }
+        }
+        int reajustadas = pecasAlteradas.size();
+        pecasAlteradas.clear();
+        // O ajuste de cada peça é independente: CPU pura sobre cópias das séries
+        series.entrySet().parallelStream()
+                .map(e -> new Previsao(e.getKey(), e.getValue().length, Arrays.stream(e.getValue()).sum(),
+                        SuavizacaoExponencial.ajustar(e.getValue())))
+                .toList()
+                .forEach(p -> previsoes.put(p.pecaId(), p));
+        return reajustadas;
+    }
+
+    private void carregarHistorico() {
+        long inicio = System.currentTimeMillis();
+        oficinasPendentes.clear(); // a carga já traz o estado delas; o que chegar durante a leitura é relido depois
+        Arrays.fill(totais, 0);
+        consumoPorPeca.clear();
+        consumoPorOficina.clear();
+        pecasAlteradas.clear();
+        previsoes.clear();
+        marcaDagua = 0;
+        semanaReferencia = Long.MIN_VALUE;
+        long[] linhas = {0};
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(SQL_CONSUMO);
+            ps.setFetchSize(TAMANHO_LOTE_CARGA);
+            return ps;
+        }, (ResultSet rs) -> {
+            Consumo consumo = lerConsumo(rs);
+            consumoPorOficina.computeIfAbsent(rs.getLong("OFICINAS_ID_OFIC"), k -> new ArrayList<>()).add(consumo);
+            aplicar(consumo, 1);
+            somarTotais(consumo, 1);
+            linhas[0]++;
+        });
+        carregado = true;
+        log.info("Histórico de consumo de peças carregado: {} linhas de OFP, {} oficinas, {} peças em {} ms",
+                linhas[0], consumoPorOficina.size(), consumoPorPeca.size(), System.currentTimeMillis() - inicio);
+    }
+
+    // Troca a contribuição das oficinas pela atual; as excluídas voltam sem linhas e só perdem a contribuição
+    private void recarregarOficinas(Collection<Long> oficinas) {
+        List<Long> ids = new ArrayList<>(oficinas);
+        Map<Long, List<Consumo>> atuais = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            List<Long> bloco = ids.subList(i, Math.min(i + LOTE_IN, ids.size()));
+            jdbcTemplate.query(SQL_CONSUMO + " WHERE ofp.OFICINAS_ID_OFIC IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                    (ResultSet rs) -> {
+                        Consumo consumo = lerConsumo(rs);
+                        atuais.computeIfAbsent(rs.getLong("OFICINAS_ID_OFIC"), k -> new ArrayList<>()).add(consumo);
+                    }, bloco.toArray());
+        }
+        // Só depois de ler tudo: uma falha na leitura não deixa a troca pela metade
+        for (Long oficinaId : ids) {
+            List<Consumo> antigos = consumoPorOficina.remove(oficinaId);
+            if (antigos != null) {
+                antigos.forEach(c -> {
+                    aplicar(c, -1);
+                    somarTotais(c, -1);
+                });
+            }
+            List<Consumo> novos = atuais.get(oficinaId);
+            if (novos != null) {
+                consumoPorOficina.put(oficinaId, novos);
+                novos.forEach(c -> {
+                    aplicar(c, 1);
+                    somarTotais(c, 1);
+                });
+            }
+        }
+    }
+
+    // Compara os totais de OFP com os da memória e, se divergirem, recarrega as oficinas de assinatura diferente
+    private void conferirTotais() {
+        long[] banco = jdbcTemplate.queryForObject(SQL_TOTAIS,
+                (rs, i) -> new long[]{rs.getLong(1), rs.getLong(2), rs.getLong(3), rs.getLong(4)});
+        if (Arrays.equals(banco, totais)) {
+            return;
+        }
+        Set<Long> divergentes = new HashSet<>(consumoPorOficina.keySet()); // sobram as que não têm mais linhas
+        jdbcTemplate.query(SQL_ASSINATURAS, (ResultSet rs) -> {
+            long oficinaId = rs.getLong(1);
+            long[] assinatura = {rs.getLong(2), rs.getLong(3), rs.getLong(4), rs.getLong(5)};
+            if (Arrays.equals(assinatura, assinatura(consumoPorOficina.get(oficinaId)))) {
+                divergentes.remove(oficinaId);
+            } else {
+                divergentes.add(oficinaId);
+            }
+        });
+        if (!divergentes.isEmpty()) {
+            log.info("Consumo de peças: {} oficinas alteradas fora do log de sincronização serão recarregadas", divergentes.size());
+            recarregarOficinas(divergentes);
+        }
+    }
+
+    private static long[] assinatura(List<Consumo> consumos) {
+        long[] assinatura = new long[4];
+        if (consumos != null) {
+            for (Consumo consumo : consumos) {
+                assinatura[0]++;
+                assinatura[1] += consumo.id();
+                assinatura[2] += consumo.pecaId();
+                assinatura[3] += consumo.quantidade();
+            }
+        }
+        return assinatura;
+    }
+
+    private void somarTotais(Consumo consumo, long sinal) {
+        totais[0] += sinal;
+        totais[1] += sinal * consumo.id();
+        totais[2] += sinal * consumo.pecaId();
+        totais[3] += sinal * consumo.quantidade();
+    }
+
+    private Consumo lerConsumo(ResultSet rs) throws SQLException {
+        long id = rs.getLong("ID_OPE");
+        marcaDagua = Math.max(marcaDagua, id);
+        return new Consumo(id, rs.getLong("PECAS_ID_PEC"), semana(rs.getDate("DATA_OFICINA").toLocalDate()),
+                rs.getLong("QUANTIDADE"));
+    }
+
+    private void aplicar(Consumo consumo, long sinal) {
+        NavigableMap<Long, Long> semanas = consumoPorPeca.computeIfAbsent(consumo.pecaId(), k -> new TreeMap<>());
+        semanas.merge(consumo.semana(), sinal * consumo.quantidade(), (a, b) -> a + b == 0 ? null : a + b);
+        if (semanas.isEmpty()) {
+            consumoPorPeca.remove(consumo.pecaId());
+        }
+        pecasAlteradas.add(consumo.pecaId());
+    }
+
+    // Série densa (semanas sem consumo valem 0) da primeira semana com consumo, limitada ao histórico, até 'referencia'
+    private long[] serie(long pecaId, long referencia) {
+        NavigableMap<Long, Long> semanas = consumoPorPeca.get(pecaId);
+        if (semanas == null) {
+            return null;
+        }
+        long inicio = Math.max(semanas.firstKey(), referencia - historicoSemanas + 1);
+        if (inicio > referencia) {
+            return null; // só há consumo na semana corrente ou em datas futuras
+        }
+        long[] serie = new long[(int) (referencia - inicio + 1)];
+        semanas.subMap(inicio, true, referencia, true).forEach((s, q) -> serie[(int) (s - inicio)] = q);
+        return serie;
+    }
+
+    // --- Métodos auxiliares (sem lock) ---
+
+    private Map<Long, String[]> buscarPecas(List<Long> ids) {
+        Map<Long, String[]> pecas = new HashMap<>();
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            List<Long> bloco = ids.subList(i, Math.min(i + LOTE_IN, ids.size()));
+            jdbcTemplate.query("SELECT ID_PEC, DESCRICA_PECA, FABRICANTE FROM PECAS WHERE ID_PEC IN ("
+                            + LotesJdbc.marcadores(bloco.size()) + ")",
+                    (ResultSet rs) -> {
+                        pecas.put(rs.getLong("ID_PEC"), new String[]{rs.getString("DESCRICA_PECA"), rs.getString("FABRICANTE")});
+                    }, bloco.toArray());
+        }
+        return pecas;
+    }
+
+    private PrevisaoDemandaPecaDto toDto(Previsao p, String[] peca) {
+        double nivel = p.ajuste().nivel();
+        double erro = p.ajuste().erroPadrao();
+        return new PrevisaoDemandaPecaDto(p.pecaId(), peca != null ? peca[0] : null, peca != null ? peca[1] : null,
+                p.semanas(), p.consumo(), decimal(p.ajuste().alfa()), decimal(nivel), decimal(erro),
+                unidades(fatorNivelServico * erro * Math.sqrt(prazoEntregaSemanas)),
+                pontoPedido(p),
+                unidades(nivel * (prazoEntregaSemanas + revisaoSemanas)
+                        + fatorNivelServico * erro * Math.sqrt(prazoEntregaSemanas + revisaoSemanas)));
+    }
+
+    // Consumo previsto durante o prazo de entrega + estoque de segurança
+    private long pontoPedido(Previsao p) {
+        return unidades(p.ajuste().nivel() * prazoEntregaSemanas
+                + fatorNivelServico * p.ajuste().erroPadrao() * Math.sqrt(prazoEntregaSemanas));
+    }
+
+    private static long unidades(double quantidade) {
+        return (long) Math.ceil(quantidade - 1e-9); // tolera resíduo de ponto flutuante (2.0000000001 -> 2)
+    }
+
+    private static BigDecimal decimal(double valor) {
+        return BigDecimal.valueOf(valor).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // Semanas de segunda a domingo contadas a partir da época (1970-01-01 foi quinta-feira)
+    private static long semana(LocalDate data) {
+        return Math.floorDiv(data.toEpochDay() + 3, 7);
+    }
+
+    private static LocalDate inicioDaSemana(long semana) {
+        return LocalDate.ofEpochDay(semana * 7 - 3);
+    }
+}
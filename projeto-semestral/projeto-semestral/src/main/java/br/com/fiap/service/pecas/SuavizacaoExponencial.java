@@ -0,0 +1,76 @@
+// src/main/java/br/com/fiap/service/pecas/SuavizacaoExponencial.java
+package br.com.fiap.service.pecas;
+
+/**
+ * Suavização exponencial simples (SES) de uma série semanal de consumo.
+ * <p>
+ * Nível: l(t) = alfa * x(t) + (1 - alfa) * l(t-1); a previsão para qualquer semana futura é o último nível. O nível
+ * inicial é a média das primeiras semanas e o alfa é escolhido minimizando o erro quadrático da previsão um passo
+ * à frente: grade de 0,05 em 0,05 e refinamento de 0,01 em torno do melhor ponto (29 passadas pela série).
+ */
+final class SuavizacaoExponencial {
+
+    private static final int SEMANAS_NIVEL_INICIAL = 4;
+    private static final double ALFA_PADRAO = 0.3;
+
+    /** Resultado do ajuste: alfa escolhido, nível final (previsão semanal) e erro padrão um passo à frente. */
+    record Ajuste(double alfa, double nivel, double erroPadrao) {
+    }
+
+    private SuavizacaoExponencial() {
+    }
+
+    static Ajuste ajustar(long[] serie) {
+        if (serie.length == 0) {
+            return new Ajuste(ALFA_PADRAO, 0, 0);
+        }
+        double inicial = nivelInicial(serie);
+        double melhorAlfa = ALFA_PADRAO;
+        double melhorErro = Double.MAX_VALUE;
+        for (int i = 1; i <= 19; i++) {
+            double alfa = i * 0.05;
+            double erro = erroQuadratico(serie, alfa, inicial);
+            if (erro < melhorErro) {
+                melhorErro = erro;
+                melhorAlfa = alfa;
+            }
+        }
+        double centro = melhorAlfa;
+        for (int i = -5; i <= 5; i++) {
+            double alfa = centro + i * 0.01;
+            if (i == 0 || alfa < 0.01 || alfa > 0.99) {
+                continue;
+            }
+            double erro = erroQuadratico(serie, alfa, inicial);
+            if (erro < melhorErro) {
+                melhorErro = erro;
+                melhorAlfa = alfa;
+            }
+        }
+        double nivel = inicial;
+        for (long x : serie) {
+            nivel = melhorAlfa * x + (1 - melhorAlfa) * nivel;
+        }
+        return new Ajuste(melhorAlfa, nivel, Math.sqrt(melhorErro / serie.length));
+    }
+
+    private static double nivelInicial(long[] serie) {
+        int n = Math.min(SEMANAS_NIVEL_INICIAL, serie.length);
+        double soma = 0;
+        for (int i = 0; i < n; i++) {
+            soma += serie[i];
+        }
+        return soma / n;
+    }
+
+    private static double erroQuadratico(long[] serie, double alfa, double inicial) {
+        double nivel = inicial;
+        double soma = 0;
+        for (long x : serie) {
+            double erro = x - nivel;
+            soma += erro * erro;
+            nivel += alfa * erro;
+        }
+        return soma;
+    }
+}
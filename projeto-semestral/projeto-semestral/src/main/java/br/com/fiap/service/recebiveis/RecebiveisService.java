@@ -0,0 +1,45 @@
+// src/main/java/br/com/fiap/service/recebiveis/RecebiveisService.java
+package br.com.fiap.service.recebiveis;
+
+import br.com.fiap.dto.recebiveis.RelatorioAgingDto;
+import br.com.fiap.dto.recebiveis.SaldoClienteDto;
+import br.com.fiap.dto.recebiveis.SaldoOrcamentoDto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+public interface RecebiveisService {
+
+    /**
+     * Cria/atualiza o valor orçado de um orçamento. clienteId/enderecoId nulos mantêm o cliente já registrado.
+     * Deve ser chamado na mesma transação que grava o orçamento.
+     */
+    void registrarOrcamento(Long orcamentoId, LocalDate dataOrcamento, BigDecimal valorTotal, Long clienteId, Long clienteEnderecoId);
+
+    /**
+     * Atualiza apenas o valor orçado de vários orçamentos (ex.: reprecificação).
+     */
+    void atualizarValoresOrcados(Map<Long, BigDecimal> valoresPorOrcamento);
+
+    void removerOrcamento(Long orcamentoId);
+
+    /**
+     * Soma (ou subtrai, se negativo) um valor pago ao orçamento, de forma atômica no banco.
+     * Deve ser chamado na transação do pagamento, depois de a alteração ter sido aplicada às entidades
+     * (gravação, vínculo PAO ou exclusão): se o orçamento ainda não tem linha de saldo, ela é criada a partir de
+     * PAO/PAGAMENTOS após um flush, já com o pagamento.
+     */
+    void registrarPagamento(Long orcamentoId, BigDecimal variacaoValorPago);
+
+    SaldoOrcamentoDto buscarSaldoOrcamento(Long orcamentoId);
+
+    SaldoClienteDto buscarSaldoCliente(Long clienteId);
+
+    RelatorioAgingDto gerarAging(LocalDate dataReferencia, Long clienteId);
+
+    /**
+     * Recalcula todos os saldos a partir de ORCAMENTOS, PAO, PAGAMENTOS e CO. Retorna o número de orçamentos.
+     */
+    int reconstruir();
+}
@@ -7,13 +7,32 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface RelatorioService {
 
     List<ContagemMensalDTO> getContagemMensalAgendamentos();
     List<HistoricoAgendamentoClienteDTO> getHistoricoAgendamentosCliente(ClienteId id);
+
+    /**
+     * Página do histórico do cliente (mais recentes primeiro) a partir de um cursor opaco (null = início).
+     * Lança ClientesNotFoundException se o cliente não existir (verificado na mesma consulta).
+     */
+    HistoricoAgendamentoPaginaDto getHistoricoAgendamentosClientePagina(ClienteId id, String cursor, int tamanho);
+
+    /**
+     * Percorre todo o histórico do cliente em streaming, entregando cada linha ao consumidor assim que é lida.
+     * Retorna false (sem chamar o consumidor) se o cliente não existir.
+     */
+    boolean percorrerHistoricoAgendamentosCliente(ClienteId id, Consumer<HistoricoAgendamentoClienteDTO> consumidor);
     Page<ServicoAgendadoDTO> findServicosAgendados(LocalDate dataInicio, Pageable pageable);
 
+    /**
+     * Serviços agendados em ordem (data, id) a partir de um seek cursor opaco, sem contagem
+     * (a menos que incluirTotal seja true).
+     */
+    ServicosAgendadosPaginaDto findServicosAgendadosPorCursor(LocalDate dataInicio, String cursor, int tamanho, boolean incluirTotal);
+
     // --- NOVOS MÉTODOS PARA RELATÓRIOS DE PAGAMENTO ---
     EstatisticasPagamentosDto getEstatisticasPagamentos(LocalDate dataInicio, LocalDate dataFim);
     List<PagamentoPorTipoDto> getPagamentosPorTipo(LocalDate dataInicio, LocalDate dataFim);
@@ -5,37 +5,65 @@ import br.com.fiap.dto.relatorio.*;
 import br.com.fiap.exception.ClientesNotFoundException;
 import br.com.fiap.model.relacionamentos.ClienteId;
 import br.com.fiap.repository.AgendaRepository;
-import br.com.fiap.repository.ClientesRepository;
 import br.com.fiap.repository.PagamentoRepository; // Importado
+import br.com.fiap.service.agenda.CalendarioAgendaService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 @Service
 public class RelatorioServiceImpl implements RelatorioService {
 
     private static final Logger log = LoggerFactory.getLogger(RelatorioServiceImpl.class);
+    private static final int TAMANHO_LOTE_HISTORICO = 500; // fetch size do JDBC no histórico
+    private static final int TAMANHO_MAXIMO_PAGINA = 500;
+
+    private static final String SQL_HISTORICO_CLIENTE = """
+            SELECT a.ID_AGE, a.DATA_AGENDAMENTO, a.OBS_AGENDAMENTO, v.ID_VEI, v.PLACA
+            FROM CLIENTES cli
+            LEFT JOIN CV cv ON cv.CLIENTES_ID_CLI = cli.ID_CLI AND cv.CLIENTES_ENDERECOS_ID_END = cli.ENDERECOS_ID_END
+            LEFT JOIN AV av ON av.T_VEICULOS_ID_VEI = cv.T_VEICULOS_ID_VEI
+            LEFT JOIN AGENDAR a ON a.ID_AGE = av.AGENDAR_ID_AGE
+            LEFT JOIN VEICULOS v ON v.ID_VEI = av.T_VEICULOS_ID_VEI
+            WHERE cli.ID_CLI = ? AND cli.ENDERECOS_ID_END = ?""";
+
     private final AgendaRepository agendaRepository;
-    private final ClientesRepository clientesRepository;
     private final PagamentoRepository pagamentoRepository; // Injetado
+    private final JdbcTemplate jdbcTemplate;
+    private final CalendarioAgendaService calendarioAgendaService;
 
     @Autowired
     public RelatorioServiceImpl(AgendaRepository agendaRepository,
-                                ClientesRepository clientesRepository,
-                                PagamentoRepository pagamentoRepository) { // Adicionado ao construtor
+                                PagamentoRepository pagamentoRepository, // Adicionado ao construtor
+                                JdbcTemplate jdbcTemplate,
+                                CalendarioAgendaService calendarioAgendaService) {
         this.agendaRepository = agendaRepository;
-        this.clientesRepository = clientesRepository;
         this.pagamentoRepository = pagamentoRepository; // Atribuído
+        this.jdbcTemplate = jdbcTemplate;
+        this.calendarioAgendaService = calendarioAgendaService;
     }
 
     @Override
@@ -43,10 +71,8 @@ public class RelatorioServiceImpl implements RelatorioService {
     public List<ContagemMensalDTO> getContagemMensalAgendamentos() {
         log.info("Gerando relatório de contagem mensal de agendamentos.");
         try {
-            List<ContagemMensalResultadoNativo> resultadosNativos = agendaRepository.countAgendamentosByMonthNative();
-            List<ContagemMensalDTO> resultadoDTO = resultadosNativos.stream()
-                    .map(nativo -> new ContagemMensalDTO(nativo.getMesAno(), nativo.getQuantidade()))
-                    .collect(Collectors.toList());
+            // Lido dos contadores diários (CONTAGEM_AGENDA_DIA), sem agrupar AGENDAR por TO_CHAR
+            List<ContagemMensalDTO> resultadoDTO = calendarioAgendaService.contarPorMes();
             log.info("Relatório de contagem mensal gerado com {} resultados.", resultadoDTO.size());
             return resultadoDTO;
         } catch (Exception e) {
@@ -59,21 +85,54 @@ public class RelatorioServiceImpl implements RelatorioService {
     @Transactional(readOnly = true)
     public List<HistoricoAgendamentoClienteDTO> getHistoricoAgendamentosCliente(ClienteId id) {
         log.info("Buscando histórico de agendamentos para Cliente ID: {}", id);
-        if (id == null || id.getIdCli() == null || id.getEnderecoId() == null) {
-            throw new IllegalArgumentException("ID do Cliente (composto) inválido para buscar histórico.");
-        }
-        if (!clientesRepository.existsById(id)) {
-            log.warn("Tentativa de buscar histórico para cliente inexistente: {}", id);
-            throw new ClientesNotFoundException("Cliente não encontrado com ID: " + id);
-        }
+        validarClienteId(id);
+        List<HistoricoAgendamentoClienteDTO> historico = new ArrayList<>();
+        boolean clienteExiste;
         try {
-            List<HistoricoAgendamentoClienteDTO> historico = agendaRepository.findHistoricoAgendamentosByClienteId(id.getIdCli(), id.getEnderecoId());
-            log.info("Encontrados {} registros de histórico para o cliente ID {}", historico.size(), id);
-            return historico;
+            clienteExiste = percorrerHistoricoAgendamentosCliente(id, historico::add);
         } catch (Exception e) {
             log.error("Erro ao buscar histórico para cliente ID {}: {}", id, e.getMessage(), e);
             return Collections.emptyList();
         }
+        if (!clienteExiste) {
+            log.warn("Tentativa de buscar histórico para cliente inexistente: {}", id);
+            throw new ClientesNotFoundException("Cliente não encontrado com ID: " + id);
+        }
+        log.info("Encontrados {} registros de histórico para o cliente ID {}", historico.size(), id);
+        return historico;
+    }
+
+    @Override
+    public HistoricoAgendamentoPaginaDto getHistoricoAgendamentosClientePagina(ClienteId id, String cursor, int tamanho) {
+        log.info("Buscando página do histórico de agendamentos para Cliente ID: {} (cursor={}, tamanho={})", id, cursor, tamanho);
+        validarClienteId(id);
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+        CursorHistorico posicao = cursor != null && !cursor.isBlank() ? CursorHistorico.decodificar(cursor) : null;
+
+        List<HistoricoAgendamentoClienteDTO> itens = new ArrayList<>(tamanho);
+        CursorHistorico[] ultimo = new CursorHistorico[1];
+        boolean[] temMais = new boolean[1];
+        // Uma linha a mais indica se há próxima página
+        boolean clienteExiste = consultarHistorico(id, posicao, tamanho + 1, (dto, chave) -> {
+            if (itens.size() < tamanho) {
+                itens.add(dto);
+                ultimo[0] = chave;
+            } else {
+                temMais[0] = true;
+            }
+        });
+        if (!clienteExiste) {
+            throw new ClientesNotFoundException("Cliente não encontrado com ID: " + id);
+        }
+        return new HistoricoAgendamentoPaginaDto(itens, temMais[0] ? ultimo[0].codificar() : null, temMais[0]);
+    }
+
+    @Override
+    public boolean percorrerHistoricoAgendamentosCliente(ClienteId id, Consumer<HistoricoAgendamentoClienteDTO> consumidor) {
+        validarClienteId(id);
+        return consultarHistorico(id, null, 0, (dto, chave) -> consumidor.accept(dto));
     }
 
     @Override
@@ -81,7 +140,18 @@ public class RelatorioServiceImpl implements RelatorioService {
     public Page<ServicoAgendadoDTO> findServicosAgendados(LocalDate dataInicio, Pageable pageable) {
         log.info("Buscando relatório de serviços agendados a partir de {} com paginação {}", dataInicio, pageable);
         try {
-            Page<ServicoAgendadoDTO> pagina = agendaRepository.findServicosAgendados(dataInicio, pageable);
+            // A página é de agendamentos (AGENDAR); os joins só rodam para os IDs da página
+            Sort.Direction direcao = Optional.ofNullable(pageable.getSort().getOrderFor("dataAgendamento"))
+                    .map(Sort.Order::getDirection).orElse(Sort.Direction.ASC);
+            Pageable paginaIds = PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(),
+                    Sort.by(direcao, "dataAgendamento").and(Sort.by(direcao, "id")));
+            Slice<Long> ids = dataInicio != null
+                    ? agendaRepository.findIdsAgendaAPartirDe(dataInicio, paginaIds)
+                    : agendaRepository.findIdsAgenda(paginaIds);
+            long total = dataInicio != null
+                    ? agendaRepository.countByDataAgendamentoGreaterThanEqual(dataInicio)
+                    : agendaRepository.count();
+            Page<ServicoAgendadoDTO> pagina = new PageImpl<>(detalharServicos(ids.getContent()), pageable, total);
             log.info("Encontrados {} serviços agendados na página {}/{}",
                     pagina.getNumberOfElements(),
                     pageable.getPageNumber(),
@@ -93,6 +163,75 @@ public class RelatorioServiceImpl implements RelatorioService {
         }
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public ServicosAgendadosPaginaDto findServicosAgendadosPorCursor(LocalDate dataInicio, String cursor, int tamanho, boolean incluirTotal) {
+        log.info("Buscando serviços agendados por cursor: dataInicio={}, cursor={}, tamanho={}", dataInicio, cursor, tamanho);
+        if (tamanho < 1 || tamanho > TAMANHO_MAXIMO_PAGINA) {
+            throw new IllegalArgumentException("Tamanho da página deve estar entre 1 e " + TAMANHO_MAXIMO_PAGINA + ".");
+        }
+        // Uma linha a mais indica se há próxima página
+        Pageable limite = PageRequest.of(0, tamanho + 1);
+        List<Object[]> posicoes;
+        if (cursor != null && !cursor.isBlank()) {
+            String[] posicao = decodificarCursor(cursor);
+            posicoes = agendaRepository.findPosicoesAgendaApos(LocalDate.parse(posicao[0]), Long.parseLong(posicao[1]), limite);
+        } else {
+            posicoes = dataInicio != null
+                    ? agendaRepository.findPosicoesAgendaAPartirDe(dataInicio, limite)
+                    : agendaRepository.findPosicoesAgenda(limite);
+        }
+        boolean temMais = posicoes.size() > tamanho;
+        if (temMais) {
+            posicoes = posicoes.subList(0, tamanho);
+        }
+        List<Long> ids = new ArrayList<>(posicoes.size());
+        for (Object[] posicao : posicoes) {
+            ids.add(((Number) posicao[0]).longValue());
+        }
+        List<ServicoAgendadoDTO> itens = detalharServicos(ids);
+        // O cursor segue a última posição lida, mesmo que o detalhe dela (ou da página inteira) não tenha voltado
+        String proximoCursor = null;
+        if (temMais) {
+            Object[] ultima = posicoes.get(posicoes.size() - 1);
+            proximoCursor = codificarCursor(ultima[1] + "|" + ultima[0]);
+        }
+        Long total = null;
+        if (incluirTotal) {
+            total = dataInicio != null ? agendaRepository.countByDataAgendamentoGreaterThanEqual(dataInicio) : agendaRepository.count();
+        }
+        return new ServicosAgendadosPaginaDto(itens, proximoCursor, temMais, total);
+    }
+
+    // Busca os detalhes (veículo, oficina) dos agendamentos e preserva a ordem dos IDs
+    private List<ServicoAgendadoDTO> detalharServicos(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, List<ServicoAgendadoDTO>> porAgenda = agendaRepository.findServicosAgendadosPorIds(ids).stream()
+                .collect(Collectors.groupingBy(ServicoAgendadoDTO::getAgendaId));
+        List<ServicoAgendadoDTO> servicos = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            servicos.addAll(porAgenda.getOrDefault(id, Collections.emptyList()));
+        }
+        return servicos;
+    }
+
+    private static String codificarCursor(String texto) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(texto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodificarCursor(String cursor) {
+        try {
+            String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+            LocalDate.parse(partes[0]);
+            Long.parseLong(partes[1]);
+            return partes;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Cursor inválido.");
+        }
+    }
+
     @Override
     @Transactional(readOnly = true)
     public EstatisticasPagamentosDto getEstatisticasPagamentos(LocalDate dataInicio, LocalDate dataFim) {
@@ -157,4 +296,85 @@ public class RelatorioServiceImpl implements RelatorioService {
             return Collections.emptyList();
         }
     }
-}
\ No newline at end of file
+
+    // --- Histórico de agendamentos (seek cursor) ---
+
+    private interface LinhaHistorico {
+        void aceitar(HistoricoAgendamentoClienteDTO dto, CursorHistorico chave);
+    }
+
+    /**
+     * Posição no histórico: (data, agendamento, veículo) da última linha entregue, codificada em Base64 URL.
+     */
+    private record CursorHistorico(LocalDate data, long agendaId, long veiculoId) {
+
+        String codificar() {
+            return codificarCursor(data + "|" + agendaId + "|" + veiculoId);
+        }
+
+        static CursorHistorico decodificar(String cursor) {
+            try {
+                String[] partes = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|");
+                return new CursorHistorico(LocalDate.parse(partes[0]), Long.parseLong(partes[1]), Long.parseLong(partes[2]));
+            } catch (RuntimeException e) {
+                throw new IllegalArgumentException("Cursor de histórico inválido.");
+            }
+        }
+    }
+
+    /**
+     * Consulta que parte de CLIENTES, em ordem (data, agendamento, veículo) decrescente, que é a chave do seek cursor.
+     * Sem limite (percurso completo), a existência do cliente vem na própria consulta: ele sempre gera ao menos uma
+     * linha, com agendamento nulo se não houver histórico, e as linhas nulas são descartadas. Paginada, as linhas nulas
+     * são filtradas no banco para não ocuparem o FETCH FIRST nem servirem de "linha da próxima página"; a existência só
+     * é conferida à parte quando a página volta vazia.
+     */
+    private boolean consultarHistorico(ClienteId id, CursorHistorico posicao, int limite, LinhaHistorico consumidor) {
+        StringBuilder sql = new StringBuilder(SQL_HISTORICO_CLIENTE);
+        List<Object> parametros = new ArrayList<>(List.of(id.getIdCli(), id.getEnderecoId()));
+        if (limite > 0) {
+            sql.append(" AND a.ID_AGE IS NOT NULL");
+        }
+        if (posicao != null) {
+            sql.append(" AND (a.DATA_AGENDAMENTO < ? OR (a.DATA_AGENDAMENTO = ? AND (a.ID_AGE < ? OR (a.ID_AGE = ? AND v.ID_VEI < ?))))");
+            Date data = Date.valueOf(posicao.data());
+            parametros.addAll(List.of(data, data, posicao.agendaId(), posicao.agendaId(), posicao.veiculoId()));
+        }
+        sql.append(" ORDER BY a.DATA_AGENDAMENTO DESC NULLS LAST, a.ID_AGE DESC, v.ID_VEI DESC");
+        if (limite > 0) {
+            sql.append(" FETCH FIRST ? ROWS ONLY");
+            parametros.add(limite);
+        }
+        boolean[] clienteExiste = new boolean[1];
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(sql.toString());
+            ps.setFetchSize(TAMANHO_LOTE_HISTORICO);
+            for (int i = 0; i < parametros.size(); i++) {
+                ps.setObject(i + 1, parametros.get(i));
+            }
+            return ps;
+        }, rs -> {
+            clienteExiste[0] = true;
+            long agendaId = rs.getLong("ID_AGE");
+            if (rs.wasNull()) {
+                return;
+            }
+            LocalDate data = rs.getDate("DATA_AGENDAMENTO").toLocalDate();
+            consumidor.aceitar(new HistoricoAgendamentoClienteDTO(data, rs.getString("OBS_AGENDAMENTO"), rs.getString("PLACA")),
+                    new CursorHistorico(data, agendaId, rs.getLong("ID_VEI")));
+        });
+        if (!clienteExiste[0] && limite > 0) {
+            Integer clientes = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM CLIENTES WHERE ID_CLI = ? AND ENDERECOS_ID_END = ?",
+                    Integer.class, id.getIdCli(), id.getEnderecoId());
+            clienteExiste[0] = clientes != null && clientes > 0;
+        }
+        return clienteExiste[0];
+    }
+
+    private static void validarClienteId(ClienteId id) {
+        if (id == null || id.getIdCli() == null || id.getEnderecoId() == null) {
+            throw new IllegalArgumentException("ID do Cliente (composto) inválido para buscar histórico.");
+        }
+    }
+}
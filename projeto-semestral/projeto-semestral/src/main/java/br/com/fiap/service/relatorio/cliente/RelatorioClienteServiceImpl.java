@@ -16,12 +16,11 @@ import br.com.fiap.model.*;
 import br.com.fiap.model.relacionamentos.*;
 import br.com.fiap.repository.*;
 import br.com.fiap.repository.relacionamentos.*;
-import br.com.fiap.repository.specification.ClienteSpecification;
+import br.com.fiap.service.clientes.ConsultaClienteService;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,7 +39,7 @@ public class RelatorioClienteServiceImpl implements RelatorioClienteService {
     private static final Logger log = LoggerFactory.getLogger(RelatorioClienteServiceImpl.class);
 
     // --- Injeções (sem alterações) ---
-    private final ClientesRepository clienteRepository;
+    private final ConsultaClienteService consultaClienteService;
     private final VeiculoRepository veiculoRepository;
     private final AgendaRepository agendaRepository;
     private final OficinaRepository oficinaRepository;
@@ -64,7 +63,7 @@ public class RelatorioClienteServiceImpl implements RelatorioClienteService {
 
     @Autowired
     public RelatorioClienteServiceImpl(
-            ClientesRepository clienteRepository, VeiculoRepository veiculoRepository,
+            ConsultaClienteService consultaClienteService, VeiculoRepository veiculoRepository,
             AgendaRepository agendaRepository, OficinaRepository oficinaRepository,
             PecasRepository pecasRepository, OrcamentoRepository orcamentoRepository,
             PagamentoRepository pagamentoRepository,
@@ -79,7 +78,7 @@ public class RelatorioClienteServiceImpl implements RelatorioClienteService {
             PecasMapper pecasMapper, OrcamentoMapper orcamentoMapper,
             PagamentoMapper pagamentoMapper) {
         // ... atribuições do construtor ...
-        this.clienteRepository = clienteRepository;
+        this.consultaClienteService = consultaClienteService;
         this.veiculoRepository = veiculoRepository;
         this.agendaRepository = agendaRepository;
         this.oficinaRepository = oficinaRepository;
@@ -106,16 +105,15 @@ public class RelatorioClienteServiceImpl implements RelatorioClienteService {
     public ClienteRelatorioCompletoDTO getRelatorioCompletoCliente(String tipoBusca, String valorBusca) {
         log.info("Gerando relatório completo para cliente: tipo={}, valor={}", tipoBusca, valorBusca);
 
-        // 1. Encontrar o Cliente (sem alterações)
-        Specification<Clientes> spec = Specification.where(null);
+        // 1. Encontrar o Cliente (uma consulta de uma linha, pelo ID_CLI ou pelo documento)
+        Optional<Clientes> clienteOpt;
         if ("id".equalsIgnoreCase(tipoBusca)) {
-            try { Long idCli = Long.parseLong(valorBusca); spec = spec.and(ClienteSpecification.idCliEquals(idCli)); }
+            try { clienteOpt = consultaClienteService.buscarPorIdCli(Long.parseLong(valorBusca)); }
             catch (NumberFormatException e) { throw new IllegalArgumentException("ID do cliente inválido: " + valorBusca); }
         } else if ("documento".equalsIgnoreCase(tipoBusca)) {
-            spec = spec.and(ClienteSpecification.numeroDocumentoEquals(valorBusca));
+            clienteOpt = consultaClienteService.buscarPorDocumento(valorBusca);
         } else { throw new IllegalArgumentException("Tipo de busca inválido: " + tipoBusca); }
 
-        Optional<Clientes> clienteOpt = clienteRepository.findAll(spec).stream().findFirst();
         if (clienteOpt.isEmpty()) { throw new ClientesNotFoundException("Cliente não encontrado para os critérios fornecidos."); }
         Clientes cliente = clienteOpt.get();
         ClienteId clienteId = cliente.getId();
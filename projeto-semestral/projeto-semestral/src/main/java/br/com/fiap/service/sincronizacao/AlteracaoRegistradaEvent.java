@@ -0,0 +1,13 @@
+// src/main/java/br/com/fiap/service/sincronizacao/AlteracaoRegistradaEvent.java
+package br.com.fiap.service.sincronizacao;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+
+/**
+ * Evento publicado a cada alteração registrada no log de sincronização.
+ * Ouvintes interessados apenas em alterações confirmadas devem usar
+ * {@code @TransactionalEventListener(phase = AFTER_COMMIT)}.
+ */
+public record AlteracaoRegistradaEvent(TipoEntidade entidade, Long entidadeId, TipoOperacao operacao) {
+}
@@ -0,0 +1,25 @@
+// src/main/java/br/com/fiap/service/sincronizacao/SincronizacaoService.java
+package br.com.fiap.service.sincronizacao;
+
+import br.com.fiap.dto.sincronizacao.AlteracoesResponseDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+
+import java.time.LocalDateTime;
+
+public interface SincronizacaoService {
+
+    /**
+     * Registra a alteração de uma entidade no log de sincronização.
+     * Deve ser chamado de dentro da transação que efetua a alteração: o registro
+     * só é gravado (e recebe sua versão) no momento do commit, e é descartado em caso de rollback.
+     */
+    void registrarAlteracao(TipoEntidade entidade, Long entidadeId, TipoOperacao operacao);
+
+    /**
+     * Retorna as alterações posteriores ao cursor informado (versão ou data/hora), em ordem de commit,
+     * consolidadas por entidade (apenas a última alteração de cada registro). As versões são obtidas e confirmadas
+     * em exclusão mútua, então nenhuma alteração confirmada depois fica abaixo de um cursor já entregue.
+     */
+    AlteracoesResponseDto buscarAlteracoes(Long versao, LocalDateTime desde, int limite);
+}
@@ -0,0 +1,251 @@
+// src/main/java/br/com/fiap/service/sincronizacao/SincronizacaoServiceImpl.java
+package br.com.fiap.service.sincronizacao;
+
+import br.com.fiap.dto.sincronizacao.AlteracaoDto;
+import br.com.fiap.dto.sincronizacao.AlteracoesResponseDto;
+import br.com.fiap.mapper.AgendaMapper;
+import br.com.fiap.mapper.OficinaMapper;
+import br.com.fiap.mapper.OrcamentoMapper;
+import br.com.fiap.mapper.PagamentoMapper;
+import br.com.fiap.model.sincronizacao.RegistroAlteracao;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.repository.AgendaRepository;
+import br.com.fiap.repository.OficinaRepository;
+import br.com.fiap.repository.OrcamentoRepository;
+import br.com.fiap.repository.PagamentoRepository;
+import br.com.fiap.repository.RegistroAlteracaoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Log de alterações para a sincronização incremental do front-end.
+ * <p>
+ * As alterações de uma transação são gravadas no beforeCommit, depois de travar a linha única de
+ * CONTROLE_SINCRONIZACAO; a trava só é liberada no commit (ou rollback). Assim a versão (sequence) é obtida e
+ * confirmada em exclusão mútua: nenhuma versão maior fica visível antes de uma menor, e o cursor entregue ao cliente
+ * nunca passa por uma alteração ainda em andamento. O trecho serializado é só a gravação do log, no fim da transação.
+ */
+@Service
+public class SincronizacaoServiceImpl implements SincronizacaoService {
+
+    private static final Logger log = LoggerFactory.getLogger(SincronizacaoServiceImpl.class);
+
+    private static final int LIMITE_MAXIMO = 1000;
+    // Chave do recurso ligado à transação corrente com as alterações pendentes de gravação
+    private static final Object CHAVE_PENDENTES = new Object();
+
+    // Trava a linha de controle até o fim da transação (MERGE: a linha é criada no primeiro uso)
+    private static final String SQL_TRAVAR_VERSAO = """
+            MERGE INTO CONTROLE_SINCRONIZACAO c
+            USING (SELECT 1 AS ID FROM DUAL) src
+            ON (c.ID = src.ID)
+            WHEN MATCHED THEN UPDATE SET c.DATA_ULTIMO_COMMIT = CURRENT_TIMESTAMP
+            WHEN NOT MATCHED THEN INSERT (ID, DATA_ULTIMO_COMMIT) VALUES (src.ID, CURRENT_TIMESTAMP)
+            """;
+
+    private final RegistroAlteracaoRepository registroAlteracaoRepository;
+    private final AgendaRepository agendaRepository;
+    private final OficinaRepository oficinaRepository;
+    private final OrcamentoRepository orcamentoRepository;
+    private final PagamentoRepository pagamentoRepository;
+    private final AgendaMapper agendaMapper;
+    private final OficinaMapper oficinaMapper;
+    private final OrcamentoMapper orcamentoMapper;
+    private final PagamentoMapper pagamentoMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transacao;
+
+    @Autowired
+    public SincronizacaoServiceImpl(RegistroAlteracaoRepository registroAlteracaoRepository,
+                                    AgendaRepository agendaRepository,
+                                    OficinaRepository oficinaRepository,
+                                    OrcamentoRepository orcamentoRepository,
+                                    PagamentoRepository pagamentoRepository,
+                                    AgendaMapper agendaMapper,
+                                    OficinaMapper oficinaMapper,
+                                    OrcamentoMapper orcamentoMapper,
+                                    PagamentoMapper pagamentoMapper,
+                                    ApplicationEventPublisher eventPublisher,
+                                    JdbcTemplate jdbcTemplate,
+                                    PlatformTransactionManager transactionManager) {
+        this.registroAlteracaoRepository = registroAlteracaoRepository;
+        this.agendaRepository = agendaRepository;
+        this.oficinaRepository = oficinaRepository;
+        this.orcamentoRepository = orcamentoRepository;
+        this.pagamentoRepository = pagamentoRepository;
+        this.agendaMapper = agendaMapper;
+        this.oficinaMapper = oficinaMapper;
+        this.orcamentoMapper = orcamentoMapper;
+        this.pagamentoMapper = pagamentoMapper;
+        this.eventPublisher = eventPublisher;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public void registrarAlteracao(TipoEntidade entidade, Long entidadeId, TipoOperacao operacao) {
+        if (entidadeId == null) {
+            return;
+        }
+        // Ouvintes transacionais (ex.: notificações SSE) só o recebem após o commit
+        eventPublisher.publishEvent(new AlteracaoRegistradaEvent(entidade, entidadeId, operacao));
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            // Fora de transação não há commit a aguardar: grava imediatamente, em transação própria e com a mesma trava
+            log.warn("Alteração {} {} ID {} registrada fora de transação.", operacao, entidade, entidadeId);
+            transacao.executeWithoutResult(status -> gravar(List.of(novoRegistro(entidade, entidadeId, operacao))));
+            return;
+        }
+        pendentesDaTransacao().merge(entidade.name() + ":" + entidadeId,
+                novoRegistro(entidade, entidadeId, operacao),
+                SincronizacaoServiceImpl::consolidar);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AlteracoesResponseDto buscarAlteracoes(Long versao, LocalDateTime desde, int limite) {
+        long cursor;
+        if (versao != null) {
+            cursor = versao;
+        } else if (desde != null) {
+            cursor = registroAlteracaoRepository.findUltimaVersaoAntesDe(desde);
+        } else {
+            cursor = 0L;
+        }
+        int tamanho = Math.max(1, Math.min(limite, LIMITE_MAXIMO));
+        log.info("Buscando alterações desde a versão {} (limite {})", cursor, tamanho);
+
+        // Busca um registro a mais apenas para saber se há próxima página. Versões confirmadas saem em ordem de commit
+        // (ver gravar): tudo o que está visível abaixo da maior versão lida já foi confirmado.
+        List<RegistroAlteracao> registros = registroAlteracaoRepository
+                .findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, tamanho + 1));
+        boolean possuiMais = registros.size() > tamanho;
+        if (possuiMais) {
+            registros = registros.subList(0, tamanho);
+        }
+        if (registros.isEmpty()) {
+            return new AlteracoesResponseDto(cursor, false, Collections.emptyList());
+        }
+
+        // Mantém só a última alteração de cada entidade, na posição da sua versão mais recente
+        Map<String, RegistroAlteracao> ultimas = new LinkedHashMap<>();
+        for (RegistroAlteracao registro : registros) {
+            String chave = registro.getEntidade().name() + ":" + registro.getEntidadeId();
+            ultimas.remove(chave);
+            ultimas.put(chave, registro);
+        }
+
+        // Carrega o estado atual em lote, uma consulta por tipo de entidade
+        Map<TipoEntidade, Set<Long>> idsPorEntidade = new EnumMap<>(TipoEntidade.class);
+        for (RegistroAlteracao registro : ultimas.values()) {
+            if (registro.getOperacao() != TipoOperacao.EXCLUSAO) {
+                idsPorEntidade.computeIfAbsent(registro.getEntidade(), k -> new HashSet<>()).add(registro.getEntidadeId());
+            }
+        }
+        Map<TipoEntidade, Map<Long, Object>> dados = new EnumMap<>(TipoEntidade.class);
+        idsPorEntidade.forEach((entidade, ids) -> dados.put(entidade, carregar(entidade, ids)));
+
+        List<AlteracaoDto> alteracoes = new ArrayList<>(ultimas.size());
+        for (RegistroAlteracao registro : ultimas.values()) {
+            Object estadoAtual = registro.getOperacao() == TipoOperacao.EXCLUSAO ? null
+                    : dados.getOrDefault(registro.getEntidade(), Collections.emptyMap()).get(registro.getEntidadeId());
+            // Registro removido depois desta versão: entregue como tombstone
+            TipoOperacao operacao = estadoAtual == null ? TipoOperacao.EXCLUSAO : registro.getOperacao();
+            alteracoes.add(new AlteracaoDto(registro.getId(), registro.getEntidade(), registro.getEntidadeId(),
+                    operacao, registro.getDataAlteracao(), estadoAtual));
+        }
+
+        Long proximaVersao = registros.get(registros.size() - 1).getId();
+        log.info("Retornando {} alterações ({} registros no log). Próxima versão: {}", alteracoes.size(), registros.size(), proximaVersao);
+        return new AlteracoesResponseDto(proximaVersao, possuiMais, alteracoes);
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Map<Long, Object> carregar(TipoEntidade entidade, Set<Long> ids) {
+        return switch (entidade) {
+            case AGENDA -> agendaRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(a -> a.getId(), a -> (Object) agendaMapper.toResponseDto(a)));
+            case OFICINA -> oficinaRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(o -> o.getId(), o -> (Object) oficinaMapper.toResponseDto(o)));
+            case ORCAMENTO -> orcamentoRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(o -> o.getId(), o -> (Object) orcamentoMapper.toResponseDto(o)));
+            case PAGAMENTO -> pagamentoRepository.findAllById(ids).stream()
+                    .collect(Collectors.toMap(p -> p.getId(), p -> (Object) pagamentoMapper.toResponseDto(p)));
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, RegistroAlteracao> pendentesDaTransacao() {
+        Map<String, RegistroAlteracao> pendentes =
+                (Map<String, RegistroAlteracao>) TransactionSynchronizationManager.getResource(CHAVE_PENDENTES);
+        if (pendentes == null) {
+            Map<String, RegistroAlteracao> novos = new LinkedHashMap<>();
+            TransactionSynchronizationManager.bindResource(CHAVE_PENDENTES, novos);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    gravar(novos.values());
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(CHAVE_PENDENTES);
+                }
+            });
+            pendentes = novos;
+        }
+        return pendentes;
+    }
+
+    // Trava a linha de controle e grava os registros com versão e data obtidas sob a trava, que dura até o commit:
+    // quem gravar depois espera este commit, então a ordem das versões é a ordem de commit
+    private void gravar(Collection<RegistroAlteracao> registros) {
+        if (registros.isEmpty()) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(SQL_TRAVAR_VERSAO);
+        } catch (DuplicateKeyException e) {
+            // Outra transação criou a linha ao mesmo tempo: agora é um UPDATE (que espera a trava dela)
+            jdbcTemplate.update(SQL_TRAVAR_VERSAO);
+        }
+        LocalDateTime agora = LocalDateTime.now();
+        registros.forEach(r -> r.setDataAlteracao(agora));
+        registroAlteracaoRepository.saveAll(registros);
+        registroAlteracaoRepository.flush(); // versões obtidas e linhas gravadas ainda sob a trava
+    }
+
+    // Criação seguida de atualização na mesma transação continua sendo uma criação
+    private static RegistroAlteracao consolidar(RegistroAlteracao anterior, RegistroAlteracao novo) {
+        if (anterior.getOperacao() == TipoOperacao.CRIACAO && novo.getOperacao() == TipoOperacao.ATUALIZACAO) {
+            return anterior;
+        }
+        return novo;
+    }
+
+    private static RegistroAlteracao novoRegistro(TipoEntidade entidade, Long entidadeId, TipoOperacao operacao) {
+        RegistroAlteracao registro = new RegistroAlteracao();
+        registro.setEntidade(entidade);
+        registro.setEntidadeId(entidadeId);
+        registro.setOperacao(operacao);
+        registro.setDataAlteracao(LocalDateTime.now());
+        return registro;
+    }
+}
@@ -0,0 +1,21 @@
+// src/main/java/br/com/fiap/service/veiculo/BuscaVeiculosService.java
+package br.com.fiap.service.veiculo;
+
+import br.com.fiap.dto.veiculo.VeiculoResponseDto;
+
+import java.util.List;
+
+public interface BuscaVeiculosService {
+
+    /** Indica se o índice em memória já foi carregado. */
+    boolean disponivel();
+
+    /**
+     * Placa exata ou por prefixo (formato antigo ou Mercosul) e termos do modelo/proprietário, respondidos pelo
+     * índice sem consultar o banco.
+     */
+    List<VeiculoResponseDto> buscar(String placa, String modelo, String proprietario);
+
+    /** Reconstrói o índice a partir do banco e espera terminar (também executado periodicamente em segundo plano). */
+    void reconstruir();
+}
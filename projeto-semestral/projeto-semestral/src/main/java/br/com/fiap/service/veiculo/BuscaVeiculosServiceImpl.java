@@ -0,0 +1,161 @@
+// src/main/java/br/com/fiap/service/veiculo/BuscaVeiculosServiceImpl.java
+package br.com.fiap.service.veiculo;
+
+import br.com.fiap.dto.veiculo.VeiculoResponseDto;
+import br.com.fiap.service.busca.IndiceEmSegundoPlano;
+import br.com.fiap.service.importacao.LotesJdbc;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.*;
+
+/**
+ * Busca de veículos (placa, modelo, proprietário) servida do {@link IndiceBuscaVeiculos} em memória, em vez dos
+ * {@code LIKE '%x%'} em VEICULOS, que não usam índice.
+ * <p>
+ * O índice é mantido pelo {@link IndiceEmSegundoPlano}: construído em segundo plano quando a aplicação sobe e
+ * reconstruído periodicamente (busca-veiculos.reconstrucao-minutos) ou quando um quarto dos slots já foi descartado;
+ * entre uma reconstrução e outra ele é corrigido a partir dos {@link VeiculosAlteradosEvent} confirmados, relendo os
+ * veículos alterados e os inseridos desde a carga que ainda não estão nele.
+ */
+@Service
+public class BuscaVeiculosServiceImpl implements BuscaVeiculosService {
+
+    private static final int TAMANHO_LOTE_CARGA = 1000;
+    private static final int LOTE_IN = 1000;
+
+    private static final String SQL_VEICULOS = "SELECT ID_VEI, TIPO_VEICULO, RENAVAM, PLACA, MODELO, PROPRIETARIO, " +
+            "MONTADORA, COR, MOTOR, ANO_FABRICACAO FROM VEICULOS";
+    private static final String SQL_IDS_DESDE_CARGA = "SELECT ID_VEI FROM VEICULOS WHERE ID_VEI > ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final IndiceEmSegundoPlano<IndiceBuscaVeiculos> indice;
+
+    @Autowired
+    public BuscaVeiculosServiceImpl(JdbcTemplate jdbcTemplate,
+                                    @Value("${busca-veiculos.reconstrucao-minutos:60}") long reconstrucaoMinutos) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.indice = new IndiceEmSegundoPlano<>("busca-veiculos", "busca de veículos", reconstrucaoMinutos,
+                new IndiceEmSegundoPlano.Fonte<>() {
+                    @Override
+                    public IndiceBuscaVeiculos carregar() {
+                        return carregarIndice();
+                    }
+
+                    @Override
+                    public void aplicar(IndiceBuscaVeiculos alvo, Collection<Long> ids) {
+                        aplicarAlteracoes(alvo, ids);
+                    }
+
+                    @Override
+                    public boolean precisaReconstruir(IndiceBuscaVeiculos alvo) {
+                        return alvo.removidos() > alvo.tamanho() / 4;
+                    }
+                }, IndiceBuscaVeiculos::tamanho);
+    }
+
+    @PreDestroy
+    void encerrar() {
+        indice.encerrar();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void agendarReconstrucao() {
+        indice.agendar();
+    }
+
+    @Override
+    public boolean disponivel() {
+        return indice.disponivel();
+    }
+
+    @Override
+    public List<VeiculoResponseDto> buscar(String placa, String modelo, String proprietario) {
+        return indice.aguardar().buscar(placa, modelo, proprietario).stream()
+                .map(BuscaVeiculosServiceImpl::toResponseDto)
+                .toList();
+    }
+
+    @Override
+    public void reconstruir() {
+        indice.reconstruir();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void aoAlterarVeiculos(VeiculosAlteradosEvent evento) {
+        indice.alterados(evento.veiculoIds());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private IndiceBuscaVeiculos carregarIndice() {
+        List<IndiceBuscaVeiculos.Veiculo> veiculos = new ArrayList<>();
+        jdbcTemplate.query(conexao -> {
+            PreparedStatement ps = conexao.prepareStatement(SQL_VEICULOS);
+            ps.setFetchSize(TAMANHO_LOTE_CARGA);
+            return ps;
+        }, (ResultSet rs) -> {
+            veiculos.add(lerVeiculo(rs));
+        });
+        return new IndiceBuscaVeiculos(veiculos);
+    }
+
+    // Relê os veículos informados (os que sumiram do banco são retirados) e os de ID acima da carga ainda fora do
+    // índice, que podem estar abaixo do maior ID já indexado quando os commits não seguem a sequência
+    private void aplicarAlteracoes(IndiceBuscaVeiculos alvo, Collection<Long> veiculoIds) {
+        Set<Long> alvos = new LinkedHashSet<>(veiculoIds);
+        for (Long id : jdbcTemplate.queryForList(SQL_IDS_DESDE_CARGA, Long.class, alvo.maiorIdDaCarga())) {
+            if (!alvo.contem(id)) {
+                alvos.add(id);
+            }
+        }
+        List<Long> ids = new ArrayList<>(alvos);
+        List<IndiceBuscaVeiculos.Veiculo> lidos = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += LOTE_IN) {
+            List<Long> bloco = ids.subList(i, Math.min(i + LOTE_IN, ids.size()));
+            jdbcTemplate.query(SQL_VEICULOS + " WHERE ID_VEI IN (" + LotesJdbc.marcadores(bloco.size()) + ")",
+                    (ResultSet rs) -> {
+                        lidos.add(lerVeiculo(rs));
+                    }, bloco.toArray());
+        }
+        Set<Long> encontrados = new HashSet<>();
+        lidos.forEach(v -> encontrados.add(v.id()));
+        List<Long> removidos = ids.stream().filter(id -> !encontrados.contains(id)).toList();
+        if (!lidos.isEmpty() || !removidos.isEmpty()) {
+            alvo.atualizar(lidos, removidos);
+        }
+    }
+
+    private static IndiceBuscaVeiculos.Veiculo lerVeiculo(ResultSet rs) throws SQLException {
+        java.sql.Date anoFabricacao = rs.getDate("ANO_FABRICACAO");
+        return new IndiceBuscaVeiculos.Veiculo(rs.getLong("ID_VEI"), rs.getString("TIPO_VEICULO"),
+                rs.getString("RENAVAM"), rs.getString("PLACA"), rs.getString("MODELO"), rs.getString("PROPRIETARIO"),
+                rs.getString("MONTADORA"), rs.getString("COR"), rs.getString("MOTOR"),
+                anoFabricacao != null ? anoFabricacao.toLocalDate() : null);
+    }
+
+    private static VeiculoResponseDto toResponseDto(IndiceBuscaVeiculos.Veiculo v) {
+        VeiculoResponseDto dto = new VeiculoResponseDto();
+        dto.setId(v.id());
+        dto.setTipoVeiculo(v.tipoVeiculo());
+        dto.setRenavam(v.renavam());
+        dto.setPlaca(v.placa());
+        dto.setModelo(v.modelo());
+        dto.setProprietario(v.proprietario());
+        dto.setMontadora(v.montadora());
+        dto.setCor(v.cor());
+        dto.setMotor(v.motor());
+        dto.setAnoFabricacao(v.anoFabricacao());
+        return dto;
+    }
+}
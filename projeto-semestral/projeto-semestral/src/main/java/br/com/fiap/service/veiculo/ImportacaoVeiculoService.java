@@ -0,0 +1,17 @@
+// src/main/java/br/com/fiap/service/veiculo/ImportacaoVeiculoService.java
+package br.com.fiap.service.veiculo;
+
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+import br.com.fiap.service.importacao.FormatoImportacao;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacaoVeiculoService {
+
+    /**
+     * Importa (insere ou atualiza) veículos de um array JSON ou CSV, casando com os existentes por placa/renavam,
+     * e opcionalmente os vincula a clientes. Linhas inválidas ou conflitantes são reportadas sem interromper a importação.
+     */
+    RelatorioImportacaoDto importar(InputStream entrada, FormatoImportacao formato) throws IOException;
+}
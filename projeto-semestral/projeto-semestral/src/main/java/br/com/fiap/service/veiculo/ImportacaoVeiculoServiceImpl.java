@@ -0,0 +1,331 @@
+// src/main/java/br/com/fiap/service/veiculo/ImportacaoVeiculoServiceImpl.java
+package br.com.fiap.service.veiculo;
+
+import br.com.fiap.dto.importacao.RelatorioImportacaoDto;
+import br.com.fiap.dto.veiculo.VeiculoImportacaoDto;
+import br.com.fiap.service.importacao.AcumuladorImportacao;
+import br.com.fiap.service.importacao.FormatoImportacao;
+import br.com.fiap.service.importacao.LeitorImportacao;
+import br.com.fiap.service.importacao.LotesJdbc;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+/**
+ * Importação de frota com upsert em lote.
+ * <p>
+ * Por lote: uma consulta resolve quais placas/renavams já existem; as linhas cuja placa existe ou é nova
+ * vão para um MERGE em batch casando por PLACA (o MERGE não pode alterar a coluna do ON), e as linhas
+ * cujo renavam existe com outra placa (troca de placa, ex.: conversão Mercosul) vão para um UPDATE em batch por ID.
+ * Placa de um veículo e renavam de outro é conflito e a linha é rejeitada. Os vínculos com clientes
+ * são gravados no mesmo lote/transação, com INSERT ... SELECT que ignora vínculos já existentes.
+ * Ao final, um {@link VeiculosAlteradosEvent} com os veículos já existentes nos lotes atualiza o índice de busca
+ * (os novos são encontrados entre os IDs acima da última carga do índice).
+ * <p>
+ * Colunas do CSV: tipoVeiculo, renavam, placa, modelo, proprietario, montadora, cor, motor,
+ * anoFabricacao (yyyy-MM-dd, dd/MM/yyyy ou só o ano), clienteId, clienteEnderecoId.
+ */
+@Service
+public class ImportacaoVeiculoServiceImpl implements ImportacaoVeiculoService {
+
+    private static final Logger log = LoggerFactory.getLogger(ImportacaoVeiculoServiceImpl.class);
+
+    private static final String SQL_MERGE = """
+            MERGE INTO VEICULOS v
+            USING (SELECT ? AS PLACA, ? AS RENAVAM, ? AS TIPO_VEICULO, ? AS MODELO, ? AS PROPRIETARIO,
+                          ? AS MONTADORA, ? AS COR, ? AS MOTOR, ? AS ANO_FABRICACAO FROM DUAL) s
+            ON (v.PLACA = s.PLACA)
+            WHEN MATCHED THEN UPDATE SET
+                v.RENAVAM = s.RENAVAM, v.TIPO_VEICULO = s.TIPO_VEICULO, v.MODELO = s.MODELO,
+                v.PROPRIETARIO = s.PROPRIETARIO, v.MONTADORA = s.MONTADORA, v.COR = s.COR,
+                v.MOTOR = s.MOTOR, v.ANO_FABRICACAO = s.ANO_FABRICACAO
+            WHEN NOT MATCHED THEN INSERT
+                (PLACA, RENAVAM, TIPO_VEICULO, MODELO, PROPRIETARIO, MONTADORA, COR, MOTOR, ANO_FABRICACAO)
+                VALUES (s.PLACA, s.RENAVAM, s.TIPO_VEICULO, s.MODELO, s.PROPRIETARIO, s.MONTADORA, s.COR, s.MOTOR, s.ANO_FABRICACAO)
+            """;
+
+    private static final String SQL_TROCA_PLACA = "UPDATE VEICULOS SET PLACA = ?, RENAVAM = ?, TIPO_VEICULO = ?, MODELO = ?, " +
+            "PROPRIETARIO = ?, MONTADORA = ?, COR = ?, MOTOR = ?, ANO_FABRICACAO = ? WHERE ID_VEI = ?";
+
+    // ID_CV é preenchido pela trigger CV_ID_CV_TRG
+    private static final String SQL_VINCULO = """
+            INSERT INTO CV (CLIENTES_ID_CLI, CLIENTES_ENDERECOS_ID_END, T_VEICULOS_ID_VEI)
+            SELECT ?, ?, v.ID_VEI FROM VEICULOS v
+            WHERE v.PLACA = ?
+              AND NOT EXISTS (SELECT 1 FROM CV cv
+                              WHERE cv.CLIENTES_ID_CLI = ? AND cv.CLIENTES_ENDERECOS_ID_END = ?
+                                AND cv.T_VEICULOS_ID_VEI = v.ID_VEI)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Validator validator;
+    private final ObjectMapper objectMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${importacao.tamanho-lote:500}")
+    private int tamanhoLote;
+
+    @Value("${importacao.max-erros-relatorio:1000}")
+    private int maxErrosRelatorio;
+
+    @Autowired
+    public ImportacaoVeiculoServiceImpl(JdbcTemplate jdbcTemplate,
+                                        PlatformTransactionManager transactionManager,
+                                        Validator validator,
+                                        ObjectMapper objectMapper,
+                                        ApplicationEventPublisher eventPublisher) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.validator = validator;
+        this.objectMapper = objectMapper;
+        this.eventPublisher = eventPublisher;
+    }
+
+    private record LinhaVeiculo(long linha, VeiculoImportacaoDto dto) {
+    }
+
+    // Veículo já cadastrado encontrado por placa e/ou renavam
+    private record VeiculoExistente(long id, String placa, String renavam) {
+    }
+
+    @Override
+    public RelatorioImportacaoDto importar(InputStream entrada, FormatoImportacao formato) throws IOException {
+        log.info("Iniciando importação de veículos (formato {}, lotes de {})", formato, tamanhoLote);
+        int tamanho = Math.max(1, Math.min(tamanhoLote, 1000));
+        AcumuladorImportacao acumulador = new AcumuladorImportacao(maxErrosRelatorio);
+        // Deduplicação dentro do arquivo: vale a primeira ocorrência de cada placa/renavam
+        Map<String, Long> placasNoArquivo = new HashMap<>();
+        Map<String, Long> renavamsNoArquivo = new HashMap<>();
+        List<LinhaVeiculo> lote = new ArrayList<>(tamanho);
+        Set<Long> existentes = new HashSet<>();
+
+        LeitorImportacao.ler(entrada, formato, objectMapper, VeiculoImportacaoDto.class, ImportacaoVeiculoServiceImpl::deCsv,
+                (linha, dto) -> {
+                    acumulador.linhaLida();
+                    normalizar(dto);
+                    String erro = LeitorImportacao.validar(validator, dto);
+                    if (erro != null) {
+                        acumulador.rejeitar(linha, dto.getPlaca(), erro);
+                        return;
+                    }
+                    Long linhaPlaca = placasNoArquivo.putIfAbsent(dto.getPlaca(), linha);
+                    if (linhaPlaca != null) {
+                        acumulador.rejeitar(linha, dto.getPlaca(), "Placa repetida no arquivo (linha " + linhaPlaca + ").");
+                        return;
+                    }
+                    Long linhaRenavam = renavamsNoArquivo.putIfAbsent(dto.getRenavam(), linha);
+                    if (linhaRenavam != null) {
+                        placasNoArquivo.remove(dto.getPlaca());
+                        acumulador.rejeitar(linha, dto.getPlaca(), "Renavam repetido no arquivo (linha " + linhaRenavam + ").");
+                        return;
+                    }
+                    lote.add(new LinhaVeiculo(linha, dto));
+                    if (lote.size() >= tamanho) {
+                        gravarLote(lote, acumulador, existentes);
+                        lote.clear();
+                    }
+                },
+                (linha, mensagem) -> {
+                    acumulador.linhaLida();
+                    acumulador.rejeitar(linha, null, mensagem);
+                });
+        if (!lote.isEmpty()) {
+            gravarLote(lote, acumulador, existentes);
+        }
+
+        RelatorioImportacaoDto relatorio = acumulador.gerar();
+        log.info("Importação de veículos concluída: {} linhas, {} inseridas, {} atualizadas, {} rejeitadas em {} ms ({} linhas/s)",
+                relatorio.getTotalLinhas(), relatorio.getInseridas(), relatorio.getAtualizadas(), relatorio.getRejeitadas(),
+                relatorio.getDuracaoMs(), relatorio.getLinhasPorSegundo());
+        if (relatorio.getInseridas() > 0 || relatorio.getAtualizadas() > 0) {
+            eventPublisher.publishEvent(new VeiculosAlteradosEvent(existentes));
+        }
+        return relatorio;
+    }
+
+    // --- Métodos auxiliares ---
+
+    // existentes recebe os IDs dos veículos já cadastrados encontrados no lote (candidatos a alteração)
+    private void gravarLote(List<LinhaVeiculo> lote, AcumuladorImportacao acumulador, Set<Long> existentes) {
+        Map<String, VeiculoExistente> porPlaca = new HashMap<>();
+        Map<String, VeiculoExistente> porRenavam = new HashMap<>();
+        List<Object> chaves = new ArrayList<>(lote.size() * 2);
+        lote.forEach(l -> chaves.add(l.dto().getPlaca()));
+        lote.forEach(l -> chaves.add(l.dto().getRenavam()));
+        String marcadores = LotesJdbc.marcadores(lote.size());
+        jdbcTemplate.query("SELECT ID_VEI, PLACA, RENAVAM FROM VEICULOS WHERE PLACA IN (" + marcadores + ") OR RENAVAM IN (" + marcadores + ")",
+                rs -> {
+                    VeiculoExistente v = new VeiculoExistente(rs.getLong(1), rs.getString(2), rs.getString(3));
+                    porPlaca.put(v.placa(), v);
+                    porRenavam.put(v.renavam(), v);
+                    existentes.add(v.id());
+                }, chaves.toArray());
+        Map<Long, List<Long>> enderecosPorCliente = buscarEnderecosClientes(lote);
+
+        List<LinhaVeiculo> merges = new ArrayList<>();
+        List<LinhaVeiculo> trocasPlaca = new ArrayList<>();
+        Map<LinhaVeiculo, Long> idsTrocaPlaca = new HashMap<>();
+        int atualizacoes = 0;
+        for (LinhaVeiculo linha : lote) {
+            VeiculoImportacaoDto dto = linha.dto();
+            if (dto.getClienteId() != null && !resolverCliente(dto, enderecosPorCliente)) {
+                acumulador.rejeitar(linha.linha(), dto.getPlaca(), "Cliente não encontrado: " + dto.getClienteId()
+                        + (dto.getClienteEnderecoId() != null ? "/" + dto.getClienteEnderecoId() : ""));
+                continue;
+            }
+            VeiculoExistente mesmaPlaca = porPlaca.get(dto.getPlaca());
+            VeiculoExistente mesmoRenavam = porRenavam.get(dto.getRenavam());
+            if (mesmaPlaca != null && mesmoRenavam != null && mesmaPlaca.id() != mesmoRenavam.id()) {
+                acumulador.rejeitar(linha.linha(), dto.getPlaca(), "Conflito: a placa pertence ao veículo ID " + mesmaPlaca.id()
+                        + " e o renavam ao veículo ID " + mesmoRenavam.id() + ".");
+            } else if (mesmaPlaca == null && mesmoRenavam != null) {
+                trocasPlaca.add(linha);
+                idsTrocaPlaca.put(linha, mesmoRenavam.id());
+                atualizacoes++;
+            } else {
+                merges.add(linha);
+                if (mesmaPlaca != null) {
+                    atualizacoes++;
+                }
+            }
+        }
+        if (merges.isEmpty() && trocasPlaca.isEmpty()) {
+            return;
+        }
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravar(merges, trocasPlaca, idsTrocaPlaca));
+            acumulador.atualizadas(atualizacoes);
+            acumulador.inseridas(merges.size() + trocasPlaca.size() - atualizacoes);
+        } catch (DataAccessException e) {
+            log.warn("Falha no lote de {} veículos ({}); regravando linha a linha.", merges.size() + trocasPlaca.size(), LotesJdbc.causaRaiz(e));
+            for (LinhaVeiculo linha : merges) {
+                gravarLinha(linha, List.of(linha), List.of(), idsTrocaPlaca, porPlaca.containsKey(linha.dto().getPlaca()), acumulador);
+            }
+            for (LinhaVeiculo linha : trocasPlaca) {
+                gravarLinha(linha, List.of(), List.of(linha), idsTrocaPlaca, true, acumulador);
+            }
+        }
+    }
+
+    private void gravarLinha(LinhaVeiculo linha, List<LinhaVeiculo> merges, List<LinhaVeiculo> trocasPlaca,
+                             Map<LinhaVeiculo, Long> idsTrocaPlaca, boolean atualizacao, AcumuladorImportacao acumulador) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> gravar(merges, trocasPlaca, idsTrocaPlaca));
+            if (atualizacao) {
+                acumulador.atualizadas(1);
+            } else {
+                acumulador.inseridas(1);
+            }
+        } catch (DataAccessException erroLinha) {
+            acumulador.rejeitar(linha.linha(), linha.dto().getPlaca(), LotesJdbc.causaRaiz(erroLinha));
+        }
+    }
+
+    private void gravar(List<LinhaVeiculo> merges, List<LinhaVeiculo> trocasPlaca, Map<LinhaVeiculo, Long> idsTrocaPlaca) {
+        if (!trocasPlaca.isEmpty()) {
+            // Trocas de placa primeiro: liberam a placa antiga antes dos MERGEs do mesmo lote
+            List<Object[]> parametros = new ArrayList<>(trocasPlaca.size());
+            for (LinhaVeiculo linha : trocasPlaca) {
+                Object[] dados = valores(linha.dto());
+                Object[] comId = Arrays.copyOf(dados, dados.length + 1);
+                comId[dados.length] = idsTrocaPlaca.get(linha);
+                parametros.add(comId);
+            }
+            jdbcTemplate.batchUpdate(SQL_TROCA_PLACA, parametros);
+        }
+        if (!merges.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_MERGE, merges.stream().map(l -> valores(l.dto())).toList());
+        }
+        List<Object[]> vinculos = new ArrayList<>();
+        for (List<LinhaVeiculo> grupo : List.of(trocasPlaca, merges)) {
+            for (LinhaVeiculo linha : grupo) {
+                VeiculoImportacaoDto dto = linha.dto();
+                if (dto.getClienteId() != null) {
+                    vinculos.add(new Object[]{dto.getClienteId(), dto.getClienteEnderecoId(), dto.getPlaca(),
+                            dto.getClienteId(), dto.getClienteEnderecoId()});
+                }
+            }
+        }
+        if (!vinculos.isEmpty()) {
+            jdbcTemplate.batchUpdate(SQL_VINCULO, vinculos);
+        }
+    }
+
+    // Ordem dos parâmetros de SQL_MERGE / SQL_TROCA_PLACA
+    private static Object[] valores(VeiculoImportacaoDto dto) {
+        return new Object[]{dto.getPlaca(), dto.getRenavam(), dto.getTipoVeiculo(), dto.getModelo(), dto.getProprietario(),
+                dto.getMontadora(), dto.getCor(), dto.getMotor(), Date.valueOf(dto.getAnoFabricacao())};
+    }
+
+    private Map<Long, List<Long>> buscarEnderecosClientes(List<LinhaVeiculo> lote) {
+        List<Long> idsClientes = lote.stream().map(l -> l.dto().getClienteId()).filter(Objects::nonNull).distinct().toList();
+        Map<Long, List<Long>> enderecos = new HashMap<>();
+        if (idsClientes.isEmpty()) {
+            return enderecos;
+        }
+        jdbcTemplate.query("SELECT ID_CLI, ENDERECOS_ID_END FROM CLIENTES WHERE ID_CLI IN (" + LotesJdbc.marcadores(idsClientes.size()) + ")",
+                rs -> {
+                    enderecos.computeIfAbsent(rs.getLong(1), k -> new ArrayList<>()).add(rs.getLong(2));
+                }, idsClientes.toArray());
+        return enderecos;
+    }
+
+    // Confere se o cliente existe e completa o endereço quando só o ID_CLI foi informado
+    private static boolean resolverCliente(VeiculoImportacaoDto dto, Map<Long, List<Long>> enderecosPorCliente) {
+        List<Long> enderecos = enderecosPorCliente.get(dto.getClienteId());
+        if (enderecos == null) {
+            return false;
+        }
+        if (dto.getClienteEnderecoId() == null) {
+            dto.setClienteEnderecoId(enderecos.get(0));
+            return true;
+        }
+        return enderecos.contains(dto.getClienteEnderecoId());
+    }
+
+    // Placa sem máscara e em maiúsculas (ABC-1234 -> ABC1234), renavam sem espaços
+    private static void normalizar(VeiculoImportacaoDto dto) {
+        if (dto.getPlaca() != null) {
+            dto.setPlaca(dto.getPlaca().replaceAll("[^A-Za-z0-9]", "").toUpperCase(Locale.ROOT));
+        }
+        if (dto.getRenavam() != null) {
+            dto.setRenavam(dto.getRenavam().replaceAll("\\s", ""));
+        }
+    }
+
+    private static VeiculoImportacaoDto deCsv(Map<String, String> campos) {
+        VeiculoImportacaoDto dto = new VeiculoImportacaoDto();
+        dto.setTipoVeiculo(campos.get("tipoveiculo"));
+        dto.setRenavam(campos.get("renavam"));
+        dto.setPlaca(campos.get("placa"));
+        dto.setModelo(campos.get("modelo"));
+        dto.setProprietario(campos.get("proprietario"));
+        dto.setMontadora(campos.get("montadora"));
+        dto.setCor(campos.get("cor"));
+        dto.setMotor(campos.get("motor"));
+        String ano = campos.get("anofabricacao");
+        dto.setAnoFabricacao(ano != null && ano.matches("\\d{4}")
+                ? LocalDate.of(Integer.parseInt(ano), 1, 1)
+                : LeitorImportacao.data(campos, "anofabricacao"));
+        dto.setClienteId(LeitorImportacao.longo(campos, "clienteid"));
+        dto.setClienteEnderecoId(LeitorImportacao.longo(campos, "clienteenderecoid"));
+        return dto;
+    }
+}
@@ -0,0 +1,300 @@
+// src/main/java/br/com/fiap/service/veiculo/IndiceBuscaVeiculos.java
+package br.com.fiap.service.veiculo;
+
+import java.text.Normalizer;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Índice em memória para a busca de veículos por placa, modelo e proprietário.
+ * <p>
+ * A placa é guardada na forma canônica: maiúsculas, sem pontuação e, no formato Mercosul (LLLNLNN), com a letra
+ * da 5ª posição convertida de volta no dígito do formato antigo (A=0 ... J=9), de modo que ABC1C34 e ABC-1234
+ * caiam na mesma chave. Modelo e proprietário são quebrados em termos (minúsculos, sem acento). Placas e termos
+ * ficam em mapas ordenados, em que a busca por prefixo é uma faixa; cada chave guarda a lista crescente dos slots
+ * dos veículos que a contêm.
+ * <p>
+ * Os critérios são intersectados como listas de slots, do com menos ocorrências para o com mais; quando sobram
+ * poucos candidatos, os critérios restantes são conferidos nos dados do próprio veículo, que ficam inteiros em
+ * memória: a busca não consulta o banco. Na construção os slots seguem a ordem da placa canônica, então o
+ * resultado já sai ordenado por placa (a placa exata, se houver, é a primeira).
+ * <p>
+ * Veículos alterados ou excluídos deixam o slot antigo marcado como removido (o alterado ganha um slot novo, fora
+ * da ordem de placa) até a próxima reconstrução. Thread-safe: buscas usam o lock de leitura; alterações, o de
+ * escrita.
+ */
+class IndiceBuscaVeiculos {
+
+    private static final Pattern ACENTOS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern NAO_ALFANUMERICO = Pattern.compile("[^A-Za-z0-9]");
+    // Com até tantos candidatos, conferir os critérios restantes veículo a veículo sai mais barato que intersectar
+    private static final int LIMIAR_CONFERENCIA = 64;
+
+    record Veiculo(long id, String tipoVeiculo, String renavam, String placa, String modelo, String proprietario,
+                   String montadora, String cor, String motor, LocalDate anoFabricacao) {
+    }
+
+    private record Entrada(Veiculo veiculo, String placa, List<String> termosModelo, List<String> termosProprietario) {
+    }
+
+    private static final Comparator<Entrada> POR_PLACA = Comparator.comparing(Entrada::placa)
+            .thenComparingLong(e -> e.veiculo().id());
+
+    /** Lista crescente de slots de uma chave, sem repetição. */
+    private static final class Postagens {
+        private int[] slots = new int[2];
+        private int tamanho;
+
+        void adicionar(int slot) {
+            if (tamanho > 0 && slots[tamanho - 1] == slot) {
+                return; // termo repetido no mesmo veículo
+            }
+            if (tamanho == slots.length) {
+                slots = Arrays.copyOf(slots, tamanho * 2);
+            }
+            slots[tamanho++] = slot;
+        }
+    }
+
+    private final List<Entrada> porSlot = new ArrayList<>();
+    private final Map<Long, Integer> slotPorId = new HashMap<>();
+    private final BitSet ativos = new BitSet();
+    private final NavigableMap<String, Postagens> porPlaca = new TreeMap<>();
+    private final NavigableMap<String, Postagens> porTermoModelo = new TreeMap<>();
+    private final NavigableMap<String, Postagens> porTermoProprietario = new TreeMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final int construidos;
+    private long maiorId;
+    private final long maiorIdDaCarga;
+
+    IndiceBuscaVeiculos(Collection<Veiculo> veiculos) {
+        veiculos.stream().map(IndiceBuscaVeiculos::entrada).sorted(POR_PLACA).forEach(this::incluir);
+        construidos = porSlot.size();
+        maiorIdDaCarga = maiorId;
+    }
+
+    /** Inclui ou substitui os veículos informados e retira os removidos. */
+    void atualizar(Collection<Veiculo> veiculos, Collection<Long> removidos) {
+        lock.writeLock().lock();
+        try {
+            removidos.forEach(this::excluir);
+            for (Veiculo veiculo : veiculos) {
+                excluir(veiculo.id());
+                incluir(entrada(veiculo));
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Veículos que atendem a todos os critérios informados (os nulos/vazios são ignorados): placa igual ou começando
+     * pelo texto (em qualquer dos dois formatos) e cada termo do modelo/proprietário como início de um termo do
+     * campo. Placa exata primeiro; depois em ordem de placa. Sem nenhum critério, retorna lista vazia.
+     */
+    List<Veiculo> buscar(String placa, String modelo, String proprietario) {
+        String prefixoPlaca = placa(placa);
+        List<String> termosModelo = termos(modelo);
+        List<String> termosProprietario = termos(proprietario);
+        if (prefixoPlaca.isEmpty() && termosModelo.isEmpty() && termosProprietario.isEmpty()) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            // Cada critério é uma faixa de um mapa ordenado, do com menos ocorrências para o com mais
+            List<Collection<Postagens>> criterios = new ArrayList<>();
+            if (!prefixoPlaca.isEmpty()) {
+                criterios.add(faixa(porPlaca, prefixoPlaca));
+            }
+            termosModelo.forEach(t -> criterios.add(faixa(porTermoModelo, t)));
+            termosProprietario.forEach(t -> criterios.add(faixa(porTermoProprietario, t)));
+            criterios.sort(Comparator.comparingLong(IndiceBuscaVeiculos::ocorrencias));
+
+            int[] candidatos = uniao(criterios.get(0));
+            int n = candidatos.length;
+            int c = 1;
+            for (; c < criterios.size() && n > LIMIAR_CONFERENCIA; c++) {
+                n = intersectar(candidatos, n, uniao(criterios.get(c)));
+            }
+            boolean conferir = c < criterios.size(); // nem todos os critérios entraram na interseção
+
+            List<Entrada> encontrados = new ArrayList<>(n);
+            boolean foraDeOrdem = false;
+            for (int i = 0; i < n; i++) {
+                Entrada e = porSlot.get(candidatos[i]);
+                if (!conferir || (e.placa().startsWith(prefixoPlaca)
+                        && contemTodos(e.termosModelo(), termosModelo)
+                        && contemTodos(e.termosProprietario(), termosProprietario))) {
+                    encontrados.add(e);
+                    foraDeOrdem |= candidatos[i] >= construidos;
+                }
+            }
+            if (foraDeOrdem) {
+                encontrados.sort(POR_PLACA); // incluídos depois da construção estão no fim
+            }
+            return encontrados.stream().map(Entrada::veiculo).toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    long maiorId() {
+        lock.readLock().lock();
+        try {
+            return maiorId;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Maior ID da construção (não acompanha as inclusões posteriores). */
+    long maiorIdDaCarga() {
+        return maiorIdDaCarga;
+    }
+
+    boolean contem(long id) {
+        lock.readLock().lock();
+        try {
+            return slotPorId.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    int tamanho() {
+        lock.readLock().lock();
+        try {
+            return slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Slots marcados como removidos desde a construção. */
+    int removidos() {
+        lock.readLock().lock();
+        try {
+            return porSlot.size() - slotPorId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Placa (ou começo de placa) na forma canônica: ABC-1234, abc1234 e ABC1C34 viram ABC1234. */
+    static String placa(String texto) {
+        if (texto == null) {
+            return "";
+        }
+        char[] c = NAO_ALFANUMERICO.matcher(texto).replaceAll("").toUpperCase(Locale.ROOT).toCharArray();
+        if (c.length >= 5 && Character.isDigit(c[3]) && c[4] >= 'A' && c[4] <= 'J') {
+            c[4] = (char) ('0' + (c[4] - 'A')); // Mercosul -> formato antigo
+        }
+        return new String(c);
+    }
+
+    /** Minúsculas, sem acentos, separado em letras/dígitos. */
+    static List<String> termos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return List.of();
+        }
+        String normalizado = ACENTOS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return Arrays.stream(SEPARADORES.split(normalizado)).filter(t -> !t.isEmpty()).distinct().toList();
+    }
+
+    // --- Métodos auxiliares (com o lock adquirido) ---
+
+    private static Collection<Postagens> faixa(NavigableMap<String, Postagens> indice, String prefixo) {
+        return indice.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values();
+    }
+
+    private static long ocorrencias(Collection<Postagens> faixa) {
+        long total = 0;
+        for (Postagens p : faixa) {
+            total += p.tamanho;
+        }
+        return total;
+    }
+
+    // Slots ativos de todas as chaves da faixa, em ordem crescente e sem repetição
+    private int[] uniao(Collection<Postagens> faixa) {
+        int[] slots = new int[(int) ocorrencias(faixa)];
+        int n = 0;
+        for (Postagens p : faixa) {
+            for (int i = 0; i < p.tamanho; i++) {
+                if (ativos.get(p.slots[i])) {
+                    slots[n++] = p.slots[i];
+                }
+            }
+        }
+        if (faixa.size() > 1) {
+            Arrays.sort(slots, 0, n);
+            int unicos = 0;
+            for (int i = 0; i < n; i++) {
+                if (unicos == 0 || slots[unicos - 1] != slots[i]) {
+                    slots[unicos++] = slots[i];
+                }
+            }
+            n = unicos;
+        }
+        return Arrays.copyOf(slots, n);
+    }
+
+    // Mantém em candidatos[0..n) só os slots presentes em outros (ambos crescentes)
+    private static int intersectar(int[] candidatos, int n, int[] outros) {
+        int m = 0;
+        int j = 0;
+        for (int i = 0; i < n && j < outros.length; i++) {
+            while (j < outros.length && outros[j] < candidatos[i]) {
+                j++;
+            }
+            if (j < outros.length && outros[j] == candidatos[i]) {
+                candidatos[m++] = candidatos[i];
+            }
+        }
+        return m;
+    }
+
+    private static boolean contemTodos(List<String> termosDoCampo, List<String> prefixos) {
+        for (String prefixo : prefixos) {
+            boolean achou = false;
+            for (String termo : termosDoCampo) {
+                if (termo.startsWith(prefixo)) {
+                    achou = true;
+                    break;
+                }
+            }
+            if (!achou) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Entrada entrada(Veiculo veiculo) {
+        return new Entrada(veiculo, placa(veiculo.placa()), termos(veiculo.modelo()), termos(veiculo.proprietario()));
+    }
+
+    private void incluir(Entrada entrada) {
+        Veiculo veiculo = entrada.veiculo();
+        int slot = porSlot.size();
+        porSlot.add(entrada);
+        slotPorId.put(veiculo.id(), slot);
+        ativos.set(slot);
+        porPlaca.computeIfAbsent(entrada.placa(), k -> new Postagens()).adicionar(slot);
+        entrada.termosModelo().forEach(t -> porTermoModelo.computeIfAbsent(t, k -> new Postagens()).adicionar(slot));
+        entrada.termosProprietario().forEach(t -> porTermoProprietario.computeIfAbsent(t, k -> new Postagens()).adicionar(slot));
+        maiorId = Math.max(maiorId, veiculo.id());
+    }
+
+    private void excluir(long id) {
+        Integer slot = slotPorId.remove(id);
+        if (slot != null) {
+            ativos.clear(slot);
+        }
+    }
+}
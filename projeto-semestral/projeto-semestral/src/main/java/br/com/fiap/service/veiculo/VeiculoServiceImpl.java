@@ -12,10 +12,12 @@ import br.com.fiap.repository.specification.VeiculoSpecification;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 // ---------------
 
@@ -25,11 +27,16 @@ public class VeiculoServiceImpl implements VeiculoService {
     private static final Logger log = LoggerFactory.getLogger(VeiculoServiceImpl.class);
     private final VeiculoRepository veiculoRepository;
     private final VeiculoMapper veiculoMapper;
+    private final BuscaVeiculosService buscaVeiculosService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public VeiculoServiceImpl(VeiculoRepository veiculoRepository, VeiculoMapper veiculoMapper) {
+    public VeiculoServiceImpl(VeiculoRepository veiculoRepository, VeiculoMapper veiculoMapper,
+                              BuscaVeiculosService buscaVeiculosService, ApplicationEventPublisher eventPublisher) {
         this.veiculoRepository = veiculoRepository;
         this.veiculoMapper = veiculoMapper;
+        this.buscaVeiculosService = buscaVeiculosService;
+        this.eventPublisher = eventPublisher;
     }
 
     // --- IMPLEMENTAÇÃO DO MÉTODO DE BUSCA ---
@@ -56,6 +63,13 @@ public class VeiculoServiceImpl implements VeiculoService {
             return List.of(); // Retorna lista vazia
         }
 
+        if (buscaVeiculosService.disponivel()) {
+            // Índice em memória: placa exata/prefixo (antiga ou Mercosul) e termos, sem os LIKE que varrem VEICULOS
+            List<VeiculoResponseDto> encontrados = buscaVeiculosService.buscar(placa, modelo, proprietario);
+            log.info("Encontrados {} veículos para os critérios (índice em memória).", encontrados.size());
+            return encontrados;
+        }
+
         List<Veiculo> veiculosEncontrados = veiculoRepository.findAll(spec); // Usa findAll com Specification
         log.info("Encontrados {} veículos para os critéiros.", veiculosEncontrados.size());
 
@@ -92,6 +106,7 @@ public class VeiculoServiceImpl implements VeiculoService {
             Veiculo veiculo = veiculoMapper.toEntity(veiculoDto);
             Veiculo savedVeiculo = veiculoRepository.save(veiculo);
             log.info("Veículo criado com ID: {}", savedVeiculo.getId());
+            eventPublisher.publishEvent(new VeiculosAlteradosEvent(savedVeiculo.getId() != null ? Set.of(savedVeiculo.getId()) : Set.of()));
             return veiculoMapper.toResponseDto(savedVeiculo);
         } catch (Exception e) {
             log.error("Erro ao criar veículo: {}", e.getMessage(), e);
@@ -107,6 +122,7 @@ public class VeiculoServiceImpl implements VeiculoService {
         veiculoMapper.updateEntityFromDto(veiculoDto, existingVeiculo);
         Veiculo updatedVeiculo = veiculoRepository.save(existingVeiculo);
         log.info("Veículo atualizado com ID: {}", updatedVeiculo.getId());
+        eventPublisher.publishEvent(new VeiculosAlteradosEvent(Set.of(id)));
         return veiculoMapper.toResponseDto(updatedVeiculo);
     }
 
@@ -118,6 +134,7 @@ public class VeiculoServiceImpl implements VeiculoService {
         try {
             veiculoRepository.delete(veiculo);
             log.info("Veículo deletado com ID: {}", id);
+            eventPublisher.publishEvent(new VeiculosAlteradosEvent(Set.of(id)));
         } catch (Exception e) {
             log.error("Erro ao deletar veículo com ID {}: {}", id, e.getMessage(), e);
             throw new RuntimeException("Falha ao deletar veículo com ID: " + id, e);
@@ -0,0 +1,12 @@
+// src/main/java/br/com/fiap/service/veiculo/VeiculosAlteradosEvent.java
+package br.com.fiap.service.veiculo;
+
+import java.util.Set;
+
+/**
+ * Publicado quando veículos são criados, alterados ou excluídos, para que o índice de busca em memória releia só
+ * esses veículos depois do commit. Inserções sem ID conhecido podem vir com o conjunto vazio: o índice confere os
+ * IDs acima da sua última carga e relê os que ainda não tem.
+ */
+public record VeiculosAlteradosEvent(Set<Long> veiculoIds) {
+}
@@ -0,0 +1,114 @@
+// src/test/java/br/com/fiap/model/valores/DinheiroTest.java
+package br.com.fiap.model.valores;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o cálculo em centavos com o cálculo anterior em BigDecimal (HALF_UP nos mesmos pontos), em entradas
+ * aleatórias e nos casos de borda (meio centavo, negativos, mais de 2 casas, estouro do long).
+ */
+class DinheiroTest {
+
+    private static final BigDecimal CEM = new BigDecimal("100");
+    private static final int CASOS = 200_000;
+
+    // --- Cálculos como eram antes do Dinheiro ---
+
+    private static BigDecimal descontoAnterior(BigDecimal valor, BigDecimal percentual) {
+        BigDecimal fator = BigDecimal.ONE.subtract(percentual.divide(CEM, 4, RoundingMode.HALF_UP));
+        return valor.multiply(fator).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private static BigDecimal parcelaAnterior(BigDecimal valor, int parcelas) {
+        return valor.divide(BigDecimal.valueOf(parcelas), 2, RoundingMode.HALF_UP);
+    }
+
+    @Test
+    void aplicarDescontoIgualAoCalculoEmBigDecimal() {
+        Random random = new Random(32);
+        for (int i = 0; i < CASOS; i++) {
+            BigDecimal valor = BigDecimal.valueOf(random.nextLong(1, 100_000_000L), 2);
+            BigDecimal percentual = BigDecimal.valueOf(random.nextInt(0, 10_001), random.nextInt(3)); // até 3 casas
+            assertEquals(descontoAnterior(valor, percentual), Dinheiro.aplicarDesconto(valor, percentual),
+                    () -> valor + " com " + percentual + "%");
+        }
+    }
+
+    @Test
+    void aplicarDescontoComMaisCasasUsaOCalculoExato() {
+        BigDecimal valor = new BigDecimal("10.005");
+        BigDecimal percentual = new BigDecimal("12.345");
+        assertEquals(descontoAnterior(valor, percentual), Dinheiro.aplicarDesconto(valor, percentual));
+
+        BigDecimal enorme = BigDecimal.valueOf(Long.MAX_VALUE / 1000, 2); // estoura centavos * fator
+        assertEquals(descontoAnterior(enorme, BigDecimal.TEN), Dinheiro.aplicarDesconto(enorme, BigDecimal.TEN));
+    }
+
+    @Test
+    void dividirIgualAoCalculoEmBigDecimal() {
+        Random random = new Random(33);
+        for (int i = 0; i < CASOS; i++) {
+            BigDecimal valor = BigDecimal.valueOf(random.nextLong(-10_000_000L, 100_000_000L), 2);
+            int parcelas = random.nextInt(1, 49);
+            assertEquals(parcelaAnterior(valor, parcelas), Dinheiro.dividir(valor, parcelas),
+                    () -> valor + " / " + parcelas);
+        }
+        assertEquals(parcelaAnterior(new BigDecimal("0.005"), 1), Dinheiro.dividir(new BigDecimal("0.005"), 1));
+    }
+
+    @Test
+    void dividirArredondandoArredondaMeioParaLongeDoZero() {
+        assertEquals(1, Dinheiro.dividirArredondando(1, 2));
+        assertEquals(-1, Dinheiro.dividirArredondando(-1, 2));
+        assertEquals(0, Dinheiro.dividirArredondando(1, 3));
+        assertEquals(1, Dinheiro.dividirArredondando(2, 3));
+        assertEquals(-1, Dinheiro.dividirArredondando(-2, 3));
+        assertEquals(3333, Dinheiro.dividirArredondando(10_000, 3));
+        assertEquals(6667, Dinheiro.dividirArredondando(20_000, 3));
+        assertEquals(Long.MAX_VALUE / 2 + 1, Dinheiro.dividirArredondando(Long.MAX_VALUE, 2));
+    }
+
+    @Test
+    void somaIgualAoCalculoEmBigDecimal() {
+        Random random = new Random(34);
+        for (int i = 0; i < CASOS / 10; i++) {
+            Dinheiro.Soma soma = new Dinheiro.Soma();
+            BigDecimal anterior = BigDecimal.ZERO;
+            int termos = random.nextInt(1, 20);
+            for (int t = 0; t < termos; t++) {
+                // Às vezes com 3 ou 4 casas (ex.: PRECO * QUANTIDADE vindo do banco), que força o cálculo exato
+                BigDecimal valor = BigDecimal.valueOf(random.nextLong(0, 1_000_000L), random.nextInt(10) == 0 ? 4 : 2);
+                long quantidade = random.nextInt(0, 50);
+                soma.somar(valor, quantidade);
+                anterior = anterior.add(valor.multiply(BigDecimal.valueOf(quantidade)));
+            }
+            soma.somar(null);
+            assertEquals(anterior.setScale(2, RoundingMode.HALF_UP), soma.total());
+        }
+    }
+
+    @Test
+    void somaPassaParaBigDecimalNoEstouro() {
+        BigDecimal grande = BigDecimal.valueOf(Long.MAX_VALUE / 10, 2);
+        Dinheiro.Soma soma = new Dinheiro.Soma().somar(grande, 20).somar(new BigDecimal("0.01"));
+        assertEquals(grande.multiply(BigDecimal.valueOf(20)).add(new BigDecimal("0.01")).setScale(2, RoundingMode.HALF_UP),
+                soma.total());
+    }
+
+    @Test
+    void centavos() {
+        assertEquals(12345, Dinheiro.centavos(new BigDecimal("123.45")));
+        assertEquals(12300, Dinheiro.centavos(new BigDecimal("123")));
+        assertEquals(12340, Dinheiro.centavos(new BigDecimal("123.4000")));
+        assertThrows(ArithmeticException.class, () -> Dinheiro.centavos(new BigDecimal("1.005")));
+        assertEquals(101, Dinheiro.centavosArredondados(new BigDecimal("1.005")));
+        assertEquals(-101, Dinheiro.centavosArredondados(new BigDecimal("-1.005")));
+        assertEquals(new BigDecimal("1.01"), Dinheiro.valor(101));
+    }
+}
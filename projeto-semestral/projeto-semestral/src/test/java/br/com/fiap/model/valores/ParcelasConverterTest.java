@@ -0,0 +1,32 @@
+// src/test/java/br/com/fiap/model/valores/ParcelasConverterTest.java
+package br.com.fiap.model.valores;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ParcelasConverterTest {
+
+    private final ParcelasConverter converter = new ParcelasConverter();
+
+    @Test
+    void converteNosDoisSentidos() {
+        for (int parcelas = 1; parcelas <= 99_999; parcelas += 7) {
+            assertEquals(parcelas, converter.convertToEntityAttribute(converter.convertToDatabaseColumn(parcelas)));
+        }
+        assertEquals("12", converter.convertToDatabaseColumn(12));
+    }
+
+    @Test
+    void nuloContinuaNulo() {
+        assertNull(converter.convertToDatabaseColumn(null));
+        assertNull(converter.convertToEntityAttribute(null));
+    }
+
+    @Test
+    void textoGravadoForaDoPadrao() {
+        assertEquals(3, converter.convertToEntityAttribute(" 3 "));
+        assertEquals(1, converter.convertToEntityAttribute("três"));
+        assertEquals(1, converter.convertToEntityAttribute(""));
+    }
+}
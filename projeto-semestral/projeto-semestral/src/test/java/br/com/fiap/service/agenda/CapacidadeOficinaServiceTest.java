@@ -0,0 +1,173 @@
+// src/test/java/br/com/fiap/service/agenda/CapacidadeOficinaServiceTest.java
+package br.com.fiap.service.agenda;
+
+import br.com.fiap.dto.agenda.OcupacaoBoxDto;
+import br.com.fiap.dto.agenda.ReservaBoxDto;
+import br.com.fiap.exception.ConflitoAgendaException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reservas de box sobre RESERVAS_BOX/OCUPACAO_BOX no H2 (modo Oracle). Duas instâncias do serviço (como dois nós
+ * da aplicação, cada um com o seu índice) disputam o mesmo horário em paralelo: só cabem tantas reservas quantos
+ * boxes, sem dois agendamentos no mesmo box e passo. Reservas e liberações desfeitas voltam o índice ao estado do banco.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:capacidade;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada reserva na sua própria transação
+class CapacidadeOficinaServiceTest {
+
+    private static final int BOXES = 2;
+    private static final LocalDate DIA = LocalDate.of(2025, 11, 18);
+    private static final LocalTime NOVE_HORAS = LocalTime.of(9, 0);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transacao;
+
+    @BeforeEach
+    void criarTabelas() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS OCUPACAO_BOX");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS RESERVAS_BOX");
+        jdbcTemplate.execute("DROP SEQUENCE IF EXISTS RESERVAS_BOX_ID_SEQ");
+        jdbcTemplate.execute("CREATE SEQUENCE RESERVAS_BOX_ID_SEQ");
+        jdbcTemplate.execute("""
+                CREATE TABLE RESERVAS_BOX (
+                    ID_RES         NUMBER    NOT NULL PRIMARY KEY,
+                    AGENDAR_ID_AGE NUMBER    NOT NULL UNIQUE,
+                    NUMERO_BOX     NUMBER(3) NOT NULL,
+                    INICIO         TIMESTAMP NOT NULL,
+                    FIM            TIMESTAMP NOT NULL,
+                    DATA_CRIACAO   TIMESTAMP NOT NULL)
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE OCUPACAO_BOX (
+                    NUMERO_BOX          NUMBER(3) NOT NULL,
+                    SLOT                NUMBER    NOT NULL,
+                    RESERVAS_BOX_ID_RES NUMBER    NOT NULL,
+                    CONSTRAINT OCUPACAO_BOX_PK PRIMARY KEY (NUMERO_BOX, SLOT))
+                """);
+        transacao = new TransactionTemplate(transactionManager);
+    }
+
+    @Test
+    void reservasConcorrentesNoMesmoHorarioNaoDividemBox() throws Exception {
+        List<CapacidadeOficinaServiceImpl> instancias = List.of(novaInstancia(), novaInstancia());
+        int pedidos = 12;
+        ExecutorService executor = Executors.newFixedThreadPool(pedidos);
+        CyclicBarrier largada = new CyclicBarrier(pedidos);
+        List<Future<ReservaBoxDto>> tentativas = new ArrayList<>();
+        for (int i = 0; i < pedidos; i++) {
+            long agendaId = 300 + i;
+            CapacidadeOficinaServiceImpl instancia = instancias.get(i % instancias.size());
+            tentativas.add(executor.submit(() -> {
+                largada.await();
+                try {
+                    return transacao.execute(status -> instancia.reservar(agendaId, DIA, NOVE_HORAS, 75));
+                } catch (ConflitoAgendaException e) {
+                    return null;
+                }
+            }));
+        }
+        List<ReservaBoxDto> confirmadas = new ArrayList<>();
+        for (Future<ReservaBoxDto> tentativa : tentativas) {
+            ReservaBoxDto reserva = tentativa.get(2, TimeUnit.MINUTES);
+            if (reserva != null) {
+                confirmadas.add(reserva);
+            }
+        }
+        executor.shutdown();
+
+        assertEquals(BOXES, confirmadas.size());
+        assertEquals(Set.of(1, 2), confirmadas.stream().map(ReservaBoxDto::getBox).collect(Collectors.toSet()));
+        assertEquals(BOXES, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM RESERVAS_BOX", Integer.class));
+        // 75 minutos arredondam para 5 passos de 15 em cada box; nenhuma linha de quem perdeu ficou para trás
+        assertEquals(2 * 5, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OCUPACAO_BOX", Integer.class));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OCUPACAO_BOX o WHERE NOT EXISTS "
+                + "(SELECT 1 FROM RESERVAS_BOX r WHERE r.ID_RES = o.RESERVAS_BOX_ID_RES)", Integer.class));
+        for (CapacidadeOficinaServiceImpl instancia : instancias) {
+            List<OcupacaoBoxDto> ocupacao = instancia.ocupacaoDoDia(DIA);
+            assertEquals(List.of(75L, 75L), ocupacao.stream().map(OcupacaoBoxDto::getMinutosOcupados).toList());
+        }
+    }
+
+    @Test
+    void reservaDesfeitaNaoFicaNoIndice() {
+        CapacidadeOficinaServiceImpl capacidade = novaInstancia();
+        transacao.executeWithoutResult(status -> {
+            capacidade.reservar(410L, DIA, NOVE_HORAS, 60);
+            status.setRollbackOnly(); // a gravação da agenda falhou depois da reserva
+        });
+
+        assertNull(capacidade.buscarReserva(410L));
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM OCUPACAO_BOX", Integer.class));
+        for (long agendaId = 411; agendaId < 411 + BOXES; agendaId++) {
+            long id = agendaId;
+            assertNotNull(transacao.execute(status -> capacidade.reservar(id, DIA, NOVE_HORAS, 60)),
+                    "o box da reserva desfeita continuou ocupado no índice");
+        }
+    }
+
+    @Test
+    void liberacaoDesfeitaDevolveAReservaAoIndice() {
+        CapacidadeOficinaServiceImpl capacidade = novaInstancia();
+        ReservaBoxDto original = transacao.execute(status -> capacidade.reservar(520L, DIA, NOVE_HORAS, 90));
+        transacao.executeWithoutResult(status -> {
+            capacidade.liberar(520L);
+            status.setRollbackOnly();
+        });
+
+        ReservaBoxDto restaurada = capacidade.buscarReserva(520L);
+        assertNotNull(restaurada);
+        assertEquals(original.getBox(), restaurada.getBox());
+        assertEquals(original.getInicio(), restaurada.getInicio());
+        // Com a reserva de volta, só sobra o outro box no mesmo horário
+        ReservaBoxDto outra = transacao.execute(status -> capacidade.reservar(521L, DIA, NOVE_HORAS, 90));
+        assertNotEquals(original.getBox(), outra.getBox());
+        assertThrows(ConflitoAgendaException.class,
+                () -> transacao.execute(status -> capacidade.reservar(522L, DIA, NOVE_HORAS, 90)));
+    }
+
+    // --- Métodos auxiliares ---
+
+    // O H2 não tem CONNECT BY: o mesmo INSERT único, com os passos gerados por SYSTEM_RANGE
+    private CapacidadeOficinaServiceImpl novaInstancia() {
+        return new CapacidadeOficinaServiceImpl(jdbcTemplate, null, BOXES, "08:00", "12:00", new BigDecimal("2"), 5) {
+            @Override
+            void ocupar(int box, long primeiroPasso, long reservaId, long passos) {
+                jdbcTemplate.update("INSERT INTO OCUPACAO_BOX (NUMERO_BOX, SLOT, RESERVAS_BOX_ID_RES) "
+                        + "SELECT ?, ? + X - 1, ? FROM SYSTEM_RANGE(1, ?)", box, primeiroPasso, reservaId, passos);
+            }
+        };
+    }
+}
@@ -0,0 +1,165 @@
+// src/test/java/br/com/fiap/service/clientes/BuscaClientesServiceTest.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.dto.cliente.ClienteInfoDTO;
+import br.com.fiap.service.busca.IndiceEmSegundoPlano;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Índice de clientes sobre CLIENTES no H2 (modo Oracle). Os eventos pós-commit chegam em qualquer ordem e em
+ * paralelo, inclusive durante uma reconstrução; o índice deve terminar igual ao banco. Cadastros sem ID conhecido
+ * (trigger) confirmados fora da ordem da sequência também precisam aparecer.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:buscaclientes;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BuscaClientesServiceTest {
+
+    private static final int CLIENTES = 200;
+    private static final long DISPUTADO = 77;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BuscaClientesServiceImpl buscaClientesService;
+
+    @BeforeEach
+    void criarTabela() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS CLIENTES");
+        jdbcTemplate.execute("""
+                CREATE TABLE CLIENTES (
+                    ID_CLI           NUMBER        NOT NULL PRIMARY KEY,
+                    ENDERECOS_ID_END NUMBER        NOT NULL,
+                    NOME             VARCHAR2(100) NOT NULL,
+                    SOBRENOME        VARCHAR2(100),
+                    NUMERO_DOCUMENTO VARCHAR2(20)  NOT NULL)
+                """);
+        for (long id = 1; id <= CLIENTES; id++) {
+            inserir(id, "Cliente" + id, "Base", String.format("%011d", 31_000_000_000L + id));
+        }
+        buscaClientesService = new BuscaClientesServiceImpl(jdbcTemplate, 60);
+    }
+
+    @AfterEach
+    void encerrar() {
+        buscaClientesService.encerrar();
+    }
+
+    @Test
+    void eventosForaDeOrdemTerminamIguaisAoBanco() throws Exception {
+        buscaClientesService.reconstruir();
+        Object banco = new Object(); // as escritas no banco são serializadas; os eventos, não
+        ExecutorService executor = Executors.newFixedThreadPool(6);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < 6; t++) {
+            long semente = 0xB05CAL * (t + 3);
+            tarefas.add(executor.submit(() -> {
+                Random random = new Random(semente);
+                largada.await();
+                for (int i = 0; i < 40; i++) {
+                    synchronized (banco) {
+                        boolean existe = jdbcTemplate.queryForObject(
+                                "SELECT COUNT(*) FROM CLIENTES WHERE ID_CLI = ?", Integer.class, DISPUTADO) > 0;
+                        if (existe && random.nextInt(3) == 0) {
+                            jdbcTemplate.update("DELETE FROM CLIENTES WHERE ID_CLI = ?", DISPUTADO);
+                        } else if (existe) {
+                            jdbcTemplate.update("UPDATE CLIENTES SET NOME = ? WHERE ID_CLI = ?",
+                                    "Renomeado" + random.nextInt(1_000_000), DISPUTADO);
+                        } else {
+                            inserir(DISPUTADO, "Recadastrado" + random.nextInt(1_000_000), "Base", "99988877766");
+                        }
+                    }
+                    Thread.yield(); // o aviso do commit pode sair depois do aviso de uma escrita mais nova
+                    buscaClientesService.aoAlterarClientes(new ClientesAlteradosEvent(Set.of(DISPUTADO)));
+                }
+                return null;
+            }));
+        }
+        tarefas.add(executor.submit(() -> {
+            largada.await();
+            buscaClientesService.reconstruir(); // concorre com as correções
+            return null;
+        }));
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        indice().sincronizar();
+
+        List<String> nomeNoBanco = jdbcTemplate.queryForList("SELECT NOME FROM CLIENTES WHERE ID_CLI = ?",
+                String.class, DISPUTADO);
+        List<String> nomeNoIndice = buscaClientesService.buscar(null, null, DISPUTADO).stream()
+                .map(ClienteInfoDTO::getNome).toList();
+        assertEquals(nomeNoBanco, nomeNoIndice);
+        assertEquals(CLIENTES - 1 + nomeNoBanco.size(), indice().atual().tamanho());
+    }
+
+    @Test
+    void cadastroConfirmadoForaDeOrdemApareceNoAutocompletar() {
+        buscaClientesService.reconstruir();
+        inserir(CLIENTES + 9, "Wanderleia", "Quintino", "55544433322");
+        buscaClientesService.aoAlterarClientes(new ClientesAlteradosEvent(Set.of()));
+        indice().sincronizar();
+        inserir(CLIENTES + 4, "Wanderley", "Quintino", "55544433311"); // sequência reservada antes, commit depois
+        buscaClientesService.aoAlterarClientes(new ClientesAlteradosEvent(Set.of()));
+        indice().sincronizar();
+
+        assertEquals(List.of(CLIENTES + 4L, CLIENTES + 9L), buscaClientesService.autocompletar("wander quin", 10)
+                .stream().map(ClienteInfoDTO::getIdCli).sorted().toList());
+    }
+
+    @Test
+    void descarteAcimaDeUmQuartoReconstroiOIndice() {
+        buscaClientesService.reconstruir();
+        IndiceBuscaClientes antes = indice().atual();
+        Set<Long> excluidos = new HashSet<>();
+        for (long id = 1; id <= CLIENTES / 4 + 1; id++) {
+            jdbcTemplate.update("DELETE FROM CLIENTES WHERE ID_CLI = ?", id);
+            excluidos.add(id);
+        }
+        buscaClientesService.aoAlterarClientes(new ClientesAlteradosEvent(excluidos));
+        indice().sincronizar();
+
+        IndiceBuscaClientes depois = indice().atual();
+        assertNotSame(antes, depois);
+        assertEquals(0, depois.removidos());
+        assertEquals(CLIENTES - excluidos.size(), depois.tamanho());
+    }
+
+    // --- Métodos auxiliares ---
+
+    @SuppressWarnings("unchecked")
+    private IndiceEmSegundoPlano<IndiceBuscaClientes> indice() {
+        return (IndiceEmSegundoPlano<IndiceBuscaClientes>) ReflectionTestUtils.getField(buscaClientesService, "indice");
+    }
+
+    private void inserir(long id, String nome, String sobrenome, String documento) {
+        jdbcTemplate.update("INSERT INTO CLIENTES (ID_CLI, ENDERECOS_ID_END, NOME, SOBRENOME, NUMERO_DOCUMENTO) "
+                + "VALUES (?, ?, ?, ?, ?)", id, id + 5_000, nome, sobrenome, documento);
+    }
+}
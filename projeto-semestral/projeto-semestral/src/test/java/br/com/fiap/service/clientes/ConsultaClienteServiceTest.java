@@ -0,0 +1,150 @@
+// src/test/java/br/com/fiap/service/clientes/ConsultaClienteServiceTest.java
+package br.com.fiap.service.clientes;
+
+import br.com.fiap.model.Clientes;
+import br.com.fiap.model.Endereco;
+import br.com.fiap.model.relacionamentos.ClienteId;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Conta, pelas estatísticas do Hibernate, as instruções SQL de cada consulta de cliente (H2): uma por busca por
+ * documento ou por ID_CLI, sem carregar os demais clientes nem o endereço; nenhuma para argumento vazio. O documento
+ * já visto é lido pela PK, e um cliente alterado sai do cache.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"
+})
+@Import(ConsultaClienteServiceImpl.class)
+class ConsultaClienteServiceTest {
+
+    private static final int CLIENTES = 50;
+
+    @Autowired
+    private ConsultaClienteService consultaClienteService;
+
+    @Autowired
+    private ConsultaClienteServiceImpl consultaClienteServiceImpl;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics estatisticas;
+
+    @BeforeEach
+    void popular() {
+        for (long i = 1; i <= CLIENTES; i++) {
+            Endereco endereco = new Endereco();
+            endereco.setNumero((int) i);
+            endereco.setCep("01000-000");
+            endereco.setLogradouro("Rua " + i);
+            endereco.setCidade("São Paulo");
+            endereco.setBairro("Centro");
+            endereco.setEstado("SP");
+            entityManager.persist(endereco);
+
+            Clientes cliente = new Clientes();
+            cliente.setId(new ClienteId(1000 + i, null)); // o enderecoId vem do @MapsId
+            cliente.setEndereco(endereco);
+            cliente.setTipoCliente("PF");
+            cliente.setNome("Cliente");
+            cliente.setSobrenome("Número " + i);
+            cliente.setSexo("M");
+            cliente.setTipoDocumento("CPF");
+            cliente.setNumeroDocumento(documento(i));
+            cliente.setDataNascimento(LocalDate.of(1990, 1, 1));
+            cliente.setAtividadeProfissional("Teste");
+            entityManager.persist(cliente);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        estatisticas = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @Test
+    void buscaPorDocumentoUmaInstrucao() {
+        Optional<Clientes> cliente = medir(1, () -> consultaClienteService.buscarPorDocumento(documento(7)));
+        assertTrue(cliente.isPresent());
+        assertEquals(1007L, cliente.get().getId().getIdCli());
+        assertEquals(1, estatisticas.getEntityLoadCount(), "só o cliente, sem os demais nem o endereço (LAZY)");
+
+        assertTrue(medir(1, () -> consultaClienteService.buscarPorDocumento("000.000.000-00")).isEmpty());
+    }
+
+    @Test
+    void documentoRepetidoLidoPelaChave() {
+        consultaClienteService.buscarPorDocumento(documento(9));
+        entityManager.clear(); // sem o cache de primeiro nível, a leitura pela PK vai ao banco
+
+        Optional<Clientes> cliente = medir(1, () -> consultaClienteService.buscarPorDocumento(documento(9)));
+        assertEquals(documento(9), cliente.orElseThrow().getNumeroDocumento());
+        assertEquals(0, estatisticas.getQueryExecutionCount(), "leitura pela PK, não pela consulta por documento");
+    }
+
+    @Test
+    void clienteAlteradoSaiDoCache() {
+        Clientes cliente = consultaClienteService.buscarPorDocumento(documento(3)).orElseThrow();
+        cliente.setNumeroDocumento("999.999.999-99");
+        entityManager.flush();
+        entityManager.clear();
+        consultaClienteServiceImpl.aoAlterarClientes(new ClientesAlteradosEvent(Set.of(1003L)));
+
+        // O documento antigo não existe mais: uma consulta por documento, sem passar pela chave guardada
+        assertTrue(medir(1, () -> consultaClienteService.buscarPorDocumento(documento(3))).isEmpty());
+        assertEquals(1, estatisticas.getQueryExecutionCount());
+        assertEquals(1003L, medir(1, () -> consultaClienteService.buscarPorDocumento("999.999.999-99"))
+                .orElseThrow().getId().getIdCli());
+    }
+
+    @Test
+    void buscaPorIdCliUmaInstrucao() {
+        Optional<Clientes> cliente = medir(1, () -> consultaClienteService.buscarPorIdCli(1020L));
+        assertEquals(documento(20), cliente.orElseThrow().getNumeroDocumento());
+        assertEquals(1, estatisticas.getEntityLoadCount());
+
+        assertTrue(medir(1, () -> consultaClienteService.buscarPorIdCli(5L)).isEmpty());
+    }
+
+    @Test
+    void argumentoVazioNaoConsulta() {
+        assertTrue(medir(0, () -> consultaClienteService.buscarPorDocumento(null)).isEmpty());
+        assertTrue(medir(0, () -> consultaClienteService.buscarPorDocumento("  ")).isEmpty());
+        assertTrue(medir(0, () -> consultaClienteService.buscarPorIdCli(null)).isEmpty());
+        assertTrue(medir(0, () -> consultaClienteService.buscarPorIdCli(0L)).isEmpty());
+    }
+
+    // --- Métodos auxiliares ---
+
+    // Executa a consulta com as estatísticas zeradas e confere quantas instruções SQL foram preparadas
+    private <T> T medir(long instrucoesEsperadas, Supplier<T> consulta) {
+        estatisticas.clear();
+        T resultado = consulta.get();
+        assertEquals(instrucoesEsperadas, estatisticas.getPrepareStatementCount(), "instruções SQL na consulta");
+        return resultado;
+    }
+
+    private static String documento(long i) {
+        return String.format("%03d.000.000-%02d", i, i % 100);
+    }
+}
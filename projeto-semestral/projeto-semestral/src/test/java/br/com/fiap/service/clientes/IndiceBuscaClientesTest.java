@@ -0,0 +1,241 @@
+// src/test/java/br/com/fiap/service/clientes/IndiceBuscaClientesTest.java
+package br.com.fiap.service.clientes;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o índice de trigramas com uma varredura completa dos clientes (oráculo por força bruta), que aplica as
+ * regras de casamento e pontuação descritas no índice direto sobre os textos: busca por nome, documento e ID,
+ * autocompletar por nome (um ou vários termos, curtos ou longos) e por documento, antes e depois de inclusões,
+ * alterações e exclusões.
+ */
+class IndiceBuscaClientesTest {
+
+    private static final String[] NOMES = {"João", "Joana", "José", "Maria", "Mariana", "Ana", "Anabela", "Luís",
+            "Luísa", "Gabriel", "Gabriela", "Paulo", "Paula", "Jo", "Mário", "Ângela", "Lu"};
+    private static final String[] SOBRENOMES = {"Silva", "Souza", "Santos", "Oliveira", "Sant'Ana", "da Silva",
+            "Mariano", "Joanes", "Pereira", "Lima", "Limeira", "Anaya"};
+    private static final int CLIENTES = 3_000;
+    private static final int CONSULTAS_POR_RODADA = 400;
+
+    // Cache do oráculo: nome, sobrenome e documento já normalizados de cada cliente
+    private static final Map<IndiceBuscaClientes.Cliente, String[]> NORMALIZADOS = new HashMap<>();
+
+    private record Esperado(IndiceBuscaClientes.Cliente cliente, String nomeCompleto, int pontos) {
+    }
+
+    private static final Comparator<Esperado> ORDEM = Comparator.comparingInt(Esperado::pontos)
+            .thenComparing(Esperado::nomeCompleto).thenComparingLong(e -> e.cliente().idCli());
+
+    @Test
+    void buscaEAutocompletarIguaisAVarreduraCompleta() {
+        Random random = new Random(7_340_021L);
+        Map<Long, IndiceBuscaClientes.Cliente> clientes = new HashMap<>();
+        for (long id = 1; id <= CLIENTES; id++) {
+            clientes.put(id, cliente(random, id));
+        }
+        IndiceBuscaClientes indice = new IndiceBuscaClientes(clientes.values());
+        long proximoId = CLIENTES + 1;
+
+        for (int rodada = 0; rodada < 4; rodada++) {
+            conferirConsultas(random, indice, clientes);
+
+            // Um dia de recepção: troca de sobrenome, correção de documento, uma faixa de cadastros antigos
+            // excluída e cadastros novos (às vezes com o mesmo documento de um excluído)
+            List<Long> ids = new ArrayList<>(clientes.keySet());
+            Map<Long, IndiceBuscaClientes.Cliente> alterados = new LinkedHashMap<>();
+            for (int i = 0; i < 60; i++) {
+                IndiceBuscaClientes.Cliente c = clientes.get(ids.get(random.nextInt(ids.size())));
+                IndiceBuscaClientes.Cliente sorteado = cliente(random, c.idCli());
+                alterados.put(c.idCli(), random.nextBoolean()
+                        ? new IndiceBuscaClientes.Cliente(c.idCli(), c.idEndereco(), c.nome(), sorteado.sobrenome(), c.numeroDocumento())
+                        : new IndiceBuscaClientes.Cliente(c.idCli(), c.idEndereco(), c.nome(), c.sobrenome(), sorteado.numeroDocumento()));
+            }
+            long primeiroExcluido = ids.get(random.nextInt(ids.size()));
+            Set<Long> removidos = new LinkedHashSet<>();
+            for (long id = primeiroExcluido; id < primeiroExcluido + 50; id++) {
+                if (clientes.containsKey(id)) {
+                    removidos.add(id);
+                    alterados.remove(id);
+                }
+            }
+            List<Long> excluidos = new ArrayList<>(removidos);
+            for (int i = 0; i < 70; i++) {
+                IndiceBuscaClientes.Cliente novo = cliente(random, proximoId++);
+                if (!excluidos.isEmpty() && random.nextInt(5) == 0) {
+                    IndiceBuscaClientes.Cliente antigo = clientes.get(excluidos.get(random.nextInt(excluidos.size())));
+                    novo = new IndiceBuscaClientes.Cliente(novo.idCli(), novo.idEndereco(), novo.nome(), novo.sobrenome(),
+                            antigo.numeroDocumento());
+                }
+                alterados.put(novo.idCli(), novo);
+            }
+            removidos.forEach(clientes::remove);
+            clientes.putAll(alterados);
+
+            int removidosAntes = indice.removidos();
+            indice.atualizar(alterados.values(), removidos);
+            assertEquals(clientes.size(), indice.tamanho());
+            assertTrue(indice.removidos() >= removidosAntes);
+            assertEquals(Collections.max(clientes.keySet()), indice.maiorId());
+            assertEquals(CLIENTES, indice.maiorIdDaCarga());
+            removidos.forEach(id -> assertFalse(indice.contem(id)));
+        }
+        conferirConsultas(random, indice, clientes);
+    }
+
+    @Test
+    void normalizacao() {
+        assertEquals("joao da silva", IndiceBuscaClientes.normalizar("  João  da-SILVA "));
+        assertEquals("sant ana", IndiceBuscaClientes.normalizar("Sant'Ana"));
+        assertEquals("", IndiceBuscaClientes.normalizar(null));
+        assertEquals("12345678901", IndiceBuscaClientes.documento("123.456.789-01"));
+        assertEquals("12345678000199", IndiceBuscaClientes.documento("12.345.678/0001-99"));
+    }
+
+    // --- Oráculo ---
+
+    private static void conferirConsultas(Random random, IndiceBuscaClientes indice,
+                                          Map<Long, IndiceBuscaClientes.Cliente> clientes) {
+        List<IndiceBuscaClientes.Cliente> lista = new ArrayList<>(clientes.values());
+        for (int c = 0; c < CONSULTAS_POR_RODADA; c++) {
+            IndiceBuscaClientes.Cliente modelo = lista.get(random.nextInt(lista.size()));
+            String nomeModelo = modelo.nome() + " " + (modelo.sobrenome() == null ? "" : modelo.sobrenome());
+
+            // Busca: trecho do nome, documento (formatado ou não) e/ou ID
+            String nome = switch (random.nextInt(4)) {
+                case 0 -> null;
+                case 1 -> trecho(random, nomeModelo);
+                case 2 -> modelo.nome();
+                default -> random.nextBoolean() ? nomeModelo.toUpperCase() : "xyz";
+            };
+            String documento = random.nextInt(4) == 0 ? modelo.numeroDocumento() : null;
+            Long idCli = random.nextInt(6) == 0 ? (random.nextBoolean() ? modelo.idCli() : -1L) : null;
+            assertEquals(buscarEsperado(clientes.values(), nome, documento, idCli),
+                    indice.buscar(nome, documento, idCli), () -> "buscar(" + nome + ", " + documento + ", " + idCli + ")");
+
+            // Autocompletar: um ou mais trechos do nome (às vezes fora de ordem) ou um pedaço do documento
+            String texto;
+            if (random.nextInt(4) == 0) {
+                String doc = IndiceBuscaClientes.documento(modelo.numeroDocumento());
+                int de = random.nextBoolean() ? 0 : random.nextInt(doc.length());
+                texto = doc.substring(de, Math.min(doc.length(), de + 1 + random.nextInt(12)));
+            } else {
+                List<String> termos = new ArrayList<>();
+                for (int t = 1 + random.nextInt(3); t > 0; t--) {
+                    termos.add(trecho(random, nomeModelo));
+                }
+                texto = String.join(" ", termos);
+            }
+            int limite = 1 + random.nextInt(15);
+            assertEquals(autocompletarEsperado(clientes.values(), texto, limite), indice.autocompletar(texto, limite),
+                    () -> "autocompletar(" + texto + ", " + limite + ")");
+        }
+    }
+
+    private static List<IndiceBuscaClientes.Cliente> buscarEsperado(Collection<IndiceBuscaClientes.Cliente> clientes,
+                                                                    String nome, String documento, Long idCli) {
+        String termo = IndiceBuscaClientes.normalizar(nome);
+        String doc = IndiceBuscaClientes.documento(documento);
+        List<Esperado> esperados = new ArrayList<>();
+        for (IndiceBuscaClientes.Cliente cliente : clientes) {
+            String[] textos = normalizado(cliente);
+            String n = textos[0];
+            String s = textos[1];
+            String completo = nomeCompleto(n, s);
+            if ((idCli != null && cliente.idCli() != idCli)
+                    || (!doc.isEmpty() && !textos[2].equals(doc))
+                    || !completo.contains(termo)) {
+                continue;
+            }
+            int pontos;
+            if (termo.isEmpty() || completo.equals(termo) || n.equals(termo) || (!n.isEmpty() && s.equals(termo))) {
+                pontos = 0;
+            } else if (completo.startsWith(termo)) {
+                pontos = 1;
+            } else {
+                pontos = (" " + completo).contains(" " + termo) ? 2 : 3;
+            }
+            esperados.add(new Esperado(cliente, completo, pontos));
+        }
+        esperados.sort(ORDEM);
+        return esperados.stream().map(Esperado::cliente).toList();
+    }
+
+    private static List<IndiceBuscaClientes.Cliente> autocompletarEsperado(
+            Collection<IndiceBuscaClientes.Cliente> clientes, String texto, int limite) {
+        boolean porDocumento = texto.matches("[\\d.\\-/\\s]+");
+        String normalizado = porDocumento ? IndiceBuscaClientes.documento(texto) : IndiceBuscaClientes.normalizar(texto);
+        List<String> termos = normalizado.isEmpty() ? List.of() : Arrays.stream(normalizado.split(" ")).distinct().toList();
+        if (termos.stream().allMatch(t -> t.length() < 2)) {
+            return List.of();
+        }
+        List<Esperado> esperados = new ArrayList<>();
+        for (IndiceBuscaClientes.Cliente cliente : clientes) {
+            String[] textos = normalizado(cliente);
+            String completo = nomeCompleto(textos[0], textos[1]);
+            int pontos = 0;
+            if (porDocumento) {
+                String termo = termos.get(0);
+                String doc = textos[2];
+                pontos = doc.equals(termo) ? 0 : doc.startsWith(termo) ? 1
+                        : termo.length() >= 3 && doc.contains(termo) ? 4 : -1;
+            } else {
+                for (String termo : termos) {
+                    if (completo.startsWith(termo)) {
+                        pontos += 1;
+                    } else if ((" " + completo).indexOf(" " + termo, 1) > 0) {
+                        pontos += 2;
+                    } else if (termo.length() >= 3 && completo.contains(termo)) {
+                        pontos += 4;
+                    } else {
+                        pontos = -1;
+                        break;
+                    }
+                }
+            }
+            if (pontos >= 0) {
+                esperados.add(new Esperado(cliente, completo, pontos));
+            }
+        }
+        esperados.sort(ORDEM);
+        return esperados.stream().limit(limite).map(Esperado::cliente).toList();
+    }
+
+    private static String[] normalizado(IndiceBuscaClientes.Cliente cliente) {
+        return NORMALIZADOS.computeIfAbsent(cliente, c -> new String[]{IndiceBuscaClientes.normalizar(c.nome()),
+                IndiceBuscaClientes.normalizar(c.sobrenome()), IndiceBuscaClientes.documento(c.numeroDocumento())});
+    }
+
+    private static String nomeCompleto(String nome, String sobrenome) {
+        return sobrenome.isEmpty() ? nome : nome.isEmpty() ? sobrenome : nome + " " + sobrenome;
+    }
+
+    private static String trecho(Random random, String texto) {
+        int de = random.nextInt(texto.length());
+        return texto.substring(de, Math.min(texto.length(), de + 1 + random.nextInt(6))).trim();
+    }
+
+    private static IndiceBuscaClientes.Cliente cliente(Random random, long id) {
+        String nome = NOMES[random.nextInt(NOMES.length)];
+        String sobrenome = switch (random.nextInt(6)) {
+            case 0 -> null;
+            case 1 -> SOBRENOMES[random.nextInt(SOBRENOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+            default -> SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+        };
+        String documento;
+        if (random.nextBoolean()) {
+            String cpf = String.format("%011d", random.nextLong(100_000_000_000L));
+            documento = random.nextBoolean() ? cpf : cpf.substring(0, 3) + "." + cpf.substring(3, 6) + "."
+                    + cpf.substring(6, 9) + "-" + cpf.substring(9);
+        } else {
+            String cnpj = String.format("%014d", random.nextLong(100_000_000_000_000L));
+            documento = cnpj.substring(0, 2) + "." + cnpj.substring(2, 5) + "." + cnpj.substring(5, 8) + "/"
+                    + cnpj.substring(8, 12) + "-" + cnpj.substring(12);
+        }
+        return new IndiceBuscaClientes.Cliente(id, id * 10, nome, sobrenome, documento);
+    }
+}
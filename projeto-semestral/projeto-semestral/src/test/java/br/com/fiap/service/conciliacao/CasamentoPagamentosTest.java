@@ -0,0 +1,92 @@
+// src/test/java/br/com/fiap/service/conciliacao/CasamentoPagamentosTest.java
+package br.com.fiap.service.conciliacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Regra de casamento de um lançamento do extrato com os pagamentos em aberto da janela: valor exato, tolerância de
+ * dias/centavos (data mais próxima primeiro), empates, tipo incompatível e pagamento já usado por outro lançamento.
+ */
+class CasamentoPagamentosTest {
+
+    private static final LocalDate DIA = LocalDate.of(2025, 3, 14);
+
+    @Test
+    void valorEDataExatosConciliam() {
+        CasamentoPagamentos casamento = new CasamentoPagamentos(0, 0);
+        casamento.adicionar(501, DIA, 18_990, "PIX");
+        casamento.adicionar(502, DIA, 18_991, "PIX");
+        casamento.adicionar(503, DIA.plusDays(1), 18_990, "PIX");
+
+        assertEquals(new CasamentoPagamentos.Resultado(CasamentoPagamentos.CONCILIADO, 501L, 1),
+                casamento.casar(lancamento(DIA, 18_990, "PIX")));
+    }
+
+    @Test
+    void dentroDaToleranciaVenceADataMaisProxima() {
+        CasamentoPagamentos casamento = new CasamentoPagamentos(2, 5);
+        casamento.adicionar(610, DIA.minusDays(2), 7_250, "BOLETO"); // valor exato, dois dias antes
+        casamento.adicionar(611, DIA.plusDays(1), 7_254, "BOLETO");  // um dia depois, 4 centavos acima
+        casamento.adicionar(612, DIA.plusDays(3), 7_250, "BOLETO");  // fora da tolerância de dias
+        casamento.adicionar(613, DIA, 7_256, "BOLETO");              // fora da tolerância de centavos
+
+        CasamentoPagamentos.Resultado resultado = casamento.casar(lancamento(DIA, 7_250, "boleto "));
+        assertEquals(CasamentoPagamentos.CONCILIADO, resultado.status());
+        assertEquals(611L, resultado.pagamentoId());
+        assertEquals(2, resultado.candidatos());
+
+        // No mesmo dia, o valor mais próximo decide
+        casamento.adicionar(620, DIA.plusDays(10), 3_003, "BOLETO");
+        casamento.adicionar(621, DIA.plusDays(10), 2_998, "BOLETO");
+        assertEquals(621L, casamento.casar(lancamento(DIA.plusDays(10), 2_999, "BOLETO")).pagamentoId());
+    }
+
+    @Test
+    void candidatosEmpatadosFicamAmbiguos() {
+        CasamentoPagamentos casamento = new CasamentoPagamentos(1, 0);
+        casamento.adicionar(701, DIA.minusDays(1), 45_000, "TED");
+        casamento.adicionar(702, DIA.plusDays(1), 45_000, "TED");
+        casamento.adicionar(703, DIA, 45_000, "CARTAO"); // tipo diferente não desempata nem conta
+
+        CasamentoPagamentos.Resultado resultado = casamento.casar(lancamento(DIA, 45_000, "TED"));
+        assertEquals(new CasamentoPagamentos.Resultado(CasamentoPagamentos.AMBIGUO, null, 2), resultado);
+
+        // Sem tipo no extrato qualquer pagamento serve, e o do cartão, no mesmo dia, fica sozinho na menor distância
+        assertEquals(CasamentoPagamentos.CONCILIADO, casamento.casar(lancamento(DIA, 45_000, null)).status());
+    }
+
+    @Test
+    void semCandidatoCompativelNaoEncontra() {
+        CasamentoPagamentos casamento = new CasamentoPagamentos(2, 1);
+        casamento.adicionar(801, DIA, 1_200, "PIX");
+
+        assertEquals(new CasamentoPagamentos.Resultado(CasamentoPagamentos.NAO_ENCONTRADO, null, 0),
+                casamento.casar(lancamento(DIA, 1_200, "DEBITO")));
+        assertEquals(CasamentoPagamentos.NAO_ENCONTRADO, casamento.casar(lancamento(DIA, 1_202, "PIX")).status());
+        assertEquals(CasamentoPagamentos.NAO_ENCONTRADO,
+                casamento.casar(lancamento(DIA.minusDays(3), 1_200, "PIX")).status());
+        // Com tolerância de centavos, um valor perto de zero não consulta chaves negativas
+        assertEquals(CasamentoPagamentos.NAO_ENCONTRADO, casamento.casar(lancamento(DIA, 0, "PIX")).status());
+    }
+
+    @Test
+    void pagamentoConciliadoNaoServeParaOutroLancamento() {
+        CasamentoPagamentos casamento = new CasamentoPagamentos(1, 0);
+        casamento.adicionar(901, DIA, 9_900, "PIX");
+        casamento.adicionar(902, DIA.plusDays(1), 9_900, "PIX");
+
+        assertEquals(901L, casamento.casar(lancamento(DIA, 9_900, "PIX")).pagamentoId());
+        // O mesmo valor lançado de novo no dia já não vê o 901 e fica com o do dia seguinte
+        assertEquals(new CasamentoPagamentos.Resultado(CasamentoPagamentos.CONCILIADO, 902L, 1),
+                casamento.casar(lancamento(DIA, 9_900, "PIX")));
+        assertEquals(CasamentoPagamentos.NAO_ENCONTRADO, casamento.casar(lancamento(DIA, 9_900, "PIX")).status());
+    }
+
+    private static LancamentoExtrato lancamento(LocalDate data, long centavos, String tipo) {
+        return new LancamentoExtrato(1, "EXT-" + centavos, data, centavos, tipo, null);
+    }
+}
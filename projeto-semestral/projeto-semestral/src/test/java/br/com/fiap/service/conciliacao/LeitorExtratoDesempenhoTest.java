@@ -0,0 +1,112 @@
+// src/test/java/br/com/fiap/service/conciliacao/LeitorExtratoDesempenhoTest.java
+package br.com.fiap.service.conciliacao;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.time.LocalDate;
+import java.util.function.LongFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Leitores de extrato em streaming sobre um arquivo de um milhão de lançamentos gerado sob demanda (o arquivo nunca
+ * existe inteiro em memória): todas as linhas são lidas e convertidas sem erro e sem perder centavos.
+ * Só a leitura/conversão; o casamento com PAGAMENTOS fica em {@link CasamentoPagamentosTest}.
+ */
+class LeitorExtratoDesempenhoTest {
+
+    private static final int LANCAMENTOS = 1_000_000;
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+
+    /**
+     * Reader que gera o texto linha a linha a partir do número da linha.
+     */
+    private static final class ExtratoGerado extends Reader {
+        private final String cabecalho;
+        private final String rodape;
+        private final LongFunction<String> linha;
+        private final long total;
+        private long proxima;
+        private String atual;
+        private int posicao;
+
+        ExtratoGerado(String cabecalho, LongFunction<String> linha, long total, String rodape) {
+            this.cabecalho = cabecalho;
+            this.linha = linha;
+            this.total = total;
+            this.rodape = rodape;
+            this.atual = cabecalho;
+        }
+
+        @Override
+        public int read(char[] destino, int inicio, int tamanho) {
+            while (atual != null && posicao >= atual.length()) {
+                posicao = 0;
+                if (proxima < total) {
+                    atual = linha.apply(proxima++);
+                } else if (atual != rodape) {
+                    atual = rodape;
+                } else {
+                    atual = null;
+                }
+            }
+            if (atual == null) {
+                return -1;
+            }
+            int n = Math.min(tamanho, atual.length() - posicao);
+            atual.getChars(posicao, posicao + n, destino, inicio);
+            posicao += n;
+            return n;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static long centavos(long i) {
+        return 100 + (i * 7919) % 500_000;
+    }
+
+    private static String valor(long i) {
+        long centavos = centavos(i);
+        return centavos / 100 + "." + String.format("%02d", centavos % 100);
+    }
+
+    @Test
+    void csvComUmMilhaoDeLinhas() throws IOException {
+        Reader extrato = new ExtratoGerado("data,valor,tipo,identificador\n",
+                i -> INICIO.plusDays(i % 365) + "," + valor(i) + ",PIX,DOC" + i + "\n", LANCAMENTOS, "");
+        lerTudo(new LeitorExtratoCsv(extrato));
+    }
+
+    @Test
+    void ofxComUmMilhaoDeTransacoes() throws IOException {
+        Reader extrato = new ExtratoGerado("OFXHEADER:100\n<OFX><BANKMSGSRSV1><STMTTRNRS><STMTRS><BANKTRANLIST>\n",
+                i -> "<STMTTRN>\n<TRNTYPE>CREDIT\n<DTPOSTED>" + INICIO.plusDays(i % 365).toString().replace("-", "") +
+                        "120000[-3:BRT]\n<TRNAMT>" + valor(i) + "\n<FITID>F" + i + "\n</STMTTRN>\n",
+                LANCAMENTOS, "</BANKTRANLIST></STMTRS></STMTTRNRS></BANKMSGSRSV1></OFX>\n");
+        lerTudo(new LeitorExtratoOfx(extrato));
+    }
+
+    private static void lerTudo(LeitorExtrato leitor) throws IOException {
+        long esperado = 0;
+        for (long i = 0; i < LANCAMENTOS; i++) {
+            esperado += centavos(i);
+        }
+        long lidos = 0;
+        long somaCentavos = 0;
+        try (leitor) {
+            LancamentoExtrato lancamento;
+            while ((lancamento = leitor.proximo()) != null) {
+                assertNull(lancamento.erro(), lancamento::toString);
+                lidos++;
+                somaCentavos += lancamento.centavos();
+            }
+        }
+        assertEquals(LANCAMENTOS, lidos);
+        assertEquals(esperado, somaCentavos);
+    }
+}
@@ -0,0 +1,169 @@
+// src/test/java/br/com/fiap/service/estatistica/EstatisticasPagamentoConcorrenciaTest.java
+package br.com.fiap.service.estatistica;
+
+import br.com.fiap.dto.relatorio.EstatisticaMensalPagamentosDto;
+import br.com.fiap.model.Pagamento;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reconstrução completa dos sketches concorrendo com um registro de pagamento (H2 em modo Oracle): o pagamento
+ * confirmado durante a reconstrução não pode sumir da célula.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:estatisticas;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EstatisticasPagamentoServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada chamada confirma na própria transação
+class EstatisticasPagamentoConcorrenciaTest {
+
+    private static final LocalDate MARCO = LocalDate.of(2026, 3, 10);
+
+    @Autowired
+    private EstatisticasPagamentoService estatisticasPagamentoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private long proximoId = 1;
+
+    @BeforeEach
+    void limpar() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS SKETCHES_PAGAMENTO (
+                    ID_SKP           NUMBER GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                    MES              VARCHAR2(7)  NOT NULL,
+                    TIPO_PAGAMENTO   VARCHAR2(20) NOT NULL,
+                    QUANTIDADE       NUMBER       NOT NULL,
+                    QUANTIS          BLOB,
+                    CLIENTES         BLOB,
+                    DESATUALIZADO    NUMBER(1)    NOT NULL,
+                    DATA_ATUALIZACAO TIMESTAMP    NOT NULL,
+                    CONSTRAINT SKETCHES_PAGAMENTO_UK UNIQUE (MES, TIPO_PAGAMENTO))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS CARGAS_INICIAIS (
+                    NOME       VARCHAR2(30) NOT NULL PRIMARY KEY,
+                    DATA_CARGA TIMESTAMP    NOT NULL)
+                """);
+        jdbcTemplate.update("DELETE FROM SKETCHES_PAGAMENTO");
+        jdbcTemplate.update("DELETE FROM CARGAS_INICIAIS");
+        jdbcTemplate.update("DELETE FROM CP");
+        jdbcTemplate.update("DELETE FROM PAGAMENTOS");
+    }
+
+    @Test
+    void pagamentoConfirmadoDuranteAReconstrucaoNaoSePerde() throws Exception {
+        for (int i = 0; i < 50; i++) {
+            inserirPagamento(MARCO, "PIX", new BigDecimal("100.00").add(BigDecimal.valueOf(i)));
+        }
+        inserirPagamento(MARCO, "BOLETO", new BigDecimal("80.00"));
+        estatisticasPagamentoService.reconstruir();
+
+        CountDownLatch registrado = new CountDownLatch(1);
+        CountDownLatch confirmar = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            // Registro de um pagamento que segura a célula (MES, TIPO) até o sinal para confirmar
+            Future<?> registro = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+                Pagamento pagamento = inserirPagamento(MARCO, "PIX", new BigDecimal("999.99"));
+                estatisticasPagamentoService.registrarPagamento(pagamento);
+                registrado.countDown();
+                aguardar(confirmar);
+            }));
+            assertTrue(registrado.await(10, TimeUnit.SECONDS));
+
+            // O pagamento de BOLETO some: a célula dele fica vazia em vez de ser apagada
+            jdbcTemplate.update("DELETE FROM PAGAMENTOS WHERE TIPO_PAGAMENTO = 'BOLETO'");
+            Future<Integer> reconstrucao = executor.submit(estatisticasPagamentoService::reconstruir);
+            assertThrows(TimeoutException.class, () -> reconstrucao.get(500, TimeUnit.MILLISECONDS),
+                    "a reconstrução não esperou o registro em andamento");
+
+            confirmar.countDown();
+            registro.get(10, TimeUnit.SECONDS);
+            assertEquals(1, reconstrucao.get(10, TimeUnit.SECONDS));
+        } finally {
+            confirmar.countDown();
+            executor.shutdownNow();
+        }
+
+        List<EstatisticaMensalPagamentosDto> meses = estatisticasPagamentoService.listarMensal(MARCO, MARCO, null);
+        assertEquals(1, meses.size());
+        assertEquals(51, meses.get(0).getTotalOperacoes());
+        assertEquals(51, estatisticasPagamentoService.gerarDistribuicao(MARCO, MARCO, "PIX", null).getTotalOperacoes());
+        assertEquals(new BigDecimal("999.99"),
+                estatisticasPagamentoService.gerarDistribuicao(MARCO, MARCO, "PIX", null).getValorMaximo());
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT QUANTIDADE FROM SKETCHES_PAGAMENTO WHERE TIPO_PAGAMENTO = 'BOLETO'", Integer.class));
+    }
+
+    @Test
+    void celulaCriadaDepoisDaReconstrucaoEntraNaConsulta() {
+        inserirPagamento(MARCO, "PIX", new BigDecimal("10.00"));
+        estatisticasPagamentoService.reconstruir();
+
+        // Mês novo: a célula nasce desatualizada e é recalculada a partir de PAGAMENTOS na consulta
+        LocalDate abril = MARCO.plusMonths(1);
+        Pagamento pagamento = inserirPagamento(abril, "PIX", new BigDecimal("20.00"));
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> estatisticasPagamentoService.registrarPagamento(pagamento));
+        inserirPagamento(abril, "PIX", new BigDecimal("30.00")); // ainda não registrado nos sketches
+
+        assertEquals(2, estatisticasPagamentoService.gerarDistribuicao(abril, abril, "PIX", null).getTotalOperacoes());
+        assertEquals(3, estatisticasPagamentoService.gerarDistribuicao(MARCO, abril, null, null).getTotalOperacoes());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private Pagamento inserirPagamento(LocalDate data, String tipo, BigDecimal total) {
+        long id = proximoId++;
+        jdbcTemplate.update("""
+                INSERT INTO PAGAMENTOS (ID_PAG, DATA_PAGAMENTO, TIPO_PAGAMENTO, DESCONTO, TOTAL_PARCELAS, VALOR_PARCELAS,
+                                        TOTAL_PAGAMENTO_DESCONTO)
+                VALUES (?, ?, ?, 0, '1', ?, ?)
+                """, id, data, tipo, total, total);
+        Pagamento pagamento = new Pagamento();
+        pagamento.setId(id);
+        pagamento.setDataPagamento(data);
+        pagamento.setTipoPagamento(tipo);
+        pagamento.setTotalComDesconto(total);
+        return pagamento;
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(10, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
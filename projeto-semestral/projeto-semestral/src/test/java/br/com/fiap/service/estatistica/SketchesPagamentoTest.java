@@ -0,0 +1,270 @@
+// src/test/java/br/com/fiap/service/estatistica/SketchesPagamentoTest.java
+package br.com.fiap.service.estatistica;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sketches das estatísticas de pagamentos contra o resultado exato: erro de rank do KLL (inteiro e mesclado),
+ * erro relativo do HyperLogLog em várias cardinalidades e ida e volta da serialização, incluindo o formato
+ * esparso do HLL e o zig-zag dos varints.
+ */
+class SketchesPagamentoTest {
+
+    // Erro de rank esperado ~1,65/k (0,8% com k = 200); a compactação é aleatória, então a margem é folgada
+    private static final double ERRO_RANK_MAXIMO = 0.03;
+    private static final double[] QUANTIS = {0.01, 0.05, 0.1, 0.25, 0.5, 0.75, 0.9, 0.95, 0.99};
+
+    @Test
+    void kllRespeitaOErroDeRank() {
+        Random random = new Random(20_240_501L);
+        for (int n : new int[]{1, 7, 150, 2_000, 50_000, 400_000}) {
+            long[] valores = tickets(random, n);
+            QuantisKll sketch = new QuantisKll();
+            for (long valor : valores) {
+                sketch.adicionar(valor);
+            }
+            Arrays.sort(valores);
+            assertEquals(n, sketch.getQuantidade());
+            assertEquals(valores[0], sketch.getMinimo());
+            assertEquals(valores[n - 1], sketch.getMaximo());
+            assertEquals(valores[0], sketch.quantil(0));
+            assertEquals(valores[n - 1], sketch.quantil(1));
+            verificarRanks(valores, sketch, "n=" + n);
+        }
+    }
+
+    @Test
+    void kllMescladoEquivaleAoSketchDaUniao() {
+        Random random = new Random(77_123L);
+        for (int partes : new int[]{2, 5, 31}) {
+            long[] todos = new long[0];
+            QuantisKll mesclado = new QuantisKll();
+            for (int p = 0; p < partes; p++) {
+                // Partes de tamanhos e distribuições bem diferentes, como meses e tipos de pagamento
+                long[] parte = tickets(random, 1 + random.nextInt(40_000));
+                if (p % 3 == 1) {
+                    for (int i = 0; i < parte.length; i++) {
+                        parte[i] += 500_000;
+                    }
+                }
+                QuantisKll sketch = new QuantisKll();
+                for (long valor : parte) {
+                    sketch.adicionar(valor);
+                }
+                // Ora mescla uma parte sobre o acumulado, ora o acumulado sobre a parte
+                if (random.nextBoolean()) {
+                    mesclado.mesclar(sketch);
+                } else {
+                    sketch.mesclar(mesclado);
+                    mesclado = sketch;
+                }
+                long[] uniao = Arrays.copyOf(todos, todos.length + parte.length);
+                System.arraycopy(parte, 0, uniao, todos.length, parte.length);
+                todos = uniao;
+            }
+            Arrays.sort(todos);
+            assertEquals(todos.length, mesclado.getQuantidade());
+            assertEquals(todos[0], mesclado.getMinimo());
+            assertEquals(todos[todos.length - 1], mesclado.getMaximo());
+            verificarRanks(todos, mesclado, partes + " partes");
+        }
+        QuantisKll vazio = new QuantisKll();
+        vazio.mesclar(new QuantisKll());
+        assertEquals(0, vazio.getQuantidade());
+        assertThrows(IllegalStateException.class, () -> vazio.quantil(0.5));
+    }
+
+    @Test
+    void kllSobreviveASerializacao() {
+        Random random = new Random(5_150L);
+        for (int n : new int[]{0, 1, 300, 25_000}) {
+            QuantisKll sketch = new QuantisKll();
+            for (long valor : tickets(random, n)) {
+                sketch.adicionar(random.nextInt(8) == 0 ? -valor : valor); // estornos negativos
+            }
+            byte[] bytes = sketch.serializar();
+            QuantisKll copia = QuantisKll.desserializar(bytes);
+            assertArrayEquals(bytes, copia.serializar());
+            assertEquals(sketch.getQuantidade(), copia.getQuantidade());
+            if (n > 0) {
+                assertEquals(sketch.getMinimo(), copia.getMinimo());
+                assertEquals(sketch.getMaximo(), copia.getMaximo());
+                for (double q : QUANTIS) {
+                    assertEquals(sketch.quantil(q), copia.quantil(q), "q=" + q);
+                }
+            }
+            // A cópia continua utilizável: recebe valores e mescla
+            copia.adicionar(42);
+            copia.mesclar(sketch);
+            assertEquals(2 * sketch.getQuantidade() + 1, copia.getQuantidade());
+        }
+        byte[] corrompido = new QuantisKll().serializar();
+        corrompido[0] = 9;
+        assertThrows(IllegalArgumentException.class, () -> QuantisKll.desserializar(corrompido));
+        assertThrows(IllegalArgumentException.class, () -> QuantisKll.desserializar(new byte[]{1}));
+    }
+
+    @Test
+    void hllRespeitaOErroRelativo() {
+        long cliente = 0;
+        for (int cardinalidade : new int[]{1, 10, 100, 1_000, 5_000, 20_000, 100_000, 1_000_000}) {
+            ContagemDistintaHll sketch = new ContagemDistintaHll();
+            for (int i = 0; i < cardinalidade; i++) {
+                long hash = ContagemDistintaHll.hash(cliente++, 1);
+                sketch.adicionar(hash);
+                sketch.adicionar(hash); // repetições não contam
+            }
+            double erro = Math.abs(sketch.estimar() - cardinalidade) / (double) cardinalidade;
+            // Quatro erros padrão: com a chave fixa o resultado é determinístico, a margem só cobre o azar da chave
+            assertTrue(erro <= 4 * sketch.erroPadrao(),
+                    "cardinalidade " + cardinalidade + ": estimativa " + sketch.estimar());
+        }
+        assertEquals(0, new ContagemDistintaHll().estimar());
+    }
+
+    @Test
+    void hllMescladoEhIgualAoSketchDaUniao() {
+        Random random = new Random(9_001L);
+        ContagemDistintaHll uniao = new ContagemDistintaHll();
+        ContagemDistintaHll mesclado = new ContagemDistintaHll();
+        Set<Long> distintos = new HashSet<>();
+        for (int mes = 0; mes < 12; mes++) {
+            ContagemDistintaHll doMes = new ContagemDistintaHll();
+            for (int i = 0; i < 3_000; i++) {
+                long cliente = random.nextInt(15_000); // o mesmo cliente volta em vários meses
+                long hash = ContagemDistintaHll.hash(cliente, cliente % 7);
+                doMes.adicionar(hash);
+                uniao.adicionar(hash);
+                distintos.add(cliente);
+            }
+            mesclado.mesclar(doMes);
+            assertArrayEquals(uniao.serializar(), mesclado.serializar(), "mês " + mes);
+        }
+        assertTrue(Math.abs(mesclado.estimar() - distintos.size()) <= 4 * mesclado.erroPadrao() * distintos.size());
+        assertThrows(IllegalArgumentException.class, () -> mesclado.mesclar(new ContagemDistintaHll(10)));
+    }
+
+    @Test
+    void hllSobreviveASerializacaoEsparsaEDensa() {
+        for (int precisao : new int[]{4, 12, 16}) {
+            int registradores = 1 << precisao;
+            boolean passouPeloEsparso = false;
+            boolean passouPeloDenso = false;
+            ContagemDistintaHll sketch = new ContagemDistintaHll(precisao);
+            long adicionados = 0;
+            // Cardinalidades dobrando: poucos registradores preenchidos (esparso) até quase todos (denso)
+            for (long cardinalidade = 1; cardinalidade <= 8L * registradores; cardinalidade *= 2) {
+                while (adicionados < cardinalidade) {
+                    sketch.adicionar(ContagemDistintaHll.hash(precisao, adicionados++));
+                }
+                byte[] bytes = sketch.serializar();
+                boolean esparso = bytes[2] != 0;
+                passouPeloEsparso |= esparso;
+                passouPeloDenso |= !esparso;
+                if (esparso) {
+                    assertTrue(bytes.length < 3 + registradores, "formato esparso maior que o denso");
+                }
+                ContagemDistintaHll copia = ContagemDistintaHll.desserializar(bytes);
+                assertArrayEquals(bytes, copia.serializar());
+                assertEquals(sketch.estimar(), copia.estimar());
+            }
+            assertTrue(passouPeloEsparso && passouPeloDenso, "precisão " + precisao);
+        }
+        // Registrador 0 e o último preenchidos: deltas de borda no formato esparso
+        ContagemDistintaHll bordas = new ContagemDistintaHll();
+        bordas.adicionar(0x0000_0000_0000_0001L);
+        bordas.adicionar(0xFFFF_FFFF_FFFF_FFFFL);
+        ContagemDistintaHll copia = ContagemDistintaHll.desserializar(bordas.serializar());
+        assertArrayEquals(bordas.serializar(), copia.serializar());
+
+        byte[] truncado = Arrays.copyOf(bordas.serializar(), 5);
+        assertThrows(IllegalArgumentException.class, () -> ContagemDistintaHll.desserializar(truncado));
+    }
+
+    @Test
+    void varintIdaEVoltaComZigZag() throws IOException {
+        long[] bordas = {0, 1, -1, 63, -64, 64, -65, 127, 128, 8_191, 8_192, Integer.MAX_VALUE, Integer.MIN_VALUE,
+                Long.MAX_VALUE, Long.MIN_VALUE, Long.MAX_VALUE - 1, Long.MIN_VALUE + 1};
+        Random random = new Random(31_337L);
+        long[] valores = Arrays.copyOf(bordas, bordas.length + 10_000);
+        for (int i = bordas.length; i < valores.length; i++) {
+            valores[i] = random.nextLong() >> random.nextInt(64); // todas as larguras
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream saida = new DataOutputStream(bytes);
+        for (long valor : valores) {
+            int antes = saida.size();
+            Varint.escrever(saida, valor);
+            // Zig-zag: o tamanho depende do módulo, não do sinal
+            long zigzag = (valor << 1) ^ (valor >> 63);
+            int bits = 64 - Long.numberOfLeadingZeros(zigzag);
+            assertEquals(Math.max(1, (bits + 6) / 7), saida.size() - antes, "valor " + valor);
+        }
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()));
+        for (long valor : valores) {
+            assertEquals(valor, Varint.ler(entrada));
+        }
+        assertEquals(0, entrada.available());
+
+        byte[] longoDemais = new byte[11];
+        Arrays.fill(longoDemais, (byte) 0x80);
+        assertThrows(IOException.class, () -> Varint.ler(new DataInputStream(new ByteArrayInputStream(longoDemais))));
+    }
+
+    // --- Métodos auxiliares ---
+
+    /**
+     * Tickets em centavos com cauda longa (log-normal) e muitos valores repetidos.
+     */
+    private static long[] tickets(Random random, int n) {
+        long[] valores = new long[n];
+        for (int i = 0; i < n; i++) {
+            valores[i] = random.nextInt(5) == 0
+                    ? 10_000L * (1 + random.nextInt(20))
+                    : Math.round(Math.exp(9 + 1.2 * random.nextGaussian()));
+        }
+        return valores;
+    }
+
+    /**
+     * O rank verdadeiro do valor devolvido para q precisa cair a menos de ERRO_RANK_MAXIMO de q. Com valores
+     * repetidos o rank é um intervalo, e basta que ele encoste na faixa.
+     */
+    private static void verificarRanks(long[] ordenados, QuantisKll sketch, String caso) {
+        int n = ordenados.length;
+        for (double q : QUANTIS) {
+            long valor = sketch.quantil(q);
+            double rankMenor = primeiroIndice(ordenados, valor) / (double) n;
+            double rankMaior = primeiroIndice(ordenados, valor + 1) / (double) n;
+            double margem = ERRO_RANK_MAXIMO + 1.0 / n;
+            assertTrue(rankMenor <= q + margem && rankMaior >= q - margem,
+                    caso + ", q=" + q + ": valor " + valor + " tem rank [" + rankMenor + ", " + rankMaior + "]");
+        }
+    }
+
+    private static int primeiroIndice(long[] ordenados, long valor) {
+        int de = 0;
+        int ate = ordenados.length;
+        while (de < ate) {
+            int meio = (de + ate) >>> 1;
+            if (ordenados[meio] < valor) {
+                de = meio + 1;
+            } else {
+                ate = meio;
+            }
+        }
+        return de;
+    }
+}
@@ -0,0 +1,205 @@
+// src/test/java/br/com/fiap/service/estoque/EstoquePecasConcorrenciaTest.java
+package br.com.fiap.service.estoque;
+
+import br.com.fiap.exception.EstoqueInsuficienteException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Reservas de estoque no H2 (modo Oracle), com as tabelas e a CHECK do script do banco: várias threads disputam as
+ * mesmas peças e o reservado nunca pode passar do físico. O UPDATE condicional é que deve recusar o excesso
+ * (EstoqueInsuficienteException); uma violação da CHECK indicaria que a condição não foi reavaliada. Cobre também
+ * as peças sem estoque controlado e o histórico de baixas, que a liberação não apaga.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:estoque;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(EstoquePecasServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada reserva confirma na própria transação
+class EstoquePecasConcorrenciaTest {
+
+    private static final int THREADS = 16;
+    private static final int SERVICOS_POR_THREAD = 60;
+    private static final long PECA_A = 1;
+    private static final long PECA_B = 2;
+    private static final long ESTOQUE_INICIAL = 150;
+
+    @Autowired
+    private EstoquePecasService estoquePecasService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void criarTabelas() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS ESTOQUE_PECAS");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS RESERVAS_PECAS");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS OFICINAS");
+        jdbcTemplate.execute("CREATE TABLE OFICINAS (ID_OFIC NUMBER NOT NULL PRIMARY KEY)");
+        jdbcTemplate.execute("""
+                CREATE TABLE ESTOQUE_PECAS (
+                    PECAS_ID_PEC         NUMBER    NOT NULL CONSTRAINT ESTOQUE_PECAS_PK PRIMARY KEY,
+                    QUANTIDADE_FISICA    NUMBER    NOT NULL,
+                    QUANTIDADE_RESERVADA NUMBER    NOT NULL,
+                    DATA_ATUALIZACAO     TIMESTAMP NOT NULL,
+                    CONSTRAINT ESTOQUE_PECAS_SALDO_CK
+                        CHECK (QUANTIDADE_RESERVADA >= 0 AND QUANTIDADE_RESERVADA <= QUANTIDADE_FISICA))
+                """);
+        jdbcTemplate.execute("""
+                CREATE TABLE RESERVAS_PECAS (
+                    OFICINAS_ID_OFIC NUMBER       NOT NULL,
+                    PECAS_ID_PEC     NUMBER       NOT NULL,
+                    QUANTIDADE       NUMBER       NOT NULL,
+                    SITUACAO         VARCHAR2(10) NOT NULL,
+                    CONTROLA_ESTOQUE NUMBER(1)    NOT NULL,
+                    DATA_ATUALIZACAO TIMESTAMP    NOT NULL,
+                    CONSTRAINT RESERVAS_PECAS_PK PRIMARY KEY (OFICINAS_ID_OFIC, PECAS_ID_PEC))
+                """);
+        for (long peca : List.of(PECA_A, PECA_B)) {
+            jdbcTemplate.update("INSERT INTO ESTOQUE_PECAS VALUES (?, ?, 0, SYSTIMESTAMP)", peca, ESTOQUE_INICIAL);
+        }
+    }
+
+    @Test
+    void reservadoNuncaPassaDoFisico() throws Exception {
+        Map<Long, AtomicLong> confirmadoPorPeca = Map.of(PECA_A, new AtomicLong(), PECA_B, new AtomicLong());
+        AtomicLong recusadas = new AtomicLong();
+        ConcurrentLinkedQueue<Throwable> erros = new ConcurrentLinkedQueue<>();
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch largada = new CountDownLatch(1);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            tarefas.add(executor.submit(() -> {
+                Random random = new Random(0x5EED_0000L + thread * 7_919L);
+                largada.await();
+                for (int s = 0; s < SERVICOS_POR_THREAD; s++) {
+                    long oficinaId = thread * 1000L + s;
+                    // Ora só uma peça, ora as duas (em ordem qualquer no mapa): exercita também a ordem de travamento
+                    Map<Long, Integer> pedido = new LinkedHashMap<>();
+                    if (random.nextBoolean()) {
+                        pedido.put(PECA_B, 1 + random.nextInt(3));
+                    }
+                    pedido.put(PECA_A, 1 + random.nextInt(3));
+                    if (random.nextBoolean()) {
+                        pedido.putIfAbsent(PECA_B, 1 + random.nextInt(3));
+                    }
+                    try {
+                        estoquePecasService.reservar(oficinaId, pedido);
+                        pedido.forEach((peca, quantidade) -> confirmadoPorPeca.get(peca).addAndGet(quantidade));
+                        if (random.nextInt(4) == 0) {
+                            estoquePecasService.liberar(oficinaId);
+                            pedido.forEach((peca, quantidade) -> confirmadoPorPeca.get(peca).addAndGet(-quantidade));
+                        }
+                    } catch (EstoqueInsuficienteException e) {
+                        recusadas.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        erros.add(e);
+                    }
+                }
+                return null;
+            }));
+        }
+        largada.countDown();
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+
+        assertTrue(erros.isEmpty(), () -> "Erros inesperados (CHECK, deadlock ou timeout): " + erros);
+        assertTrue(recusadas.get() > 0, "A disputa deveria esgotar o estoque em algum momento");
+        for (long peca : List.of(PECA_A, PECA_B)) {
+            Map<String, Object> estoque = jdbcTemplate.queryForMap(
+                    "SELECT QUANTIDADE_FISICA, QUANTIDADE_RESERVADA FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?", peca);
+            long fisica = ((Number) estoque.get("QUANTIDADE_FISICA")).longValue();
+            long reservada = ((Number) estoque.get("QUANTIDADE_RESERVADA")).longValue();
+            Long emReservas = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(SUM(QUANTIDADE), 0) FROM RESERVAS_PECAS WHERE PECAS_ID_PEC = ?", Long.class, peca);
+
+            assertEquals(ESTOQUE_INICIAL, fisica);
+            assertTrue(reservada <= fisica, () -> "Peça " + peca + ": reservado " + reservada + " > físico " + fisica);
+            assertEquals(confirmadoPorPeca.get(peca).get(), reservada, "reservado = soma das reservas confirmadas");
+            assertEquals(reservada, emReservas, "reservado = soma de RESERVAS_PECAS");
+        }
+    }
+
+    @Test
+    void pecaSemEstoqueControladoNaoBloqueiaOServico() {
+        long pecaNova = 99;
+        estoquePecasService.reservar(10L, Map.of(pecaNova, 3, PECA_A, 2));
+        assertEquals(0, controlaEstoque(10L, pecaNova));
+        assertEquals(1, controlaEstoque(10L, PECA_A));
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?", Integer.class, pecaNova));
+
+        // O controle começa na primeira entrada e vale só para as reservas seguintes
+        jdbcTemplate.update("INSERT INTO ESTOQUE_PECAS VALUES (?, 4, 0, SYSTIMESTAMP)", pecaNova);
+        estoquePecasService.reservar(10L, Map.of(pecaNova, 5, PECA_A, 2));
+        estoquePecasService.reservar(11L, Map.of(pecaNova, 4));
+        assertEquals(0, controlaEstoque(10L, pecaNova));
+        assertEquals(1, controlaEstoque(11L, pecaNova));
+        assertEquals(4, reservado(pecaNova));
+        assertThrows(EstoqueInsuficienteException.class, () -> estoquePecasService.reservar(12L, Map.of(pecaNova, 1)));
+
+        jdbcTemplate.update("INSERT INTO OFICINAS VALUES (10)");
+        assertEquals(7, estoquePecasService.baixar(10L).getQuantidadeBaixada());
+        assertEquals(4, fisico(pecaNova)); // a reserva sem controle não baixa o estoque que surgiu depois
+        assertEquals(4, reservado(pecaNova));
+        assertEquals(ESTOQUE_INICIAL - 2, fisico(PECA_A));
+
+        estoquePecasService.liberar(11L);
+        assertEquals(0, reservado(pecaNova));
+        assertEquals(4, fisico(pecaNova));
+    }
+
+    @Test
+    void liberarMantemOConsumoBaixado() {
+        jdbcTemplate.update("INSERT INTO OFICINAS VALUES (20)");
+        estoquePecasService.reservar(20L, Map.of(PECA_A, 2));
+        estoquePecasService.baixar(20L);
+        estoquePecasService.liberar(20L); // exclusão do serviço depois da baixa
+
+        assertEquals(List.of("BAIXADA"), jdbcTemplate.queryForList(
+                "SELECT SITUACAO FROM RESERVAS_PECAS WHERE OFICINAS_ID_OFIC = 20", String.class));
+        assertEquals(ESTOQUE_INICIAL - 2, fisico(PECA_A));
+        assertEquals(0, reservado(PECA_A));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private int controlaEstoque(long oficinaId, long pecaId) {
+        return jdbcTemplate.queryForObject("SELECT CONTROLA_ESTOQUE FROM RESERVAS_PECAS WHERE OFICINAS_ID_OFIC = ? "
+                + "AND PECAS_ID_PEC = ?", Integer.class, oficinaId, pecaId);
+    }
+
+    private long fisico(long pecaId) {
+        return jdbcTemplate.queryForObject("SELECT QUANTIDADE_FISICA FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?",
+                Long.class, pecaId);
+    }
+
+    private long reservado(long pecaId) {
+        return jdbcTemplate.queryForObject("SELECT QUANTIDADE_RESERVADA FROM ESTOQUE_PECAS WHERE PECAS_ID_PEC = ?",
+                Long.class, pecaId);
+    }
+}
@@ -0,0 +1,60 @@
+// src/test/java/br/com/fiap/service/lembrete/DestinoLembretesTest.java
+package br.com.fiap.service.lembrete;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Escolha do destino dos lembretes por {@code lembretes.destino}: log e arquivo ativam a implementação
+ * correspondente; um valor sem implementação não impede a subida do contexto e usa o log.
+ */
+class DestinoLembretesTest {
+
+    // Conversões do Spring Boot, para que lembretes.antecedencias vire lista como na aplicação
+    private final ApplicationContextRunner contexto = new ApplicationContextRunner()
+            .withInitializer(ctx -> ctx.getBeanFactory().setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withBean(JdbcTemplate.class, () -> mock(JdbcTemplate.class))
+            .withUserConfiguration(DestinoLembretesLog.class, DestinoLembretesArquivo.class, AgendadorLembretes.class);
+
+    @TempDir
+    Path diretorio;
+
+    @Test
+    void semPropriedadeUsaOLog() {
+        contexto.run(ctx -> {
+            assertNull(ctx.getStartupFailure());
+            assertInstanceOf(DestinoLembretesLog.class, destinoAtivo(ctx.getBean(AgendadorLembretes.class)));
+        });
+    }
+
+    @Test
+    void arquivoAtivaODestinoDeArquivo() {
+        contexto.withPropertyValues("lembretes.destino=arquivo", "lembretes.arquivo=" + diretorio.resolve("lembretes.csv"))
+                .run(ctx -> {
+                    assertNull(ctx.getStartupFailure());
+                    assertSame(ctx.getBean(DestinoLembretesArquivo.class), destinoAtivo(ctx.getBean(AgendadorLembretes.class)));
+                });
+    }
+
+    @Test
+    void destinoDesconhecidoCaiNoLog() {
+        contexto.withPropertyValues("lembretes.destino=sms").run(ctx -> {
+            assertNull(ctx.getStartupFailure());
+            assertTrue(ctx.getBeansOfType(DestinoLembretes.class).isEmpty());
+            assertInstanceOf(DestinoLembretesLog.class, destinoAtivo(ctx.getBean(AgendadorLembretes.class)));
+        });
+    }
+
+    private static Object destinoAtivo(AgendadorLembretes agendador) {
+        return ReflectionTestUtils.getField(agendador, "destino");
+    }
+}
@@ -0,0 +1,94 @@
+// src/test/java/br/com/fiap/service/lembrete/RodaTemporizacaoTest.java
+package br.com.fiap.service.lembrete;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara a roda de temporização com uma lista simples de vencimentos (oráculo por força bruta): agendamentos,
+ * cancelamentos e avanços aleatórios, com vencimentos no passado, no mesmo tick e em todos os níveis.
+ */
+class RodaTemporizacaoTest {
+
+    private static final int OPERACOES = 200_000;
+
+    @Test
+    void disparaComoOOraculo() {
+        Random random = new Random(44);
+        long inicio = 1_000_000L + random.nextInt(1 << 20); // fora do alinhamento dos níveis
+        RodaTemporizacao<Long> roda = new RodaTemporizacao<>(inicio);
+        long agora = inicio;
+        Map<Long, Long> disparoEsperado = new HashMap<>(); // id -> tick em que deve disparar
+        Map<Long, RodaTemporizacao.Temporizador<Long>> ativos = new HashMap<>();
+        List<Long> idsAtivos = new ArrayList<>();
+        long proximoId = 0;
+
+        for (int op = 0; op < OPERACOES; op++) {
+            int acao = random.nextInt(10);
+            if (acao < 6) {
+                long distancia = switch (random.nextInt(5)) {
+                    case 0 -> -random.nextInt(100);           // já vencido: dispara no próximo tick
+                    case 1 -> random.nextInt(64);             // nível 0
+                    case 2 -> random.nextInt(4096);           // nível 1
+                    case 3 -> random.nextInt(262_144);        // nível 2
+                    default -> random.nextInt(3_000_000);     // níveis 3 e 4
+                };
+                long id = proximoId++;
+                long vencimento = agora + distancia;
+                ativos.put(id, roda.agendar(vencimento, id));
+                idsAtivos.add(id);
+                disparoEsperado.put(id, Math.max(vencimento, agora + 1));
+            } else if (acao < 8 && !idsAtivos.isEmpty()) {
+                int indice = random.nextInt(idsAtivos.size());
+                long id = idsAtivos.get(indice);
+                idsAtivos.set(indice, idsAtivos.get(idsAtivos.size() - 1));
+                idsAtivos.remove(idsAtivos.size() - 1);
+                assertTrue(roda.cancelar(ativos.remove(id)));
+                disparoEsperado.remove(id);
+            } else {
+                long ate = agora + (random.nextInt(4) == 0 ? random.nextInt(20_000) : random.nextInt(64));
+                List<Long> disparados = roda.avancarAte(ate);
+                long limite = ate;
+                List<Long> esperados = disparoEsperado.entrySet().stream()
+                        .filter(e -> e.getValue() <= limite).map(Map.Entry::getKey).sorted().toList();
+                List<Long> obtidos = new ArrayList<>(disparados);
+                Collections.sort(obtidos);
+                assertEquals(esperados, obtidos, "avanço de " + agora + " até " + ate);
+
+                // Em ordem de tick
+                long ultimoTick = Long.MIN_VALUE;
+                for (Long id : disparados) {
+                    long tick = disparoEsperado.get(id);
+                    assertTrue(tick >= ultimoTick, "fora de ordem: " + id);
+                    ultimoTick = tick;
+                }
+                for (Long id : disparados) {
+                    disparoEsperado.remove(id);
+                    assertFalse(roda.cancelar(ativos.remove(id)), "cancelou temporizador já disparado");
+                }
+                idsAtivos.removeIf(id -> !ativos.containsKey(id));
+                agora = ate;
+            }
+            assertEquals(disparoEsperado.size(), roda.pendentes());
+        }
+        assertEquals(agora, roda.agora());
+    }
+
+    @Test
+    void vencimentoAlemDoAlcanceDisparaNoTickCerto() {
+        long inicio = 5;
+        RodaTemporizacao<String> roda = new RodaTemporizacao<>(inicio);
+        long alcance = 1L << 30;
+        long vencimento = inicio + alcance + 12_345;
+        roda.agendar(vencimento, "longe");
+        roda.agendar(inicio + 1, "perto");
+
+        assertEquals(List.of("perto"), roda.avancarAte(vencimento - 1));
+        assertEquals(1, roda.pendentes());
+        assertEquals(List.of("longe"), roda.avancarAte(vencimento));
+        assertEquals(0, roda.pendentes());
+    }
+}
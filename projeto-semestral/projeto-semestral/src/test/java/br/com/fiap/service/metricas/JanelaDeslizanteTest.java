@@ -0,0 +1,101 @@
+// src/test/java/br/com/fiap/service/metricas/JanelaDeslizanteTest.java
+package br.com.fiap.service.metricas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Janela deslizante com relógio controlado pelo teste: expiração balde a balde, volta completa do anel, relógio
+ * que anda para trás e escritas concorrentes no mesmo balde e na troca de balde.
+ */
+class JanelaDeslizanteTest {
+
+    // Janela de 10 s em 5 baldes de 2 s
+    private final AtomicLong agora = new AtomicLong(1_700_000_000_000L);
+    private final JanelaDeslizante janela = new JanelaDeslizante(10_000, 5, agora::get);
+
+    @Test
+    void baldesSaemDaJanelaUmAUm() {
+        janela.adicionar(7);
+        agora.addAndGet(2_000);
+        janela.adicionar(30);
+        agora.addAndGet(6_500);
+        janela.adicionar(400);
+        assertEquals(437, janela.somar());
+
+        agora.addAndGet(1_500); // 10 s depois do primeiro: o balde dele acabou de sair
+        assertEquals(430, janela.somar());
+        agora.addAndGet(2_000);
+        assertEquals(400, janela.somar());
+        agora.addAndGet(10_000);
+        assertEquals(0, janela.somar());
+    }
+
+    @Test
+    void voltaDoAnelTrocaOBaldeAntigo() {
+        janela.adicionar(5);
+        agora.addAndGet(10_000); // mesma posição do anel, um intervalo cinco baldes depois
+        janela.adicionar(11);
+        assertEquals(11, janela.somar());
+    }
+
+    @Test
+    void relogioParaTrasNaoApagaBaldeMaisNovo() {
+        agora.addAndGet(10_000);
+        janela.adicionar(20);
+        agora.addAndGet(-10_000); // cai na mesma posição, com um intervalo mais antigo
+        janela.adicionar(3);
+        agora.addAndGet(10_000);
+        assertEquals(20, janela.somar());
+    }
+
+    @Test
+    void escritasConcorrentesNaoSePerdem() throws Exception {
+        int threads = 8;
+        int porThread = 20_000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier largada = new CyclicBarrier(threads);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                for (int i = 0; i < porThread; i++) {
+                    janela.adicionar(1);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(1, TimeUnit.MINUTES);
+        }
+        assertEquals((long) threads * porThread, janela.somar());
+
+        // Todas caem num balde que ainda guarda um intervalo que já saiu: só uma troca vence, nenhuma soma se perde
+        agora.addAndGet(10_000);
+        tarefas.clear();
+        for (int t = 0; t < threads; t++) {
+            tarefas.add(executor.submit(() -> {
+                largada.await();
+                janela.adicionar(2);
+                return null;
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        assertEquals(2L * threads, janela.somar());
+    }
+
+    @Test
+    void janelaMenorQueOsBaldesERejeitada() {
+        assertThrows(IllegalArgumentException.class, () -> new JanelaDeslizante(3, 4, agora::get));
+        assertThrows(IllegalArgumentException.class, () -> new JanelaDeslizante(1_000, 0, agora::get));
+    }
+}
@@ -0,0 +1,66 @@
+// src/test/java/br/com/fiap/service/metricas/PainelOperacionalTest.java
+package br.com.fiap.service.metricas;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Contadores "hoje" do painel: a semente e os eventos usam a mesma data do registro (DATA_PAGAMENTO e
+ * DATA_OFICINA), então uma oficina criada hoje para outra data não entra e uma remarcada para hoje entra.
+ */
+class PainelOperacionalTest {
+
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+    private PainelOperacional painel;
+
+    @BeforeEach
+    void semear() {
+        when(jdbcTemplate.queryForObject(contains("FROM PAGAMENTOS"), eq(BigDecimal.class), any(), any()))
+                .thenReturn(new BigDecimal("1250.40"));
+        when(jdbcTemplate.queryForObject(contains("FROM OFICINAS WHERE DATA_OFICINA"), eq(Long.class), any(), any()))
+                .thenReturn(4L);
+        painel = new PainelOperacional(jdbcTemplate, new SimpleMeterRegistry());
+        painel.semearContadoresDoDia();
+    }
+
+    @Test
+    void servicosDoDiaSeguemADataDaOficina() {
+        LocalDate hoje = LocalDate.now();
+        assertEquals(4, painel.gerarPainel().getServicosAbertosHoje());
+
+        painel.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.OFICINA, 81L, TipoOperacao.CRIACAO));
+        painel.aoRegistrarServico(new ServicoRegistradoEvent(hoje.plusDays(3), 1)); // aberta hoje, marcada para depois
+        assertEquals(4, painel.gerarPainel().getServicosAbertosHoje());
+        assertEquals(1, painel.gerarPainel().getServicosAbertosUltimaHora()); // as janelas contam a gravação
+
+        painel.aoRegistrarServico(new ServicoRegistradoEvent(hoje.plusDays(3), -1)); // remarcada para hoje
+        painel.aoRegistrarServico(new ServicoRegistradoEvent(hoje, 1));
+        painel.aoRegistrarServico(new ServicoRegistradoEvent(hoje, -1)); // uma das semeadas foi excluída
+        painel.aoRegistrarServico(new ServicoRegistradoEvent(hoje, 1));
+        assertEquals(5, painel.gerarPainel().getServicosAbertosHoje());
+    }
+
+    @Test
+    void receitaDoDiaSegueADataDoPagamento() {
+        LocalDate hoje = LocalDate.now();
+        painel.aoRegistrarReceita(new ReceitaRegistradaEvent(hoje, 9_960, true));
+        painel.aoRegistrarReceita(new ReceitaRegistradaEvent(hoje.minusDays(1), 50_000, true));
+
+        assertEquals(new BigDecimal("1350.00"), painel.gerarPainel().getReceitaHoje());
+        assertEquals(new BigDecimal("599.60"), painel.gerarPainel().getReceitaUltimaHora());
+        assertEquals(2, painel.gerarPainel().getPagamentosUltimaHora());
+    }
+}
@@ -0,0 +1,136 @@
+// src/test/java/br/com/fiap/service/notificacao/NotificacaoHubTest.java
+package br.com.fiap.service.notificacao;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Um assinante cuja escrita trava não pode atrasar os demais: ele é desconectado pelo timeout de escrita.
+ * Um assinante que não acompanha as alterações é desconectado quando o buffer enche.
+ */
+class NotificacaoHubTest {
+
+    private NotificacaoHub hub;
+
+    @AfterEach
+    void encerrar() {
+        hub.encerrar();
+    }
+
+    @Test
+    void clienteLentoNaoAtrasaOsDemais() throws Exception {
+        hub = novoHub(256, 20, 300);
+        EmitterDeTeste lento = new EmitterDeTeste();
+        EmitterDeTeste rapido = new EmitterDeTeste();
+        hub.assinar(lento); // primeiro na iteração do hub
+        hub.assinar(rapido);
+        lento.travarEscritas();
+
+        hub.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.AGENDA, 1L, TipoOperacao.CRIACAO));
+        aguardar(() -> rapido.alteracoesRecebidas() == 1, "o assinante rápido não recebeu a alteração");
+        aguardar(() -> hub.getQuantidadeAssinantes() == 1, "o assinante travado não foi desconectado");
+
+        hub.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.OFICINA, 2L, TipoOperacao.ATUALIZACAO));
+        aguardar(() -> rapido.alteracoesRecebidas() == 2, "o assinante rápido parou de receber alterações");
+        assertFalse(rapido.concluido.await(0, TimeUnit.MILLISECONDS));
+
+        lento.liberarEscritas();
+        assertTrue(lento.concluido.await(5, TimeUnit.SECONDS), "o emitter travado não foi encerrado ao liberar a escrita");
+    }
+
+    @Test
+    void bufferCheioDesconectaOAssinante() throws Exception {
+        hub = novoHub(3, 3_600_000, 5000); // sem envios durante o teste
+        EmitterDeTeste emitter = new EmitterDeTeste();
+        hub.assinar(emitter);
+
+        for (int i = 0; i < 5; i++) { // alterações da mesma entidade são consolidadas
+            hub.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.AGENDA, 1L, TipoOperacao.ATUALIZACAO));
+        }
+        hub.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.AGENDA, 2L, TipoOperacao.CRIACAO));
+        hub.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.OFICINA, 1L, TipoOperacao.CRIACAO));
+        assertEquals(1, hub.getQuantidadeAssinantes());
+
+        hub.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.OFICINA, 2L, TipoOperacao.CRIACAO));
+        assertEquals(0, hub.getQuantidadeAssinantes());
+        assertTrue(emitter.concluido.await(5, TimeUnit.SECONDS));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static NotificacaoHub novoHub(int capacidadeBuffer, long intervaloEnvioMs, long timeoutEscritaMs) {
+        NotificacaoHub hub = new NotificacaoHub();
+        ReflectionTestUtils.setField(hub, "capacidadeBuffer", capacidadeBuffer);
+        ReflectionTestUtils.setField(hub, "intervaloEnvioMs", intervaloEnvioMs);
+        ReflectionTestUtils.setField(hub, "intervaloHeartbeatMs", 3_600_000L);
+        ReflectionTestUtils.setField(hub, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(hub, "timeoutEscritaMs", timeoutEscritaMs);
+        hub.iniciar();
+        return hub;
+    }
+
+    private static void aguardar(BooleanSupplier condicao, String mensagem) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!condicao.getAsBoolean()) {
+            if (System.nanoTime() > limite) {
+                fail(mensagem);
+            }
+            Thread.sleep(10);
+        }
+    }
+
+    /**
+     * Emitter sem conexão real: registra os eventos e, se travado, segura cada escrita como um socket cheio.
+     */
+    private static final class EmitterDeTeste extends SseEmitter {
+        private final List<String> eventos = new CopyOnWriteArrayList<>();
+        private final CountDownLatch liberacao = new CountDownLatch(1);
+        private final CountDownLatch concluido = new CountDownLatch(1);
+        private volatile boolean travado;
+
+        void travarEscritas() {
+            travado = true;
+        }
+
+        void liberarEscritas() {
+            liberacao.countDown();
+        }
+
+        long alteracoesRecebidas() {
+            return eventos.stream().filter(e -> e.contains("event:alteracao")).count();
+        }
+
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            if (travado) {
+                try {
+                    liberacao.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            StringBuilder texto = new StringBuilder();
+            builder.build().forEach(d -> texto.append(d.getData()));
+            eventos.add(texto.toString());
+        }
+
+        @Override
+        public synchronized void complete() {
+            concluido.countDown();
+        }
+    }
+}
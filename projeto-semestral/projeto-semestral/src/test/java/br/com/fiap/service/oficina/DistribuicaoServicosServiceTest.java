@@ -0,0 +1,159 @@
+// src/test/java/br/com/fiap/service/oficina/DistribuicaoServicosServiceTest.java
+package br.com.fiap.service.oficina;
+
+import br.com.fiap.dto.oficina.CargaMecanicoDto;
+import br.com.fiap.dto.oficina.DistribuicaoServicosDto;
+import br.com.fiap.dto.oficina.DistribuicaoServicosRequestDto;
+import br.com.fiap.dto.oficina.ServicoAtribuidoDto;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Planos de distribuição em memória sobre AGENDAR/AO/OFICINAS no H2 (modo Oracle): o descarte mantém os dias
+ * consultados por último, e o replanejamento de uma alteração confirmada não roda na thread que a publicou.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:distribuicao;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class DistribuicaoServicosServiceTest {
+
+    private static final LocalDate PRIMEIRO_DIA = LocalDate.of(2025, 8, 4);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private DistribuicaoServicosServiceImpl distribuicaoService;
+
+    @BeforeEach
+    void criarTabelas() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS AO");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS AGENDAR");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS OFICINAS");
+        jdbcTemplate.execute("CREATE TABLE AGENDAR (ID_AGE NUMBER NOT NULL PRIMARY KEY, DATA_AGENDAMENTO DATE NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE OFICINAS (
+                    ID_OFIC            NUMBER NOT NULL PRIMARY KEY,
+                    DESCRICAO_PROBLEMA VARCHAR2(250),
+                    HORAS_TRABALHADAS  VARCHAR2(5))
+                """);
+        jdbcTemplate.execute("CREATE TABLE AO (ID_AO NUMBER NOT NULL PRIMARY KEY, AGENDAR_ID_AGE NUMBER NOT NULL, "
+                + "OFICINAS_ID_OFIC NUMBER NOT NULL)");
+        for (int dia = 0; dia < 32; dia++) {
+            agendar(100 + dia, PRIMEIRO_DIA.plusDays(dia), "revisão " + dia, "1,5");
+        }
+        distribuicaoService = new DistribuicaoServicosServiceImpl(jdbcTemplate, 2, "08:00", "18:00",
+                new BigDecimal("2"), 20);
+    }
+
+    @AfterEach
+    void encerrar() {
+        distribuicaoService.encerrar();
+    }
+
+    @Test
+    void diaConsultadoSobreviveAoDescarte() {
+        for (int dia = 0; dia < 31; dia++) {
+            planejar(PRIMEIRO_DIA.plusDays(dia));
+        }
+        assertNotNull(distribuicaoService.consultar(PRIMEIRO_DIA)); // o mais antigo volta a ser o mais recente
+
+        planejar(PRIMEIRO_DIA.plusDays(31));
+
+        assertNotNull(distribuicaoService.consultar(PRIMEIRO_DIA));
+        assertNull(distribuicaoService.consultar(PRIMEIRO_DIA.plusDays(1)), "o dia menos usado deveria sair");
+        assertNotNull(distribuicaoService.consultar(PRIMEIRO_DIA.plusDays(31)));
+    }
+
+    @Test
+    void replanejamentoRodaForaDaThreadDoCommit() throws Exception {
+        LocalDate dia = PRIMEIRO_DIA.plusDays(5);
+        planejar(dia);
+        agendar(900, dia, "troca de embreagem", "3");
+
+        // Enquanto outra thread segura os planos, o replanejamento não consegue avançar; quem publica não espera
+        Object planos = ReflectionTestUtils.getField(distribuicaoService, "planos");
+        CountDownLatch segurando = new CountDownLatch(1);
+        CountDownLatch liberar = new CountDownLatch(1);
+        Thread bloqueio = new Thread(() -> {
+            synchronized (planos) {
+                segurando.countDown();
+                try {
+                    liberar.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        });
+        bloqueio.start();
+        segurando.await();
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> distribuicaoService.aoConfirmarAlteracao(
+                new AlteracaoRegistradaEvent(TipoEntidade.AGENDA, 900L, TipoOperacao.CRIACAO)));
+        liberar.countDown();
+        bloqueio.join();
+        aguardarReplanejamento();
+        assertEquals(List.of(105L, 900L), agendas(distribuicaoService.consultar(dia)));
+
+        jdbcTemplate.update("DELETE FROM AO WHERE AGENDAR_ID_AGE = 105");
+        distribuicaoService.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.AGENDA, 105L, TipoOperacao.ATUALIZACAO));
+        distribuicaoService.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.AGENDA, 900L, TipoOperacao.EXCLUSAO));
+        aguardarReplanejamento();
+        assertEquals(List.of(), agendas(distribuicaoService.consultar(dia)));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void agendar(long id, LocalDate data, String problema, String horas) {
+        jdbcTemplate.update("INSERT INTO AGENDAR (ID_AGE, DATA_AGENDAMENTO) VALUES (?, ?)", id, Date.valueOf(data));
+        jdbcTemplate.update("INSERT INTO OFICINAS (ID_OFIC, DESCRICAO_PROBLEMA, HORAS_TRABALHADAS) VALUES (?, ?, ?)",
+                id + 10_000, problema, horas);
+        jdbcTemplate.update("INSERT INTO AO (ID_AO, AGENDAR_ID_AGE, OFICINAS_ID_OFIC) VALUES (?, ?, ?)",
+                id + 20_000, id, id + 10_000);
+    }
+
+    private void planejar(LocalDate data) {
+        DistribuicaoServicosRequestDto requisicao = new DistribuicaoServicosRequestDto();
+        requisicao.setData(data);
+        assertEquals(1, distribuicaoService.planejar(requisicao).getTotalServicos());
+    }
+
+    private void aguardarReplanejamento() throws Exception {
+        ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(distribuicaoService, "executorReplanejamento");
+        executor.submit(() -> { }).get(1, TimeUnit.MINUTES); // fila única: as tarefas anteriores já terminaram
+    }
+
+    private static List<Long> agendas(DistribuicaoServicosDto plano) {
+        return plano.getMecanicos().stream().map(CargaMecanicoDto::getServicos).flatMap(List::stream)
+                .map(ServicoAtribuidoDto::getAgendaId).sorted().toList();
+    }
+}
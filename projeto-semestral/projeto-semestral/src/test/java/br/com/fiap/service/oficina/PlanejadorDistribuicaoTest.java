@@ -0,0 +1,195 @@
+// src/test/java/br/com/fiap/service/oficina/PlanejadorDistribuicaoTest.java
+package br.com.fiap.service.oficina;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o planejador (LPT + busca local) com o makespan ótimo calculado por força bruta em instâncias pequenas
+ * (até 4 mecânicos e 10 serviços), com e sem minutos já ocupados, e confere o plano após inclusões e exclusões.
+ * No tamanho de um dia cheio (500 serviços, 40 mecânicos) o plano e uma inclusão respeitam o prazo da busca local.
+ */
+class PlanejadorDistribuicaoTest {
+
+    private static final int INSTANCIAS = 400;
+    private static final long SEM_PRAZO = Long.MAX_VALUE; // a busca local para no ótimo local
+    private static final long PRAZO_NANOS = 50_000_000L;  // distribuicao.tempo-limite-ms padrão
+    private static final long LIMITE_MS = 100;
+
+    @Test
+    void makespanEntreOOtimoEOLpt() {
+        Random random = new Random(43);
+        for (int caso = 0; caso < INSTANCIAS; caso++) {
+            long[] inicio = inicios(random, caso % 2 == 0);
+            List<PlanejadorDistribuicao.Servico> servicos = servicos(random, 0, 1 + random.nextInt(10));
+            String instancia = Arrays.toString(inicio) + " " + minutos(servicos);
+
+            PlanejadorDistribuicao plano = PlanejadorDistribuicao.planejar(inicio, servicos, SEM_PRAZO);
+            conferir(plano, inicio, servicos);
+            long otimo = otimo(inicio, servicos);
+            long lpt = lpt(inicio, servicos);
+            assertTrue(plano.makespan() >= otimo, () -> "abaixo do ótimo: " + instancia);
+            assertTrue(plano.makespan() <= lpt, () -> "busca local piorou o LPT: " + instancia);
+            assertTrue(plano.limiteInferior() <= otimo, () -> "limite inferior acima do ótimo: " + instancia);
+            if (Arrays.stream(inicio).allMatch(i -> i == 0)) {
+                // Graham: LPT <= (4/3 - 1/(3m)) do ótimo quando todos começam juntos
+                int m = inicio.length;
+                assertTrue(3 * m * lpt <= (4L * m - 1) * otimo, () -> "LPT acima de 4/3 do ótimo: " + instancia);
+            } else {
+                // Com inícios diferentes o LPT garante 3/2 do ótimo
+                assertTrue(2 * lpt <= 3 * otimo, () -> "LPT acima de 3/2 do ótimo: " + instancia);
+            }
+        }
+    }
+
+    @Test
+    void inclusoesEExclusoesMantemOPlanoValido() {
+        Random random = new Random(4343);
+        for (int caso = 0; caso < INSTANCIAS / 4; caso++) {
+            long[] inicio = inicios(random, caso % 2 == 0);
+            List<PlanejadorDistribuicao.Servico> servicos = new ArrayList<>(servicos(random, 0, random.nextInt(6)));
+            PlanejadorDistribuicao plano = PlanejadorDistribuicao.planejar(inicio, servicos, SEM_PRAZO);
+            long proximoId = servicos.size();
+            for (int op = 0; op < 12; op++) {
+                if (servicos.isEmpty() || random.nextInt(3) > 0) {
+                    if (servicos.size() == 9) {
+                        continue;
+                    }
+                    PlanejadorDistribuicao.Servico novo = servicos(random, proximoId++, 1).get(0);
+                    servicos.add(novo);
+                    plano.adicionar(novo, SEM_PRAZO);
+                } else {
+                    PlanejadorDistribuicao.Servico removido = servicos.remove(random.nextInt(servicos.size()));
+                    assertTrue(plano.remover(removido.id(), SEM_PRAZO));
+                    assertFalse(plano.remover(removido.id(), SEM_PRAZO));
+                }
+                conferir(plano, inicio, servicos);
+                assertTrue(plano.makespan() >= otimo(inicio, servicos));
+            }
+        }
+    }
+
+    @Test
+    void substituirServicoNaoDuplica() {
+        long[] inicio = {0, 30};
+        List<PlanejadorDistribuicao.Servico> servicos = servicos(new Random(430), 0, 5);
+        PlanejadorDistribuicao plano = PlanejadorDistribuicao.planejar(inicio, servicos, SEM_PRAZO);
+        PlanejadorDistribuicao.Servico maior = new PlanejadorDistribuicao.Servico(2, 2, 2, "s2", 480);
+        plano.adicionar(maior, SEM_PRAZO);
+        List<PlanejadorDistribuicao.Servico> esperados = new ArrayList<>(servicos);
+        esperados.set(2, maior);
+        conferir(plano, inicio, esperados);
+        assertEquals(otimo(inicio, esperados), plano.makespan()); // o serviço de 480 sozinho define o makespan
+    }
+
+    @Test
+    void diaCheioPlanejadoDentroDoPrazo() {
+        Random random = new Random(7_212);
+        long[] inicio = new long[40];
+        for (int m = 0; m < inicio.length; m += 3) {
+            inicio[m] = 15L * random.nextInt(12); // parte dos mecânicos já tem serviço em andamento
+        }
+        List<PlanejadorDistribuicao.Servico> servicos = servicos(random, 0, 500);
+        PlanejadorDistribuicao.planejar(inicio, servicos, System.nanoTime() + PRAZO_NANOS); // aquece o JIT
+
+        long t0 = System.nanoTime();
+        PlanejadorDistribuicao plano = PlanejadorDistribuicao.planejar(inicio, servicos, t0 + PRAZO_NANOS);
+        long planejarMs = (System.nanoTime() - t0) / 1_000_000;
+        PlanejadorDistribuicao.Servico encaixe = new PlanejadorDistribuicao.Servico(500, 500, 500, "encaixe", 90);
+        long t1 = System.nanoTime();
+        plano.adicionar(encaixe, t1 + PRAZO_NANOS);
+        long adicionarMs = (System.nanoTime() - t1) / 1_000_000;
+
+        assertTrue(planejarMs < LIMITE_MS, () -> "planejar levou " + planejarMs + " ms");
+        assertTrue(adicionarMs < LIMITE_MS, () -> "adicionar levou " + adicionarMs + " ms");
+        List<PlanejadorDistribuicao.Servico> todos = new ArrayList<>(servicos);
+        todos.add(encaixe);
+        conferir(plano, inicio, todos);
+        assertTrue(plano.makespan() <= lpt(inicio, todos));
+        // Com 500 serviços curtos o plano fica a poucos minutos do limite inferior
+        assertTrue(plano.makespan() - plano.limiteInferior() <= 15,
+                () -> "makespan " + plano.makespan() + ", limite inferior " + plano.limiteInferior());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private static long[] inicios(Random random, boolean juntos) {
+        long[] inicio = new long[1 + random.nextInt(4)];
+        if (!juntos) {
+            for (int m = 0; m < inicio.length; m++) {
+                inicio[m] = random.nextInt(3) == 0 ? 30L * random.nextInt(5) : 0;
+            }
+        }
+        return inicio;
+    }
+
+    private static List<PlanejadorDistribuicao.Servico> servicos(Random random, long primeiroId, int quantidade) {
+        List<PlanejadorDistribuicao.Servico> servicos = new ArrayList<>(quantidade);
+        for (int i = 0; i < quantidade; i++) {
+            long id = primeiroId + i;
+            servicos.add(new PlanejadorDistribuicao.Servico(id, id, id, "s" + id, 15L * (1 + random.nextInt(16))));
+        }
+        return servicos;
+    }
+
+    private static List<Long> minutos(List<PlanejadorDistribuicao.Servico> servicos) {
+        return servicos.stream().map(PlanejadorDistribuicao.Servico::minutos).toList();
+    }
+
+    // Cada serviço em exatamente um mecânico e a carga igual ao início mais a soma dos serviços
+    private static void conferir(PlanejadorDistribuicao plano, long[] inicio, List<PlanejadorDistribuicao.Servico> servicos) {
+        Map<Long, PlanejadorDistribuicao.Servico> esperados = new HashMap<>();
+        servicos.forEach(s -> esperados.put(s.id(), s));
+        Map<Long, PlanejadorDistribuicao.Servico> planejados = new HashMap<>();
+        long maiorCarga = 0;
+        for (int m = 0; m < plano.mecanicos(); m++) {
+            long carga = inicio[m];
+            for (PlanejadorDistribuicao.Servico s : plano.servicos(m)) {
+                assertNull(planejados.put(s.id(), s), "serviço em dois mecânicos: " + s.id());
+                carga += s.minutos();
+            }
+            assertEquals(inicio[m], plano.disponivelAPartirDe(m));
+            assertEquals(carga, plano.carga(m));
+            maiorCarga = Math.max(maiorCarga, carga);
+        }
+        assertEquals(esperados, planejados);
+        assertEquals(servicos.size(), plano.totalServicos());
+        assertEquals(maiorCarga, plano.makespan());
+    }
+
+    private static long lpt(long[] inicio, List<PlanejadorDistribuicao.Servico> servicos) {
+        long[] carga = inicio.clone();
+        servicos.stream().map(PlanejadorDistribuicao.Servico::minutos).sorted(Comparator.reverseOrder()).forEach(d -> {
+            int menor = 0;
+            for (int m = 1; m < carga.length; m++) {
+                if (carga[m] < carga[menor]) {
+                    menor = m;
+                }
+            }
+            carga[menor] += d;
+        });
+        return Arrays.stream(carga).max().orElse(0);
+    }
+
+    // Força bruta: todas as m^n atribuições
+    private static long otimo(long[] inicio, List<PlanejadorDistribuicao.Servico> servicos) {
+        long[] duracoes = servicos.stream().mapToLong(PlanejadorDistribuicao.Servico::minutos).toArray();
+        return otimo(inicio.clone(), duracoes, 0);
+    }
+
+    private static long otimo(long[] carga, long[] duracoes, int proximo) {
+        if (proximo == duracoes.length) {
+            return Arrays.stream(carga).max().orElse(0);
+        }
+        long melhor = Long.MAX_VALUE;
+        for (int m = 0; m < carga.length; m++) {
+            carga[m] += duracoes[proximo];
+            melhor = Math.min(melhor, otimo(carga, duracoes, proximo + 1));
+            carga[m] -= duracoes[proximo];
+        }
+        return melhor;
+    }
+}
@@ -0,0 +1,193 @@
+// src/test/java/br/com/fiap/service/pecas/CatalogoPecasServiceTest.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.dto.pecas.CatalogoPecasDto;
+import br.com.fiap.dto.pecas.PecasResponseDto;
+import br.com.fiap.service.busca.IndiceEmSegundoPlano;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Catálogo sobre PECAS no H2 (modo Oracle): a consulta ao banco usada antes da primeira carga responde como o
+ * índice; correções disparadas em paralelo para a mesma peça terminam no estado do banco; e uma peça confirmada
+ * com ID abaixo do maior já indexado não fica de fora.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:catalogo;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada alteração confirma antes do evento
+class CatalogoPecasServiceTest {
+
+    private static final String[] DESCRICOES = {"filtro de oleo", "filtro de ar", "pastilha de freio dianteira",
+            "disco de freio", "vela de ignicao", "correia dentada", "amortecedor traseiro", "bomba de agua"};
+    private static final String[] FABRICANTES = {"Bosch", "Fras-le", "Cofap", "Mahle", "NGK"};
+    private static final String[] TIPOS = {"Carro", "Moto", "Caminhao"};
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private CatalogoPecasServiceImpl catalogoPecasService;
+
+    @BeforeEach
+    void criarTabela() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS PECAS");
+        jdbcTemplate.execute("""
+                CREATE TABLE PECAS (
+                    ID_PEC         NUMBER        NOT NULL PRIMARY KEY,
+                    TIPO_VEICULO   VARCHAR2(50)  NOT NULL,
+                    FABRICANTE     VARCHAR2(50)  NOT NULL,
+                    DESCRICA_PECA  VARCHAR2(100) NOT NULL,
+                    DATA_COMPRA    DATE,
+                    PRECO          NUMBER(10, 2) NOT NULL,
+                    DESCONTO       NUMBER(10, 2),
+                    TOTAL_DESCONTO NUMBER(10, 2))
+                """);
+        Random random = new Random(0xCA7A_1060L);
+        for (long id = 1; id <= 300; id++) {
+            inserir(id, DESCRICOES[random.nextInt(DESCRICOES.length)] + " " + (char) ('a' + random.nextInt(26)),
+                    FABRICANTES[random.nextInt(FABRICANTES.length)], TIPOS[random.nextInt(TIPOS.length)],
+                    BigDecimal.valueOf(500 + random.nextInt(40_000), 2));
+        }
+        // Uma instância por teste: cada um começa sem índice carregado
+        catalogoPecasService = new CatalogoPecasServiceImpl(jdbcTemplate, 60, 64);
+    }
+
+    @AfterEach
+    void encerrar() {
+        catalogoPecasService.encerrar();
+    }
+
+    @Test
+    void consultaAoBancoRespondeComoOIndice() {
+        List<Busca> buscas = List.of(
+                new Busca(null, List.of(), List.of(), null, null, "descricao", 0, 20),
+                new Busca("fre", List.of(), List.of(), null, null, "preco", 0, 7),
+                new Busca("filtro", List.of("Bosch", "Mahle"), List.of(), null, null, "-preco", 1, 5),
+                new Busca(null, List.of(), List.of("Moto"), new BigDecimal("50.00"), new BigDecimal("250.00"), "preco", 2, 10),
+                new Busca("de", List.of("NGK"), List.of("Carro", "Caminhao"), new BigDecimal("10"), null, "descricao", 0, 50),
+                new Busca("inexistente", List.of(), List.of(), null, null, "descricao", 0, 20));
+
+        assertFalse(catalogoPecasService.disponivel());
+        List<CatalogoPecasDto> doBanco = buscas.stream().map(this::executar).toList();
+        doBanco.forEach(r -> assertNull(r.getIndiceCarregadoEm()));
+
+        catalogoPecasService.reconstruir();
+        assertTrue(catalogoPecasService.disponivel());
+        for (int i = 0; i < buscas.size(); i++) {
+            CatalogoPecasDto banco = doBanco.get(i);
+            CatalogoPecasDto memoria = executar(buscas.get(i));
+            String busca = buscas.get(i).toString();
+            assertEquals(memoria.getTotal(), banco.getTotal(), busca);
+            assertEquals(ids(memoria), ids(banco), busca);
+            assertEquals(memoria.getFacetasFabricante(), banco.getFacetasFabricante(), busca);
+            assertEquals(List.copyOf(memoria.getFacetasFabricante().keySet()),
+                    List.copyOf(banco.getFacetasFabricante().keySet()), busca);
+            assertEquals(memoria.getFacetasTipoVeiculo(), banco.getFacetasTipoVeiculo(), busca);
+            assertEquals(memoria.getPrecoMinimo(), banco.getPrecoMinimo(), busca);
+            assertEquals(memoria.getPrecoMaximo(), banco.getPrecoMaximo(), busca);
+        }
+    }
+
+    @Test
+    void correcoesParalelasDaMesmaPecaTerminamNoEstadoDoBanco() throws Exception {
+        catalogoPecasService.reconstruir();
+        long disputada = 42;
+        int threads = 8;
+        int rodadas = 25;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CyclicBarrier barreira = new CyclicBarrier(threads);
+        List<Future<?>> tarefas = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            tarefas.add(executor.submit(() -> {
+                for (int r = 0; r < rodadas; r++) {
+                    barreira.await(); // todas alteram e anunciam a mesma peça ao mesmo tempo
+                    jdbcTemplate.update("UPDATE PECAS SET DESCRICA_PECA = ?, PRECO = ? WHERE ID_PEC = ?",
+                            "versao t" + thread + "r" + r, BigDecimal.valueOf(1000 + thread, 2), disputada);
+                    catalogoPecasService.aoAlterarPecas(new PecasAlteradasEvent(Set.of(disputada)));
+                }
+                return null;
+            }));
+        }
+        for (Future<?> tarefa : tarefas) {
+            tarefa.get(2, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        indice().sincronizar();
+
+        String descricaoFinal = jdbcTemplate.queryForObject("SELECT DESCRICA_PECA FROM PECAS WHERE ID_PEC = ?",
+                String.class, disputada);
+        CatalogoPecasDto encontrada = catalogoPecasService.buscar(descricaoFinal, null, null, null, null, null, 0, 10);
+        assertEquals(List.of(disputada), ids(encontrada));
+        assertEquals(1, catalogoPecasService.buscar("versao", null, null, null, null, null, 0, 10).getTotal(),
+                "versões antigas da peça ficaram no índice");
+        assertEquals(300, encontrada.getPecasIndexadas());
+    }
+
+    @Test
+    void pecaConfirmadaAbaixoDoMaiorIdIndexadoEntraNoIndice() {
+        catalogoPecasService.reconstruir();
+        // Duas importações com IDs da sequência: a de ID maior confirma primeiro; nenhuma conhece os IDs (trigger)
+        inserir(320, "tensor da correia", "Cofap", "Carro", new BigDecimal("88.10"));
+        catalogoPecasService.aoAlterarPecas(new PecasAlteradasEvent(Set.of()));
+        indice().sincronizar();
+        inserir(310, "tensor do alternador", "Cofap", "Carro", new BigDecimal("91.30"));
+        catalogoPecasService.aoAlterarPecas(new PecasAlteradasEvent(Set.of()));
+        indice().sincronizar();
+
+        assertEquals(List.of(320L, 310L), ids(catalogoPecasService.buscar("tensor", null, null, null, null, "preco", 0, 10)));
+
+        jdbcTemplate.update("DELETE FROM PECAS WHERE ID_PEC = 310");
+        catalogoPecasService.aoAlterarPecas(new PecasAlteradasEvent(Set.of(310L)));
+        indice().sincronizar();
+        assertEquals(List.of(320L), ids(catalogoPecasService.buscar("tensor", null, null, null, null, "preco", 0, 10)));
+    }
+
+    // --- Métodos auxiliares ---
+
+    private record Busca(String texto, List<String> fabricantes, List<String> tipos, BigDecimal precoMinimo,
+                         BigDecimal precoMaximo, String ordenacao, int pagina, int tamanho) {
+    }
+
+    private CatalogoPecasDto executar(Busca b) {
+        return catalogoPecasService.buscar(b.texto(), b.fabricantes(), b.tipos(), b.precoMinimo(), b.precoMaximo(),
+                b.ordenacao(), b.pagina(), b.tamanho());
+    }
+
+    @SuppressWarnings("unchecked")
+    private IndiceEmSegundoPlano<IndiceCatalogoPecas> indice() {
+        return (IndiceEmSegundoPlano<IndiceCatalogoPecas>) ReflectionTestUtils.getField(catalogoPecasService, "indice");
+    }
+
+    private void inserir(long id, String descricao, String fabricante, String tipo, BigDecimal preco) {
+        jdbcTemplate.update("INSERT INTO PECAS (ID_PEC, TIPO_VEICULO, FABRICANTE, DESCRICA_PECA, DATA_COMPRA, PRECO, "
+                + "DESCONTO, TOTAL_DESCONTO) VALUES (?, ?, ?, ?, DATE '2024-03-01', ?, 0, ?)",
+                id, tipo, fabricante, descricao, preco, preco);
+    }
+
+    private static List<Long> ids(CatalogoPecasDto resultado) {
+        return resultado.getItens().stream().map(PecasResponseDto::getId).toList();
+    }
+}
@@ -0,0 +1,174 @@
+// src/test/java/br/com/fiap/service/pecas/IndiceCatalogoPecasTest.java
+package br.com.fiap.service.pecas;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o índice de facetas em bitsets com uma varredura completa do catálogo (oráculo por força bruta): termos por
+ * prefixo, filtros de fabricante e tipo de veículo, faixa de preço, facetas, preços mínimo/máximo e páginas nas três
+ * ordenações, antes e depois de inclusões, alterações e exclusões (com o cache de consultas ligado).
+ */
+class IndiceCatalogoPecasTest {
+
+    private static final String[] FABRICANTES = {"Bosch", "Valeo", "NGK", "Cofap", "Monroe", "SKF", "Fras-le", "Nakata"};
+    private static final String[] TIPOS = {"Carro", "Moto", "Caminhao", "Onibus"};
+    private static final String[] PALAVRAS = {"Filtro", "Óleo", "Pastilha", "Freio", "Amortecedor", "Vela", "Ignição",
+            "Correia", "Dentada", "Rolamento", "Roda", "Dianteiro", "Traseiro", "Embreagem", "Kit", "Bomba", "Água"};
+    private static final List<List<String>> TERMOS = List.of(List.of(), List.of("fil"), List.of("oleo", "filtro"),
+            List.of("ign"), List.of("zzz"), List.of("freio", "dian"), List.of("agua"), List.of("f"));
+    private static final Map<String, List<String>> TERMOS_DA_DESCRICAO = new HashMap<>();
+    private static final int PECAS = 5_000;
+    private static final int CONSULTAS_POR_RODADA = 300;
+
+    private static final Comparator<IndiceCatalogoPecas.Peca> POR_DESCRICAO = Comparator
+            .comparing(IndiceCatalogoPecas.Peca::descricao, String.CASE_INSENSITIVE_ORDER)
+            .thenComparingLong(IndiceCatalogoPecas.Peca::id);
+    private static final Comparator<IndiceCatalogoPecas.Peca> POR_PRECO = Comparator
+            .comparingLong(IndiceCatalogoPecas.Peca::precoCentavos).thenComparingLong(IndiceCatalogoPecas.Peca::id);
+
+    @Test
+    void buscaIgualAVarreduraCompleta() {
+        Random random = new Random(902_117L);
+        Map<Long, IndiceCatalogoPecas.Peca> catalogo = new HashMap<>();
+        for (long id = 1; id <= PECAS; id++) {
+            catalogo.put(id, peca(random, id));
+        }
+        IndiceCatalogoPecas indice = new IndiceCatalogoPecas(catalogo.values(), 16);
+        assertEquals(PECAS, indice.maiorIdDaCarga());
+
+        for (int rodada = 0; rodada < 5; rodada++) {
+            conferirConsultas(random, indice, catalogo);
+
+            // Cada rodada imita uma importação: peças descontinuadas, reajustes de preço e cadastros novos, alguns
+            // reaproveitando IDs que acabaram de sair (a mesma peça pode ser retirada e incluída no mesmo lote)
+            List<Long> existentes = new ArrayList<>(catalogo.keySet());
+            Collections.shuffle(existentes, random);
+            List<Long> removidas = new ArrayList<>(existentes.subList(0, 40 + random.nextInt(60)));
+            removidas.forEach(catalogo::remove);
+            Map<Long, IndiceCatalogoPecas.Peca> alteradas = new LinkedHashMap<>();
+            for (Long id : existentes.subList(removidas.size(), removidas.size() + 150)) {
+                IndiceCatalogoPecas.Peca atual = catalogo.get(id);
+                long centavos = Math.max(1, atual.precoCentavos() + random.nextInt(2_001) - 1_000);
+                BigDecimal preco = BigDecimal.valueOf(centavos, 2);
+                alteradas.put(id, new IndiceCatalogoPecas.Peca(id, atual.tipoVeiculo(), atual.fabricante(),
+                        atual.descricao(), null, preco, BigDecimal.ZERO, preco, centavos));
+            }
+            long maior = Collections.max(existentes);
+            for (int i = random.nextInt(80); i > 0; i--) {
+                long id = random.nextInt(4) == 0 ? removidas.get(random.nextInt(removidas.size())) : ++maior;
+                alteradas.put(id, peca(random, id));
+            }
+            catalogo.putAll(alteradas);
+            indice.atualizar(alteradas.values(), removidas);
+            assertEquals(catalogo.size(), indice.tamanho());
+            assertEquals(Collections.max(catalogo.keySet()), indice.maiorId());
+            assertEquals(PECAS, indice.maiorIdDaCarga());
+            for (Long id : removidas) {
+                assertEquals(catalogo.containsKey(id), indice.contem(id), "peça " + id);
+            }
+        }
+        conferirConsultas(random, indice, catalogo);
+    }
+
+    @Test
+    void termosSemAcentoEMinusculos() {
+        assertEquals(List.of("oleo", "de", "cambio", "5w30"), IndiceCatalogoPecas.termos("Óleo de  CÂMBIO (5W30)"));
+        assertEquals(List.of("kit"), IndiceCatalogoPecas.termos("Kit kit KIT"));
+        assertEquals(List.of(), IndiceCatalogoPecas.termos("  "));
+        assertEquals(List.of(), IndiceCatalogoPecas.termos(null));
+    }
+
+    // --- Oráculo ---
+
+    private static void conferirConsultas(Random random, IndiceCatalogoPecas indice,
+                                          Map<Long, IndiceCatalogoPecas.Peca> catalogo) {
+        IndiceCatalogoPecas.Ordenacao[] ordenacoes = IndiceCatalogoPecas.Ordenacao.values();
+        for (int c = 0; c < CONSULTAS_POR_RODADA; c++) {
+            Set<String> fabricantes = new HashSet<>();
+            for (int i = random.nextInt(3); i > 0; i--) {
+                fabricantes.add(random.nextInt(10) == 0 ? "Inexistente" : FABRICANTES[random.nextInt(FABRICANTES.length)]);
+            }
+            Set<String> tipos = random.nextInt(3) == 0 ? Set.of(TIPOS[random.nextInt(TIPOS.length)]) : Set.of();
+            long minimo = random.nextBoolean() ? random.nextInt(200_000) : Long.MIN_VALUE;
+            long maximo = random.nextBoolean()
+                    ? (minimo == Long.MIN_VALUE ? 0 : minimo) + random.nextInt(200_000) - 1_000 // às vezes mínimo > máximo
+                    : Long.MAX_VALUE;
+            // Consultas repetidas (mesmo record) passam pelo cache
+            IndiceCatalogoPecas.Consulta consulta = new IndiceCatalogoPecas.Consulta(
+                    TERMOS.get(random.nextInt(TERMOS.size())), fabricantes, tipos, minimo, maximo);
+            IndiceCatalogoPecas.Ordenacao ordenacao = ordenacoes[random.nextInt(ordenacoes.length)];
+
+            List<IndiceCatalogoPecas.Peca> esperadas = new ArrayList<>();
+            Map<String, Integer> facetasFabricante = new HashMap<>();
+            Map<String, Integer> facetasTipo = new HashMap<>();
+            for (IndiceCatalogoPecas.Peca peca : catalogo.values()) {
+                if (peca.precoCentavos() < minimo || peca.precoCentavos() > maximo) {
+                    continue;
+                }
+                List<String> daPeca = TERMOS_DA_DESCRICAO.computeIfAbsent(peca.descricao(), IndiceCatalogoPecas::termos);
+                if (!consulta.termos().stream().allMatch(t -> daPeca.stream().anyMatch(p -> p.startsWith(t)))) {
+                    continue;
+                }
+                boolean fabricanteOk = fabricantes.isEmpty() || fabricantes.contains(peca.fabricante());
+                boolean tipoOk = tipos.isEmpty() || tipos.contains(peca.tipoVeiculo());
+                // Cada faceta ignora o próprio filtro e respeita os demais
+                if (tipoOk) {
+                    facetasFabricante.merge(peca.fabricante(), 1, Integer::sum);
+                }
+                if (fabricanteOk) {
+                    facetasTipo.merge(peca.tipoVeiculo(), 1, Integer::sum);
+                }
+                if (fabricanteOk && tipoOk) {
+                    esperadas.add(peca);
+                }
+            }
+            esperadas.sort(switch (ordenacao) {
+                case DESCRICAO -> POR_DESCRICAO;
+                case PRECO -> POR_PRECO;
+                case PRECO_DECRESCENTE -> POR_PRECO.reversed();
+            });
+            int inicio = esperadas.isEmpty() || random.nextInt(5) == 0 ? random.nextInt(3) * 20
+                    : random.nextInt(esperadas.size());
+            int quantidade = 1 + random.nextInt(30);
+
+            IndiceCatalogoPecas.Pagina pagina = indice.buscar(consulta, ordenacao, inicio, quantidade);
+            String descricao = consulta + " " + ordenacao + " a partir de " + inicio;
+            assertEquals(esperadas.size(), pagina.total(), descricao);
+            assertEquals(esperadas.subList(Math.min(inicio, esperadas.size()), Math.min(inicio + quantidade, esperadas.size())),
+                    pagina.pecas(), descricao);
+            assertEquals(facetasFabricante, pagina.facetasFabricante(), descricao);
+            assertEquals(facetasTipo, pagina.facetasTipoVeiculo(), descricao);
+            assertDecrescente(pagina.facetasFabricante());
+            assertDecrescente(pagina.facetasTipoVeiculo());
+            assertEquals(esperadas.stream().map(IndiceCatalogoPecas.Peca::precoCentavos).min(Long::compare).orElse(null),
+                    pagina.precoMinimo(), descricao);
+            assertEquals(esperadas.stream().map(IndiceCatalogoPecas.Peca::precoCentavos).max(Long::compare).orElse(null),
+                    pagina.precoMaximo(), descricao);
+        }
+    }
+
+    private static void assertDecrescente(Map<String, Integer> facetas) {
+        int anterior = Integer.MAX_VALUE;
+        for (int quantidade : facetas.values()) {
+            assertTrue(quantidade <= anterior, "facetas fora de ordem: " + facetas);
+            anterior = quantidade;
+        }
+    }
+
+    private static IndiceCatalogoPecas.Peca peca(Random random, long id) {
+        StringBuilder descricao = new StringBuilder();
+        for (int i = 2 + random.nextInt(3); i > 0; i--) {
+            descricao.append(PALAVRAS[random.nextInt(PALAVRAS.length)]).append(' ');
+        }
+        long centavos = 100 + random.nextInt(300_000);
+        BigDecimal preco = BigDecimal.valueOf(centavos, 2);
+        return new IndiceCatalogoPecas.Peca(id, TIPOS[random.nextInt(TIPOS.length)],
+                FABRICANTES[random.nextInt(FABRICANTES.length)], descricao.toString().trim(), null,
+                preco, BigDecimal.ZERO, preco, centavos);
+    }
+}
@@ -0,0 +1,114 @@
+// src/test/java/br/com/fiap/service/pecas/PrevisaoDemandaServiceTest.java
+package br.com.fiap.service.pecas;
+
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import br.com.fiap.service.sincronizacao.AlteracaoRegistradaEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Manutenção incremental do consumo de peças (H2 em modo Oracle): linhas de OFP gravadas por fora do log de
+ * sincronização — inclusive com ID abaixo do maior já lido, como num commit fora de ordem — e exclusões por fora
+ * entram na consulta seguinte, assim como as alterações avisadas pelo ouvinte de commit.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:previsao;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(PrevisaoDemandaServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // as linhas gravadas pelo teste ficam visíveis na hora
+class PrevisaoDemandaServiceTest {
+
+    private static final long FILTRO = 1;
+    private static final long PASTILHA = 2;
+
+    @Autowired
+    private PrevisaoDemandaServiceImpl previsaoDemandaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void criarTabelas() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS OFP");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS OFICINAS");
+        jdbcTemplate.execute("DROP TABLE IF EXISTS PECAS");
+        jdbcTemplate.execute("CREATE TABLE PECAS (ID_PEC NUMBER PRIMARY KEY, DESCRICA_PECA VARCHAR2(50), FABRICANTE VARCHAR2(50))");
+        jdbcTemplate.execute("CREATE TABLE OFICINAS (ID_OFIC NUMBER PRIMARY KEY, DATA_OFICINA DATE NOT NULL)");
+        jdbcTemplate.execute("""
+                CREATE TABLE OFP (
+                    ID_OPE           NUMBER PRIMARY KEY,
+                    OFICINAS_ID_OFIC NUMBER NOT NULL,
+                    PECAS_ID_PEC     NUMBER NOT NULL,
+                    QUANTIDADE       NUMBER NOT NULL)
+                """);
+        jdbcTemplate.update("INSERT INTO PECAS VALUES (?, 'Filtro de óleo', 'Bosch')", FILTRO);
+        jdbcTemplate.update("INSERT INTO PECAS VALUES (?, 'Pastilha de freio', 'Cobreq')", PASTILHA);
+        // Dez semanas de serviços, todas anteriores à semana corrente
+        for (int s = 1; s <= 10; s++) {
+            jdbcTemplate.update("INSERT INTO OFICINAS VALUES (?, ?)", s, LocalDate.now().minusWeeks(s));
+            jdbcTemplate.update("INSERT INTO OFP VALUES (?, ?, ?, ?)", s * 10, s, FILTRO, 2);
+        }
+    }
+
+    @Test
+    void linhasGravadasPorForaEntramNaConsultaSeguinte() {
+        assertEquals(20, consumo(FILTRO));
+
+        // Acima do maior ID já lido
+        jdbcTemplate.update("INSERT INTO OFP VALUES (1000, 3, ?, 5)", FILTRO);
+        assertEquals(25, consumo(FILTRO));
+
+        // Abaixo dele: confirmada depois de uma linha de ID maior
+        jdbcTemplate.update("INSERT INTO OFP VALUES (55, 4, ?, 7)", FILTRO);
+        assertEquals(32, consumo(FILTRO));
+
+        // Excluída e alterada por fora
+        jdbcTemplate.update("DELETE FROM OFP WHERE ID_OPE = 10");
+        jdbcTemplate.update("UPDATE OFP SET QUANTIDADE = 4 WHERE ID_OPE = 20");
+        assertEquals(32, consumo(FILTRO));
+        jdbcTemplate.update("UPDATE OFP SET PECAS_ID_PEC = ? WHERE ID_OPE = 30", PASTILHA);
+        assertEquals(30, consumo(FILTRO));
+        assertEquals(2, consumo(PASTILHA));
+    }
+
+    @Test
+    void alteracaoConfirmadaEhRelidaNaConsultaSeguinte() {
+        assertEquals(20, consumo(FILTRO));
+        assertEquals(10, previsaoDemandaService.prever(FILTRO).getSemanasHistorico());
+
+        // Mudança de data não altera os totais de OFP: só o aviso do commit leva à releitura
+        jdbcTemplate.update("UPDATE OFICINAS SET DATA_OFICINA = ? WHERE ID_OFIC = 10", LocalDate.now().minusWeeks(20));
+        previsaoDemandaService.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.OFICINA, 10L, TipoOperacao.ATUALIZACAO));
+        assertEquals(20, previsaoDemandaService.prever(FILTRO).getSemanasHistorico());
+
+        jdbcTemplate.update("DELETE FROM OFP WHERE OFICINAS_ID_OFIC = 10");
+        jdbcTemplate.update("DELETE FROM OFICINAS WHERE ID_OFIC = 10");
+        previsaoDemandaService.aoConfirmarAlteracao(new AlteracaoRegistradaEvent(TipoEntidade.OFICINA, 10L, TipoOperacao.EXCLUSAO));
+        assertEquals(18, consumo(FILTRO));
+        assertEquals(9, previsaoDemandaService.prever(FILTRO).getSemanasHistorico());
+    }
+
+    private long consumo(long pecaId) {
+        return previsaoDemandaService.prever(pecaId).getConsumoHistorico();
+    }
+}
@@ -0,0 +1,123 @@
+// src/test/java/br/com/fiap/service/pecas/SuavizacaoExponencialTest.java
+package br.com.fiap.service.pecas;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o ajuste da suavização exponencial com um oráculo por força bruta: o nível calculado pela soma ponderada
+ * explícita (alfa * (1 - alfa)^k de cada semana, mais o peso restante do nível inicial) e a busca de alfa em todos os
+ * pontos de 0,01 a 0,99, em séries aleatórias (constantes, com tendência, intermitentes e ruidosas).
+ */
+class SuavizacaoExponencialTest {
+
+    private static final int SERIES = 3_000;
+    private static final double TOLERANCIA = 1e-9;
+
+    @Test
+    void ajusteIgualAoOraculo() {
+        Random random = new Random(45);
+        int alfaIgualAoDaGradeFina = 0;
+        for (int caso = 0; caso < SERIES; caso++) {
+            long[] serie = serie(random);
+            SuavizacaoExponencial.Ajuste ajuste = SuavizacaoExponencial.ajustar(serie);
+            String descricao = Arrays.toString(serie);
+
+            double alfa = ajuste.alfa();
+            assertTrue(alfa >= 0.01 - TOLERANCIA && alfa <= 0.99 + TOLERANCIA, descricao);
+            double erro = erroQuadratico(serie, alfa);
+            assertEquals(nivel(serie, alfa), ajuste.nivel(), tolerancia(ajuste.nivel()), descricao);
+            assertEquals(Math.sqrt(erro / serie.length), ajuste.erroPadrao(), tolerancia(ajuste.erroPadrao()), descricao);
+
+            // Nunca pior que qualquer ponto da grade de 0,05 nem que os vizinhos de 0,01 do alfa escolhido
+            for (int i = 1; i <= 19; i++) {
+                assertTrue(erro <= erroQuadratico(serie, i * 0.05) + tolerancia(erro), descricao);
+            }
+            for (double vizinho : new double[]{alfa - 0.01, alfa + 0.01}) {
+                if (vizinho >= 0.01 && vizinho <= 0.99) {
+                    assertTrue(erro <= erroQuadratico(serie, vizinho) + tolerancia(erro), descricao);
+                }
+            }
+            double melhorDaGradeFina = Double.MAX_VALUE;
+            for (int i = 1; i <= 99; i++) {
+                melhorDaGradeFina = Math.min(melhorDaGradeFina, erroQuadratico(serie, i * 0.01));
+            }
+            if (erro <= melhorDaGradeFina + tolerancia(erro)) {
+                alfaIgualAoDaGradeFina++;
+            }
+        }
+        // Grade + refinamento acham o mínimo da busca completa na grande maioria das séries
+        assertTrue(alfaIgualAoDaGradeFina >= SERIES * 0.97, "ótimo da grade fina em " + alfaIgualAoDaGradeFina);
+    }
+
+    @Test
+    void seriesDegeneradas() {
+        SuavizacaoExponencial.Ajuste vazia = SuavizacaoExponencial.ajustar(new long[0]);
+        assertEquals(0, vazia.nivel());
+        assertEquals(0, vazia.erroPadrao());
+
+        SuavizacaoExponencial.Ajuste constante = SuavizacaoExponencial.ajustar(new long[]{7, 7, 7, 7, 7, 7, 7, 7});
+        assertEquals(7, constante.nivel(), TOLERANCIA);
+        assertEquals(0, constante.erroPadrao(), TOLERANCIA);
+
+        SuavizacaoExponencial.Ajuste uma = SuavizacaoExponencial.ajustar(new long[]{5});
+        assertEquals(5, uma.nivel(), TOLERANCIA);
+    }
+
+    // --- Oráculo ---
+
+    private static long[] serie(Random random) {
+        long[] serie = new long[1 + random.nextInt(60)];
+        double base = random.nextInt(50);
+        double tendencia = random.nextInt(3) == 0 ? random.nextGaussian() : 0;
+        int tipo = random.nextInt(3);
+        for (int t = 0; t < serie.length; t++) {
+            double valor = switch (tipo) {
+                case 0 -> base;                                                   // constante com ruído leve
+                case 1 -> random.nextInt(4) == 0 ? random.nextInt(20) : 0;        // intermitente
+                default -> base + tendencia * t;                                  // tendência
+            };
+            serie[t] = Math.max(0, Math.round(valor + random.nextGaussian() * (1 + base / 5)));
+        }
+        return serie;
+    }
+
+    private static double inicial(long[] serie) {
+        int n = Math.min(4, serie.length);
+        double soma = 0;
+        for (int i = 0; i < n; i++) {
+            soma += serie[i];
+        }
+        return soma / n;
+    }
+
+    // Nível após as semanas [0, fim): soma ponderada explícita, sem a recorrência
+    private static double nivel(long[] serie, int fim, double alfa) {
+        double nivel = Math.pow(1 - alfa, fim) * inicial(serie);
+        for (int t = 0; t < fim; t++) {
+            nivel += alfa * Math.pow(1 - alfa, fim - 1 - t) * serie[t];
+        }
+        return nivel;
+    }
+
+    private static double nivel(long[] serie, double alfa) {
+        return nivel(serie, serie.length, alfa);
+    }
+
+    private static double erroQuadratico(long[] serie, double alfa) {
+        double soma = 0;
+        for (int t = 0; t < serie.length; t++) {
+            double erro = serie[t] - nivel(serie, t, alfa);
+            soma += erro * erro;
+        }
+        return soma;
+    }
+
+    private static double tolerancia(double valor) {
+        return TOLERANCIA * Math.max(1, Math.abs(valor));
+    }
+}
@@ -0,0 +1,159 @@
+// src/test/java/br/com/fiap/service/relatorio/ServicosAgendadosDesempenhoTest.java
+package br.com.fiap.service.relatorio;
+
+import br.com.fiap.dto.relatorio.ServicoAgendadoDTO;
+import br.com.fiap.dto.relatorio.ServicosAgendadosPaginaDto;
+import br.com.fiap.repository.AgendaRepository;
+import br.com.fiap.repository.PagamentoRepository;
+import br.com.fiap.service.agenda.CalendarioAgendaService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Relatório de serviços agendados sobre uma massa gerada de agendamentos (H2, com o mesmo índice IDX_AGENDAR_DATA
+ * do script Oracle): o percurso por cursor devolve todos os agendamentos, em ordem (data, id) e sem repetição, as
+ * páginas por offset coincidem com o trecho correspondente do cursor, e o cursor não se perde quando o detalhe de
+ * uma página volta vazio (agendamentos excluídos entre a leitura dos IDs e os joins).
+ */
+// Sem o log de SQL/binds do application.properties
+@DataJpaTest(showSql = false, properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"
+})
+@Import(RelatorioServiceImpl.class)
+class ServicosAgendadosDesempenhoTest {
+
+    private static final int AGENDAMENTOS = 20_000;
+    private static final int DIAS = 400;
+    private static final int TAMANHO_PAGINA = 50;
+    private static final LocalDate INICIO = LocalDate.of(2025, 1, 1);
+
+    @Autowired
+    private RelatorioService relatorioService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private AgendaRepository agendaRepository;
+
+    @Autowired
+    private PagamentoRepository pagamentoRepository;
+
+    @MockitoBean
+    private CalendarioAgendaService calendarioAgendaService;
+
+    @BeforeEach
+    void gerarAgendamentos() {
+        jdbcTemplate.execute("CREATE INDEX IF NOT EXISTS IDX_AGENDAR_DATA ON AGENDAR (DATA_AGENDAMENTO, ID_AGE)");
+        Random random = new Random(40);
+        List<Object[]> linhas = new ArrayList<>(AGENDAMENTOS);
+        for (int i = 1; i <= AGENDAMENTOS; i++) {
+            // IDs fora da ordem de data, para o desempate (data, id) ser exercitado
+            linhas.add(new Object[]{(long) i, Date.valueOf(INICIO.plusDays(random.nextInt(DIAS))), "Serviço " + i});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO AGENDAR (ID_AGE, DATA_AGENDAMENTO, OBS_AGENDAMENTO) VALUES (?, ?, ?)", linhas);
+    }
+
+    @Test
+    void cursorPercorreTodosOsAgendamentosEmOrdem() {
+        List<Long> percorridos = percorrer(INICIO);
+
+        assertEquals(AGENDAMENTOS, percorridos.size());
+        assertEquals(AGENDAMENTOS, new HashSet<>(percorridos).size(), "agendamento repetido no percurso");
+        assertEquals(jdbcTemplate.queryForList("SELECT ID_AGE FROM AGENDAR ORDER BY DATA_AGENDAMENTO, ID_AGE", Long.class),
+                percorridos);
+    }
+
+    @Test
+    void paginasPorOffsetCoincidemComOCursor() {
+        List<Long> percorridos = percorrer(INICIO);
+        Sort ordem = Sort.by("dataAgendamento");
+        int ultimaPagina = AGENDAMENTOS / TAMANHO_PAGINA - 1;
+        for (int numero : new int[]{0, 1, 173, ultimaPagina}) {
+            Page<ServicoAgendadoDTO> pagina = relatorioService.findServicosAgendados(INICIO,
+                    PageRequest.of(numero, TAMANHO_PAGINA, ordem));
+            assertEquals(AGENDAMENTOS, pagina.getTotalElements());
+            assertEquals(percorridos.subList(numero * TAMANHO_PAGINA, (numero + 1) * TAMANHO_PAGINA),
+                    pagina.getContent().stream().map(ServicoAgendadoDTO::getAgendaId).toList(), "página " + numero);
+        }
+    }
+
+    @Test
+    void cursorAPartirDoMeioComContagem() {
+        LocalDate meio = INICIO.plusDays(DIAS / 2);
+        long esperado = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM AGENDAR WHERE DATA_AGENDAMENTO >= ?", Long.class, Date.valueOf(meio));
+
+        ServicosAgendadosPaginaDto primeira = relatorioService.findServicosAgendadosPorCursor(meio, null, TAMANHO_PAGINA, true);
+        assertEquals(esperado, primeira.getTotalAgendamentos());
+        assertTrue(primeira.getItens().stream().noneMatch(item -> item.getDataAgendamento().isBefore(meio)));
+        assertEquals(esperado, percorrer(meio).size());
+    }
+
+    @Test
+    void paginaSemDetalheNaoEncerraOPercurso() {
+        List<Long> ordenados = jdbcTemplate.queryForList(
+                "SELECT ID_AGE FROM AGENDAR ORDER BY DATA_AGENDAMENTO, ID_AGE", Long.class);
+        // A segunda página inteira e o último da terceira somem entre a leitura das posições e o detalhe
+        Set<Long> excluidos = new HashSet<>(ordenados.subList(TAMANHO_PAGINA, 2 * TAMANHO_PAGINA));
+        excluidos.add(ordenados.get(3 * TAMANHO_PAGINA - 1));
+        AgendaRepository repositorio = mock(AgendaRepository.class, delegatesTo(agendaRepository));
+        doAnswer(chamada -> agendaRepository.findServicosAgendadosPorIds(chamada.getArgument(0)).stream()
+                .filter(item -> !excluidos.contains(item.getAgendaId())).toList())
+                .when(repositorio).findServicosAgendadosPorIds(any());
+        RelatorioService relatorio = new RelatorioServiceImpl(repositorio, pagamentoRepository, jdbcTemplate,
+                calendarioAgendaService);
+
+        List<Long> esperados = ordenados.stream().filter(id -> !excluidos.contains(id)).toList();
+        assertEquals(esperados, percorrer(relatorio, INICIO));
+    }
+
+    // Percorre o relatório por cursor, conferindo ordem (data, id), repetição e a coerência de temMais/proximoCursor
+    private List<Long> percorrer(LocalDate dataInicio) {
+        return percorrer(relatorioService, dataInicio);
+    }
+
+    private List<Long> percorrer(RelatorioService relatorio, LocalDate dataInicio) {
+        List<Long> percorridos = new ArrayList<>();
+        ServicoAgendadoDTO anterior = null;
+        String cursor = null;
+        int paginas = 0;
+        do {
+            ServicosAgendadosPaginaDto pagina = relatorio.findServicosAgendadosPorCursor(dataInicio, cursor, TAMANHO_PAGINA, false);
+            assertTrue(pagina.getItens().size() <= TAMANHO_PAGINA);
+            for (ServicoAgendadoDTO item : pagina.getItens()) {
+                if (anterior != null) {
+                    int ordem = item.getDataAgendamento().compareTo(anterior.getDataAgendamento());
+                    assertTrue(ordem > 0 || (ordem == 0 && item.getAgendaId() > anterior.getAgendaId()),
+                            "Fora da ordem (data, id) ou repetido após " + anterior.getAgendaId());
+                }
+                percorridos.add(item.getAgendaId());
+                anterior = item;
+            }
+            assertEquals(pagina.isTemMais(), pagina.getProximoCursor() != null);
+            cursor = pagina.getProximoCursor();
+            assertTrue(++paginas <= AGENDAMENTOS / TAMANHO_PAGINA + 1, "o cursor não avança");
+        } while (cursor != null);
+        return percorridos;
+    }
+}
@@ -0,0 +1,150 @@
+// src/test/java/br/com/fiap/service/sincronizacao/SincronizacaoServiceTest.java
+package br.com.fiap.service.sincronizacao;
+
+import br.com.fiap.dto.sincronizacao.AlteracaoDto;
+import br.com.fiap.dto.sincronizacao.AlteracoesResponseDto;
+import br.com.fiap.mapper.AgendaMapper;
+import br.com.fiap.mapper.OficinaMapper;
+import br.com.fiap.mapper.OrcamentoMapper;
+import br.com.fiap.mapper.PagamentoMapper;
+import br.com.fiap.model.sincronizacao.TipoEntidade;
+import br.com.fiap.model.sincronizacao.TipoOperacao;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Ordem de commit do feed de sincronização (H2 em modo Oracle): uma transação que já obteve a versão mas ainda não
+ * confirmou segura as seguintes, e nada dela nem das posteriores aparece no feed antes do commit; depois, as duas
+ * saem em ordem de versão e o cursor não passa por nenhuma.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:sincronizacao;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(SincronizacaoServiceImpl.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED) // cada registro confirma na própria transação
+class SincronizacaoServiceTest {
+
+    @MockitoBean
+    private AgendaMapper agendaMapper;
+    @MockitoBean
+    private OficinaMapper oficinaMapper;
+    @MockitoBean
+    private OrcamentoMapper orcamentoMapper;
+    @MockitoBean
+    private PagamentoMapper pagamentoMapper;
+
+    @Autowired
+    private SincronizacaoService sincronizacaoService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void limpar() {
+        jdbcTemplate.execute("""
+                CREATE TABLE IF NOT EXISTS CONTROLE_SINCRONIZACAO (
+                    ID                 NUMBER    NOT NULL CONSTRAINT CONTROLE_SINCRONIZACAO_PK PRIMARY KEY,
+                    DATA_ULTIMO_COMMIT TIMESTAMP NOT NULL)
+                """);
+        jdbcTemplate.update("DELETE FROM CONTROLE_SINCRONIZACAO");
+        jdbcTemplate.update("DELETE FROM REGISTRO_ALTERACOES");
+    }
+
+    @Test
+    void commitLentoNaoFicaAtrasDoCursor() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        CountDownLatch lentaGravou = new CountDownLatch(1);
+        CountDownLatch liberarLenta = new CountDownLatch(1);
+        try {
+            // Transação lenta: grava o log (obtém a versão) e para antes de confirmar
+            Future<?> lenta = executor.submit(() -> emTransacao(() -> {
+                sincronizacaoService.registrarAlteracao(TipoEntidade.AGENDA, 1L, TipoOperacao.EXCLUSAO);
+                // Registrada depois da do serviço: roda depois da gravação do log, já com a trava
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        lentaGravou.countDown();
+                        aguardar(liberarLenta);
+                    }
+                });
+            }));
+            assertTrue(lentaGravou.await(10, TimeUnit.SECONDS));
+
+            Future<?> rapida = executor.submit(() -> emTransacao(() ->
+                    sincronizacaoService.registrarAlteracao(TipoEntidade.AGENDA, 2L, TipoOperacao.EXCLUSAO)));
+            assertThrows(TimeoutException.class, () -> rapida.get(500, TimeUnit.MILLISECONDS),
+                    "a transação seguinte deveria esperar o commit da que já obteve versão");
+
+            AlteracoesResponseDto antes = sincronizacaoService.buscarAlteracoes(0L, null, 100);
+            assertTrue(antes.getAlteracoes().isEmpty());
+            assertEquals(0L, antes.getProximaVersao());
+
+            liberarLenta.countDown();
+            lenta.get(10, TimeUnit.SECONDS);
+            rapida.get(10, TimeUnit.SECONDS);
+        } finally {
+            liberarLenta.countDown();
+            executor.shutdownNow();
+        }
+
+        List<AlteracaoDto> alteracoes = sincronizacaoService.buscarAlteracoes(0L, null, 100).getAlteracoes();
+        assertEquals(List.of(1L, 2L), alteracoes.stream().map(AlteracaoDto::getEntidadeId).toList());
+        assertTrue(alteracoes.get(0).getVersao() < alteracoes.get(1).getVersao());
+    }
+
+    @Test
+    void rollbackNaoGravaNemSeguraATrava() throws Exception {
+        TransactionTemplate transacao = new TransactionTemplate(transactionManager);
+        transacao.executeWithoutResult(status -> {
+            sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, 7L, TipoOperacao.EXCLUSAO);
+            status.setRollbackOnly();
+        });
+        emTransacao(() -> sincronizacaoService.registrarAlteracao(TipoEntidade.OFICINA, 8L, TipoOperacao.EXCLUSAO));
+
+        List<AlteracaoDto> alteracoes = sincronizacaoService.buscarAlteracoes(0L, null, 100).getAlteracoes();
+        assertEquals(List.of(8L), alteracoes.stream().map(AlteracaoDto::getEntidadeId).toList());
+    }
+
+    // --- Métodos auxiliares ---
+
+    private void emTransacao(Runnable acao) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> acao.run());
+    }
+
+    private static void aguardar(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
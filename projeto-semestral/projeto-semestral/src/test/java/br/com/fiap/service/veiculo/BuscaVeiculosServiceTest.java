@@ -0,0 +1,153 @@
+// src/test/java/br/com/fiap/service/veiculo/BuscaVeiculosServiceTest.java
+package br.com.fiap.service.veiculo;
+
+import br.com.fiap.dto.veiculo.VeiculoResponseDto;
+import br.com.fiap.service.busca.IndiceEmSegundoPlano;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Índice de veículos sobre VEICULOS no H2 (modo Oracle): avisos de commit entregues em paralelo às escritas,
+ * buscas simultâneas antes da primeira carga e veículos importados com ID abaixo do maior já indexado.
+ */
+@DataJpaTest(showSql = false, properties = {
+        "spring.datasource.url=jdbc:h2:mem:buscaveiculos;MODE=Oracle;LOCK_TIMEOUT=10000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.hikari.connection-test-query=SELECT 1 FROM DUAL",
+        "spring.jpa.hibernate.ddl-auto=none",
+        "logging.level.org.hibernate=WARN",
+        "logging.level.org.springframework=WARN",
+        "logging.level.br.com.fiap=WARN"})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class BuscaVeiculosServiceTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private BuscaVeiculosServiceImpl buscaVeiculosService;
+
+    @BeforeEach
+    void criarTabela() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS VEICULOS");
+        jdbcTemplate.execute("""
+                CREATE TABLE VEICULOS (
+                    ID_VEI         NUMBER        NOT NULL PRIMARY KEY,
+                    TIPO_VEICULO   VARCHAR2(50),
+                    RENAVAM        VARCHAR2(20),
+                    PLACA          VARCHAR2(10)  NOT NULL,
+                    MODELO         VARCHAR2(100),
+                    PROPRIETARIO   VARCHAR2(100),
+                    MONTADORA      VARCHAR2(50),
+                    COR            VARCHAR2(30),
+                    MOTOR          VARCHAR2(30),
+                    ANO_FABRICACAO DATE)
+                """);
+        String[] modelos = {"Onix LT", "HB20 Sense", "Strada Freedom", "Kwid Zen", "Polo Track"};
+        for (int id = 1; id <= 120; id++) {
+            inserir(id, String.format("KXA%04d", id * 37 % 10_000), modelos[id % modelos.length], "Frota Norte");
+        }
+        buscaVeiculosService = new BuscaVeiculosServiceImpl(jdbcTemplate, 60);
+    }
+
+    @AfterEach
+    void encerrar() {
+        buscaVeiculosService.encerrar();
+    }
+
+    @Test
+    void avisosParalelosNaoDeixamPlacaAntigaNoIndice() throws Exception {
+        buscaVeiculosService.reconstruir();
+        long trocado = 15;
+        // Cada troca confirma e o seu aviso sai por outra thread, enquanto as trocas seguintes já confirmam: uma
+        // releitura antiga pode terminar depois de uma mais nova
+        ExecutorService executor = Executors.newFixedThreadPool(12);
+        List<Future<?>> avisos = new ArrayList<>();
+        List<String> placas = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            String placa = String.format("RTZ%d%c%02d", i % 10, (char) ('A' + i % 10), i);
+            jdbcTemplate.update("UPDATE VEICULOS SET PLACA = ? WHERE ID_VEI = ?", placa, trocado);
+            placas.add(placa);
+            avisos.add(executor.submit(() ->
+                    buscaVeiculosService.aoAlterarVeiculos(new VeiculosAlteradosEvent(Set.of(trocado)))));
+        }
+        for (Future<?> aviso : avisos) {
+            aviso.get(1, TimeUnit.MINUTES);
+        }
+        executor.shutdown();
+        indice().sincronizar();
+
+        String atual = placas.get(placas.size() - 1);
+        assertEquals(List.of(trocado), ids(buscaVeiculosService.buscar(atual, null, null)));
+        for (String antiga : placas.subList(0, placas.size() - 1)) {
+            assertTrue(buscaVeiculosService.buscar(antiga, null, null).isEmpty(), antiga);
+        }
+        assertEquals(120, indice().atual().tamanho());
+    }
+
+    @Test
+    void buscasAntesDaCargaEsperamUmaUnicaLeitura() throws Exception {
+        assertFalse(buscaVeiculosService.disponivel());
+        ExecutorService executor = Executors.newFixedThreadPool(5);
+        List<Future<List<VeiculoResponseDto>>> buscas = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            buscas.add(executor.submit(() -> buscaVeiculosService.buscar(null, "strada", null)));
+        }
+        for (Future<List<VeiculoResponseDto>> busca : buscas) {
+            assertEquals(24, busca.get(1, TimeUnit.MINUTES).size());
+        }
+        executor.shutdown();
+
+        assertTrue(buscaVeiculosService.disponivel());
+        IndiceBuscaVeiculos carregado = indice().atual();
+        buscaVeiculosService.buscar("KXA", null, null);
+        assertSame(carregado, indice().atual(), "uma busca depois da carga não pode reconstruir o índice");
+    }
+
+    @Test
+    void veiculoImportadoComIdAbaixoDoMaiorIndexadoEntra() {
+        buscaVeiculosService.reconstruir();
+        inserir(133, "QWE2B45", "Ranger XLS", "Transportes Sul");
+        inserir(131, "QWE2B46", "Ranger XLS", "Transportes Sul");
+        buscaVeiculosService.aoAlterarVeiculos(new VeiculosAlteradosEvent(Set.of()));
+        indice().sincronizar();
+        inserir(127, "QWE2B47", "Ranger XLS", "Transportes Sul"); // lote concorrente que confirmou por último
+        buscaVeiculosService.aoAlterarVeiculos(new VeiculosAlteradosEvent(Set.of()));
+        indice().sincronizar();
+
+        assertEquals(List.of(127L, 131L, 133L),
+                ids(buscaVeiculosService.buscar(null, "ranger", "sul")).stream().sorted().toList());
+    }
+
+    // --- Métodos auxiliares ---
+
+    @SuppressWarnings("unchecked")
+    private IndiceEmSegundoPlano<IndiceBuscaVeiculos> indice() {
+        return (IndiceEmSegundoPlano<IndiceBuscaVeiculos>) ReflectionTestUtils.getField(buscaVeiculosService, "indice");
+    }
+
+    private void inserir(long id, String placa, String modelo, String proprietario) {
+        jdbcTemplate.update("INSERT INTO VEICULOS (ID_VEI, TIPO_VEICULO, RENAVAM, PLACA, MODELO, PROPRIETARIO, "
+                + "MONTADORA, COR, MOTOR, ANO_FABRICACAO) VALUES (?, 'Carro', ?, ?, ?, ?, 'Diversas', 'Prata', '1.0', "
+                + "DATE '2021-01-01')", id, String.format("%011d", 70_000_000_000L + id), placa, modelo, proprietario);
+    }
+
+    private static List<Long> ids(List<VeiculoResponseDto> veiculos) {
+        return veiculos.stream().map(VeiculoResponseDto::getId).toList();
+    }
+}
@@ -0,0 +1,168 @@
+// src/test/java/br/com/fiap/service/veiculo/IndiceBuscaVeiculosTest.java
+package br.com.fiap.service.veiculo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Compara o índice de placas e termos com uma varredura completa dos veículos (oráculo por força bruta): prefixos de
+ * placa nos formatos antigo e Mercosul, termos de modelo e proprietário e as combinações entre eles, com resultados
+ * grandes e pequenos (dos dois lados do limiar de conferência), antes e depois de inclusões, alterações e exclusões.
+ */
+class IndiceBuscaVeiculosTest {
+
+    private static final String[] MODELOS = {"Gol 1.0", "Onix LT", "HB20 Comfort", "Corolla XEi", "Civic EXL",
+            "Uno Mille", "Palio Fire", "Strada Working", "T-Cross Comfortline", "Tracker Premier", "Creta Platinum"};
+    private static final String[] NOMES = {"João", "Maria", "José", "Ana", "Antônio", "Márcia", "Otávio", "Helena"};
+    private static final String[] SOBRENOMES = {"Silva", "Santos", "Oliveira", "Souza", "Brandão", "Araújo", "Lima"};
+    private static final int VEICULOS = 4_000;
+    private static final int CONSULTAS_POR_RODADA = 500;
+
+    // Memoização da placa canônica e dos termos, que o oráculo recalcularia a cada veículo de cada consulta
+    private static final Map<String, String> PLACAS = new HashMap<>();
+    private static final Map<String, List<String>> TERMOS = new HashMap<>();
+
+    private static final Comparator<IndiceBuscaVeiculos.Veiculo> POR_PLACA = Comparator
+            .comparing((IndiceBuscaVeiculos.Veiculo v) -> PLACAS.computeIfAbsent(v.placa(), IndiceBuscaVeiculos::placa))
+            .thenComparingLong(IndiceBuscaVeiculos.Veiculo::id);
+
+    @Test
+    void buscaIgualAVarreduraCompleta() {
+        Random random = new Random(0x5EC0_11D0L);
+        Map<Long, IndiceBuscaVeiculos.Veiculo> veiculos = new HashMap<>();
+        for (long id = 1; id <= VEICULOS; id++) {
+            veiculos.put(id, veiculo(random, id));
+        }
+        IndiceBuscaVeiculos indice = new IndiceBuscaVeiculos(veiculos.values());
+        long proximoId = VEICULOS + 1;
+
+        for (int rodada = 0; rodada < 4; rodada++) {
+            conferirConsultas(random, indice, veiculos);
+
+            // Movimento da frota: conversões para Mercosul (mesma placa canônica), transferências de proprietário,
+            // veículos vendidos e veículos novos; um veículo pode passar por mais de uma coisa no mesmo lote
+            List<Long> frota = new ArrayList<>(veiculos.keySet());
+            Map<Long, IndiceBuscaVeiculos.Veiculo> alterados = new LinkedHashMap<>();
+            for (int i = 0; i < 120; i++) {
+                long id = frota.get(random.nextInt(frota.size()));
+                IndiceBuscaVeiculos.Veiculo v = alterados.getOrDefault(id, veiculos.get(id));
+                String proprietario = random.nextBoolean() ? v.proprietario()
+                        : NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+                alterados.put(id, new IndiceBuscaVeiculos.Veiculo(id, v.tipoVeiculo(), v.renavam(), mercosul(v.placa()),
+                        v.modelo(), proprietario, v.montadora(), v.cor(), v.motor(), v.anoFabricacao()));
+            }
+            Set<Long> removidos = new LinkedHashSet<>();
+            for (int i = 0; i < 90; i++) {
+                long vendido = frota.get(random.nextInt(frota.size()));
+                removidos.add(vendido);
+                alterados.remove(vendido);
+            }
+            for (int i = 0; i < 100; i++) {
+                IndiceBuscaVeiculos.Veiculo novo = veiculo(random, proximoId++);
+                alterados.put(novo.id(), novo);
+            }
+            removidos.forEach(veiculos::remove);
+            veiculos.putAll(alterados);
+
+            indice.atualizar(alterados.values(), removidos);
+            assertEquals(veiculos.size(), indice.tamanho());
+            assertEquals(Collections.max(veiculos.keySet()), indice.maiorId());
+            assertEquals(VEICULOS, indice.maiorIdDaCarga());
+            assertTrue(alterados.keySet().stream().allMatch(indice::contem));
+        }
+        conferirConsultas(random, indice, veiculos);
+    }
+
+    @Test
+    void placaCanonica() {
+        assertEquals("ABC1234", IndiceBuscaVeiculos.placa("ABC-1234"));
+        assertEquals("ABC1234", IndiceBuscaVeiculos.placa("abc1c34"));
+        assertEquals("ABC12", IndiceBuscaVeiculos.placa("ABC1C"));
+        assertEquals("ABC1", IndiceBuscaVeiculos.placa("abc 1"));
+        assertEquals("ABC1K34", IndiceBuscaVeiculos.placa("ABC1K34")); // K não é letra do Mercosul na 5ª posição
+        assertEquals("", IndiceBuscaVeiculos.placa(null));
+    }
+
+    @Test
+    void semCriterioRetornaVazio() {
+        IndiceBuscaVeiculos indice = new IndiceBuscaVeiculos(List.of(veiculo(new Random(3), 1)));
+        assertEquals(List.of(), indice.buscar(null, " ", "-"));
+    }
+
+    // --- Oráculo ---
+
+    private static void conferirConsultas(Random random, IndiceBuscaVeiculos indice,
+                                          Map<Long, IndiceBuscaVeiculos.Veiculo> veiculos) {
+        List<IndiceBuscaVeiculos.Veiculo> lista = new ArrayList<>(veiculos.values());
+        for (int c = 0; c < CONSULTAS_POR_RODADA; c++) {
+            IndiceBuscaVeiculos.Veiculo modelo = lista.get(random.nextInt(lista.size()));
+            String placa = switch (random.nextInt(5)) {
+                case 0 -> null;
+                case 1 -> modelo.placa();                                                  // exata
+                case 2 -> mercosul(modelo.placa()).substring(0, 1 + random.nextInt(7));    // prefixo Mercosul
+                case 3 -> modelo.placa().substring(0, 3) + "-" + modelo.placa().substring(3, 3 + random.nextInt(5));
+                default -> modelo.placa().substring(0, 1 + random.nextInt(3)).toLowerCase();
+            };
+            String textoModelo = random.nextInt(3) == 0 ? null : prefixos(random, modelo.modelo());
+            String proprietario = random.nextInt(3) == 0 ? null : prefixos(random, modelo.proprietario());
+
+            String prefixoPlaca = IndiceBuscaVeiculos.placa(placa);
+            List<String> termosModelo = IndiceBuscaVeiculos.termos(textoModelo);
+            List<String> termosProprietario = IndiceBuscaVeiculos.termos(proprietario);
+            List<IndiceBuscaVeiculos.Veiculo> esperados = new ArrayList<>();
+            if (!prefixoPlaca.isEmpty() || !termosModelo.isEmpty() || !termosProprietario.isEmpty()) {
+                for (IndiceBuscaVeiculos.Veiculo v : veiculos.values()) {
+                    if (PLACAS.computeIfAbsent(v.placa(), IndiceBuscaVeiculos::placa).startsWith(prefixoPlaca)
+                            && prefixosDeTermos(TERMOS.computeIfAbsent(v.modelo(), IndiceBuscaVeiculos::termos), termosModelo)
+                            && prefixosDeTermos(TERMOS.computeIfAbsent(v.proprietario(), IndiceBuscaVeiculos::termos),
+                            termosProprietario)) {
+                        esperados.add(v);
+                    }
+                }
+            }
+            esperados.sort(POR_PLACA); // a placa exata é a menor das que começam por ela
+
+            assertEquals(esperados, indice.buscar(placa, textoModelo, proprietario),
+                    () -> "buscar(" + placa + ", " + textoModelo + ", " + proprietario + ")");
+        }
+    }
+
+    private static boolean prefixosDeTermos(List<String> termosDoCampo, List<String> prefixos) {
+        return prefixos.stream().allMatch(p -> termosDoCampo.stream().anyMatch(t -> t.startsWith(p)));
+    }
+
+    // Um ou dois termos do texto, cada um cortado num prefixo
+    private static String prefixos(Random random, String texto) {
+        String[] palavras = texto.split("[ .\\-]+");
+        StringBuilder consulta = new StringBuilder();
+        for (int i = 1 + random.nextInt(2); i > 0; i--) {
+            String palavra = palavras[random.nextInt(palavras.length)];
+            consulta.append(palavra, 0, 1 + random.nextInt(palavra.length())).append(' ');
+        }
+        return consulta.toString();
+    }
+
+    private static String mercosul(String placaAntiga) {
+        char quinta = placaAntiga.charAt(4);
+        return Character.isDigit(quinta)
+                ? placaAntiga.substring(0, 4) + (char) ('A' + (quinta - '0')) + placaAntiga.substring(5)
+                : placaAntiga;
+    }
+
+    // Placas de poucas letras, para que prefixos curtos devolvam centenas de veículos e os longos, poucos
+    private static IndiceBuscaVeiculos.Veiculo veiculo(Random random, long id) {
+        StringBuilder placa = new StringBuilder();
+        for (int k = 0; k < 3; k++) {
+            placa.append((char) ('A' + random.nextInt(4)));
+        }
+        placa.append(random.nextInt(10));
+        placa.append(random.nextBoolean() ? (char) ('A' + random.nextInt(10)) : (char) ('0' + random.nextInt(10)));
+        placa.append(random.nextInt(10)).append(random.nextInt(10));
+        String proprietario = NOMES[random.nextInt(NOMES.length)] + " " + SOBRENOMES[random.nextInt(SOBRENOMES.length)];
+        return new IndiceBuscaVeiculos.Veiculo(id, "Carro", "R" + id, placa.toString(),
+                MODELOS[random.nextInt(MODELOS.length)], proprietario, "M", "Cor", "1.0", null);
+    }
+}